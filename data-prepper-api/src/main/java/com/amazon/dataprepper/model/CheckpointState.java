@@ -16,12 +16,27 @@ package com.amazon.dataprepper.model;
  */
 public class CheckpointState {
     private final int numRecordsToBeChecked;
+    private final long numBytesToBeChecked;
 
     public CheckpointState(final int numRecordsToBeChecked) {
+        this(numRecordsToBeChecked, 0);
+    }
+
+    /**
+     * @param numRecordsToBeChecked number of records of the batch
+     * @param numBytesToBeChecked   estimated size of the records of the batch in bytes, for buffers which bound their
+     *                              size in bytes
+     */
+    public CheckpointState(final int numRecordsToBeChecked, final long numBytesToBeChecked) {
         this.numRecordsToBeChecked = numRecordsToBeChecked;
+        this.numBytesToBeChecked = numBytesToBeChecked;
     }
 
     public int getNumRecordsToBeChecked() {
         return numRecordsToBeChecked;
     }
+
+    public long getNumBytesToBeChecked() {
+        return numBytesToBeChecked;
+    }
 }
@@ -34,26 +34,57 @@ public abstract class AbstractBuffer<T extends Record<?>> implements Buffer<T> {
     private final Counter recordsReadCounter;
     private final AtomicLong recordsInFlight;
     private final AtomicLong recordsInBuffer;
+    private final AtomicLong bytesInBuffer;
+    private final RecordSizeEstimator<? super T> recordSizeEstimator;
     private final Counter recordsProcessedCounter;
     private final Counter writeTimeoutCounter;
     private final Timer writeTimer;
     private final Timer readTimer;
     private final Timer checkpointTimer;
+    private final CheckpointRate checkpointRate = new CheckpointRate();
 
     public AbstractBuffer(final PluginSetting pluginSetting) {
-        this(PluginMetrics.fromPluginSetting(pluginSetting), pluginSetting.getPipelineName());
+        this(pluginSetting, null);
     }
 
     public AbstractBuffer(final String bufferName, final String pipelineName) {
-        this(PluginMetrics.fromNames(bufferName, pipelineName), pipelineName);
+        this(bufferName, pipelineName, null);
     }
 
-    private AbstractBuffer(final PluginMetrics pluginMetrics, final String pipelineName) {
+    /**
+     * Creates a buffer which estimates the size of the records it holds. The estimated size of the written records is
+     * passed to {@link #doWrite(Record, long, int)} and {@link #doWriteAll(Collection, long, int)}, and the buffer must
+     * report the estimated size of each batch it reads in its {@link CheckpointState}.
+     *
+     * @param pluginSetting       setting of the buffer plugin
+     * @param recordSizeEstimator estimator of the size of the records, or null to not estimate the size
+     */
+    public AbstractBuffer(final PluginSetting pluginSetting, final RecordSizeEstimator<? super T> recordSizeEstimator) {
+        this(PluginMetrics.fromPluginSetting(pluginSetting), pluginSetting.getPipelineName(), recordSizeEstimator);
+    }
+
+    /**
+     * Creates a buffer which estimates the size of the records it holds, see
+     * {@link #AbstractBuffer(PluginSetting, RecordSizeEstimator)}.
+     *
+     * @param bufferName          name of the buffer
+     * @param pipelineName        name of the associated Pipeline
+     * @param recordSizeEstimator estimator of the size of the records, or null to not estimate the size
+     */
+    public AbstractBuffer(final String bufferName, final String pipelineName,
+                          final RecordSizeEstimator<? super T> recordSizeEstimator) {
+        this(PluginMetrics.fromNames(bufferName, pipelineName), pipelineName, recordSizeEstimator);
+    }
+
+    private AbstractBuffer(final PluginMetrics pluginMetrics, final String pipelineName,
+                           final RecordSizeEstimator<? super T> recordSizeEstimator) {
         this.pluginMetrics = pluginMetrics;
+        this.recordSizeEstimator = recordSizeEstimator;
         this.recordsWrittenCounter = pluginMetrics.counter(MetricNames.RECORDS_WRITTEN);
         this.recordsReadCounter = pluginMetrics.counter(MetricNames.RECORDS_READ);
         this.recordsInFlight = pluginMetrics.gauge(MetricNames.RECORDS_INFLIGHT, new AtomicLong());
         this.recordsInBuffer = pluginMetrics.gauge(MetricNames.RECORDS_IN_BUFFER, new AtomicLong());
+        this.bytesInBuffer = pluginMetrics.gauge(MetricNames.BYTES_IN_BUFFER, new AtomicLong());
         this.recordsProcessedCounter = pluginMetrics.counter(MetricNames.RECORDS_PROCESSED, pipelineName);
         this.writeTimeoutCounter = pluginMetrics.counter(MetricNames.WRITE_TIMEOUTS);
         this.writeTimer = pluginMetrics.timer(MetricNames.WRITE_TIME_ELAPSED);
@@ -74,9 +105,11 @@ public abstract class AbstractBuffer<T extends Record<?>> implements Buffer<T> {
         long startTime = System.nanoTime();
 
         try {
-            doWrite(record, timeoutInMillis);
+            final long sizeInBytes = estimateSizeInBytes(record);
+            doWrite(record, sizeInBytes, timeoutInMillis);
             recordsWrittenCounter.increment();
             recordsInBuffer.incrementAndGet();
+            bytesInBuffer.addAndGet(sizeInBytes);
         } catch (TimeoutException e) {
             writeTimeoutCounter.increment();
             throw e;
@@ -99,9 +132,10 @@ public abstract class AbstractBuffer<T extends Record<?>> implements Buffer<T> {
 
         try {
             final int size = records.size();
-            doWriteAll(records, timeoutInMillis);
+            final long sizeInBytes = doWriteAllAndEstimateSize(records, timeoutInMillis);
             recordsWrittenCounter.increment(size);
             recordsInBuffer.addAndGet(size);
+            bytesInBuffer.addAndGet(sizeInBytes);
         } catch (Exception e) {
             if (e instanceof TimeoutException) {
                 writeTimeoutCounter.increment();
@@ -121,25 +155,154 @@ public abstract class AbstractBuffer<T extends Record<?>> implements Buffer<T> {
      */
     @Override
     public Map.Entry<Collection<T>, CheckpointState> read(int timeoutInMillis) {
-        final Map.Entry<Collection<T>, CheckpointState> readResult = readTimer.record(() -> doRead(timeoutInMillis));
-        recordsReadCounter.increment(readResult.getKey().size() * 1.0);
-        recordsInFlight.addAndGet(readResult.getValue().getNumRecordsToBeChecked());
-        recordsInBuffer.addAndGet(-1 * readResult.getValue().getNumRecordsToBeChecked());
+        return recordRead(readTimer.record(() -> doRead(timeoutInMillis)));
+    }
+
+    /**
+     * Records egress and time elapsed metrics, while calling the doRead function to
+     * do the actual read of up to maxBatchSize records
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     * @return Records collection and checkpoint state read from the buffer
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> read(int timeoutInMillis, int maxBatchSize) {
+        return recordRead(readTimer.record(() -> doRead(timeoutInMillis, maxBatchSize)));
+    }
+
+    /**
+     * Records egress and time elapsed metrics, while calling the doRead function to
+     * do the actual read into the batch
+     *
+     * @param batch           empty batch to which the records and their checkpoint are added
+     * @param timeoutInMillis how long to wait before giving up
+     */
+    @Override
+    public void read(ReadBatch<T> batch, int timeoutInMillis) {
+        final long startTime = System.nanoTime();
+        doRead(batch, timeoutInMillis);
+        readTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        recordRead(batch.size(), batch.getNumRecordsToBeChecked(), batch.getNumBytesToBeChecked());
+    }
+
+    /**
+     * Records egress and time elapsed metrics, while calling the doRead function to
+     * do the actual read of up to maxBatchSize records into the batch
+     *
+     * @param batch           empty batch to which the records and their checkpoint are added
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     */
+    @Override
+    public void read(ReadBatch<T> batch, int timeoutInMillis, int maxBatchSize) {
+        final long startTime = System.nanoTime();
+        doRead(batch, timeoutInMillis, maxBatchSize);
+        readTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        recordRead(batch.size(), batch.getNumRecordsToBeChecked(), batch.getNumBytesToBeChecked());
+    }
+
+    private Map.Entry<Collection<T>, CheckpointState> recordRead(final Map.Entry<Collection<T>, CheckpointState> readResult) {
+        recordRead(readResult.getKey().size(), readResult.getValue().getNumRecordsToBeChecked(),
+                readResult.getValue().getNumBytesToBeChecked());
         return readResult;
     }
 
+    private void recordRead(final int numRecordsRead, final int numRecordsToBeChecked, final long numBytesToBeChecked) {
+        recordsReadCounter.increment(numRecordsRead * 1.0);
+        recordsInFlight.addAndGet(numRecordsToBeChecked);
+        recordsInBuffer.addAndGet(-1 * numRecordsToBeChecked);
+        bytesInBuffer.addAndGet(-1 * numBytesToBeChecked);
+    }
+
     @Override
     public void checkpoint(final CheckpointState checkpointState) {
         checkpointTimer.record(() -> doCheckpoint(checkpointState));
-        final int numRecordsToBeChecked = checkpointState.getNumRecordsToBeChecked();
+        recordCheckpoint(checkpointState.getNumRecordsToBeChecked());
+    }
+
+    @Override
+    public void checkpoint(final ReadBatch<T> batch) {
+        final long startTime = System.nanoTime();
+        doCheckpoint(batch);
+        checkpointTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        recordCheckpoint(batch.getNumRecordsToBeChecked());
+    }
+
+    private void recordCheckpoint(final int numRecordsToBeChecked) {
         recordsInFlight.addAndGet(-numRecordsToBeChecked);
         recordsProcessedCounter.increment(numRecordsToBeChecked);
+        checkpointRate.record(numRecordsToBeChecked);
+    }
+
+    /**
+     * Returns the backpressure of the buffer from its fill ratio and the rate at which its records were recently
+     * checkpointed.
+     *
+     * @return the current backpressure of the buffer
+     */
+    @Override
+    public Backpressure getBackpressure() {
+        final double fillRatio = getFillRatio();
+        final long bufferedRecords = recordsInBuffer.get() + recordsInFlight.get();
+        final double recordsPerSecond = checkpointRate.getRecordsPerSecond();
+        final long estimatedDrainTimeInMillis;
+        if (bufferedRecords <= 0) {
+            estimatedDrainTimeInMillis = 0;
+        } else if (recordsPerSecond > 0) {
+            estimatedDrainTimeInMillis = (long) Math.ceil(bufferedRecords * 1000 / recordsPerSecond);
+        } else {
+            estimatedDrainTimeInMillis = Long.MAX_VALUE;
+        }
+        return new Backpressure(fillRatio, estimatedDrainTimeInMillis);
+    }
+
+    /**
+     * Returns the share of the capacity of the buffer which is taken by the records in the buffer and in flight. This
+     * may be overridden by buffers which are bounded by more than their number of records.
+     *
+     * @return fill ratio between 0 and 1, 0 if the buffer is not bounded
+     */
+    protected double getFillRatio() {
+        final int capacity = getCapacity();
+        if (capacity == Integer.MAX_VALUE) {
+            return 0.0;
+        }
+        final long bufferedRecords = recordsInBuffer.get() + recordsInFlight.get();
+        return Math.min(1.0, Math.max(0.0, bufferedRecords / (double) capacity));
     }
 
     protected int getRecordsInFlight() {
         return recordsInFlight.intValue();
     }
 
+    /**
+     * Returns the estimated size of the record in bytes, or 0 if the buffer does not estimate the size of records.
+     *
+     * @param record record to estimate
+     * @return estimated size in bytes
+     */
+    protected long estimateSizeInBytes(final T record) {
+        return recordSizeEstimator == null ? 0 : recordSizeEstimator.estimateSizeInBytes(record);
+    }
+
+    /**
+     * Returns the estimated size of all the records in bytes, or 0 if the buffer does not estimate the size of records.
+     *
+     * @param records records to estimate
+     * @return estimated size in bytes
+     */
+    protected long estimateSizeInBytes(final Collection<T> records) {
+        if (recordSizeEstimator == null) {
+            return 0;
+        }
+        long sizeInBytes = 0;
+        for (final T record : records) {
+            sizeInBytes += recordSizeEstimator.estimateSizeInBytes(record);
+        }
+        return sizeInBytes;
+    }
+
     /**
      * This method should implement the logic for writing to the  buffer
      *
@@ -158,6 +321,48 @@ public abstract class AbstractBuffer<T extends Record<?>> implements Buffer<T> {
      */
     public abstract void doWriteAll(Collection<T> records, int timeoutInMillis) throws Exception;
 
+    /**
+     * This method may be overridden by buffers which bound their size in bytes. By default the record is written by
+     * {@link #doWrite(Record, int)}.
+     *
+     * @param record          Record to write to buffer
+     * @param sizeInBytes     estimated size of the record, 0 if the buffer does not estimate the size of records
+     * @param timeoutInMillis Timeout for write operation in millis
+     * @throws TimeoutException
+     */
+    public void doWrite(T record, long sizeInBytes, int timeoutInMillis) throws TimeoutException {
+        doWrite(record, timeoutInMillis);
+    }
+
+    /**
+     * This method may be overridden by buffers which bound their size in bytes. By default the records are written by
+     * {@link #doWriteAll(Collection, int)}.
+     *
+     * @param records         Collection of records to write to buffer
+     * @param sizeInBytes     estimated size of all the records, 0 if the buffer does not estimate the size of records
+     * @param timeoutInMillis Timeout for write operation in millis
+     * @throws Exception
+     */
+    public void doWriteAll(Collection<T> records, long sizeInBytes, int timeoutInMillis) throws Exception {
+        doWriteAll(records, timeoutInMillis);
+    }
+
+    /**
+     * Writes the records and returns their estimated size. By default the size of all the records is estimated and
+     * the records are written by {@link #doWriteAll(Collection, long, int)}. This method may be overridden by buffers
+     * which keep the size of each record, so that they estimate each record only once.
+     *
+     * @param records         Collection of records to write to buffer
+     * @param timeoutInMillis Timeout for write operation in millis
+     * @return estimated size of all the records, 0 if the buffer does not estimate the size of records
+     * @throws Exception
+     */
+    protected long doWriteAllAndEstimateSize(Collection<T> records, int timeoutInMillis) throws Exception {
+        final long sizeInBytes = estimateSizeInBytes(records);
+        doWriteAll(records, sizeInBytes, timeoutInMillis);
+        return sizeInBytes;
+    }
+
     /**
      * This method should implement the logic for reading from the buffer
      *
@@ -166,7 +371,54 @@ public abstract class AbstractBuffer<T extends Record<?>> implements Buffer<T> {
      */
     public abstract Map.Entry<Collection<T>, CheckpointState> doRead(int timeoutInMillis);
 
+    /**
+     * This method may be overridden to read batches of up to maxBatchSize records. By default the batch is read by
+     * {@link #doRead(int)}.
+     *
+     * @param timeoutInMillis Timeout in millis
+     * @param maxBatchSize    maximum number of records of the batch
+     * @return Records collection and checkpoint state read from the buffer
+     */
+    public Map.Entry<Collection<T>, CheckpointState> doRead(int timeoutInMillis, int maxBatchSize) {
+        return doRead(timeoutInMillis);
+    }
+
+    /**
+     * This method may be overridden by buffers which read into the batch without allocating a collection and a
+     * checkpoint state. By default the batch is read by {@link #doRead(int)}.
+     *
+     * @param batch           empty batch to which the records and their checkpoint are added
+     * @param timeoutInMillis Timeout in millis
+     */
+    public void doRead(ReadBatch<T> batch, int timeoutInMillis) {
+        final Map.Entry<Collection<T>, CheckpointState> readResult = doRead(timeoutInMillis);
+        batch.setReadResult(readResult.getKey(), readResult.getValue());
+    }
+
+    /**
+     * This method may be overridden by buffers which read into the batch without allocating a collection and a
+     * checkpoint state. By default the batch is read by {@link #doRead(int, int)}.
+     *
+     * @param batch           empty batch to which the records and their checkpoint are added
+     * @param timeoutInMillis Timeout in millis
+     * @param maxBatchSize    maximum number of records of the batch
+     */
+    public void doRead(ReadBatch<T> batch, int timeoutInMillis, int maxBatchSize) {
+        final Map.Entry<Collection<T>, CheckpointState> readResult = doRead(timeoutInMillis, maxBatchSize);
+        batch.setReadResult(readResult.getKey(), readResult.getValue());
+    }
+
     public abstract void doCheckpoint(CheckpointState checkpointState);
 
+    /**
+     * This method may be overridden by buffers which checkpoint a batch from its number of records and bytes. By
+     * default the batch is checkpointed by {@link #doCheckpoint(CheckpointState)}.
+     *
+     * @param batch the batch read from this buffer
+     */
+    public void doCheckpoint(ReadBatch<T> batch) {
+        doCheckpoint(batch.getCheckpointState());
+    }
+
     public abstract boolean isEmpty();
 }
@@ -0,0 +1,87 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.buffer;
+
+import java.util.Collection;
+
+/**
+ * A snapshot of how loaded a {@link Buffer} is, which sources use to reject requests early and tell their clients when
+ * to retry, instead of blocking on a full buffer until the write times out.
+ */
+public class Backpressure {
+    /**
+     * Backpressure of a buffer which does not report its load.
+     */
+    public static final Backpressure NONE = new Backpressure(0.0, 0);
+
+    private final double fillRatio;
+    private final long estimatedDrainTimeInMillis;
+
+    /**
+     * @param fillRatio                  share of the capacity of the buffer which is taken, between 0 and 1
+     * @param estimatedDrainTimeInMillis estimated time until the records in the buffer are processed, from the recent
+     *                                   checkpoint rate; {@link Long#MAX_VALUE} if nothing was checkpointed recently
+     */
+    public Backpressure(final double fillRatio, final long estimatedDrainTimeInMillis) {
+        this.fillRatio = fillRatio;
+        this.estimatedDrainTimeInMillis = estimatedDrainTimeInMillis;
+    }
+
+    /**
+     * Returns the backpressure of the most loaded of the buffers, e.g. of the partitions of a buffer to which a write
+     * may be routed.
+     *
+     * @param buffers buffers to combine
+     * @return the highest fill ratio and drain time of the buffers
+     */
+    public static Backpressure ofMostLoaded(final Collection<? extends Buffer<?>> buffers) {
+        double fillRatio = 0.0;
+        long estimatedDrainTimeInMillis = 0;
+        for (final Buffer<?> buffer : buffers) {
+            final Backpressure backpressure = buffer.getBackpressure();
+            fillRatio = Math.max(fillRatio, backpressure.getFillRatio());
+            estimatedDrainTimeInMillis = Math.max(estimatedDrainTimeInMillis, backpressure.getEstimatedDrainTimeInMillis());
+        }
+        return new Backpressure(fillRatio, estimatedDrainTimeInMillis);
+    }
+
+    public double getFillRatio() {
+        return fillRatio;
+    }
+
+    public long getEstimatedDrainTimeInMillis() {
+        return estimatedDrainTimeInMillis;
+    }
+
+    /**
+     * Returns whether writers should reject new records rather than wait for capacity, which sources configure by the
+     * share of the capacity at which they start to shed.
+     *
+     * @param shedFillRatio fill ratio from which on new records are shed, between 0 and 1
+     * @return true if the fill ratio reached shedFillRatio
+     */
+    public boolean shouldShed(final double shedFillRatio) {
+        return fillRatio >= shedFillRatio;
+    }
+
+    /**
+     * Returns the delay after which a client whose request was shed should retry, which is the estimated drain time
+     * bounded to the provided range.
+     *
+     * @param minRetryDelayInMillis shortest delay to return
+     * @param maxRetryDelayInMillis longest delay to return, also used if the drain time cannot be estimated
+     * @return retry delay in millis
+     */
+    public long getRetryDelayInMillis(final long minRetryDelayInMillis, final long maxRetryDelayInMillis) {
+        return Math.max(minRetryDelayInMillis, Math.min(maxRetryDelayInMillis, estimatedDrainTimeInMillis));
+    }
+}
@@ -47,11 +47,50 @@ public interface Buffer<T extends Record<?>> {
     /**
      * Retrieves and removes the batch of records from the head of the queue. The batch size is defined/determined by
      * the configuration attribute "batch_size" or the @param timeoutInMillis
-     * @param timeoutInMillis how long to wait before giving up
+     * @param timeoutInMillis how long to wait before giving up, 0 to only take the records which are available
      * @return The earliest batch of records in the buffer which are still not read and its corresponding checkpoint state.
      */
     Map.Entry<Collection<T>, CheckpointState> read(int timeoutInMillis);
 
+    /**
+     * Retrieves and removes a batch of up to maxBatchSize records from the head of the queue, which allows the reader
+     * to adapt the batch size to the observed load. Buffers which do not support a requested batch size return the
+     * batch read by {@link #read(int)}.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     * @return The earliest batch of records in the buffer which are still not read and its corresponding checkpoint state.
+     */
+    default Map.Entry<Collection<T>, CheckpointState> read(int timeoutInMillis, int maxBatchSize) {
+        return read(timeoutInMillis);
+    }
+
+    /**
+     * Retrieves and removes the batch of records from the head of the queue like {@link #read(int)}, adding them to the
+     * provided batch. The batch is reused by the reader for its next read once it was checkpointed with
+     * {@link #checkpoint(ReadBatch)}. Buffers which do not read into a batch copy the batch read by {@link #read(int)}.
+     *
+     * @param batch           empty batch to which the records and their checkpoint are added
+     * @param timeoutInMillis how long to wait before giving up, 0 to only take the records which are available
+     */
+    default void read(ReadBatch<T> batch, int timeoutInMillis) {
+        final Map.Entry<Collection<T>, CheckpointState> readResult = read(timeoutInMillis);
+        batch.setReadResult(readResult.getKey(), readResult.getValue());
+    }
+
+    /**
+     * Retrieves and removes a batch of up to maxBatchSize records from the head of the queue like
+     * {@link #read(int, int)}, adding them to the provided batch, see {@link #read(ReadBatch, int)}.
+     *
+     * @param batch           empty batch to which the records and their checkpoint are added
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     */
+    default void read(ReadBatch<T> batch, int timeoutInMillis, int maxBatchSize) {
+        final Map.Entry<Collection<T>, CheckpointState> readResult = read(timeoutInMillis, maxBatchSize);
+        batch.setReadResult(readResult.getKey(), readResult.getValue());
+    }
+
     /**
      * Check summary of records processed by data-prepper downstreams(preppers, sinks, pipelines).
      *
@@ -59,5 +98,57 @@ public interface Buffer<T extends Record<?>> {
      */
     void checkpoint(CheckpointState checkpointState);
 
+    /**
+     * Checks the records of a batch read by {@link #read(ReadBatch, int)} as processed, see
+     * {@link #checkpoint(CheckpointState)}.
+     *
+     * @param batch the batch read from this buffer
+     */
+    default void checkpoint(ReadBatch<T> batch) {
+        checkpoint(batch.getCheckpointState());
+    }
+
     boolean isEmpty();
+
+    /**
+     * Returns the maximum number of records the buffer can hold, which is also the largest collection of records
+     * accepted by {@link #writeAll(Collection, int)}. Writers may use this to split large collections into chunks
+     * which do not overflow the buffer.
+     *
+     * @return the capacity of the buffer in records, or {@link Integer#MAX_VALUE} if the buffer is not bounded
+     */
+    default int getCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns how loaded the buffer is, so that writers can reject new records early rather than wait for capacity.
+     * This is called for every request of a source and must be cheap.
+     *
+     * @return the current backpressure of the buffer, {@link Backpressure#NONE} if the buffer does not report its load
+     */
+    default Backpressure getBackpressure() {
+        return Backpressure.NONE;
+    }
+
+    /**
+     * Returns whether the buffer keeps the records which were not read on its own across a restart, e.g. in files,
+     * once it is shut down. The records of buffers which do not persist themselves are written to the snapshot of the
+     * pipeline, if one is configured.
+     *
+     * @return true if the records of the buffer survive a restart without a snapshot
+     * @since 1.2
+     */
+    default boolean isPersistent() {
+        return false;
+    }
+
+    /**
+     * Releases the resources of the buffer, like files or threads, once the pipeline stopped reading from and writing
+     * to it.
+     *
+     * @since 1.2
+     */
+    default void shutdown() {
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.buffer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures the rate at which the records of a buffer are checkpointed. The records are counted in windows of one
+ * second, and the rate is smoothed over the completed windows so a single slow batch does not dominate it.
+ */
+class CheckpointRate {
+    static final long WINDOW_IN_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double SMOOTHING_FACTOR = 0.5;
+
+    private final LongSupplier nanoTimeSupplier;
+    private final AtomicLong windowStart;
+    private final AtomicLong windowRecords = new AtomicLong();
+    private volatile double recordsPerSecond;
+
+    CheckpointRate() {
+        this(System::nanoTime);
+    }
+
+    CheckpointRate(final LongSupplier nanoTimeSupplier) {
+        this.nanoTimeSupplier = nanoTimeSupplier;
+        this.windowStart = new AtomicLong(nanoTimeSupplier.getAsLong());
+    }
+
+    void record(final int numRecords) {
+        completeWindow();
+        windowRecords.addAndGet(numRecords);
+    }
+
+    /**
+     * @return the smoothed number of records checkpointed per second, 0 until the first window completed or while nothing is
+     * checkpointed
+     */
+    double getRecordsPerSecond() {
+        completeWindow();
+        return recordsPerSecond;
+    }
+
+    private void completeWindow() {
+        final long now = nanoTimeSupplier.getAsLong();
+        final long start = windowStart.get();
+        final long elapsed = now - start;
+        if (elapsed >= WINDOW_IN_NANOS && windowStart.compareAndSet(start, now)) {
+            final double windowRecordsPerSecond = windowRecords.getAndSet(0) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+            recordsPerSecond = recordsPerSecond == 0 ? windowRecordsPerSecond :
+                    SMOOTHING_FACTOR * windowRecordsPerSecond + (1 - SMOOTHING_FACTOR) * recordsPerSecond;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.buffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.record.Record;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A reusable batch of records read from a {@link Buffer} by {@link Buffer#read(ReadBatch, int)}. A reader keeps the
+ * batch until it is checkpointed with {@link Buffer#checkpoint(ReadBatch)}, then clears it and passes it to its next
+ * read, so that reading does not allocate a new collection and checkpoint state for every batch.
+ * <p>
+ * Buffers which support it record the checkpoint of the batch as the number of records and bytes to be checked.
+ * Buffers which need more state to checkpoint a batch, e.g. the offsets of a disk buffer, store their
+ * {@link CheckpointState} with {@link #setReadResult(Collection, CheckpointState)}.
+ */
+public class ReadBatch<T extends Record<?>> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    /**
+     * Reader index of a batch whose reader is not known.
+     */
+    public static final int UNKNOWN_READER_INDEX = -1;
+
+    private final ArrayList<T> records;
+    private final int readerIndex;
+    private int numRecordsToBeChecked;
+    private long numBytesToBeChecked;
+    private CheckpointState checkpointState;
+
+    public ReadBatch() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity number of records the batch holds before its list of records grows
+     */
+    public ReadBatch(final int initialCapacity) {
+        this(initialCapacity, UNKNOWN_READER_INDEX);
+    }
+
+    /**
+     * @param initialCapacity number of records the batch holds before its list of records grows
+     * @param readerIndex     index of the reader, e.g. the worker, which reads into the batch
+     * @since 1.2
+     */
+    public ReadBatch(final int initialCapacity, final int readerIndex) {
+        this.records = new ArrayList<>(initialCapacity);
+        this.readerIndex = readerIndex;
+    }
+
+    /**
+     * Creates a batch of the given reader, see {@link #getReaderIndex()}.
+     *
+     * @param readerIndex index of the reader, e.g. the worker, which reads into the batch
+     * @param <T>         type of the records
+     * @return new batch of the reader
+     * @since 1.2
+     */
+    public static <T extends Record<?>> ReadBatch<T> forReader(final int readerIndex) {
+        return new ReadBatch<>(DEFAULT_INITIAL_CAPACITY, readerIndex);
+    }
+
+    /**
+     * Returns the records of the batch. Buffers add the records they read to this list, which keeps its capacity when
+     * the batch is cleared.
+     *
+     * @return records of the batch
+     */
+    public List<T> getRecords() {
+        return records;
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    /**
+     * Sets the checkpoint of the batch, which a buffer checkpoints from the number of records and bytes read.
+     *
+     * @param numRecordsToBeChecked number of records of the batch
+     * @param numBytesToBeChecked   estimated size of the records of the batch in bytes
+     */
+    public void setCheckpoint(final int numRecordsToBeChecked, final long numBytesToBeChecked) {
+        this.numRecordsToBeChecked = numRecordsToBeChecked;
+        this.numBytesToBeChecked = numBytesToBeChecked;
+        this.checkpointState = null;
+    }
+
+    /**
+     * Adds the records and keeps the checkpoint state of a batch read by {@link Buffer#read(int)}.
+     *
+     * @param readRecords         records read from the buffer
+     * @param readCheckpointState checkpoint state of the records
+     */
+    public void setReadResult(final Collection<T> readRecords, final CheckpointState readCheckpointState) {
+        records.addAll(readRecords);
+        this.numRecordsToBeChecked = readCheckpointState.getNumRecordsToBeChecked();
+        this.numBytesToBeChecked = readCheckpointState.getNumBytesToBeChecked();
+        this.checkpointState = readCheckpointState;
+    }
+
+    /**
+     * Returns the index of the reader the batch belongs to. Buffers which keep a queue per reader read the batch from
+     * the queue of its reader, the index is kept when the batch is cleared.
+     *
+     * @return index of the reader, or {@link #UNKNOWN_READER_INDEX} if the reader is not known
+     * @since 1.2
+     */
+    public int getReaderIndex() {
+        return readerIndex;
+    }
+
+    public int getNumRecordsToBeChecked() {
+        return numRecordsToBeChecked;
+    }
+
+    public long getNumBytesToBeChecked() {
+        return numBytesToBeChecked;
+    }
+
+    /**
+     * Returns the checkpoint state of a batch read by {@link Buffer#read(int)}, or else a new checkpoint state of the
+     * number of records and bytes to be checked.
+     *
+     * @return checkpoint state of the batch
+     */
+    public CheckpointState getCheckpointState() {
+        return checkpointState != null ? checkpointState :
+                new CheckpointState(numRecordsToBeChecked, numBytesToBeChecked);
+    }
+
+    /**
+     * Removes the records and the checkpoint of the batch, so it can be passed to the next read.
+     */
+    public void clear() {
+        records.clear();
+        numRecordsToBeChecked = 0;
+        numBytesToBeChecked = 0;
+        checkpointState = null;
+    }
+}
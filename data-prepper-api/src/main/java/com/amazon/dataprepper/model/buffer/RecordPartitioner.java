@@ -0,0 +1,31 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.buffer;
+
+import com.amazon.dataprepper.model.record.Record;
+
+import java.util.Map;
+
+/**
+ * Assigns records to a fixed number of partitions by a key of their data, e.g. the trace id of spans. All the data
+ * with the same key must be assigned to the same partition. A record whose data has several keys may be split into
+ * one record per partition.
+ */
+public interface RecordPartitioner<T extends Record<?>> {
+
+    /**
+     * @param record             the record to partition
+     * @param numberOfPartitions number of partitions, always greater than zero
+     * @return the record, or the parts of the record, by the index of the partition they are assigned to
+     */
+    Map<Integer, T> partition(T record, int numberOfPartitions);
+}
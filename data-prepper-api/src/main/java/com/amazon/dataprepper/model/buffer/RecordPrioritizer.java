@@ -0,0 +1,33 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.buffer;
+
+import com.amazon.dataprepper.model.record.Record;
+
+/**
+ * Assigns records to a fixed number of priority lanes, e.g. the requests with the root span of a trace to a lane
+ * ahead of the requests with only child spans. Lane 0 has the highest priority.
+ */
+public interface RecordPrioritizer<T extends Record<?>> {
+
+    /**
+     * @return number of lanes, always greater than zero
+     */
+    int getNumberOfLanes();
+
+    /**
+     * @param record the record to prioritize
+     * @return the index of the lane the record is assigned to, from 0 for the highest priority to
+     * {@link #getNumberOfLanes()} - 1 for the lowest
+     */
+    int getLane(T record);
+}
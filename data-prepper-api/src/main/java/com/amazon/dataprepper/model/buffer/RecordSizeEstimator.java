@@ -0,0 +1,28 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.buffer;
+
+/**
+ * Estimates the size of a record in bytes, e.g. the serialized size of a protobuf message or the length of a log
+ * line, so a {@link Buffer} can bound the bytes it holds instead of only the number of records. An estimate is taken
+ * when a record is written and again when it is read, so it must be cheap and return the same value for a record.
+ *
+ * @param <T> type of the records
+ */
+@FunctionalInterface
+public interface RecordSizeEstimator<T> {
+    /**
+     * @param record record to estimate
+     * @return estimated size of the record in bytes
+     */
+    long estimateSizeInBytes(T record);
+}
@@ -0,0 +1,55 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+package com.amazon.dataprepper.model.concurrent;
+
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+
+/**
+ * Determines which kind of threads run the blocking tasks of a pipeline or a plugin.
+ */
+public enum ExecutionMode {
+    /**
+     * Runs the tasks on platform threads, each of which is backed by an operating system thread.
+     */
+    PLATFORM_THREADS,
+    /**
+     * Runs the tasks on virtual threads, which are cheap to create and to block. Requires JDK 21 or later, on earlier
+     * versions the execution mode is rejected.
+     */
+    VIRTUAL_THREADS;
+
+    public static final String EXECUTION_MODE = "execution_mode";
+
+    /**
+     * Returns the execution mode configured by the {@link #EXECUTION_MODE} attribute of the plugin setting.
+     *
+     * @param pluginSetting plugin setting
+     * @return configured execution mode, or {@link #PLATFORM_THREADS} if none is configured
+     */
+    public static ExecutionMode fromPluginSetting(final PluginSetting pluginSetting) {
+        return fromOptionValue(pluginSetting.getStringOrDefault(EXECUTION_MODE, PLATFORM_THREADS.name()));
+    }
+
+    /**
+     * @param optionValue configured value, e.g. virtual_threads
+     * @return execution mode of the configured value
+     * @throws IllegalArgumentException if the value is unknown, or is virtual_threads and the running JVM does not
+     *                                  support virtual threads
+     */
+    public static ExecutionMode fromOptionValue(final String optionValue) {
+        final ExecutionMode executionMode = valueOf(optionValue.toUpperCase());
+        if (executionMode == VIRTUAL_THREADS && !VirtualThreads.isSupported()) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid configuration, %s %s requires JDK 21 or later", EXECUTION_MODE, optionValue));
+        }
+        return executionMode;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+package com.amazon.dataprepper.model.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads. This is the implementation for JDKs without virtual threads, the multi-release jar
+ * contains the implementation for JDK 21 and later under META-INF/versions/21.
+ */
+public final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if the running JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * @param namePrefix prefix of the names of the created threads
+     * @return thread factory which creates virtual threads
+     */
+    public static ThreadFactory newThreadFactory(final String namePrefix) {
+        throw new UnsupportedOperationException("Virtual threads require JDK 21 or later");
+    }
+
+    /**
+     * @param namePrefix prefix of the names of the created threads
+     * @return executor which runs each task on a new virtual thread
+     */
+    public static ExecutorService newThreadPerTaskExecutor(final String namePrefix) {
+        throw new UnsupportedOperationException("Virtual threads require JDK 21 or later");
+    }
+}
@@ -14,6 +14,9 @@ package com.amazon.dataprepper.model.configuration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class PluginSetting {
 
@@ -23,6 +26,8 @@ public class PluginSetting {
     private final Map<String, Object> settings;
     private int processWorkers;
     private String pipelineName;
+    private Integer instanceIndex;
+    private ConcurrentMap<String, Object> sharedObjects = new ConcurrentHashMap<>();
 
     public PluginSetting(final String name, final Map<String, Object> settings) {
         this.name = name;
@@ -73,6 +78,47 @@ public class PluginSetting {
         this.pipelineName = pipelineName;
     }
 
+    /**
+     * Returns the index of the plugin instance among the instances a pipeline creates from these settings, e.g. the
+     * partitions of a partitioned buffer. Plugins which own files use it to keep the files of the instances apart.
+     * @return index of the plugin instance, or empty if the pipeline creates a single instance from these settings
+     * @since 1.2
+     */
+    public Optional<Integer> getInstanceIndex() {
+        return Optional.ofNullable(instanceIndex);
+    }
+
+    /**
+     * This method is solely for pipeline execution to set the index of the plugin instance and it is recommended not
+     * to be used.
+     * @param instanceIndex index of the plugin instance
+     * @since 1.2
+     */
+    public void setInstanceIndex(final Integer instanceIndex) {
+        this.instanceIndex = instanceIndex;
+    }
+
+    /**
+     * Returns the objects which all the instances a pipeline creates from these settings share, e.g. the state which
+     * the instances of a prepper coordinate on across workers. The pipeline sets new shared objects each time it is
+     * built, so instances of different pipelines, or of a pipeline which is built again, never share them.
+     * @return shared objects by key
+     * @since 1.2
+     */
+    public ConcurrentMap<String, Object> getSharedObjects() {
+        return sharedObjects;
+    }
+
+    /**
+     * This method is solely for pipeline execution to set the objects shared by the plugin instances of a pipeline and
+     * it is recommended not to be used.
+     * @param sharedObjects shared objects by key
+     * @since 1.2
+     */
+    public void setSharedObjects(final ConcurrentMap<String, Object> sharedObjects) {
+        this.sharedObjects = sharedObjects;
+    }
+
     /**
      * Returns the value of the specified attribute, or null if this settings contains no value for the attribute.
      *
@@ -254,6 +300,29 @@ public class PluginSetting {
         throw new IllegalArgumentException(String.format(UNEXPECTED_ATTRIBUTE_TYPE_MSG, object.getClass(), attribute));
     }
 
+    /**
+     * Returns the value of the specified attribute as double, or {@code defaultValue} if this settings contains no
+     * value for the attribute. If the value is null, null will be returned.
+     *
+     * @param attribute    name of the attribute
+     * @param defaultValue default value for the setting
+     * @return the value of the specified attribute, or {@code defaultValue} if this settings contains no value for
+     * the attribute
+     * @since 1.2
+     */
+    public Double getDoubleOrDefault(final String attribute, final double defaultValue) {
+        Object object = getAttributeOrDefault(attribute, defaultValue);
+        if (object == null) {
+            return null;
+        } else if (object instanceof Number) {
+            return ((Number) object).doubleValue();
+        } else if (object instanceof String) {
+            return Double.valueOf(String.valueOf(object));
+        }
+
+        throw new IllegalArgumentException(String.format(UNEXPECTED_ATTRIBUTE_TYPE_MSG, object.getClass(), attribute));
+    }
+
     private <T> void checkObjectType(final String attribute, final Object object, final Class<T> type) {
         if (!(type.isAssignableFrom(object.getClass()))){
             throw new IllegalArgumentException(String.format(UNEXPECTED_ATTRIBUTE_TYPE_MSG, object.getClass(), attribute));
@@ -33,6 +33,15 @@ public interface Event {
      */
     void put(String key, Object value);
 
+    /**
+     * Adds or updates the compiled key with a given value in the Event
+     *
+     * @param key where the value will be set
+     * @param value value to set the key to
+     * @since 1.2
+     */
+    void put(EventKey key, Object value);
+
     /**
      * Retrieves the given key from the Event
      *
@@ -43,6 +52,16 @@ public interface Event {
      */
     <T> T get(String key, Class<T> clazz);
 
+    /**
+     * Retrieves the given compiled key from the Event
+     *
+     * @param key the value to retrieve from
+     * @param clazz the return type of the value
+     * @return T a clazz object from the key
+     * @since 1.2
+     */
+    <T> T get(EventKey key, Class<T> clazz);
+
     /**
      * Deletes the given key from the Event
      * @param key the field to be deleted
@@ -50,6 +69,13 @@ public interface Event {
      */
     void delete(String key);
 
+    /**
+     * Deletes the given compiled key from the Event
+     * @param key the field to be deleted
+     * @since 1.2
+     */
+    void delete(EventKey key);
+
     /**
      * Generates a serialized Json string of the entire Event
      * @return Json string of the event
@@ -57,6 +83,14 @@ public interface Event {
      */
     String toJsonString();
 
+    /**
+     * Generates the serialized Json of the entire Event as UTF-8 bytes. The returned array may be shared with the
+     * Event and must not be modified.
+     * @return UTF-8 encoded Json of the event
+     * @since 1.2
+     */
+    byte[] toJsonBytes();
+
     /**
      * Retrieves the EventMetadata
      * @return EventMetadata for the event
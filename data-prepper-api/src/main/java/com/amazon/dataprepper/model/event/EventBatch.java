@@ -0,0 +1,421 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.event;
+
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.model.record.RecordMetadata;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A batch of events stored as columns, with one {@link EventColumn} per field. Nested objects are flattened into
+ * columns of their leaf fields, which are identified by their path, i.e. the names of the nested fields from the
+ * outermost to the leaf field. For example the event {"fizz": {"buzz": 42}} is stored in the column of the path
+ * [fizz, buzz], while the event {"fizz.buzz": 42} is stored in the column of the path [fizz.buzz]. Columns can also
+ * be accessed by keys in dot-notation like the keys of an {@link Event}, which cannot refer to field names containing
+ * a dot. Arrays, empty objects and numbers which do not fit into a long are stored as objects. The string values of
+ * all columns are encoded with a single {@link StringDictionary}.
+ * <p>
+ * A batch is created from the records of a batch with {@link #fromRecords(Collection)}, which reads the Json tree of
+ * each event, and converted back to {@link JacksonEvent}s with {@link #toRecords()}. Rows can be deselected to filter
+ * events out of the batch, and columns can be added, modified and removed, but events cannot be added. Converting
+ * back keeps the metadata of the events and records, while the fields of each event are ordered by the order the
+ * columns were added to the batch.
+ * <p>
+ * A field may hold a value in some rows and nested fields in others, e.g. {"foo": "value"} and {"foo": {"bar": 1}}.
+ * Within a single row however, a field cannot hold both a value and nested fields. Preppers which replace a value by
+ * nested fields, or the other way round, must {@link EventColumn#remove(int) remove} the row from the column they
+ * replace, otherwise {@link #toRecords()} fails.
+ *
+ * @since 1.2
+ */
+public class EventBatch {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final int size;
+
+    private final EventMetadata[] eventMetadata;
+
+    private final RecordMetadata[] recordMetadata;
+
+    private final StringDictionary dictionary = new StringDictionary();
+
+    private final Map<List<String>, EventColumn> columns = new LinkedHashMap<>();
+
+    private final BitSet deselectedRows = new BitSet();
+
+    private EventBatch(final int size) {
+        this.size = size;
+        this.eventMetadata = new EventMetadata[size];
+        this.recordMetadata = new RecordMetadata[size];
+    }
+
+    /**
+     * Creates a batch of the events of the given records.
+     *
+     * @param records the records
+     * @return the batch, which holds one row per record in the order of the records
+     * @throws UncheckedIOException if the Json of an event cannot be parsed
+     * @since 1.2
+     */
+    public static EventBatch fromRecords(final Collection<Record<Event>> records) {
+        final EventBatch eventBatch = new EventBatch(records.size());
+        final ColumnNode root = new ColumnNode(Collections.emptyList());
+        int row = 0;
+        for (final Record<Event> record : records) {
+            eventBatch.readEvent(root, row, record);
+            row++;
+        }
+        return eventBatch;
+    }
+
+    /**
+     * Converts the selected rows of the batch back to records.
+     *
+     * @return the records of the selected rows, in the order of the rows
+     * @throws IllegalArgumentException if a value of the batch cannot be converted to Json
+     * @throws IllegalStateException if a field of a row holds both a value and nested fields
+     * @since 1.2
+     */
+    public List<Record<Event>> toRecords() {
+        final FieldNode root = new FieldNode();
+        for (final EventColumn column : columns.values()) {
+            root.addColumn(column);
+        }
+
+        final List<Record<Event>> records = new ArrayList<>(getSelectedCount());
+        for (int row = deselectedRows.nextClearBit(0); row < size; row = deselectedRows.nextClearBit(row + 1)) {
+            final ObjectNode jsonNode = mapper.createObjectNode();
+            root.writeFields(jsonNode, row);
+            records.add(new Record<>(new JacksonEvent(eventMetadata[row], jsonNode), recordMetadata[row]));
+        }
+        return records;
+    }
+
+    /**
+     * Returns the number of rows of the batch, including the deselected ones.
+     *
+     * @return the number of rows
+     * @since 1.2
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of rows which are selected, i.e. which are converted back to records.
+     *
+     * @return the number of selected rows
+     * @since 1.2
+     */
+    public int getSelectedCount() {
+        return size - deselectedRows.cardinality();
+    }
+
+    /**
+     * Returns whether the row is selected.
+     *
+     * @param row the row
+     * @return true if the row was not deselected
+     * @since 1.2
+     */
+    public boolean isSelected(final int row) {
+        return !deselectedRows.get(row);
+    }
+
+    /**
+     * Deselects the row, which drops its event from the batch.
+     *
+     * @param row the row
+     * @since 1.2
+     */
+    public void deselect(final int row) {
+        deselectedRows.set(row);
+    }
+
+    /**
+     * Returns the metadata of the event of a row.
+     *
+     * @param row the row
+     * @return the metadata
+     * @since 1.2
+     */
+    public EventMetadata getEventMetadata(final int row) {
+        return eventMetadata[row];
+    }
+
+    /**
+     * Returns the dictionary of the string values of the batch.
+     *
+     * @return the dictionary
+     * @since 1.2
+     */
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Returns the paths of the columns, in the order the columns were added.
+     *
+     * @return unmodifiable paths of the columns
+     * @since 1.2
+     */
+    public Set<List<String>> getPaths() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /**
+     * Returns the column of the given key.
+     *
+     * @param key the key of a field in dot-notation
+     * @return the column, or null if none of the events contains the field
+     * @since 1.2
+     */
+    public EventColumn getColumn(final String key) {
+        return getColumn(toPath(key));
+    }
+
+    /**
+     * Returns the column of the given path.
+     *
+     * @param path the names of the nested fields, from the outermost to the leaf field
+     * @return the column, or null if none of the events contains the field
+     * @since 1.2
+     */
+    public EventColumn getColumn(final List<String> path) {
+        return columns.get(path);
+    }
+
+    /**
+     * Returns the column of the given key, adding an empty column if the batch does not contain it.
+     *
+     * @param key the key of a field in dot-notation
+     * @return the column
+     * @since 1.2
+     */
+    public EventColumn getOrAddColumn(final String key) {
+        return getOrAddColumn(toPath(key));
+    }
+
+    /**
+     * Returns the column of the given path, adding an empty column if the batch does not contain it.
+     *
+     * @param path the names of the nested fields, from the outermost to the leaf field
+     * @return the column
+     * @throws IllegalArgumentException if the path is empty
+     * @since 1.2
+     */
+    public EventColumn getOrAddColumn(final List<String> path) {
+        final EventColumn column = columns.get(path);
+        if (column != null) {
+            return column;
+        }
+        checkArgument(!path.isEmpty(), "path cannot be empty");
+        final List<String> columnPath = Collections.unmodifiableList(new ArrayList<>(path));
+        final EventColumn newColumn = new EventColumn(columnPath, size, dictionary);
+        columns.put(columnPath, newColumn);
+        return newColumn;
+    }
+
+    /**
+     * Removes the column of the given key, which removes the field from all events.
+     *
+     * @param key the key of a field in dot-notation
+     * @since 1.2
+     */
+    public void removeColumn(final String key) {
+        removeColumn(toPath(key));
+    }
+
+    /**
+     * Removes the column of the given path, which removes the field from all events.
+     *
+     * @param path the names of the nested fields, from the outermost to the leaf field
+     * @since 1.2
+     */
+    public void removeColumn(final List<String> path) {
+        columns.remove(path);
+    }
+
+    private static List<String> toPath(final String key) {
+        return Arrays.asList(EventKey.of(key).getPath());
+    }
+
+    private void readEvent(final ColumnNode root, final int row, final Record<Event> record) {
+        final Event event = record.getData();
+        eventMetadata[row] = event.getMetadata();
+        recordMetadata[row] = record.getMetadata();
+        final JsonNode jsonNode;
+        try {
+            jsonNode = toJsonNode(event);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(String.format("Unable to read the event of row %d of the batch", row), e);
+        }
+        readObject(jsonNode, root, row);
+    }
+
+    /**
+     * Returns the tree of the event without serializing it if the event already holds a tree.
+     */
+    private static JsonNode toJsonNode(final Event event) throws IOException {
+        if (event instanceof JacksonEvent) {
+            return ((JacksonEvent) event).getJsonNode();
+        }
+        if (event instanceof LazyJacksonEvent) {
+            return ((LazyJacksonEvent) event).toJsonNode();
+        }
+        return mapper.readTree(event.toJsonBytes());
+    }
+
+    /**
+     * Reads the fields of the object into the columns below the given node.
+     */
+    private void readObject(final JsonNode object, final ColumnNode parent, final int row) {
+        final Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final ColumnNode node = parent.getChild(field.getKey());
+            final JsonNode value = field.getValue();
+            if (value.isObject() && value.size() > 0) {
+                readObject(value, node, row);
+            } else if (value.isTextual()) {
+                node.getColumn(this).setString(row, value.textValue());
+            } else if (value.isIntegralNumber() && value.canConvertToLong()) {
+                node.getColumn(this).setLong(row, value.longValue());
+            } else if (value.isFloatingPointNumber()) {
+                node.getColumn(this).setDouble(row, value.doubleValue());
+            } else if (value.isBoolean()) {
+                node.getColumn(this).setBoolean(row, value.booleanValue());
+            } else if (value.isNull()) {
+                node.getColumn(this).setNull(row);
+            } else {
+                node.getColumn(this).setValue(row, mapper.convertValue(value, Object.class));
+            }
+        }
+    }
+
+    /**
+     * A field of the nested structure of the events, which caches the columns of the fields while the events are
+     * read, so that the path of a field is only created once per batch.
+     */
+    private static class ColumnNode {
+        private final List<String> path;
+        private final Map<String, ColumnNode> children = new LinkedHashMap<>();
+        private EventColumn column;
+
+        private ColumnNode(final List<String> path) {
+            this.path = path;
+        }
+
+        private ColumnNode getChild(final String name) {
+            ColumnNode child = children.get(name);
+            if (child == null) {
+                final List<String> childPath = new ArrayList<>(path.size() + 1);
+                childPath.addAll(path);
+                childPath.add(name);
+                child = new ColumnNode(childPath);
+                children.put(name, child);
+            }
+            return child;
+        }
+
+        private EventColumn getColumn(final EventBatch eventBatch) {
+            if (column == null) {
+                column = eventBatch.getOrAddColumn(path);
+            }
+            return column;
+        }
+    }
+
+    /**
+     * A field of the nested structure of the events, which is built from the paths of the columns once per conversion
+     * back to records.
+     */
+    private static class FieldNode {
+        private final Map<String, FieldNode> children = new LinkedHashMap<>();
+        private EventColumn column;
+
+        private void addColumn(final EventColumn column) {
+            FieldNode node = this;
+            for (final String name : column.getPath()) {
+                node = node.children.computeIfAbsent(name, childName -> new FieldNode());
+            }
+            node.column = column;
+        }
+
+        private boolean hasNestedFields(final int row) {
+            for (final FieldNode child : children.values()) {
+                if ((child.column != null && child.column.isPresent(row)) || child.hasNestedFields(row)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void writeFields(final ObjectNode object, final int row) {
+            for (final Map.Entry<String, FieldNode> child : children.entrySet()) {
+                child.getValue().writeField(object, child.getKey(), row);
+            }
+        }
+
+        private void writeField(final ObjectNode object, final String name, final int row) {
+            if (column != null && column.isPresent(row)) {
+                checkState(!hasNestedFields(row), "Field %s of row %d of the batch holds both a value and nested fields",
+                        column.getPath(), row);
+                writeValue(object, name, row);
+            } else if (hasNestedFields(row)) {
+                writeFields(object.putObject(name), row);
+            }
+        }
+
+        private void writeValue(final ObjectNode object, final String name, final int row) {
+            if (column.isNull(row)) {
+                object.putNull(name);
+                return;
+            }
+            switch (column.getType()) {
+                case LONG:
+                    object.put(name, column.getLong(row));
+                    break;
+                case DOUBLE:
+                    object.put(name, column.getDouble(row));
+                    break;
+                case BOOLEAN:
+                    object.put(name, column.getBoolean(row));
+                    break;
+                case STRING:
+                    object.put(name, column.getString(row));
+                    break;
+                default:
+                    object.set(name, mapper.valueToTree(column.getValue(row)));
+            }
+        }
+    }
+}
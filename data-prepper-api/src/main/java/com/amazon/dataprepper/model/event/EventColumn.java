@@ -0,0 +1,479 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.event;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * The values of a single field of the events of an {@link EventBatch}, one row per event. A row is either absent, when
+ * the event does not contain the field, null, or has a value.
+ * <p>
+ * The values are kept in a primitive array of the type of the column, e.g. a long[] for a column of integer numbers,
+ * and strings are kept as codes of the {@link StringDictionary} of the batch. The type of a column is set by its first
+ * value. A column holding values of different types is changed to a column of type {@link Type#OBJECT}, which keeps the
+ * values boxed.
+ *
+ * @since 1.2
+ */
+public class EventColumn {
+
+    /**
+     * The type of the values of a column.
+     *
+     * @since 1.2
+     */
+    public enum Type {
+        /**
+         * The column does not hold any value, i.e. its rows are either absent or null.
+         */
+        NULL,
+        LONG,
+        DOUBLE,
+        BOOLEAN,
+        STRING,
+        /**
+         * The values of the column are boxed objects, e.g. lists, maps or values of different types.
+         */
+        OBJECT
+    }
+
+    private final List<String> path;
+
+    private final String key;
+
+    private final int size;
+
+    private final StringDictionary dictionary;
+
+    private final BitSet present = new BitSet();
+
+    private final BitSet nulls = new BitSet();
+
+    private Type type = Type.NULL;
+
+    private long[] longs;
+
+    private double[] doubles;
+
+    private boolean[] booleans;
+
+    private int[] stringCodes;
+
+    private Object[] objects;
+
+    /**
+     * @param path unmodifiable names of the nested fields, from the outermost to the leaf field
+     */
+    EventColumn(final List<String> path, final int size, final StringDictionary dictionary) {
+        this.path = path;
+        this.key = String.join(".", path);
+        this.size = size;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Returns the names of the nested fields of the column, from the outermost to the leaf field.
+     *
+     * @return the unmodifiable path of the field
+     * @since 1.2
+     */
+    public List<String> getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the key of the field in dot-notation. Unlike the path, the key is ambiguous if a field name contains a
+     * dot.
+     *
+     * @return the key
+     * @since 1.2
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the type of the values of the column.
+     *
+     * @return the type
+     * @since 1.2
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of rows of the column, which is the size of the batch.
+     *
+     * @return the number of rows
+     * @since 1.2
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the event of the row contains the field, with a value or null.
+     *
+     * @param row the row
+     * @return true if the field is present
+     * @since 1.2
+     */
+    public boolean isPresent(final int row) {
+        return present.get(row);
+    }
+
+    /**
+     * Returns whether the event of the row contains the field with a null value.
+     *
+     * @param row the row
+     * @return true if the field is null
+     * @since 1.2
+     */
+    public boolean isNull(final int row) {
+        return nulls.get(row);
+    }
+
+    /**
+     * Returns whether the event of the row contains the field with a value which is not null.
+     *
+     * @param row the row
+     * @return true if the field has a value
+     * @since 1.2
+     */
+    public boolean hasValue(final int row) {
+        return present.get(row) && !nulls.get(row);
+    }
+
+    /**
+     * Returns the value of a row of a {@link Type#LONG} column, which must have a value.
+     *
+     * @param row the row
+     * @return the value
+     * @throws IllegalStateException if the column is of a different type
+     * @since 1.2
+     */
+    public long getLong(final int row) {
+        return getLongs()[row];
+    }
+
+    /**
+     * Returns the value of a row of a {@link Type#DOUBLE} column, which must have a value.
+     *
+     * @param row the row
+     * @return the value
+     * @throws IllegalStateException if the column is of a different type
+     * @since 1.2
+     */
+    public double getDouble(final int row) {
+        return getDoubles()[row];
+    }
+
+    /**
+     * Returns the value of a row of a {@link Type#BOOLEAN} column, which must have a value.
+     *
+     * @param row the row
+     * @return the value
+     * @throws IllegalStateException if the column is of a different type
+     * @since 1.2
+     */
+    public boolean getBoolean(final int row) {
+        return getBooleans()[row];
+    }
+
+    /**
+     * Returns the dictionary code of the value of a row of a {@link Type#STRING} column, which must have a value.
+     *
+     * @param row the row
+     * @return the code of the value in the {@link StringDictionary} of the batch
+     * @throws IllegalStateException if the column is of a different type
+     * @since 1.2
+     */
+    public int getStringCode(final int row) {
+        return getStringCodes()[row];
+    }
+
+    /**
+     * Returns the value of a row of a {@link Type#STRING} column, which must have a value.
+     *
+     * @param row the row
+     * @return the value
+     * @throws IllegalStateException if the column is of a different type
+     * @since 1.2
+     */
+    public String getString(final int row) {
+        return dictionary.decode(getStringCode(row));
+    }
+
+    /**
+     * Returns the value of a row of a column of any type, boxed.
+     *
+     * @param row the row
+     * @return the value, or null if the row is null or absent
+     * @since 1.2
+     */
+    public Object getValue(final int row) {
+        if (!hasValue(row)) {
+            return null;
+        }
+        switch (type) {
+            case LONG:
+                return longs[row];
+            case DOUBLE:
+                return doubles[row];
+            case BOOLEAN:
+                return booleans[row];
+            case STRING:
+                return dictionary.decode(stringCodes[row]);
+            default:
+                return objects[row];
+        }
+    }
+
+    /**
+     * Returns the values of a {@link Type#LONG} column, indexed by row. Entries of rows without a value are undefined.
+     * The array is owned by the column.
+     *
+     * @return the values
+     * @throws IllegalStateException if the column is of a different type
+     * @since 1.2
+     */
+    public long[] getLongs() {
+        checkType(Type.LONG);
+        return longs;
+    }
+
+    /**
+     * Returns the values of a {@link Type#DOUBLE} column, indexed by row. Entries of rows without a value are undefined.
+     * The array is owned by the column.
+     *
+     * @return the values
+     * @throws IllegalStateException if the column is of a different type
+     * @since 1.2
+     */
+    public double[] getDoubles() {
+        checkType(Type.DOUBLE);
+        return doubles;
+    }
+
+    /**
+     * Returns the values of a {@link Type#BOOLEAN} column, indexed by row. Entries of rows without a value are
+     * undefined. The array is owned by the column.
+     *
+     * @return the values
+     * @throws IllegalStateException if the column is of a different type
+     * @since 1.2
+     */
+    public boolean[] getBooleans() {
+        checkType(Type.BOOLEAN);
+        return booleans;
+    }
+
+    /**
+     * Returns the dictionary codes of the values of a {@link Type#STRING} column, indexed by row. Entries of rows
+     * without a value are undefined. The array is owned by the column.
+     *
+     * @return the codes of the values
+     * @throws IllegalStateException if the column is of a different type
+     * @since 1.2
+     */
+    public int[] getStringCodes() {
+        checkType(Type.STRING);
+        return stringCodes;
+    }
+
+    /**
+     * Sets the value of a row. The column is changed to a {@link Type#OBJECT} column if it holds values of another type.
+     *
+     * @param row   the row
+     * @param value the value
+     * @since 1.2
+     */
+    public void setLong(final int row, final long value) {
+        if (useType(Type.LONG)) {
+            longs[row] = value;
+            markValue(row);
+        } else {
+            setObject(row, value);
+        }
+    }
+
+    /**
+     * Sets the value of a row. The column is changed to a {@link Type#OBJECT} column if it holds values of another type.
+     *
+     * @param row   the row
+     * @param value the value
+     * @since 1.2
+     */
+    public void setDouble(final int row, final double value) {
+        if (useType(Type.DOUBLE)) {
+            doubles[row] = value;
+            markValue(row);
+        } else {
+            setObject(row, value);
+        }
+    }
+
+    /**
+     * Sets the value of a row. The column is changed to a {@link Type#OBJECT} column if it holds values of another type.
+     *
+     * @param row   the row
+     * @param value the value
+     * @since 1.2
+     */
+    public void setBoolean(final int row, final boolean value) {
+        if (useType(Type.BOOLEAN)) {
+            booleans[row] = value;
+            markValue(row);
+        } else {
+            setObject(row, value);
+        }
+    }
+
+    /**
+     * Sets the value of a row. The column is changed to a {@link Type#OBJECT} column if it holds values of another type.
+     *
+     * @param row   the row
+     * @param value the value, which is set to null if it is null
+     * @since 1.2
+     */
+    public void setString(final int row, final String value) {
+        if (value == null) {
+            setNull(row);
+        } else if (useType(Type.STRING)) {
+            stringCodes[row] = dictionary.encode(value);
+            markValue(row);
+        } else {
+            setObject(row, value);
+        }
+    }
+
+    /**
+     * Sets the value of a row. Integral numbers are stored as longs and floating point numbers as doubles. The column
+     * is changed to a {@link Type#OBJECT} column if it holds values of another type.
+     *
+     * @param row   the row
+     * @param value the value, which is set to null if it is null
+     * @since 1.2
+     */
+    public void setValue(final int row, final Object value) {
+        if (value == null) {
+            setNull(row);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            setLong(row, ((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            setDouble(row, ((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            setBoolean(row, (Boolean) value);
+        } else if (value instanceof String) {
+            setString(row, (String) value);
+        } else {
+            setObject(row, value);
+        }
+    }
+
+    /**
+     * Sets a row to null.
+     *
+     * @param row the row
+     * @since 1.2
+     */
+    public void setNull(final int row) {
+        clearObject(row);
+        present.set(row);
+        nulls.set(row);
+    }
+
+    /**
+     * Removes the field from the event of a row.
+     *
+     * @param row the row
+     * @since 1.2
+     */
+    public void remove(final int row) {
+        clearObject(row);
+        present.clear(row);
+        nulls.clear(row);
+    }
+
+    private void setObject(final int row, final Object value) {
+        useType(Type.OBJECT);
+        objects[row] = value;
+        markValue(row);
+    }
+
+    private void markValue(final int row) {
+        present.set(row);
+        nulls.clear(row);
+    }
+
+    private void clearObject(final int row) {
+        if (objects != null) {
+            objects[row] = null;
+        }
+    }
+
+    private void checkType(final Type expectedType) {
+        checkState(type == expectedType, "Column %s is of type %s, not %s", key, type, expectedType);
+    }
+
+    /**
+     * Prepares the column for a value of the given type.
+     *
+     * @return true if the value can be stored in the array of its type, false if it has to be stored as an object
+     */
+    private boolean useType(final Type valueType) {
+        if (type == valueType) {
+            return true;
+        }
+        if (type == Type.NULL) {
+            allocate(valueType);
+            return true;
+        }
+        if (type != Type.OBJECT) {
+            final Object[] boxedValues = new Object[size];
+            for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+                boxedValues[row] = getValue(row);
+            }
+            longs = null;
+            doubles = null;
+            booleans = null;
+            stringCodes = null;
+            objects = boxedValues;
+            type = Type.OBJECT;
+        }
+        return false;
+    }
+
+    private void allocate(final Type valueType) {
+        switch (valueType) {
+            case LONG:
+                longs = new long[size];
+                break;
+            case DOUBLE:
+                doubles = new double[size];
+                break;
+            case BOOLEAN:
+                booleans = new boolean[size];
+                break;
+            case STRING:
+                stringCodes = new int[size];
+                break;
+            default:
+                objects = new Object[size];
+        }
+        type = valueType;
+    }
+}
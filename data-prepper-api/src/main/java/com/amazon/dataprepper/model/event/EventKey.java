@@ -0,0 +1,140 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.event;
+
+import com.fasterxml.jackson.core.JsonPointer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static com.fasterxml.jackson.core.JsonPointer.SEPARATOR;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A key of an {@link Event} in dot-notation which is validated and compiled once, so that it can be used to access
+ * the event without parsing the key again. Components should create the keys of their configured fields when they
+ * are constructed and use them for every event.
+ * <p>
+ * For example the key "fizz.buzz" refers to the field buzz nested in the field fizz.
+ *
+ * @since 1.2
+ */
+public final class EventKey {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("^([a-zA-Z0-9]([\\w -]*[a-zA-Z0-9])+\\.?)+(?<!\\.)$");
+
+    private static final char DOT = '.';
+
+    private final String key;
+
+    private final String[] path;
+
+    private final JsonPointer jsonPointer;
+
+    private final JsonPointer parentJsonPointer;
+
+    private EventKey(final String key) {
+        this.key = key;
+        this.path = split(key);
+        this.jsonPointer = JsonPointer.compile(SEPARATOR + key.replace(DOT, SEPARATOR));
+
+        final int index = key.lastIndexOf(DOT);
+        this.parentJsonPointer = index == -1 ? null
+                : JsonPointer.compile(SEPARATOR + key.substring(0, index).replace(DOT, SEPARATOR));
+    }
+
+    /**
+     * Validates and compiles the given key.
+     *
+     * @param key the key in dot-notation, e.g. "field.to.key"
+     * @return the compiled key
+     * @throws NullPointerException if the key is null
+     * @throws IllegalArgumentException if the key is empty or is not a valid dot-notation key
+     * @since 1.2
+     */
+    public static EventKey of(final String key) {
+        checkNotNull(key, "key cannot be null");
+        checkArgument(!key.isEmpty(), "key cannot be an empty string");
+        checkArgument(KEY_PATTERN.matcher(key).matches(), "key must contain only alphanumeric chars with .- and  must follow dot notation (ie. 'field.to.key')");
+        return new EventKey(key);
+    }
+
+    /**
+     * Returns the key in dot-notation.
+     *
+     * @return the key
+     * @since 1.2
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the names of the nested fields, from the outermost to the leaf field. The array must not be modified.
+     */
+    String[] getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the name of the leaf field.
+     */
+    String getLeafKey() {
+        return path[path.length - 1];
+    }
+
+    JsonPointer getJsonPointer() {
+        return jsonPointer;
+    }
+
+    /**
+     * Returns the pointer to the parent of the leaf field, or null if the key is not nested.
+     */
+    JsonPointer getParentJsonPointer() {
+        return parentJsonPointer;
+    }
+
+    private static String[] split(final String key) {
+        final List<String> keys = new ArrayList<>();
+        int start = 0;
+        int index;
+        while ((index = key.indexOf(DOT, start)) != -1) {
+            keys.add(key.substring(start, index));
+            start = index + 1;
+        }
+        keys.add(key.substring(start));
+        return keys.toArray(new String[0]);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        return key.equals(((EventKey) other).key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.event;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ordered field names of a Json object, shared by all objects of a {@link ShapedEvent} with the same fields in the
+ * same order. The shapes form a tree rooted at {@link #EMPTY}, in which a shape has a transition to the shape with one
+ * more field for each field which was added to it, so objects which are built the same way end up with the same
+ * canonical shape and hold only their values.
+ * <p>
+ * To bound the number of shapes, e.g. when field names contain ids or objects are built in many different field orders,
+ * a shape has at most {@link #MAX_TRANSITIONS} transitions and {@link #MAX_FIELDS} fields, and a tree has at most
+ * {@link #MAX_SHAPES} shapes in total. Shapes are never removed, so once the tree is full, only the shapes which already
+ * exist are shared and objects which would need a new shape fall back to a map. Shapes are thread-safe.
+ */
+final class EventShape {
+    static final int MAX_FIELDS = 256;
+
+    static final int MAX_TRANSITIONS = 256;
+
+    static final int MAX_SHAPES = 16_384;
+
+    /**
+     * Shapes with more fields look up the index of a field in a map instead of comparing the names.
+     */
+    private static final int MAX_LINEAR_SEARCH_FIELDS = 8;
+
+    static final EventShape EMPTY = newTree(MAX_SHAPES);
+
+    /**
+     * The shape without the last field of this shape, or null for the empty shape.
+     */
+    private final EventShape parent;
+
+    private final String[] fieldNames;
+
+    private final Map<String, Integer> fieldIndexes;
+
+    private final ConcurrentMap<String, EventShape> transitions = new ConcurrentHashMap<>();
+
+    /**
+     * The number of shapes which can still be added to the tree, shared by all shapes of the tree.
+     */
+    private final AtomicInteger remainingShapes;
+
+    private EventShape(final EventShape parent, final String[] fieldNames, final AtomicInteger remainingShapes) {
+        this.parent = parent;
+        this.fieldNames = fieldNames;
+        this.remainingShapes = remainingShapes;
+        if (fieldNames.length > MAX_LINEAR_SEARCH_FIELDS) {
+            fieldIndexes = new HashMap<>();
+            for (int i = 0; i < fieldNames.length; i++) {
+                fieldIndexes.put(fieldNames[i], i);
+            }
+        } else {
+            fieldIndexes = null;
+        }
+    }
+
+    /**
+     * Returns the empty shape of a new tree of shapes, which is independent of the tree of {@link #EMPTY}.
+     *
+     * @param maxShapes the maximum number of shapes which can be added to the tree
+     */
+    static EventShape newTree(final int maxShapes) {
+        return new EventShape(null, new String[0], new AtomicInteger(maxShapes));
+    }
+
+    int size() {
+        return fieldNames.length;
+    }
+
+    String getFieldName(final int index) {
+        return fieldNames[index];
+    }
+
+    /**
+     * @return the index of the field, or -1 if the shape does not contain it
+     */
+    int indexOf(final String fieldName) {
+        if (fieldIndexes != null) {
+            return fieldIndexes.getOrDefault(fieldName, -1);
+        }
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldNames[i].equals(fieldName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the shape of the first fields of this shape.
+     *
+     * @param size the number of fields, at most the size of this shape
+     */
+    EventShape getAncestor(final int size) {
+        EventShape shape = this;
+        while (shape.fieldNames.length > size) {
+            shape = shape.parent;
+        }
+        return shape;
+    }
+
+    /**
+     * @return the number of shapes which can still be added to the tree of this shape
+     */
+    int getRemainingShapes() {
+        return remainingShapes.get();
+    }
+
+    /**
+     * Returns the shape with the given field added after the fields of this shape. The field must not be contained in
+     * this shape.
+     *
+     * @return the shape, or null if the shape would exceed {@link #MAX_FIELDS}, {@link #MAX_TRANSITIONS} or the
+     * shapes of the tree
+     */
+    EventShape withField(final String fieldName) {
+        final EventShape shape = transitions.get(fieldName);
+        if (shape != null) {
+            return shape;
+        }
+        if (fieldNames.length >= MAX_FIELDS || transitions.size() >= MAX_TRANSITIONS) {
+            return null;
+        }
+        return transitions.computeIfAbsent(fieldName, name -> {
+            if (remainingShapes.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) == 0) {
+                return null;
+            }
+            final String[] shapeFieldNames = Arrays.copyOf(fieldNames, fieldNames.length + 1);
+            shapeFieldNames[fieldNames.length] = name;
+            return new EventShape(this, shapeFieldNames, remainingShapes);
+        });
+    }
+}
@@ -11,7 +11,6 @@
 
 package com.amazon.dataprepper.model.event;
 
-import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,21 +18,20 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
 
-import static com.fasterxml.jackson.core.JsonPointer.SEPARATOR;
-import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * A Jackson Implementation of {@link Event} interface. This implementation relies heavily on JsonNode to manage the keys of the event.
  * <p>
  * This implementation supports dot-notation for keys to access nested structures. For example using the key "fizz.buzz" would allow a
- * user to retrieve the number 42 using {@link #get(String, Class)} from the nested structure below.
+ * user to retrieve the number 42 using {@link #get(String, Class)} from the nested structure below. Keys which are used
+ * for many events should be compiled once with {@link EventKey#of(String)} and passed to the overloads taking an
+ * {@link EventKey}, which neither validate nor parse the key again.
  * <p>
  *     {
  *         "foo": "bar"
@@ -48,8 +46,6 @@ public class JacksonEvent implements Event {
 
     private static final Logger LOG = LoggerFactory.getLogger(JacksonEvent.class);
 
-    private static final String DOT_NOTATION_REGEX = "\\.";
-
     private static final ObjectMapper mapper = new ObjectMapper();
 
     private final EventMetadata eventMetadata;
@@ -76,6 +72,21 @@ public class JacksonEvent implements Event {
 
     }
 
+    /**
+     * Creates an event of an already parsed tree, which is owned by the event from then on.
+     */
+    JacksonEvent(final EventMetadata eventMetadata, final JsonNode jsonNode) {
+        this.eventMetadata = eventMetadata;
+        this.jsonNode = jsonNode;
+    }
+
+    /**
+     * Returns the tree of the event, which must not be modified.
+     */
+    JsonNode getJsonNode() {
+        return jsonNode;
+    }
+
     /**
      * Adds or updates the key with a given value in the Event.
      * @param key where the value will be set
@@ -84,27 +95,35 @@ public class JacksonEvent implements Event {
      */
     @Override
     public void put(final String key, final Object value) {
+        put(EventKey.of(key), value);
+    }
+
+    /**
+     * Adds or updates the compiled key with a given value in the Event.
+     * @param key where the value will be set
+     * @param value value to set the key to
+     * @since 1.2
+     */
+    @Override
+    public void put(final EventKey key, final Object value) {
 
-        checkKeyArgument(key);
+        checkNotNull(key, "key cannot be null");
 
-        final LinkedList<String> keys = new LinkedList<>(Arrays.asList(key.split(DOT_NOTATION_REGEX)));
+        final String[] keys = key.getPath();
 
         JsonNode parentNode = jsonNode;
 
-        while (!keys.isEmpty()) {
-            if (keys.size() == 1) {
-                final JsonNode valueNode = mapper.valueToTree(value);
-                ((ObjectNode) parentNode).set(keys.removeFirst(), valueNode);
-            } else {
-                final String childKey = keys.removeFirst();
-                JsonNode childNode = parentNode.get(toJsonPointerExpression(childKey));
-                if (childNode == null) {
-                    childNode = mapper.createObjectNode();
-                    ((ObjectNode) parentNode).set(childKey, childNode);
-                }
-                parentNode = childNode;
+        for (int i = 0; i < keys.length - 1; i++) {
+            JsonNode childNode = parentNode.get(keys[i]);
+            if (childNode == null) {
+                childNode = mapper.createObjectNode();
+                ((ObjectNode) parentNode).set(keys[i], childNode);
             }
+            parentNode = childNode;
         }
+
+        final JsonNode valueNode = mapper.valueToTree(value);
+        ((ObjectNode) parentNode).set(key.getLeafKey(), valueNode);
     }
 
     /**
@@ -117,12 +136,23 @@ public class JacksonEvent implements Event {
      */
     @Override
     public <T> T get(final String key, final Class<T> clazz) {
+        return get(EventKey.of(key), clazz);
+    }
 
-        checkKeyArgument(key);
+    /**
+     * Retrieves the value of type clazz from the compiled key.
+     * @param key the value to retrieve from
+     * @param clazz the return type of the value
+     * @return the value
+     * @throws RuntimeException if it is unable to map the value to the provided clazz
+     * @since 1.2
+     */
+    @Override
+    public <T> T get(final EventKey key, final Class<T> clazz) {
 
-        final JsonPointer jsonPointer = toJsonPointer(key);
+        checkNotNull(key, "key cannot be null");
 
-        JsonNode node = jsonNode.at(jsonPointer);
+        final JsonNode node = jsonNode.at(key.getJsonPointer());
         if (node.isMissingNode()) {
             return null;
         }
@@ -135,15 +165,6 @@ public class JacksonEvent implements Event {
         }
     }
 
-    private String toJsonPointerExpression(final String key) {
-        return key.replaceAll("\\.", "\\/");
-    }
-
-    private JsonPointer toJsonPointer(final String key) {
-        String jsonPointerExpression = SEPARATOR + toJsonPointerExpression(key);
-        return JsonPointer.compile(jsonPointerExpression);
-    }
-
     /**
      * Deletes the key from the event.
      *
@@ -151,21 +172,24 @@ public class JacksonEvent implements Event {
      */
     @Override
     public void delete(final String key) {
+        delete(EventKey.of(key));
+    }
 
-        checkKeyArgument(key);
-        final int index = key.lastIndexOf(".");
+    /**
+     * Deletes the compiled key from the event.
+     *
+     * @param key the field to be deleted
+     * @since 1.2
+     */
+    @Override
+    public void delete(final EventKey key) {
 
-        JsonNode baseNode = jsonNode;
-        String leafKey = key;
+        checkNotNull(key, "key cannot be null");
 
-        if (index != -1) {
-            final JsonPointer jsonPointer = toJsonPointer(key.substring(0, index));
-            baseNode = jsonNode.at(jsonPointer);
-            leafKey = key.substring(index + 1);
-        }
+        final JsonNode baseNode = key.getParentJsonPointer() == null ? jsonNode : jsonNode.at(key.getParentJsonPointer());
 
         if (!baseNode.isMissingNode()) {
-            ((ObjectNode) baseNode).remove(leafKey);
+            ((ObjectNode) baseNode).remove(key.getLeafKey());
         }
     }
 
@@ -175,14 +199,13 @@ public class JacksonEvent implements Event {
     }
 
     @Override
-    public EventMetadata getMetadata() {
-        return eventMetadata;
+    public byte[] toJsonBytes() {
+        return toJsonString().getBytes(StandardCharsets.UTF_8);
     }
 
-    private void checkKeyArgument(final String key) {
-        checkNotNull(key, "key cannot be null");
-        checkArgument(!key.isEmpty(), "key cannot be an empty string");
-        checkArgument(key.matches("^([a-zA-Z0-9]([\\w -]*[a-zA-Z0-9])+\\.?)+(?<!\\.)$"), "key must contain only alphanumeric chars with .- and  must follow dot notation (ie. 'field.to.key')");
+    @Override
+    public EventMetadata getMetadata() {
+        return eventMetadata;
     }
 
     /**
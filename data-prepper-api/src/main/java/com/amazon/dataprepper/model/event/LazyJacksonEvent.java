@@ -0,0 +1,303 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.event;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An implementation of {@link Event} which holds the original UTF-8 encoded Json of the event and parses it on demand.
+ * <p>
+ * Values are read by streaming through the Json up to the requested key, without building a tree of the event. The
+ * tree is only parsed on the first {@link #put} or {@link #delete}, from then on the event behaves like a
+ * {@link JacksonEvent}. As long as the event is not modified, {@link #toJsonBytes()} returns the original bytes and
+ * {@link #toJsonString()} decodes them without parsing, so events which are passed through a pipeline unmodified are
+ * never parsed. If a key occurs more than once in an object, the last value is read, just as in the parsed tree.
+ * <p>
+ * The builder only checks that the Json starts with an object, malformed Json after the start is reported when the
+ * event is read or modified.
+ * <p>
+ * This implementation supports the same dot-notation for keys as {@link JacksonEvent}.
+ *
+ * @since 1.2
+ */
+public class LazyJacksonEvent implements Event {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LazyJacksonEvent.class);
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final EventMetadata eventMetadata;
+
+    /**
+     * The original Json of the event, or null once the event was parsed. It is set to null only after
+     * {@link #parsedEvent} is set, so a reader which sees null always finds the parsed event.
+     */
+    private volatile byte[] jsonBytes;
+
+    private volatile JacksonEvent parsedEvent;
+
+    private LazyJacksonEvent(final Builder builder) {
+
+        checkNotNull(builder.jsonBytes, "jsonBytes cannot be null");
+        checkArgument(startsWithObject(builder.jsonBytes), "jsonBytes must contain a Json object");
+
+        if (builder.eventMetadata == null) {
+            this.eventMetadata = new DefaultEventMetadata.Builder()
+                    .withEventType(builder.eventType)
+                    .withTimeReceived(builder.timeReceived)
+                    .withAttributes(builder.eventMetadataAttributes)
+                    .build();
+        } else {
+            this.eventMetadata = builder.eventMetadata;
+        }
+
+        this.jsonBytes = builder.jsonBytes;
+    }
+
+    @Override
+    public void put(final String key, final Object value) {
+        put(EventKey.of(key), value);
+    }
+
+    @Override
+    public void put(final EventKey key, final Object value) {
+        checkNotNull(key, "key cannot be null");
+        parse().put(key, value);
+    }
+
+    @Override
+    public <T> T get(final String key, final Class<T> clazz) {
+        return get(EventKey.of(key), clazz);
+    }
+
+    /**
+     * Retrieves the value of type clazz from the compiled key. The value is read from the original Json without
+     * parsing the rest of the event as long as the event was not modified.
+     * @param key the value to retrieve from
+     * @param clazz the return type of the value
+     * @return the value
+     * @throws RuntimeException if it is unable to map the value to the provided clazz
+     * @since 1.2
+     */
+    @Override
+    public <T> T get(final EventKey key, final Class<T> clazz) {
+        checkNotNull(key, "key cannot be null");
+
+        final byte[] bytes = jsonBytes;
+        if (bytes == null) {
+            return parsedEvent.get(key, clazz);
+        }
+
+        try (final JsonParser parser = mapper.getFactory().createParser(bytes)) {
+            parser.nextToken();
+            final JsonNode node = readField(parser, key.getPath(), 0);
+            return node == null ? null : mapper.treeToValue(node, clazz);
+        } catch (final IOException e) {
+            LOG.error("Unable to map {} to {}", key, clazz, e);
+            throw new RuntimeException(String.format("Unable to map %s to %s", key, clazz), e);
+        }
+    }
+
+    @Override
+    public void delete(final String key) {
+        delete(EventKey.of(key));
+    }
+
+    @Override
+    public void delete(final EventKey key) {
+        checkNotNull(key, "key cannot be null");
+        parse().delete(key);
+    }
+
+    @Override
+    public String toJsonString() {
+        final byte[] bytes = jsonBytes;
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : parsedEvent.toJsonString();
+    }
+
+    /**
+     * Returns the original bytes of the event if it was not modified, otherwise the serialized Json of the modified
+     * event. The returned array must not be modified.
+     * @return UTF-8 encoded Json of the event
+     * @since 1.2
+     */
+    @Override
+    public byte[] toJsonBytes() {
+        final byte[] bytes = jsonBytes;
+        return bytes != null ? bytes : parsedEvent.toJsonBytes();
+    }
+
+    @Override
+    public EventMetadata getMetadata() {
+        return eventMetadata;
+    }
+
+    /**
+     * Returns whether the tree of the event was parsed, i.e. the event was modified.
+     */
+    boolean isParsed() {
+        return jsonBytes == null;
+    }
+
+    /**
+     * Returns the tree of the event, which is parsed from the original Json if the event was not modified. The
+     * returned tree must not be modified.
+     */
+    JsonNode toJsonNode() throws IOException {
+        final byte[] bytes = jsonBytes;
+        return bytes != null ? mapper.readTree(bytes) : parsedEvent.getJsonNode();
+    }
+
+    private synchronized JacksonEvent parse() {
+        if (parsedEvent == null) {
+            try {
+                parsedEvent = new JacksonEvent(eventMetadata, mapper.readTree(jsonBytes));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Unable to parse the Json of the event", e);
+            }
+            jsonBytes = null;
+        }
+        return parsedEvent;
+    }
+
+    /**
+     * Reads the value of the field at path[index] and below from the current value of the parser, which is consumed.
+     * The whole object is read as the last occurrence of a field wins if a field occurs more than once.
+     *
+     * @return the value of the field, or null if the current value is not an object or does not contain the field
+     */
+    private static JsonNode readField(final JsonParser parser, final String[] path, final int index) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        JsonNode value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final boolean matches = path[index].equals(parser.getCurrentName());
+            parser.nextToken();
+            if (!matches) {
+                parser.skipChildren();
+            } else if (index == path.length - 1) {
+                value = mapper.readTree(parser);
+            } else {
+                value = readField(parser, path, index + 1);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the Json starts with an object without parsing the rest of it.
+     */
+    private static boolean startsWithObject(final byte[] jsonBytes) {
+        try (final JsonParser parser = mapper.getFactory().createParser(jsonBytes)) {
+            return parser.nextToken() == JsonToken.START_OBJECT;
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Constructs an empty builder.
+     * @return a builder
+     * @since 1.2
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for creating {@link LazyJacksonEvent}.
+     * @since 1.2
+     */
+    public static class Builder {
+        private EventMetadata eventMetadata;
+        private byte[] jsonBytes;
+        private String eventType;
+        private Instant timeReceived;
+        private Map<String, Object> eventMetadataAttributes;
+
+        /**
+         * Sets the event type for the metadata if a {@link #withEventMetadata} is not used.
+         * @param eventType the event type
+         * @since 1.2
+         */
+        public Builder withEventType(final String eventType) {
+            this.eventType = eventType;
+            return this;
+        }
+
+        /**
+         * Sets the attributes for the metadata if a {@link #withEventMetadata} is not used.
+         * @param eventMetadataAttributes the attributes
+         * @since 1.2
+         */
+        public Builder withEventMetadataAttributes(final Map<String, Object> eventMetadataAttributes) {
+            this.eventMetadataAttributes = eventMetadataAttributes;
+            return this;
+        }
+
+        /**
+         * Sets the time received for the metadata if a {@link #withEventMetadata} is not used.
+         * @param timeReceived the time an event was received
+         * @since 1.2
+         */
+        public Builder withTimeReceived(final Instant timeReceived) {
+            this.timeReceived = timeReceived;
+            return this;
+        }
+
+        /**
+         * Sets the metadata.
+         * @param eventMetadata the metadata
+         * @since 1.2
+         */
+        public Builder withEventMetadata(final EventMetadata eventMetadata) {
+            this.eventMetadata = eventMetadata;
+            return this;
+        }
+
+        /**
+         * Sets the UTF-8 encoded Json object of the event. The array is not copied and must not be modified afterwards.
+         * {@link #build()} throws an {@link IllegalArgumentException} if the Json does not start with an object.
+         * @param jsonBytes the Json of the event
+         * @since 1.2
+         */
+        public Builder withJsonBytes(final byte[] jsonBytes) {
+            this.jsonBytes = jsonBytes;
+            return this;
+        }
+
+        /**
+         * Returns a newly created {@link LazyJacksonEvent}.
+         * @return an event
+         * @since 1.2
+         */
+        public LazyJacksonEvent build() {
+            return new LazyJacksonEvent(this);
+        }
+    }
+}
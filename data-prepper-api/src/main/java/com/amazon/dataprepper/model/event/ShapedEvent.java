@@ -0,0 +1,361 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.event;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An implementation of {@link Event} for events which are held in memory for long, e.g. in buffers or in the state
+ * of stateful preppers. The field names of the objects of the event are not stored per event but in a canonical
+ * {@link EventShape}, which is shared by all objects with the same fields in the same order, e.g. the spans or logs
+ * of one source. An object only holds an array of its values, instead of a map entry with its own copy of the field
+ * name for each value like the tree of a {@link JacksonEvent}.
+ * <p>
+ * Adding a field moves an object to the shared shape with the additional field, and deleting a field moves it to the
+ * shape of its remaining fields. Objects whose fields diverge too much to share shapes, e.g. when field names contain
+ * ids, fall back to a map of their own.
+ * <p>
+ * This implementation supports the same dot-notation for keys as {@link JacksonEvent}.
+ *
+ * @since 1.2
+ */
+public class ShapedEvent implements Event {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShapedEvent.class);
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final EventMetadata eventMetadata;
+
+    private final ShapedObject root;
+
+    private ShapedEvent(final Builder builder) {
+
+        if (builder.eventMetadata == null) {
+            this.eventMetadata = new DefaultEventMetadata.Builder()
+                    .withEventType(builder.eventType)
+                    .withTimeReceived(builder.timeReceived)
+                    .withAttributes(builder.eventMetadataAttributes)
+                    .build();
+        } else {
+            this.eventMetadata = builder.eventMetadata;
+        }
+
+        final Object rootValue;
+        if (builder.jsonBytes != null) {
+            rootValue = readJson(builder.jsonBytes);
+        } else if (builder.data != null) {
+            rootValue = toValue(builder.data);
+        } else {
+            rootValue = ShapedObject.empty();
+        }
+        checkArgument(rootValue instanceof ShapedObject, "data must be a Json object");
+        this.root = (ShapedObject) rootValue;
+    }
+
+    @Override
+    public void put(final String key, final Object value) {
+        put(EventKey.of(key), value);
+    }
+
+    /**
+     * Adds or updates the value of the compiled key. Objects which are missing on the path of the key, or whose
+     * values are not objects, are replaced by new objects.
+     * @param key where the value will be set
+     * @param value value to set the key to
+     * @since 1.2
+     */
+    @Override
+    public void put(final EventKey key, final Object value) {
+        checkNotNull(key, "key cannot be null");
+
+        final String[] path = key.getPath();
+        ShapedObject parent = root;
+        for (int i = 0; i < path.length - 1; i++) {
+            final Object child = parent.get(path[i]);
+            if (child instanceof ShapedObject) {
+                parent = (ShapedObject) child;
+            } else {
+                final ShapedObject childObject = ShapedObject.empty();
+                parent.put(path[i], childObject);
+                parent = childObject;
+            }
+        }
+        parent.put(path[path.length - 1], toValue(value));
+    }
+
+    @Override
+    public <T> T get(final String key, final Class<T> clazz) {
+        return get(EventKey.of(key), clazz);
+    }
+
+    @Override
+    public <T> T get(final EventKey key, final Class<T> clazz) {
+        checkNotNull(key, "key cannot be null");
+
+        Object value = root;
+        for (final String childKey : key.getPath()) {
+            if (!(value instanceof ShapedObject)) {
+                return null;
+            }
+            value = ((ShapedObject) value).get(childKey);
+        }
+        if (value == null) {
+            return null;
+        }
+
+        final Object plainValue = ShapedObject.toPlainValue(value);
+        if (clazz.isInstance(plainValue)) {
+            return clazz.cast(plainValue);
+        }
+        try {
+            return mapper.convertValue(plainValue, clazz);
+        } catch (final IllegalArgumentException e) {
+            LOG.error("Unable to map {} to {}", key, clazz, e);
+            throw new RuntimeException(String.format("Unable to map %s to %s", key, clazz), e);
+        }
+    }
+
+    @Override
+    public void delete(final String key) {
+        delete(EventKey.of(key));
+    }
+
+    @Override
+    public void delete(final EventKey key) {
+        checkNotNull(key, "key cannot be null");
+
+        final String[] path = key.getPath();
+        Object parent = root;
+        for (int i = 0; i < path.length - 1 && parent instanceof ShapedObject; i++) {
+            parent = ((ShapedObject) parent).get(path[i]);
+        }
+        if (parent instanceof ShapedObject) {
+            ((ShapedObject) parent).remove(path[path.length - 1]);
+        }
+    }
+
+    @Override
+    public String toJsonString() {
+        return new String(toJsonBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] toJsonBytes() {
+        return uncheckedIO(() -> {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try (final JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+                ShapedObject.writeValue(generator, root);
+            }
+            return outputStream.toByteArray();
+        });
+    }
+
+    @Override
+    public EventMetadata getMetadata() {
+        return eventMetadata;
+    }
+
+    /**
+     * Returns the shape of the top-level object of the event, or null if the object fell back to a map.
+     */
+    EventShape getShape() {
+        return root.getShape();
+    }
+
+    private static Object readJson(final byte[] jsonBytes) {
+        return uncheckedIO(() -> {
+            try (final JsonParser parser = mapper.getFactory().createParser(jsonBytes)) {
+                parser.nextToken();
+                return readValue(parser);
+            }
+        });
+    }
+
+    /**
+     * Converts a value into the values held by a {@link ShapedObject}. Strings, numbers and booleans are held as they
+     * are, any other value is serialized and read like Json.
+     */
+    private static Object toValue(final Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        return uncheckedIO(() -> {
+            final TokenBuffer tokenBuffer = new TokenBuffer(mapper, false);
+            mapper.writeValue(tokenBuffer, value);
+            try (final JsonParser parser = tokenBuffer.asParser()) {
+                parser.nextToken();
+                return readValue(parser);
+            }
+        });
+    }
+
+    /**
+     * Reads the value at the current token of the parser.
+     */
+    private static Object readValue(final JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                final List<String> fieldNames = new ArrayList<>();
+                final List<Object> fieldValues = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    fieldNames.add(parser.getCurrentName());
+                    parser.nextToken();
+                    fieldValues.add(readValue(parser));
+                }
+                return ShapedObject.of(fieldNames, fieldValues);
+            case START_ARRAY:
+                final List<Object> elements = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    elements.add(readValue(parser));
+                }
+                return elements;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_EMBEDDED_OBJECT:
+                return parser.getEmbeddedObject();
+            default:
+                return null;
+        }
+    }
+
+    private static <T> T uncheckedIO(final IOSupplier<T> supplier) {
+        try {
+            return supplier.get();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Unable to convert the Json of the event", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOSupplier<T> {
+        T get() throws IOException;
+    }
+
+    /**
+     * Constructs an empty builder.
+     * @return a builder
+     * @since 1.2
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for creating {@link ShapedEvent}.
+     * @since 1.2
+     */
+    public static class Builder {
+        private EventMetadata eventMetadata;
+        private Object data;
+        private byte[] jsonBytes;
+        private String eventType;
+        private Instant timeReceived;
+        private Map<String, Object> eventMetadataAttributes;
+
+        /**
+         * Sets the event type for the metadata if a {@link #withEventMetadata} is not used.
+         * @param eventType the event type
+         * @since 1.2
+         */
+        public Builder withEventType(final String eventType) {
+            this.eventType = eventType;
+            return this;
+        }
+
+        /**
+         * Sets the attributes for the metadata if a {@link #withEventMetadata} is not used.
+         * @param eventMetadataAttributes the attributes
+         * @since 1.2
+         */
+        public Builder withEventMetadataAttributes(final Map<String, Object> eventMetadataAttributes) {
+            this.eventMetadataAttributes = eventMetadataAttributes;
+            return this;
+        }
+
+        /**
+         * Sets the time received for the metadata if a {@link #withEventMetadata} is not used.
+         * @param timeReceived the time an event was received
+         * @since 1.2
+         */
+        public Builder withTimeReceived(final Instant timeReceived) {
+            this.timeReceived = timeReceived;
+            return this;
+        }
+
+        /**
+         * Sets the metadata.
+         * @param eventMetadata the metadata
+         * @since 1.2
+         */
+        public Builder withEventMetadata(final EventMetadata eventMetadata) {
+            this.eventMetadata = eventMetadata;
+            return this;
+        }
+
+        /**
+         * Sets the data of the event, which must serialize to a Json object.
+         * @param data the data
+         * @since 1.2
+         */
+        public Builder withData(final Object data) {
+            this.data = data;
+            return this;
+        }
+
+        /**
+         * Sets the UTF-8 encoded Json object of the event, which takes precedence over {@link #withData}.
+         * @param jsonBytes the Json of the event
+         * @since 1.2
+         */
+        public Builder withJsonBytes(final byte[] jsonBytes) {
+            this.jsonBytes = jsonBytes;
+            return this;
+        }
+
+        /**
+         * Returns a newly created {@link ShapedEvent}.
+         * @return an event
+         * @throws IllegalArgumentException if the data is not a Json object
+         * @throws UncheckedIOException if the data cannot be read
+         * @since 1.2
+         */
+        public ShapedEvent build() {
+            return new ShapedEvent(this);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.event;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Json object of a {@link ShapedEvent}. The object holds its values in an array indexed by the fields of its shared
+ * {@link EventShape}, or in a map of its own once its fields exceed the limits of the shapes. The array may be longer
+ * than the shape, so that adding fields one by one grows it only a logarithmic number of times. Values are the plain
+ * Json types: strings, numbers, booleans, null, lists of values and nested objects.
+ */
+final class ShapedObject {
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private static final int MIN_CAPACITY = 4;
+
+    private EventShape shape;
+
+    private Object[] values;
+
+    private Map<String, Object> fields;
+
+    private ShapedObject(final EventShape shape, final Object[] values) {
+        this.shape = shape;
+        this.values = values;
+    }
+
+    private ShapedObject(final Map<String, Object> fields) {
+        this.fields = fields;
+    }
+
+    static ShapedObject empty() {
+        return new ShapedObject(EventShape.EMPTY, NO_VALUES);
+    }
+
+    /**
+     * Creates an object of the given fields in order. A later field replaces an earlier field of the same name.
+     */
+    static ShapedObject of(final List<String> fieldNames, final List<Object> fieldValues) {
+        return of(EventShape.EMPTY, fieldNames, fieldValues);
+    }
+
+    /**
+     * Creates an object of the given fields in order with a shape of the tree of the given empty shape.
+     */
+    static ShapedObject of(final EventShape emptyShape, final List<String> fieldNames, final List<Object> fieldValues) {
+        EventShape objectShape = emptyShape;
+        final Object[] objectValues = new Object[fieldNames.size()];
+        for (int i = 0; i < fieldNames.size(); i++) {
+            final int index = objectShape.indexOf(fieldNames.get(i));
+            if (index != -1) {
+                objectValues[index] = fieldValues.get(i);
+                continue;
+            }
+            objectShape = objectShape.withField(fieldNames.get(i));
+            if (objectShape == null) {
+                final Map<String, Object> objectFields = new LinkedHashMap<>();
+                for (int j = 0; j < fieldNames.size(); j++) {
+                    objectFields.put(fieldNames.get(j), fieldValues.get(j));
+                }
+                return new ShapedObject(objectFields);
+            }
+            objectValues[objectShape.size() - 1] = fieldValues.get(i);
+        }
+        return new ShapedObject(objectShape, objectValues);
+    }
+
+    /**
+     * @return the shape of the object, or null if the object fell back to a map
+     */
+    EventShape getShape() {
+        return shape;
+    }
+
+    Object get(final String fieldName) {
+        if (shape == null) {
+            return fields.get(fieldName);
+        }
+        final int index = shape.indexOf(fieldName);
+        return index == -1 ? null : values[index];
+    }
+
+    void put(final String fieldName, final Object value) {
+        if (shape == null) {
+            fields.put(fieldName, value);
+            return;
+        }
+        final int index = shape.indexOf(fieldName);
+        if (index != -1) {
+            values[index] = value;
+            return;
+        }
+        final EventShape nextShape = shape.withField(fieldName);
+        if (nextShape == null) {
+            fallBackToMap();
+            fields.put(fieldName, value);
+            return;
+        }
+        if (values.length < nextShape.size()) {
+            values = Arrays.copyOf(values, Math.max(MIN_CAPACITY, values.length * 2));
+        }
+        values[nextShape.size() - 1] = value;
+        shape = nextShape;
+    }
+
+    /**
+     * Removes the field. The object moves to the shape of its remaining fields, so it keeps sharing its shape with
+     * the objects which were built with the same fields. The shape is found from the shape of the fields before the
+     * removed field, so only the fields after it are added again.
+     */
+    void remove(final String fieldName) {
+        if (shape == null) {
+            fields.remove(fieldName);
+            return;
+        }
+        final int index = shape.indexOf(fieldName);
+        if (index == -1) {
+            return;
+        }
+        final int size = shape.size();
+        EventShape nextShape = shape.getAncestor(index);
+        for (int i = index + 1; i < size && nextShape != null; i++) {
+            nextShape = nextShape.withField(shape.getFieldName(i));
+        }
+        if (nextShape == null) {
+            fallBackToMap();
+            fields.remove(fieldName);
+            return;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        values[size - 1] = null;
+        shape = nextShape;
+    }
+
+    private void fallBackToMap() {
+        fields = new LinkedHashMap<>();
+        for (int i = 0; i < shape.size(); i++) {
+            fields.put(shape.getFieldName(i), values[i]);
+        }
+        shape = null;
+        values = null;
+    }
+
+    /**
+     * Writes the given value of an object, converting nested objects and lists.
+     */
+    static void writeValue(final JsonGenerator generator, final Object value) throws IOException {
+        if (value instanceof ShapedObject) {
+            final ShapedObject object = (ShapedObject) value;
+            generator.writeStartObject();
+            if (object.shape == null) {
+                for (final Map.Entry<String, Object> field : object.fields.entrySet()) {
+                    generator.writeFieldName(field.getKey());
+                    writeValue(generator, field.getValue());
+                }
+            } else {
+                for (int i = 0; i < object.shape.size(); i++) {
+                    generator.writeFieldName(object.shape.getFieldName(i));
+                    writeValue(generator, object.values[i]);
+                }
+            }
+            generator.writeEndObject();
+        } else if (value instanceof List) {
+            generator.writeStartArray();
+            for (final Object element : (List<?>) value) {
+                writeValue(generator, element);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeObject(value);
+        }
+    }
+
+    /**
+     * Converts the given value of an object into plain Java types, i.e. nested objects into maps.
+     */
+    static Object toPlainValue(final Object value) {
+        if (value instanceof ShapedObject) {
+            final ShapedObject object = (ShapedObject) value;
+            final Map<String, Object> map = new LinkedHashMap<>();
+            if (object.shape == null) {
+                object.fields.forEach((fieldName, fieldValue) -> map.put(fieldName, toPlainValue(fieldValue)));
+            } else {
+                for (int i = 0; i < object.shape.size(); i++) {
+                    map.put(object.shape.getFieldName(i), toPlainValue(object.values[i]));
+                }
+            }
+            return map;
+        } else if (value instanceof List) {
+            final List<Object> list = new ArrayList<>(((List<?>) value).size());
+            for (final Object element : (List<?>) value) {
+                list.add(toPlainValue(element));
+            }
+            return list;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.event;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Encodes events in the binary Smile format for buffers and snapshots which store events. Smile back-references
+ * repeated field names and short string values, so the encoded events are smaller and faster to write and read than
+ * their Json text.
+ * <p>
+ * An encoded event holds the event type, the time received and the attributes of the {@link EventMetadata} together
+ * with the data of the event. Events which hold a parsed tree, i.e. {@link JacksonEvent}s and modified
+ * {@link LazyJacksonEvent}s, are written from their tree and decoded into a tree again as {@link JacksonEvent}s, without
+ * going through Json text. The data of all other events is transcoded from their Json to Smile token by token and
+ * decoded as {@link LazyJacksonEvent}s, so an event which is passed through to a sink unmodified is not parsed at all.
+ * Attribute values are decoded as the plain Json types, e.g. a {@link java.util.UUID} attribute is decoded as a
+ * {@link String}.
+ * <p>
+ * Instances of this class are thread-safe.
+ *
+ * @since 1.2
+ */
+public class SmileEventCodec {
+
+    private static final String EVENT_TYPE = "eventType";
+
+    private static final String TIME_RECEIVED = "timeReceived";
+
+    private static final String ATTRIBUTES = "attributes";
+
+    private static final String DATA = "data";
+
+    private static final String TREE = "tree";
+
+    private static final ObjectMapper smileMapper = new ObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Encodes the event.
+     *
+     * @param event the event
+     * @return the encoded event
+     * @throws IOException if an attribute of the event cannot be serialized
+     * @since 1.2
+     */
+    public byte[] encode(final Event event) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final EventMetadata eventMetadata = event.getMetadata();
+        try (final JsonGenerator generator = smileMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeStringField(EVENT_TYPE, eventMetadata.getEventType());
+            generator.writeFieldName(TIME_RECEIVED);
+            generator.writeArray(new long[]{eventMetadata.getTimeReceived().getEpochSecond(),
+                    eventMetadata.getTimeReceived().getNano()}, 0, 2);
+            generator.writeObjectField(ATTRIBUTES, eventMetadata.getAttributes());
+            final JsonNode jsonNode = getParsedJsonNode(event);
+            if (jsonNode != null) {
+                generator.writeFieldName(TREE);
+                smileMapper.writeTree(generator, jsonNode);
+            } else {
+                try (final JsonParser parser = jsonFactory.createParser(event.toJsonBytes())) {
+                    generator.writeFieldName(DATA);
+                    parser.nextToken();
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+            generator.writeEndObject();
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Decodes an event which was encoded with {@link #encode(Event)}.
+     *
+     * @param bytes the encoded event
+     * @return the event
+     * @throws IOException if the bytes are not an encoded event
+     * @since 1.2
+     */
+    @SuppressWarnings("unchecked")
+    public Event decode(final byte[] bytes) throws IOException {
+        final DefaultEventMetadata.Builder metadataBuilder = DefaultEventMetadata.builder();
+        byte[] jsonBytes = null;
+        JsonNode jsonNode = null;
+        try (final JsonParser parser = smileMapper.getFactory().createParser(bytes)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Encoded event is not an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                if (EVENT_TYPE.equals(fieldName)) {
+                    metadataBuilder.withEventType(parser.getText());
+                } else if (TIME_RECEIVED.equals(fieldName)) {
+                    final long[] timeReceived = parser.readValueAs(long[].class);
+                    metadataBuilder.withTimeReceived(Instant.ofEpochSecond(timeReceived[0], timeReceived[1]));
+                } else if (ATTRIBUTES.equals(fieldName)) {
+                    metadataBuilder.withAttributes(parser.readValueAs(Map.class));
+                } else if (DATA.equals(fieldName)) {
+                    checkObject(parser);
+                    jsonBytes = transcodeToJson(parser);
+                } else if (TREE.equals(fieldName)) {
+                    checkObject(parser);
+                    jsonNode = smileMapper.readTree(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (jsonNode != null) {
+            return new JacksonEvent(metadataBuilder.build(), jsonNode);
+        }
+        if (jsonBytes == null) {
+            throw new IOException("Encoded event does not contain data");
+        }
+        return LazyJacksonEvent.builder()
+                .withEventMetadata(metadataBuilder.build())
+                .withJsonBytes(jsonBytes)
+                .build();
+    }
+
+    /**
+     * Returns the tree of the event if the event was already parsed, otherwise null.
+     */
+    private static JsonNode getParsedJsonNode(final Event event) throws IOException {
+        if (event instanceof JacksonEvent) {
+            return ((JacksonEvent) event).getJsonNode();
+        }
+        if (event instanceof LazyJacksonEvent && ((LazyJacksonEvent) event).isParsed()) {
+            return ((LazyJacksonEvent) event).toJsonNode();
+        }
+        return null;
+    }
+
+    private static void checkObject(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Data of the encoded event is not an object");
+        }
+    }
+
+    private static byte[] transcodeToJson(final JsonParser parser) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (final JsonGenerator generator = jsonFactory.createGenerator(outputStream)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary of the distinct strings of an {@link EventBatch}. The string columns of the batch store the codes of
+ * their values, so that the values can be compared as ints, e.g. a filter can look up the code of the value it
+ * matches once per batch and compare the codes of the rows.
+ *
+ * @since 1.2
+ */
+public class StringDictionary {
+    /**
+     * Code returned by {@link #getCode(String)} for strings which are not in the dictionary.
+     */
+    public static final int NO_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code of the given string, adding the string to the dictionary if it is not yet contained.
+     *
+     * @param value the string
+     * @return the code of the string
+     * @since 1.2
+     */
+    public int encode(final String value) {
+        final Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        values.add(value);
+        codes.put(value, values.size() - 1);
+        return values.size() - 1;
+    }
+
+    /**
+     * Returns the code of the given string without adding it to the dictionary.
+     *
+     * @param value the string
+     * @return the code of the string, or {@link #NO_CODE} if the string is not in the dictionary
+     * @since 1.2
+     */
+    public int getCode(final String value) {
+        return codes.getOrDefault(value, NO_CODE);
+    }
+
+    /**
+     * Returns the string of the given code.
+     *
+     * @param code the code of a string of this dictionary
+     * @return the string
+     * @since 1.2
+     */
+    public String decode(final int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Returns the number of distinct strings in the dictionary.
+     *
+     * @return the number of strings
+     * @since 1.2
+     */
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.prepper;
+
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.event.EventBatch;
+import com.amazon.dataprepper.model.record.Record;
+
+import java.util.Collection;
+
+/**
+ * Abstract implementation of the {@link BatchPrepper} interface. This class records the same records in and records
+ * out metrics as {@link AbstractPrepper} whether or not the batch is shared with other batch preppers. The elapsed
+ * time is only recorded when the prepper runs on its own. Logic of the prepper is handled by extensions of this class
+ * in the processBatch function.
+ */
+public abstract class AbstractBatchPrepper extends AbstractPrepper<Record<Event>, Record<Event>>
+        implements BatchPrepper {
+
+    public AbstractBatchPrepper(final PluginSetting pluginSetting) {
+        super(pluginSetting);
+    }
+
+    /**
+     * Converts the records into an {@link EventBatch}, calls {@link BatchPrepper#processBatch(EventBatch)} and converts
+     * the selected rows back into records.
+     * @param records Input records
+     * @return Processed records
+     */
+    @Override
+    public Collection<Record<Event>> doExecute(final Collection<Record<Event>> records) {
+        final EventBatch batch = EventBatch.fromRecords(records);
+        processBatch(batch);
+        return batch.toRecords();
+    }
+
+    @Override
+    public void recordCounts(final int recordsIn, final int recordsOut) {
+        incrementRecordCounters(recordsIn, recordsOut);
+    }
+
+    @Override
+    public void prepareForShutdown() {
+
+    }
+
+    @Override
+    public boolean isReadyForShutdown() {
+        return true;
+    }
+
+    @Override
+    public void shutdown() {
+
+    }
+}
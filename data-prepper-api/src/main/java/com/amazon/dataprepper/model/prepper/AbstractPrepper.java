@@ -52,6 +52,17 @@ public abstract class AbstractPrepper<InputRecord extends Record<?>, OutputRecor
         return result;
     }
 
+    /**
+     * Increments the records in and records out counters for a batch which was processed without calling
+     * {@link AbstractPrepper#execute(Collection)}.
+     * @param recordsIn number of records into the prepper
+     * @param recordsOut number of records out of the prepper
+     */
+    void incrementRecordCounters(final int recordsIn, final int recordsOut) {
+        recordsInCounter.increment(recordsIn);
+        recordsOutCounter.increment(recordsOut);
+    }
+
     /**
      * This function should implement the processing logic of the prepper
      * @param records Input records
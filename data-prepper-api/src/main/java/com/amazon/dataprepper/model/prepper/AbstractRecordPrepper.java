@@ -0,0 +1,69 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.prepper;
+
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.record.Record;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Abstract implementation of the {@link RecordPrepper} interface. This class records the same records in and records
+ * out metrics as {@link AbstractPrepper} whether or not the prepper is fused with other record preppers. The elapsed
+ * time is only recorded when the prepper is not fused. Logic of the prepper is handled by extensions of this class in
+ * the processRecord function.
+ */
+public abstract class AbstractRecordPrepper<InputRecord extends Record<?>, OutputRecord extends Record<?>>
+        extends AbstractPrepper<InputRecord, OutputRecord> implements RecordPrepper<InputRecord, OutputRecord> {
+
+    public AbstractRecordPrepper(final PluginSetting pluginSetting) {
+        super(pluginSetting);
+    }
+
+    /**
+     * Calls {@link RecordPrepper#processRecord(Record, Consumer)} on each record of the batch.
+     * @param records Input records
+     * @return Processed records
+     */
+    @Override
+    public Collection<OutputRecord> doExecute(final Collection<InputRecord> records) {
+        final List<OutputRecord> recordsOut = new ArrayList<>(records.size());
+        final Consumer<OutputRecord> output = recordsOut::add;
+        for (final InputRecord record : records) {
+            processRecord(record, output);
+        }
+        return recordsOut;
+    }
+
+    @Override
+    public void recordCounts(final int recordsIn, final int recordsOut) {
+        incrementRecordCounters(recordsIn, recordsOut);
+    }
+
+    @Override
+    public void prepareForShutdown() {
+
+    }
+
+    @Override
+    public boolean isReadyForShutdown() {
+        return true;
+    }
+
+    @Override
+    public void shutdown() {
+
+    }
+}
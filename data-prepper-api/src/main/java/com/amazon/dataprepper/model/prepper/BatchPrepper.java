@@ -0,0 +1,42 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.prepper;
+
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.event.EventBatch;
+import com.amazon.dataprepper.model.record.Record;
+
+/**
+ * A {@link Prepper} of events which processes a whole batch in its columnar form, e.g. a filter which deselects rows
+ * by comparing the values of a column or a projection which removes columns. The pipeline engine converts the records
+ * into an {@link EventBatch} once for consecutive batch preppers instead of calling
+ * {@link Prepper#execute(java.util.Collection)} on each of them.
+ */
+public interface BatchPrepper extends Prepper<Record<Event>, Record<Event>> {
+
+    /**
+     * Processes the batch in place. The prepper may modify, add and remove columns and deselect rows, but it cannot
+     * add events to the batch.
+     *
+     * @param batch batch of the events that will be modified/processed
+     */
+    void processBatch(EventBatch batch);
+
+    /**
+     * Records the number of records in and out of a batch which was processed with
+     * {@link #processBatch(EventBatch)}.
+     *
+     * @param recordsIn  number of records passed to the prepper
+     * @param recordsOut number of records output by the prepper
+     */
+    void recordCounts(int recordsIn, int recordsOut);
+}
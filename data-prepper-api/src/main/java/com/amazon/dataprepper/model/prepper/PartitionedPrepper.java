@@ -0,0 +1,30 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.prepper;
+
+import com.amazon.dataprepper.model.buffer.RecordPartitioner;
+import com.amazon.dataprepper.model.record.Record;
+
+/**
+ * A stateful {@link Prepper} whose state is sharded by a key of the input records. A pipeline whose first prepper is a
+ * PartitionedPrepper routes each record to a single worker with the {@link RecordPartitioner} of the prepper, so that
+ * each prepper instance confined to a worker with {@link com.amazon.dataprepper.model.annotations.SingleThread} only
+ * receives the records of its own shard and does not need to share state with the other instances.
+ */
+public interface PartitionedPrepper<InputRecord extends Record<?>, OutputRecord extends Record<?>>
+        extends Prepper<InputRecord, OutputRecord> {
+
+    /**
+     * @return partitioner which assigns the input records of this prepper to the workers of the pipeline
+     */
+    RecordPartitioner<InputRecord> getRecordPartitioner();
+}
@@ -0,0 +1,29 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.prepper;
+
+import com.amazon.dataprepper.model.buffer.RecordPrioritizer;
+import com.amazon.dataprepper.model.record.Record;
+
+/**
+ * A {@link Prepper} which holds some input records until others arrive, e.g. the child spans of a trace until its root
+ * span. A pipeline whose first prepper is a PrioritizedPrepper buffers its records in lanes assigned by the
+ * {@link RecordPrioritizer} of the prepper, and its workers read the records of the higher lanes first.
+ */
+public interface PrioritizedPrepper<InputRecord extends Record<?>, OutputRecord extends Record<?>>
+        extends Prepper<InputRecord, OutputRecord> {
+
+    /**
+     * @return prioritizer which assigns the input records of this prepper to the lanes of the buffer of the pipeline
+     */
+    RecordPrioritizer<InputRecord> getRecordPrioritizer();
+}
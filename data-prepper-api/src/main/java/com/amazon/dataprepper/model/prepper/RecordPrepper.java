@@ -0,0 +1,42 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.prepper;
+
+import com.amazon.dataprepper.model.record.Record;
+
+import java.util.function.Consumer;
+
+/**
+ * A {@link Prepper} which processes each record independently of the other records of the batch, turning one record
+ * into zero or more records. The pipeline engine fuses consecutive record preppers into a single pass over the batch
+ * instead of calling {@link Prepper#execute(java.util.Collection)} on each of them.
+ */
+public interface RecordPrepper<InputRecord extends Record<?>, OutputRecord extends Record<?>>
+        extends Prepper<InputRecord, OutputRecord> {
+
+    /**
+     * Processes a single record and passes the resulting records, if any, to the output.
+     *
+     * @param record input record that will be modified/processed
+     * @param output consumer of the output records
+     */
+    void processRecord(InputRecord record, Consumer<OutputRecord> output);
+
+    /**
+     * Records the number of records in and out of a batch which was processed with
+     * {@link #processRecord(Record, Consumer)}.
+     *
+     * @param recordsIn  number of records passed to the prepper
+     * @param recordsOut number of records output by the prepper
+     */
+    void recordCounts(int recordsIn, int recordsOut);
+}
@@ -0,0 +1,45 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.prepper;
+
+import com.amazon.dataprepper.model.record.Record;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A {@link Prepper} which holds state across batches, e.g. records waiting for related records. If Data Prepper is
+ * configured with a snapshot directory, the pipeline does not ask a StatefulPrepper to flush its state on shutdown.
+ * Instead it writes the state of the prepper once the workers stopped, and restores it into the new instance of the
+ * prepper before the workers start again. Neither method is called while the prepper executes records.
+ */
+public interface StatefulPrepper<InputRecord extends Record<?>, OutputRecord extends Record<?>>
+        extends Prepper<InputRecord, OutputRecord> {
+
+    /**
+     * Writes the state of this prepper.
+     *
+     * @param outputStream stream to write the state to, it is closed by the caller
+     * @throws IOException if the state cannot be written
+     */
+    void snapshotState(DataOutputStream outputStream) throws IOException;
+
+    /**
+     * Restores the state which a previous instance of this prepper with the same settings wrote with
+     * {@link #snapshotState(DataOutputStream)}.
+     *
+     * @param inputStream stream to read the state from, it is closed by the caller
+     * @throws IOException if the state cannot be read
+     */
+    void restoreState(DataInputStream inputStream) throws IOException;
+}
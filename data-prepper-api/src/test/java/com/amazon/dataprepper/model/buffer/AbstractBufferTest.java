@@ -139,6 +139,30 @@ public class AbstractBufferTest {
                 0.2));
     }
 
+    @Test
+    public void testReadWithMaxBatchSizeMetrics() throws Exception {
+        // Given
+        final AbstractBuffer<Record<String>> abstractBuffer = new AbstractBufferImpl(testPluginSetting);
+        final Collection<Record<String>> testRecords = new ArrayList<>();
+        for(int i=0; i<5; i++) {
+            testRecords.add(new Record<>(UUID.randomUUID().toString()));
+        }
+        abstractBuffer.writeAll(testRecords, 1000);
+
+        // When
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = abstractBuffer.read(1000, 10);
+
+        // Then
+        final List<Measurement> recordsReadMeasurements = MetricsTestUtil.getMeasurementList(
+                new StringJoiner(MetricNames.DELIMITER).add(PIPELINE_NAME).add(BUFFER_NAME).add(MetricNames.RECORDS_READ).toString());
+        final List<Measurement> readTimeMeasurements = MetricsTestUtil.getMeasurementList(
+                new StringJoiner(MetricNames.DELIMITER).add(PIPELINE_NAME).add(BUFFER_NAME).add(MetricNames.READ_TIME_ELAPSED).toString());
+        Assert.assertEquals(5, readResult.getKey().size());
+        Assert.assertEquals(5.0, recordsReadMeasurements.get(0).getValue(), 0);
+        Assert.assertEquals(5, abstractBuffer.getRecordsInFlight());
+        Assert.assertEquals(1.0, MetricsTestUtil.getMeasurementFromList(readTimeMeasurements, Statistic.COUNT).getValue(), 0);
+    }
+
     @Test
     public void testCheckpointMetrics() throws Exception {
         // Given
@@ -174,6 +198,131 @@ public class AbstractBufferTest {
                 0.001));
     }
 
+    @Test
+    public void testBytesInBufferMetric() throws Exception {
+        // Given
+        final AbstractBuffer<Record<String>> abstractBuffer = new AbstractBufferSizeEstimatingImpl(testPluginSetting);
+        final Collection<Record<String>> testRecords = Arrays.asList(new Record<>("a"), new Record<>("bb"));
+
+        // When
+        abstractBuffer.write(new Record<>("ccc"), 1000);
+        abstractBuffer.writeAll(testRecords, 1000);
+
+        // Then
+        final List<Measurement> bytesInBufferMeasurements = MetricsTestUtil.getMeasurementList(
+                new StringJoiner(MetricNames.DELIMITER).add(PIPELINE_NAME).add(BUFFER_NAME).add(MetricNames.BYTES_IN_BUFFER).toString());
+        Assert.assertEquals(1, bytesInBufferMeasurements.size());
+        Assert.assertEquals(6.0, bytesInBufferMeasurements.get(0).getValue(), 0);
+
+        // When
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = abstractBuffer.read(1000);
+
+        // Then
+        Assert.assertEquals(6, readResult.getValue().getNumBytesToBeChecked());
+        Assert.assertEquals(0.0, bytesInBufferMeasurements.get(0).getValue(), 0);
+    }
+
+    @Test
+    public void testReadIntoBatchMetrics() throws Exception {
+        // Given
+        final AbstractBuffer<Record<String>> abstractBuffer = new AbstractBufferImpl(testPluginSetting);
+        final Collection<Record<String>> testRecords = new ArrayList<>();
+        for(int i=0; i<5; i++) {
+            testRecords.add(new Record<>(UUID.randomUUID().toString()));
+        }
+        abstractBuffer.writeAll(testRecords, 1000);
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+
+        // When
+        abstractBuffer.read(batch, 1000);
+
+        // Then
+        final List<Measurement> recordsReadMeasurements = MetricsTestUtil.getMeasurementList(
+                new StringJoiner(MetricNames.DELIMITER).add(PIPELINE_NAME).add(BUFFER_NAME).add(MetricNames.RECORDS_READ).toString());
+        final List<Measurement> readTimeMeasurements = MetricsTestUtil.getMeasurementList(
+                new StringJoiner(MetricNames.DELIMITER).add(PIPELINE_NAME).add(BUFFER_NAME).add(MetricNames.READ_TIME_ELAPSED).toString());
+        Assert.assertEquals(5, batch.size());
+        Assert.assertEquals(5, batch.getNumRecordsToBeChecked());
+        Assert.assertEquals(5.0, recordsReadMeasurements.get(0).getValue(), 0);
+        Assert.assertEquals(5, abstractBuffer.getRecordsInFlight());
+        Assert.assertEquals(1.0, MetricsTestUtil.getMeasurementFromList(readTimeMeasurements, Statistic.COUNT).getValue(), 0);
+    }
+
+    @Test
+    public void testReadIntoBatchWithMaxBatchSizeMetrics() throws Exception {
+        // Given
+        final AbstractBuffer<Record<String>> abstractBuffer = new AbstractBufferImpl(testPluginSetting);
+        final Collection<Record<String>> testRecords = new ArrayList<>();
+        for(int i=0; i<5; i++) {
+            testRecords.add(new Record<>(UUID.randomUUID().toString()));
+        }
+        abstractBuffer.writeAll(testRecords, 1000);
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+
+        // When
+        abstractBuffer.read(batch, 1000, 10);
+
+        // Then
+        final List<Measurement> recordsReadMeasurements = MetricsTestUtil.getMeasurementList(
+                new StringJoiner(MetricNames.DELIMITER).add(PIPELINE_NAME).add(BUFFER_NAME).add(MetricNames.RECORDS_READ).toString());
+        Assert.assertEquals(5, batch.size());
+        Assert.assertEquals(5.0, recordsReadMeasurements.get(0).getValue(), 0);
+        Assert.assertEquals(5, abstractBuffer.getRecordsInFlight());
+    }
+
+    @Test
+    public void testCheckpointBatchMetrics() throws Exception {
+        // Given
+        final AbstractBuffer<Record<String>> abstractBuffer = new AbstractBufferImpl(testPluginSetting);
+        final Collection<Record<String>> testRecords = new ArrayList<>();
+        for(int i=0; i<5; i++) {
+            testRecords.add(new Record<>(UUID.randomUUID().toString()));
+        }
+        abstractBuffer.writeAll(testRecords, 1000);
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+        abstractBuffer.read(batch, 1000);
+
+        // When
+        abstractBuffer.checkpoint(batch);
+
+        // Then
+        final List<Measurement> recordsProcessedMeasurements = MetricsTestUtil.getMeasurementList(
+                new StringJoiner(MetricNames.DELIMITER).add(PIPELINE_NAME).add(MetricNames.RECORDS_PROCESSED).toString());
+        final List<Measurement> checkpointTimeMeasurements = MetricsTestUtil.getMeasurementList(
+                new StringJoiner(MetricNames.DELIMITER).add(PIPELINE_NAME).add(BUFFER_NAME).add(MetricNames.CHECKPOINT_TIME_ELAPSED).toString());
+        Assert.assertEquals(0, abstractBuffer.getRecordsInFlight());
+        Assert.assertEquals(5.0, recordsProcessedMeasurements.get(0).getValue(), 0);
+        Assert.assertEquals(1.0, MetricsTestUtil.getMeasurementFromList(checkpointTimeMeasurements, Statistic.COUNT).getValue(), 0);
+    }
+
+    @Test
+    public void testBytesInBufferMetricWithoutEstimator() throws Exception {
+        // Given
+        final AbstractBuffer<Record<String>> abstractBuffer = new AbstractBufferImpl(BUFFER_NAME, PIPELINE_NAME);
+
+        // When
+        abstractBuffer.write(new Record<>("ccc"), 1000);
+        abstractBuffer.writeAll(Collections.singletonList(new Record<>("a")), 1000);
+
+        // Then
+        final List<Measurement> bytesInBufferMeasurements = MetricsTestUtil.getMeasurementList(
+                new StringJoiner(MetricNames.DELIMITER).add(PIPELINE_NAME).add(BUFFER_NAME).add(MetricNames.BYTES_IN_BUFFER).toString());
+        Assert.assertEquals(0.0, bytesInBufferMeasurements.get(0).getValue(), 0);
+    }
+
+    @Test
+    public void testSizeEstimatingBufferWithNames() throws Exception {
+        // Given
+        final AbstractBufferSizeEstimatingImpl abstractBuffer = new AbstractBufferSizeEstimatingImpl(BUFFER_NAME, PIPELINE_NAME);
+
+        // When
+        abstractBuffer.write(new Record<>("ccc"), 1000);
+
+        // Then
+        Assert.assertEquals(3, abstractBuffer.estimateSizeInBytes(new Record<>("ccc")));
+        Assert.assertEquals(Collections.singletonList(3L), abstractBuffer.writtenSizes);
+    }
+
     @Test
     public void testWriteTimeoutMetric() throws TimeoutException {
         // Given
@@ -235,6 +384,48 @@ public class AbstractBufferTest {
         Assert.assertThrows(NullPointerException.class, () -> abstractBuffer.writeAll(testRecords, 1000));
     }
 
+    @Test
+    public void testBackpressureOfEmptyBuffer() {
+        final AbstractBuffer<Record<String>> abstractBuffer = new AbstractBufferImpl(testPluginSetting);
+
+        final Backpressure backpressure = abstractBuffer.getBackpressure();
+
+        Assert.assertEquals(0.0, backpressure.getFillRatio(), 0);
+        Assert.assertEquals(0, backpressure.getEstimatedDrainTimeInMillis());
+        Assert.assertFalse(backpressure.shouldShed(0.9));
+    }
+
+    @Test
+    public void testBackpressureOfUnboundedBuffer() throws Exception {
+        final AbstractBuffer<Record<String>> abstractBuffer = new AbstractBufferImpl(testPluginSetting);
+        abstractBuffer.writeAll(Collections.singletonList(new Record<>(UUID.randomUUID().toString())), 1000);
+
+        final Backpressure backpressure = abstractBuffer.getBackpressure();
+
+        Assert.assertEquals(0.0, backpressure.getFillRatio(), 0);
+        Assert.assertEquals(Long.MAX_VALUE, backpressure.getEstimatedDrainTimeInMillis());
+        Assert.assertFalse(backpressure.shouldShed(0.9));
+    }
+
+    @Test
+    public void testBackpressureOfFullBuffer() throws Exception {
+        final AbstractBuffer<Record<String>> abstractBuffer = new AbstractBufferBoundedImpl(testPluginSetting, 10);
+        final Collection<Record<String>> testRecords = new ArrayList<>();
+        for(int i=0; i<9; i++) {
+            testRecords.add(new Record<>(UUID.randomUUID().toString()));
+        }
+        abstractBuffer.writeAll(testRecords, 1000);
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = abstractBuffer.read(1000);
+
+        Assert.assertEquals(0.9, abstractBuffer.getBackpressure().getFillRatio(), 0.0001);
+        Assert.assertTrue(abstractBuffer.getBackpressure().shouldShed(0.9));
+
+        abstractBuffer.checkpoint(readResult.getValue());
+
+        Assert.assertEquals(0.4, abstractBuffer.getBackpressure().getFillRatio(), 0.0001);
+        Assert.assertFalse(abstractBuffer.getBackpressure().shouldShed(0.9));
+    }
+
     public static class AbstractBufferImpl extends AbstractBuffer<Record<String>> {
         private final Queue<Record<String>> queue;
         public AbstractBufferImpl(PluginSetting pluginSetting) {
@@ -295,6 +486,20 @@ public class AbstractBufferTest {
         }
     }
 
+    public static class AbstractBufferBoundedImpl extends AbstractBufferImpl {
+        private final int capacity;
+
+        public AbstractBufferBoundedImpl(final PluginSetting pluginSetting, final int capacity) {
+            super(pluginSetting);
+            this.capacity = capacity;
+        }
+
+        @Override
+        public int getCapacity() {
+            return capacity;
+        }
+    }
+
     public static class AbstractBufferTimeoutImpl extends AbstractBufferImpl {
         public AbstractBufferTimeoutImpl(PluginSetting pluginSetting) {
             super(pluginSetting);
@@ -322,6 +527,56 @@ public class AbstractBufferTest {
         }
     }
 
+    public static class AbstractBufferSizeEstimatingImpl extends AbstractBuffer<Record<String>> {
+        private final Queue<Record<String>> queue = new LinkedList<>();
+        private final List<Long> writtenSizes = new ArrayList<>();
+
+        public AbstractBufferSizeEstimatingImpl(final PluginSetting pluginSetting) {
+            super(pluginSetting, record -> record.getData().length());
+        }
+
+        public AbstractBufferSizeEstimatingImpl(final String name, final String pipelineName) {
+            super(name, pipelineName, record -> record.getData().length());
+        }
+
+        @Override
+        public void doWrite(final Record<String> record, final long sizeInBytes, final int timeoutInMillis) {
+            writtenSizes.add(sizeInBytes);
+            queue.add(record);
+        }
+
+        @Override
+        public void doWrite(final Record<String> record, final int timeoutInMillis) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void doWriteAll(final Collection<Record<String>> records, final int timeoutInMillis) {
+            queue.addAll(records);
+        }
+
+        @Override
+        public Map.Entry<Collection<Record<String>>, CheckpointState> doRead(final int timeoutInMillis) {
+            final Collection<Record<String>> records = new ArrayList<>(queue);
+            queue.clear();
+            long sizeInBytes = 0;
+            for (final Record<String> record : records) {
+                sizeInBytes += estimateSizeInBytes(record);
+            }
+            return new AbstractMap.SimpleEntry<>(records, new CheckpointState(records.size(), sizeInBytes));
+        }
+
+        @Override
+        public void doCheckpoint(final CheckpointState checkpointState) {
+
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return queue.isEmpty();
+        }
+    }
+
     public static class AbstractBufferNpeImpl extends AbstractBufferImpl {
         public AbstractBufferNpeImpl(final String name, final String pipelineName) {
             super(name, pipelineName);
@@ -0,0 +1,55 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.buffer;
+
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BackpressureTest {
+
+    @Test
+    public void testRetryDelayIsBoundedByRange() {
+        assertThat(new Backpressure(1.0, 5_000).getRetryDelayInMillis(1_000, 10_000), is(5_000L));
+        assertThat(new Backpressure(1.0, 10).getRetryDelayInMillis(1_000, 10_000), is(1_000L));
+        assertThat(new Backpressure(1.0, Long.MAX_VALUE).getRetryDelayInMillis(1_000, 10_000), is(10_000L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOfMostLoaded() {
+        final Buffer<Record<String>> firstBuffer = mock(Buffer.class);
+        final Buffer<Record<String>> secondBuffer = mock(Buffer.class);
+        when(firstBuffer.getBackpressure()).thenReturn(new Backpressure(0.95, 100));
+        when(secondBuffer.getBackpressure()).thenReturn(new Backpressure(0.2, 3_000));
+
+        final Backpressure backpressure = Backpressure.ofMostLoaded(Arrays.asList(firstBuffer, secondBuffer));
+
+        assertThat(backpressure.getFillRatio(), is(0.95));
+        assertThat(backpressure.getEstimatedDrainTimeInMillis(), is(3_000L));
+        assertThat(backpressure.shouldShed(0.9), is(true));
+        assertThat(backpressure.shouldShed(0.99), is(false));
+    }
+
+    @Test
+    public void testNone() {
+        assertThat(Backpressure.NONE.getFillRatio(), is(0.0));
+        assertThat(Backpressure.NONE.getEstimatedDrainTimeInMillis(), is(0L));
+        assertThat(Backpressure.NONE.shouldShed(0.9), is(false));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.buffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BufferTest {
+    private static final int TEST_TIMEOUT_IN_MILLIS = 100;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReadWithMaxBatchSizeDefaultsToRead() {
+        final Buffer<Record<String>> buffer = mock(Buffer.class);
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = new AbstractMap.SimpleEntry<>(
+                Collections.singletonList(new Record<>("RECORD_DATA")), new CheckpointState(1));
+        when(buffer.read(TEST_TIMEOUT_IN_MILLIS)).thenReturn(readResult);
+        when(buffer.read(TEST_TIMEOUT_IN_MILLIS, 10)).thenCallRealMethod();
+
+        assertThat(buffer.read(TEST_TIMEOUT_IN_MILLIS, 10), is(sameInstance(readResult)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReadIntoBatchDefaultsToRead() {
+        final Buffer<Record<String>> buffer = mock(Buffer.class);
+        final Record<String> record = new Record<>("RECORD_DATA");
+        final CheckpointState checkpointState = new CheckpointState(1);
+        when(buffer.read(TEST_TIMEOUT_IN_MILLIS)).thenReturn(
+                new AbstractMap.SimpleEntry<>(Collections.singletonList(record), checkpointState));
+        doCallRealMethod().when(buffer).read(any(ReadBatch.class), anyInt());
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+
+        buffer.read(batch, TEST_TIMEOUT_IN_MILLIS);
+
+        assertThat(batch.getRecords(), is(equalTo(Collections.singletonList(record))));
+        assertThat(batch.getCheckpointState(), is(sameInstance(checkpointState)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReadIntoBatchWithMaxBatchSizeDefaultsToRead() {
+        final Buffer<Record<String>> buffer = mock(Buffer.class);
+        final Record<String> record = new Record<>("RECORD_DATA");
+        final CheckpointState checkpointState = new CheckpointState(1);
+        when(buffer.read(TEST_TIMEOUT_IN_MILLIS, 10)).thenReturn(
+                new AbstractMap.SimpleEntry<>(Collections.singletonList(record), checkpointState));
+        doCallRealMethod().when(buffer).read(any(ReadBatch.class), anyInt(), anyInt());
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+
+        buffer.read(batch, TEST_TIMEOUT_IN_MILLIS, 10);
+
+        assertThat(batch.getRecords(), is(equalTo(Collections.singletonList(record))));
+        assertThat(batch.getCheckpointState(), is(sameInstance(checkpointState)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCheckpointBatchDefaultsToCheckpoint() {
+        final Buffer<Record<String>> buffer = mock(Buffer.class);
+        doCallRealMethod().when(buffer).checkpoint(any(ReadBatch.class));
+        final CheckpointState checkpointState = new CheckpointState(1);
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+        batch.setReadResult(Collections.singletonList(new Record<>("RECORD_DATA")), checkpointState);
+
+        buffer.checkpoint(batch);
+
+        verify(buffer).checkpoint(checkpointState);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIsPersistentDefaultsToFalse() {
+        final Buffer<Record<String>> buffer = mock(Buffer.class);
+        when(buffer.isPersistent()).thenCallRealMethod();
+
+        assertThat(buffer.isPersistent(), is(false));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testShutdownDefaultsToNoOp() {
+        final Buffer<Record<String>> buffer = mock(Buffer.class);
+        doCallRealMethod().when(buffer).shutdown();
+
+        buffer.shutdown();
+
+        verify(buffer).shutdown();
+    }
+}
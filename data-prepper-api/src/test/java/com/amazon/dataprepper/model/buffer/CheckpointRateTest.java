@@ -0,0 +1,60 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CheckpointRateTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    public void testRateIsZeroUntilFirstWindowCompletes() {
+        final CheckpointRate checkpointRate = new CheckpointRate(nanoTime::get);
+
+        checkpointRate.record(100);
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertThat(checkpointRate.getRecordsPerSecond(), is(0.0));
+    }
+
+    @Test
+    public void testRateIsSmoothedOverWindows() {
+        final CheckpointRate checkpointRate = new CheckpointRate(nanoTime::get);
+
+        checkpointRate.record(100);
+        nanoTime.addAndGet(CheckpointRate.WINDOW_IN_NANOS);
+        assertThat(checkpointRate.getRecordsPerSecond(), is(100.0));
+
+        checkpointRate.record(300);
+        nanoTime.addAndGet(CheckpointRate.WINDOW_IN_NANOS);
+        assertThat(checkpointRate.getRecordsPerSecond(), is(200.0));
+
+        nanoTime.addAndGet(CheckpointRate.WINDOW_IN_NANOS);
+        assertThat(checkpointRate.getRecordsPerSecond(), is(100.0));
+    }
+
+    @Test
+    public void testRateOfLongWindow() {
+        final CheckpointRate checkpointRate = new CheckpointRate(nanoTime::get);
+
+        checkpointRate.record(100);
+        nanoTime.addAndGet(CheckpointRate.WINDOW_IN_NANOS * 4);
+
+        assertThat(checkpointRate.getRecordsPerSecond(), is(25.0));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.buffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ReadBatchTest {
+
+    @Test
+    public void testNewBatchIsEmpty() {
+        final ReadBatch<Record<String>> batch = new ReadBatch<>(4);
+
+        assertThat(batch.isEmpty(), is(true));
+        assertThat(batch.size(), is(0));
+        assertThat(batch.getNumRecordsToBeChecked(), is(0));
+        assertThat(batch.getNumBytesToBeChecked(), is(0L));
+        assertThat(batch.getReaderIndex(), is(ReadBatch.UNKNOWN_READER_INDEX));
+    }
+
+    @Test
+    public void testBatchOfReaderKeepsReaderIndexWhenCleared() {
+        final ReadBatch<Record<String>> batch = ReadBatch.forReader(3);
+        batch.getRecords().add(new Record<>("a"));
+        batch.setCheckpoint(1, 1);
+
+        batch.clear();
+
+        assertThat(batch.isEmpty(), is(true));
+        assertThat(batch.getReaderIndex(), is(3));
+    }
+
+    @Test
+    public void testCheckpointStateFromCheckpoint() {
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+        batch.getRecords().addAll(Arrays.asList(new Record<>("a"), new Record<>("b")));
+
+        batch.setCheckpoint(2, 10);
+
+        final CheckpointState checkpointState = batch.getCheckpointState();
+        assertThat(batch.size(), is(2));
+        assertThat(batch.getNumRecordsToBeChecked(), is(2));
+        assertThat(batch.getNumBytesToBeChecked(), is(10L));
+        assertThat(checkpointState.getNumRecordsToBeChecked(), is(2));
+        assertThat(checkpointState.getNumBytesToBeChecked(), is(10L));
+    }
+
+    @Test
+    public void testCheckpointStateFromReadResult() {
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+        final List<Record<String>> records = Collections.singletonList(new Record<>("a"));
+        final CheckpointState checkpointState = new CheckpointState(1, 5);
+
+        batch.setReadResult(records, checkpointState);
+
+        assertThat(batch.getRecords(), is(equalTo(records)));
+        assertThat(batch.getCheckpointState(), is(sameInstance(checkpointState)));
+        assertThat(batch.getNumRecordsToBeChecked(), is(1));
+        assertThat(batch.getNumBytesToBeChecked(), is(5L));
+    }
+
+    @Test
+    public void testSetCheckpointReplacesCheckpointStateOfReadResult() {
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+        final CheckpointState checkpointState = new CheckpointState(1, 5);
+        batch.setReadResult(Collections.singletonList(new Record<>("a")), checkpointState);
+
+        batch.setCheckpoint(1, 3);
+
+        assertThat(batch.getCheckpointState(), is(not(sameInstance(checkpointState))));
+        assertThat(batch.getCheckpointState().getNumBytesToBeChecked(), is(3L));
+    }
+
+    @Test
+    public void testClearKeepsTheListOfRecords() {
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+        final List<Record<String>> records = batch.getRecords();
+        batch.setReadResult(Collections.singletonList(new Record<>("a")), new CheckpointState(1, 5));
+
+        batch.clear();
+
+        assertThat(batch.isEmpty(), is(true));
+        assertThat(batch.getRecords(), is(sameInstance(records)));
+        assertThat(batch.getNumRecordsToBeChecked(), is(0));
+        assertThat(batch.getNumBytesToBeChecked(), is(0L));
+        assertThat(batch.getCheckpointState().getNumRecordsToBeChecked(), is(0));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+package com.amazon.dataprepper.model.concurrent;
+
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class ExecutionModeTest {
+    private static final String TEST_PLUGIN_NAME = "test";
+
+    @Test
+    public void testFromOptionValue() {
+        assertThat(ExecutionMode.fromOptionValue("platform_threads"), is(equalTo(ExecutionMode.PLATFORM_THREADS)));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionMode.fromOptionValue("green_threads"));
+    }
+
+    @Test
+    public void testFromOptionValueOfVirtualThreads() {
+        if (VirtualThreads.isSupported()) {
+            assertThat(ExecutionMode.fromOptionValue("virtual_threads"), is(equalTo(ExecutionMode.VIRTUAL_THREADS)));
+        } else {
+            assertThrows(IllegalArgumentException.class, () -> ExecutionMode.fromOptionValue("virtual_threads"));
+        }
+    }
+
+    @Test
+    public void testFromPluginSetting() {
+        final PluginSetting configuredPluginSetting = new PluginSetting(TEST_PLUGIN_NAME,
+                Collections.<String, Object>singletonMap(ExecutionMode.EXECUTION_MODE, "platform_threads"));
+        final PluginSetting defaultPluginSetting = new PluginSetting(TEST_PLUGIN_NAME, new HashMap<>());
+
+        assertThat(ExecutionMode.fromPluginSetting(configuredPluginSetting), is(equalTo(ExecutionMode.PLATFORM_THREADS)));
+        assertThat(ExecutionMode.fromPluginSetting(defaultPluginSetting), is(equalTo(ExecutionMode.PLATFORM_THREADS)));
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+package com.amazon.dataprepper.model.concurrent;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests the Java 8 implementation, the tests run against the classes of the main source set rather than the
+ * multi-release jar.
+ */
+public class VirtualThreadsTest {
+    @Test
+    public void testVirtualThreadsAreNotSupported() {
+        assertThat(VirtualThreads.isSupported(), is(false));
+        assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newThreadFactory("test"));
+        assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newThreadPerTaskExecutor("test"));
+    }
+}
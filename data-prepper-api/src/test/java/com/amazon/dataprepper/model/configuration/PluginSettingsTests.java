@@ -20,11 +20,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertThrows;
 
@@ -42,6 +45,8 @@ public class PluginSettingsTests {
 
     private static final long TEST_LONG_DEFAULT_VALUE = 1000L;
     private static final long TEST_LONG_VALUE = TEST_LONG_DEFAULT_VALUE + 1;
+    private static final double TEST_DOUBLE_DEFAULT_VALUE = 0.9;
+    private static final double TEST_DOUBLE_VALUE = 0.75;
 
     private static final List<String> TEST_STRINGLIST_VALUE = new ArrayList<>();
 
@@ -56,6 +61,7 @@ public class PluginSettingsTests {
     private static final String TEST_STRINGLISTMAP_ATTRIBUTE = "list-map-attribute";
     private static final String TEST_BOOL_ATTRIBUTE = "bool-attribute";
     private static final String TEST_LONG_ATTRIBUTE = "long-attribute";
+    private static final String TEST_DOUBLE_ATTRIBUTE = "double-attribute";
     private static final String NOT_PRESENT_ATTRIBUTE = "not-present";
 
     @Before
@@ -113,6 +119,27 @@ public class PluginSettingsTests {
         assertThat(pluginSetting.getNumberOfProcessWorkers(), is(TEST_WORKERS));
     }
 
+    @Test
+    public void testPluginSetting_InstanceIndex() {
+        final PluginSetting pluginSetting = new PluginSetting(TEST_PLUGIN_NAME, ImmutableMap.of());
+        assertThat(pluginSetting.getInstanceIndex().isPresent(), is(false));
+
+        pluginSetting.setInstanceIndex(2);
+
+        assertThat(pluginSetting.getInstanceIndex().get(), is(2));
+    }
+
+    @Test
+    public void testPluginSetting_SharedObjects() {
+        final PluginSetting pluginSetting = new PluginSetting(TEST_PLUGIN_NAME, ImmutableMap.of());
+        assertThat(pluginSetting.getSharedObjects().isEmpty(), is(true));
+
+        final ConcurrentMap<String, Object> sharedObjects = new ConcurrentHashMap<>();
+        pluginSetting.setSharedObjects(sharedObjects);
+
+        assertThat(pluginSetting.getSharedObjects(), is(sameInstance(sharedObjects)));
+    }
+
     @Test
     public void testGetAttributeFromSettings() {
         final Map<String, Object> TEST_SETTINGS = ImmutableMap.of(TEST_INT_ATTRIBUTE, TEST_INT_VALUE);
@@ -178,6 +205,42 @@ public class PluginSettingsTests {
         assertThat(pluginSetting.getLongOrDefault(TEST_LONG_ATTRIBUTE, TEST_LONG_DEFAULT_VALUE), is(equalTo(TEST_LONG_VALUE)));
     }
 
+    @Test
+    public void testGetDoubleOrDefault() {
+        final Map<String, Object> TEST_SETTINGS = ImmutableMap.of(TEST_DOUBLE_ATTRIBUTE, TEST_DOUBLE_VALUE);
+        final PluginSetting pluginSetting = new PluginSetting(TEST_PLUGIN_NAME, TEST_SETTINGS);
+
+        assertThat(pluginSetting.getDoubleOrDefault(TEST_DOUBLE_ATTRIBUTE, TEST_DOUBLE_DEFAULT_VALUE), is(equalTo(TEST_DOUBLE_VALUE)));
+    }
+
+    @Test
+    public void testGetDoubleOrDefault_AsIntegerOrString() {
+        final Map<String, Object> TEST_SETTINGS = ImmutableMap.of("int-attribute", 1, "string-attribute", "0.5");
+        final PluginSetting pluginSetting = new PluginSetting(TEST_PLUGIN_NAME, TEST_SETTINGS);
+
+        assertThat(pluginSetting.getDoubleOrDefault("int-attribute", TEST_DOUBLE_DEFAULT_VALUE), is(equalTo(1.0)));
+        assertThat(pluginSetting.getDoubleOrDefault("string-attribute", TEST_DOUBLE_DEFAULT_VALUE), is(equalTo(0.5)));
+    }
+
+    @Test
+    public void testGetDoubleOrDefault_AsNullOrNotPresent() {
+        final Map<String, Object> TEST_SETTINGS_AS_NULL = new HashMap<>();
+        TEST_SETTINGS_AS_NULL.put(TEST_DOUBLE_ATTRIBUTE, null);
+        final PluginSetting pluginSetting = new PluginSetting(TEST_PLUGIN_NAME, TEST_SETTINGS_AS_NULL);
+
+        assertThat(pluginSetting.getDoubleOrDefault(TEST_DOUBLE_ATTRIBUTE, TEST_DOUBLE_DEFAULT_VALUE), nullValue());
+        assertThat(pluginSetting.getDoubleOrDefault(NOT_PRESENT_ATTRIBUTE, TEST_DOUBLE_DEFAULT_VALUE),
+                is(equalTo(TEST_DOUBLE_DEFAULT_VALUE)));
+    }
+
+    @Test
+    public void testGetDoubleOrDefault_UnsupportedType() {
+        final Map<String, Object> TEST_SETTINGS_WITH_UNSUPPORTED_TYPE = ImmutableMap.of(TEST_DOUBLE_ATTRIBUTE, new ArrayList<>());
+        final PluginSetting pluginSetting = new PluginSetting(TEST_PLUGIN_NAME, TEST_SETTINGS_WITH_UNSUPPORTED_TYPE);
+
+        assertThrows(IllegalArgumentException.class, () -> pluginSetting.getDoubleOrDefault(TEST_DOUBLE_ATTRIBUTE, TEST_DOUBLE_DEFAULT_VALUE));
+    }
+
     @Test
     public void testGetIntegerOrDefault_AsString() {
         final String TEST_INT_VALUE_STRING = String.valueOf(TEST_INT_VALUE);
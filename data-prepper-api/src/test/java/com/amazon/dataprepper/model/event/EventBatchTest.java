@@ -0,0 +1,216 @@
+package com.amazon.dataprepper.model.event;
+
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.model.record.RecordMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class EventBatchTest {
+    private static final String TEST_EVENT_TYPE = "LOG";
+
+    @Test
+    public void testFromRecords_createsColumnsOfLeafFields() {
+        final EventBatch batch = EventBatch.fromRecords(Arrays.asList(
+                record("{\"status\":200,\"http\":{\"method\":\"GET\",\"size\":1.5},\"tags\":[1,2],\"empty\":null,\"emptyObject\":{}}"),
+                record("{\"status\":404,\"http\":{\"method\":\"POST\"},\"flag\":false,\"big\":123456789012345678901234567890}")));
+
+        assertThat(batch.size(), is(2));
+        assertThat(batch.getPaths(), is(equalTo(new LinkedHashSet<>(Arrays.asList(
+                Collections.singletonList("status"), Arrays.asList("http", "method"), Arrays.asList("http", "size"),
+                Collections.singletonList("tags"), Collections.singletonList("empty"),
+                Collections.singletonList("emptyObject"), Collections.singletonList("flag"),
+                Collections.singletonList("big"))))));
+        assertThat(batch.getColumn("status").getType(), is(EventColumn.Type.LONG));
+        assertThat(batch.getColumn("status").getLongs()[1], is(404L));
+        assertThat(batch.getColumn("http.method").getString(0), is(equalTo("GET")));
+        assertThat(batch.getColumn("http.method").getStringCode(1), is(equalTo(batch.getDictionary().getCode("POST"))));
+        assertThat(batch.getColumn("http.size").getDouble(0), is(1.5));
+        assertThat(batch.getColumn("http.size").isPresent(1), is(false));
+        assertThat(batch.getColumn("tags").getValue(0), is(equalTo(Arrays.asList(1, 2))));
+        assertThat(batch.getColumn("empty").isNull(0), is(true));
+        assertThat(batch.getColumn("emptyObject").getValue(0), is(equalTo(Collections.emptyMap())));
+        assertThat(batch.getColumn("flag").getBoolean(1), is(false));
+        assertThat(batch.getColumn("big").getValue(1), is(equalTo(new BigInteger("123456789012345678901234567890"))));
+        assertThat(batch.getColumn("missing"), is(nullValue()));
+    }
+
+    @Test
+    public void testToRecords_restoresEvents() {
+        final String json = "{\"status\":200,\"http\":{\"method\":\"GET\",\"size\":1.5},\"tags\":[1,2],\"empty\":null,\"emptyObject\":{},\"flag\":true}";
+        final Record<Event> record = record(json);
+
+        final List<Record<Event>> records = EventBatch.fromRecords(Collections.singletonList(record)).toRecords();
+
+        assertThat(records.size(), is(1));
+        assertThat(records.get(0).getData(), is(instanceOf(JacksonEvent.class)));
+        assertThat(records.get(0).getData().toJsonString(), is(equalTo(json)));
+        assertThat(records.get(0).getData().getMetadata(), is(sameInstance(record.getData().getMetadata())));
+        assertThat(records.get(0).getMetadata(), is(sameInstance(record.getMetadata())));
+    }
+
+    @Test
+    public void testToRecords_withDeselectedRowsAndModifiedColumns() {
+        final EventBatch batch = EventBatch.fromRecords(Arrays.asList(
+                record("{\"message\":\"keep\",\"http\":{\"method\":\"GET\"}}"),
+                record("{\"message\":\"drop\",\"http\":{\"method\":\"GET\"}}"),
+                record("{\"message\":\"keep\"}")));
+
+        final int dropCode = batch.getDictionary().getCode("drop");
+        final EventColumn messageColumn = batch.getColumn("message");
+        for (int row = 0; row < batch.size(); row++) {
+            if (messageColumn.getStringCode(row) == dropCode) {
+                batch.deselect(row);
+            }
+        }
+        batch.getOrAddColumn("http.status").setLong(0, 200L);
+        batch.removeColumn("message");
+
+        assertThat(batch.isSelected(0), is(true));
+        assertThat(batch.isSelected(1), is(false));
+        assertThat(batch.getSelectedCount(), is(2));
+        assertThat(batch.getEventMetadata(0).getEventType(), is(equalTo(TEST_EVENT_TYPE)));
+        assertThat(batch.toRecords().stream().map(record -> record.getData().toJsonString()).collect(Collectors.toList()),
+                is(equalTo(Arrays.asList("{\"http\":{\"method\":\"GET\",\"status\":200}}", "{}"))));
+    }
+
+    @Test
+    public void testToRecords_withValueAndNestedFieldsOfSameKey() {
+        final EventBatch batch = EventBatch.fromRecords(Arrays.asList(
+                record("{\"foo\":\"value\"}"),
+                record("{\"foo\":{\"bar\":1}}")));
+
+        assertThat(batch.toRecords().stream().map(record -> record.getData().toJsonString()).collect(Collectors.toList()),
+                is(equalTo(Arrays.asList("{\"foo\":\"value\"}", "{\"foo\":{\"bar\":1}}"))));
+    }
+
+    @Test
+    public void testFromRecords_withFieldNameContainingDot() {
+        final String json = "{\"service.name\":\"first\",\"service\":{\"name\":\"second\"}}";
+
+        final EventBatch batch = EventBatch.fromRecords(Collections.singletonList(record(json)));
+
+        assertThat(batch.getColumn(Collections.singletonList("service.name")).getString(0), is(equalTo("first")));
+        assertThat(batch.getColumn(Arrays.asList("service", "name")).getString(0), is(equalTo("second")));
+        assertThat(batch.getColumn("service.name").getString(0), is(equalTo("second")));
+        assertThat(batch.toRecords().get(0).getData().toJsonString(), is(equalTo(json)));
+    }
+
+    @Test
+    public void testColumnsOfPaths() {
+        final EventBatch batch = EventBatch.fromRecords(Collections.singletonList(record("{\"message\":\"value\"}")));
+
+        batch.getOrAddColumn(Collections.singletonList("http.status")).setLong(0, 200L);
+        batch.removeColumn(Collections.singletonList("message"));
+
+        assertThat(batch.getColumn("message"), is(nullValue()));
+        assertThat(batch.getOrAddColumn(Collections.singletonList("http.status")).getLong(0), is(200L));
+        assertThat(batch.toRecords().get(0).getData().toJsonString(), is(equalTo("{\"http.status\":200}")));
+        assertThrows(IllegalArgumentException.class, () -> batch.getOrAddColumn(Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> batch.getColumn(".message"));
+    }
+
+    @Test
+    public void testToRecords_withValueAndNestedFieldsInSameRow_throwsIllegalStateException() {
+        final EventBatch batch = EventBatch.fromRecords(Arrays.asList(
+                record("{\"foo\":\"value\"}"),
+                record("{\"foo\":{\"bar\":1}}")));
+        batch.getOrAddColumn("foo.bar").setLong(0, 2L);
+
+        assertThrows(IllegalStateException.class, batch::toRecords);
+
+        batch.getColumn("foo").remove(0);
+
+        assertThat(batch.toRecords().stream().map(record -> record.getData().toJsonString()).collect(Collectors.toList()),
+                is(equalTo(Arrays.asList("{\"foo\":{\"bar\":2}}", "{\"foo\":{\"bar\":1}}"))));
+    }
+
+    @Test
+    public void testToRecords_withNullValueAndNestedFieldsInSameRow_throwsIllegalStateException() {
+        final EventBatch batch = EventBatch.fromRecords(Collections.singletonList(record("{\"foo\":{\"bar\":1}}")));
+        batch.getOrAddColumn("foo").setNull(0);
+
+        assertThrows(IllegalStateException.class, batch::toRecords);
+    }
+
+    @Test
+    public void testFromRecords_withParsedLazyJacksonEvent() {
+        final Record<Event> record = record("{\"message\":\"value\"}");
+        record.getData().put("status", 200);
+
+        final EventBatch batch = EventBatch.fromRecords(Collections.singletonList(record));
+
+        assertThat(batch.getColumn("message").getString(0), is(equalTo("value")));
+        assertThat(batch.getColumn("status").getLong(0), is(200L));
+    }
+
+    @Test
+    public void testFromRecords_withOtherEvent() {
+        final Event event = ShapedEvent.builder()
+                .withEventType(TEST_EVENT_TYPE)
+                .withJsonBytes("{\"message\":\"value\"}".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        final EventBatch batch = EventBatch.fromRecords(Collections.singletonList(new Record<>(event)));
+
+        assertThat(batch.getColumn("message").getString(0), is(equalTo("value")));
+    }
+
+    @Test
+    public void testFromRecords_withJacksonEvent() {
+        final Event event = JacksonEvent.builder()
+                .withEventType(TEST_EVENT_TYPE)
+                .withData(Collections.singletonMap("message", "value"))
+                .build();
+
+        final EventBatch batch = EventBatch.fromRecords(Collections.singletonList(new Record<>(event)));
+
+        assertThat(batch.getColumn("message").getString(0), is(equalTo("value")));
+    }
+
+    @Test
+    public void testFromRecords_withMalformedJson() {
+        assertThrows(UncheckedIOException.class,
+                () -> EventBatch.fromRecords(Collections.singletonList(record("{\"message\":"))));
+    }
+
+    @Test
+    public void testToRecords_withValueWhichCannotBeSerialized() {
+        final EventBatch batch = EventBatch.fromRecords(Collections.singletonList(record("{}")));
+        batch.getOrAddColumn("message").setValue(0, new Object());
+
+        assertThrows(IllegalArgumentException.class, batch::toRecords);
+    }
+
+    @Test
+    public void testGetPaths_isUnmodifiable() {
+        final EventBatch batch = EventBatch.fromRecords(Collections.singletonList(record("{\"message\":\"value\"}")));
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> batch.getPaths().remove(Collections.singletonList("message")));
+        assertThrows(UnsupportedOperationException.class, () -> batch.getPaths().iterator().next().add("other"));
+    }
+
+    private static Record<Event> record(final String json) {
+        final Event event = LazyJacksonEvent.builder()
+                .withEventType(TEST_EVENT_TYPE)
+                .withJsonBytes(json.getBytes(StandardCharsets.UTF_8))
+                .build();
+        return new Record<>(event, RecordMetadata.defaultMetadata());
+    }
+}
@@ -0,0 +1,193 @@
+package com.amazon.dataprepper.model.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class EventColumnTest {
+    private static final String TEST_KEY = "foo.bar";
+    private static final List<String> TEST_PATH = Collections.unmodifiableList(Arrays.asList("foo", "bar"));
+    private static final int TEST_SIZE = 4;
+
+    private StringDictionary dictionary;
+
+    private EventColumn column;
+
+    @BeforeEach
+    public void setup() {
+        dictionary = new StringDictionary();
+        column = new EventColumn(TEST_PATH, TEST_SIZE, dictionary);
+    }
+
+    @Test
+    public void testEmptyColumn() {
+        assertThat(column.getKey(), is(equalTo(TEST_KEY)));
+        assertThat(column.getPath(), is(equalTo(TEST_PATH)));
+        assertThat(column.size(), is(TEST_SIZE));
+        assertThat(column.getType(), is(EventColumn.Type.NULL));
+        assertThat(column.isPresent(0), is(false));
+        assertThat(column.isNull(0), is(false));
+        assertThat(column.hasValue(0), is(false));
+        assertThat(column.getValue(0), is(nullValue()));
+    }
+
+    @Test
+    public void testLongColumn() {
+        column.setLong(0, 42L);
+        column.setNull(1);
+
+        assertThat(column.getType(), is(EventColumn.Type.LONG));
+        assertThat(column.getLong(0), is(42L));
+        assertThat(column.getLongs()[0], is(42L));
+        assertThat(column.getValue(0), is(equalTo(42L)));
+        assertThat(column.isPresent(1), is(true));
+        assertThat(column.isNull(1), is(true));
+        assertThat(column.hasValue(1), is(false));
+        assertThat(column.getValue(1), is(nullValue()));
+        assertThrows(IllegalStateException.class, () -> column.getDouble(0));
+        assertThrows(IllegalStateException.class, () -> column.getBoolean(0));
+        assertThrows(IllegalStateException.class, () -> column.getString(0));
+    }
+
+    @Test
+    public void testDoubleColumn() {
+        column.setDouble(0, 1.5);
+
+        assertThat(column.getType(), is(EventColumn.Type.DOUBLE));
+        assertThat(column.getDouble(0), is(1.5));
+        assertThat(column.getDoubles()[0], is(1.5));
+        assertThat(column.getValue(0), is(equalTo(1.5)));
+        assertThrows(IllegalStateException.class, () -> column.getLong(0));
+    }
+
+    @Test
+    public void testBooleanColumn() {
+        column.setBoolean(0, true);
+
+        assertThat(column.getType(), is(EventColumn.Type.BOOLEAN));
+        assertThat(column.getBoolean(0), is(true));
+        assertThat(column.getBooleans()[0], is(true));
+        assertThat(column.getValue(0), is(equalTo(true)));
+    }
+
+    @Test
+    public void testStringColumn() {
+        column.setString(0, "value");
+        column.setString(1, "value");
+        column.setString(2, null);
+
+        assertThat(column.getType(), is(EventColumn.Type.STRING));
+        assertThat(column.getString(0), is(equalTo("value")));
+        assertThat(column.getStringCode(1), is(equalTo(dictionary.getCode("value"))));
+        assertThat(column.getStringCodes()[0], is(equalTo(dictionary.getCode("value"))));
+        assertThat(column.getValue(1), is(equalTo("value")));
+        assertThat(column.isNull(2), is(true));
+        assertThat(dictionary.size(), is(1));
+    }
+
+    @Test
+    public void testObjectColumn() {
+        column.setValue(0, Arrays.asList(1, 2));
+
+        assertThat(column.getType(), is(EventColumn.Type.OBJECT));
+        assertThat(column.getValue(0), is(equalTo(Arrays.asList(1, 2))));
+
+        column.setValue(1, Collections.emptyMap());
+        assertThat(column.getValue(1), is(equalTo(Collections.emptyMap())));
+    }
+
+    @Test
+    public void testSetValue_withPrimitiveTypes() {
+        final EventColumn longColumn = new EventColumn(TEST_PATH, TEST_SIZE, dictionary);
+        longColumn.setValue(0, 1L);
+        longColumn.setValue(1, 2);
+        longColumn.setValue(2, (short) 3);
+        longColumn.setValue(3, (byte) 4);
+        assertThat(longColumn.getType(), is(EventColumn.Type.LONG));
+        assertThat(longColumn.getLongs(), is(equalTo(new long[]{1, 2, 3, 4})));
+
+        final EventColumn doubleColumn = new EventColumn(TEST_PATH, TEST_SIZE, dictionary);
+        doubleColumn.setValue(0, 1.5);
+        doubleColumn.setValue(1, 2.5f);
+        assertThat(doubleColumn.getType(), is(EventColumn.Type.DOUBLE));
+        assertThat(doubleColumn.getDouble(1), is(2.5));
+
+        column.setValue(0, true);
+        column.setValue(1, null);
+        assertThat(column.getType(), is(EventColumn.Type.BOOLEAN));
+        assertThat(column.isNull(1), is(true));
+
+        final EventColumn stringColumn = new EventColumn(TEST_PATH, TEST_SIZE, dictionary);
+        stringColumn.setValue(0, "value");
+        assertThat(stringColumn.getType(), is(EventColumn.Type.STRING));
+    }
+
+    @Test
+    public void testMixedTypesAreConvertedToObjects() {
+        column.setLong(0, 42L);
+        column.setNull(1);
+        column.setString(2, "value");
+
+        assertThat(column.getType(), is(EventColumn.Type.OBJECT));
+        assertThat(column.getValue(0), is(equalTo(42L)));
+        assertThat(column.isNull(1), is(true));
+        assertThat(column.getValue(2), is(equalTo("value")));
+        assertThat(column.isPresent(3), is(false));
+        assertThrows(IllegalStateException.class, () -> column.getLongs());
+
+        column.setLong(3, 7L);
+        column.setDouble(1, 1.5);
+        column.setBoolean(0, false);
+        assertThat(column.getValue(3), is(equalTo(7L)));
+        assertThat(column.getValue(1), is(equalTo(1.5)));
+        assertThat(column.getValue(0), is(equalTo(false)));
+    }
+
+    @Test
+    public void testTypedColumnsAreConvertedToObjects() {
+        final EventColumn doubleColumn = new EventColumn(TEST_PATH, TEST_SIZE, dictionary);
+        doubleColumn.setDouble(0, 1.5);
+        doubleColumn.setLong(1, 1L);
+        assertThat(doubleColumn.getType(), is(EventColumn.Type.OBJECT));
+        assertThat(doubleColumn.getValue(0), is(equalTo(1.5)));
+
+        final EventColumn booleanColumn = new EventColumn(TEST_PATH, TEST_SIZE, dictionary);
+        booleanColumn.setBoolean(0, true);
+        booleanColumn.setString(1, "value");
+        assertThat(booleanColumn.getValue(0), is(equalTo(true)));
+
+        final EventColumn stringColumn = new EventColumn(TEST_PATH, TEST_SIZE, dictionary);
+        stringColumn.setString(0, "value");
+        stringColumn.setBoolean(1, true);
+        assertThat(stringColumn.getValue(0), is(equalTo("value")));
+        assertThat(stringColumn.getValue(1), is(equalTo(true)));
+    }
+
+    @Test
+    public void testSetNullAndRemove() {
+        column.setValue(0, Arrays.asList(1, 2));
+        column.setValue(1, Arrays.asList(3, 4));
+
+        column.setNull(0);
+        column.remove(1);
+
+        assertThat(column.isNull(0), is(true));
+        assertThat(column.getValue(0), is(nullValue()));
+        assertThat(column.isPresent(1), is(false));
+        assertThat(column.isNull(1), is(false));
+
+        final EventColumn longColumn = new EventColumn(TEST_PATH, TEST_SIZE, dictionary);
+        longColumn.setLong(0, 1L);
+        longColumn.remove(0);
+        assertThat(longColumn.isPresent(0), is(false));
+    }
+}
@@ -0,0 +1,62 @@
+package com.amazon.dataprepper.model.event;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class EventKeyTest {
+
+    @Test
+    public void testOf_withSimpleKey() {
+        final EventKey eventKey = EventKey.of("foo");
+
+        assertThat(eventKey.getKey(), is(equalTo("foo")));
+        assertThat(eventKey.toString(), is(equalTo("foo")));
+        assertThat(eventKey.getPath(), is(equalTo(new String[]{"foo"})));
+        assertThat(eventKey.getLeafKey(), is(equalTo("foo")));
+        assertThat(eventKey.getJsonPointer().toString(), is(equalTo("/foo")));
+        assertThat(eventKey.getParentJsonPointer(), is(nullValue()));
+    }
+
+    @Test
+    public void testOf_withNestedKey() {
+        final EventKey eventKey = EventKey.of("foo.bar-bar.baz");
+
+        assertThat(eventKey.getKey(), is(equalTo("foo.bar-bar.baz")));
+        assertThat(eventKey.getPath(), is(equalTo(new String[]{"foo", "bar-bar", "baz"})));
+        assertThat(eventKey.getLeafKey(), is(equalTo("baz")));
+        assertThat(eventKey.getJsonPointer().toString(), is(equalTo("/foo/bar-bar/baz")));
+        assertThat(eventKey.getParentJsonPointer().toString(), is(equalTo("/foo/bar-bar")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "withSpecialChars*$%", ".withPrefixDot", "withSuffixDot.", "-withPrefixDash", "\\.withEscapeChars", "\\\\-withMultipleEscapeChars",
+            "withDashSuffix-", "withDashSuffix-.nestedKey", "withDashPrefix.-nestedKey" })
+    void testOf_withInvalidKey_throwsIllegalArgumentException(final String invalidKey) {
+        assertThrows(IllegalArgumentException.class, () -> EventKey.of(invalidKey));
+    }
+
+    @Test
+    public void testOf_withNullKey_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> EventKey.of(null));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        final EventKey eventKey = EventKey.of("foo.bar");
+
+        assertThat(eventKey.equals(eventKey), is(true));
+        assertThat(eventKey, is(equalTo(EventKey.of("foo.bar"))));
+        assertThat(eventKey.hashCode(), is(equalTo(EventKey.of("foo.bar").hashCode())));
+        assertThat(eventKey, is(not(equalTo(EventKey.of("foo.baz")))));
+        assertThat(eventKey.equals(null), is(false));
+        assertThat(eventKey.equals("foo.bar"), is(false));
+    }
+}
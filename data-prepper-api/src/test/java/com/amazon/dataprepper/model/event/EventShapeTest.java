@@ -0,0 +1,102 @@
+package com.amazon.dataprepper.model.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class EventShapeTest {
+
+    @Test
+    public void testWithField_returnsSharedShape() {
+        final String fieldName = UUID.randomUUID().toString();
+
+        final EventShape shape = EventShape.EMPTY.withField(fieldName).withField("second");
+
+        assertThat(EventShape.EMPTY.withField(fieldName).withField("second"), is(sameInstance(shape)));
+        assertThat(shape.size(), is(equalTo(2)));
+        assertThat(shape.getFieldName(0), is(equalTo(fieldName)));
+        assertThat(shape.getFieldName(1), is(equalTo("second")));
+    }
+
+    @Test
+    public void testIndexOf() {
+        final EventShape shape = EventShape.EMPTY.withField(UUID.randomUUID().toString()).withField("second");
+
+        assertThat(shape.indexOf("second"), is(equalTo(1)));
+        assertThat(shape.indexOf("missing"), is(equalTo(-1)));
+    }
+
+    @Test
+    public void testIndexOf_withManyFields() {
+        EventShape shape = EventShape.EMPTY.withField(UUID.randomUUID().toString());
+        for (int i = 1; i < 20; i++) {
+            shape = shape.withField("field" + i);
+        }
+
+        assertThat(shape.indexOf("field12"), is(equalTo(12)));
+        assertThat(shape.indexOf("missing"), is(equalTo(-1)));
+    }
+
+    @Test
+    public void testWithField_exceedingMaxFields_returnsNull() {
+        EventShape shape = EventShape.EMPTY.withField(UUID.randomUUID().toString());
+        for (int i = 1; i < EventShape.MAX_FIELDS; i++) {
+            shape = shape.withField("field" + i);
+        }
+
+        assertThat(shape.size(), is(equalTo(EventShape.MAX_FIELDS)));
+        assertThat(shape.withField("extra"), is(nullValue()));
+    }
+
+    @Test
+    public void testWithField_exceedingMaxTransitions_returnsNull() {
+        final EventShape shape = EventShape.EMPTY.withField(UUID.randomUUID().toString());
+        for (int i = 0; i < EventShape.MAX_TRANSITIONS; i++) {
+            assertThat(shape.withField("field" + i), is(notNullValue()));
+        }
+
+        assertThat(shape.withField("extra"), is(nullValue()));
+        assertThat(shape.withField("field0"), is(notNullValue()));
+    }
+
+    @Test
+    public void testGetAncestor() {
+        final EventShape first = EventShape.EMPTY.withField(UUID.randomUUID().toString());
+        final EventShape shape = first.withField("second").withField("third");
+
+        assertThat(shape.getAncestor(3), is(sameInstance(shape)));
+        assertThat(shape.getAncestor(1), is(sameInstance(first)));
+        assertThat(shape.getAncestor(0), is(sameInstance(EventShape.EMPTY)));
+    }
+
+    @Test
+    public void testWithField_manyFieldOrders_exhaustsShapesOfTree() {
+        final EventShape empty = EventShape.newTree(16);
+        final EventShape first = empty.withField("a").withField("b");
+        final List<String> fieldNames = Arrays.asList("a", "b", "c", "d", "e");
+        int shapes = 0;
+        for (final String fieldName : fieldNames) {
+            for (final String otherFieldName : fieldNames) {
+                final EventShape shape = empty.withField(fieldName);
+                if (shape != null && !fieldName.equals(otherFieldName) && shape.withField(otherFieldName) != null) {
+                    shapes++;
+                }
+            }
+        }
+
+        assertThat(shapes, is(equalTo(12)));
+        assertThat(empty.getRemainingShapes(), is(equalTo(0)));
+        assertThat(empty.withField("f"), is(nullValue()));
+        assertThat(first.withField("z"), is(nullValue()));
+        assertThat(empty.withField("a").withField("b"), is(sameInstance(first)));
+    }
+}
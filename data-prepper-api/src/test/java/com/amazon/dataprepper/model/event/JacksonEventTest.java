@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
@@ -179,6 +180,73 @@ public class JacksonEventTest {
         assertThat(result, is(nullValue()));
     }
 
+    @Test
+    public void testPutAndGet_withEventKey() {
+        final EventKey key = EventKey.of("foo.bar");
+        final UUID value = UUID.randomUUID();
+
+        event.put(key, value);
+
+        assertThat(event.get(key, UUID.class), is(equalTo(value)));
+        assertThat(event.get("foo.bar", UUID.class), is(equalTo(value)));
+    }
+
+    @Test
+    public void testPutAndGet_withEventKeyOfExistingParent() {
+        event.put("foo.fizz", "buzz");
+        final EventKey key = EventKey.of("foo.bar");
+        final UUID value = UUID.randomUUID();
+
+        event.put(key, value);
+
+        assertThat(event.get(key, UUID.class), is(equalTo(value)));
+        assertThat(event.get("foo.fizz", String.class), is(equalTo("buzz")));
+    }
+
+    @Test
+    public void testGet_withEventKeyOfEmptyEvent() {
+        assertThat(event.get(EventKey.of("foo.bar"), UUID.class), is(nullValue()));
+    }
+
+    @Test
+    public void testGet_withEventKeyAndIncorrectPojo() {
+        final EventKey key = EventKey.of("foo.bar");
+        event.put(key, new TestObject(UUID.randomUUID().toString()));
+
+        assertThrows(RuntimeException.class, () -> event.get(key, UUID.class));
+    }
+
+    @Test
+    public void testDelete_withEventKey() {
+        final EventKey key = EventKey.of("foo.bar");
+        final EventKey siblingKey = EventKey.of("foo.fizz");
+        event.put(key, UUID.randomUUID());
+        event.put(siblingKey, "buzz");
+
+        event.delete(key);
+
+        assertThat(event.get(key, UUID.class), is(nullValue()));
+        assertThat(event.get(siblingKey, String.class), is(equalTo("buzz")));
+    }
+
+    @Test
+    public void testDelete_withNonexistentEventKey() {
+        final EventKey key = EventKey.of("foo.bar");
+
+        event.delete(key);
+
+        assertThat(event.get(key, UUID.class), is(nullValue()));
+    }
+
+    @Test
+    public void testEventKey_withNullEventKey_throwsNullPointerException() {
+        final EventKey key = null;
+
+        assertThrows(NullPointerException.class, () -> event.put(key, UUID.randomUUID()));
+        assertThrows(NullPointerException.class, () -> event.get(key, String.class));
+        assertThrows(NullPointerException.class, () -> event.delete(key));
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"", "withSpecialChars*$%", ".withPrefixDot", "withSuffixDot.", "-withPrefixDash", "\\.withEscapeChars", "\\\\-withMultipleEscapeChars",
             "withDashSuffix-", "withDashSuffix-.nestedKey", "withDashPrefix.-nestedKey" })
@@ -214,6 +282,14 @@ public class JacksonEventTest {
         assertThat(result, is(equalTo(String.format("{\"foo\":\"bar\",\"testObject\":{\"field1\":\"%s\"}}", value))));
     }
 
+    @Test
+    public void testToJsonBytes_withSimpleObject() {
+        event.put("foo", "bar");
+        final byte[] result = event.toJsonBytes();
+
+        assertThat(new String(result, StandardCharsets.UTF_8), is(equalTo("{\"foo\":\"bar\"}")));
+    }
+
     @Test
     public void testBuild_withEventType() {
         event = JacksonEvent.builder()
@@ -0,0 +1,202 @@
+package com.amazon.dataprepper.model.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class LazyJacksonEventTest {
+
+    private static final String TEST_JSON = "{\"list\":[1,{\"bar\":2}],\"foo\":{\"skipped\":{\"nested\":[1,2]},\"bar\":\"value\",\"empty\":null},\"number\":42}";
+
+    private byte[] jsonBytes;
+
+    private LazyJacksonEvent event;
+
+    private String eventType;
+
+    @BeforeEach
+    public void setup() {
+        eventType = UUID.randomUUID().toString();
+        jsonBytes = TEST_JSON.getBytes(StandardCharsets.UTF_8);
+
+        event = LazyJacksonEvent.builder()
+                .withEventType(eventType)
+                .withJsonBytes(jsonBytes)
+                .build();
+    }
+
+    @Test
+    public void testGet_withoutParsing() {
+        assertThat(event.get("foo.bar", String.class), is(equalTo("value")));
+        assertThat(event.get(EventKey.of("number"), Integer.class), is(equalTo(42)));
+        assertThat(event.get("list", Object.class), is(equalTo(Arrays.asList(1, Collections.singletonMap("bar", 2)))));
+        assertThat(event.get("foo.skipped.nested", Object.class), is(equalTo(Arrays.asList(1, 2))));
+        assertThat(event.isParsed(), is(false));
+    }
+
+    @Test
+    public void testGet_withNullValue() {
+        assertThat(event.get("foo.empty", String.class), is(nullValue()));
+    }
+
+    @Test
+    public void testGet_withMissingKey() {
+        assertThat(event.get("foo.missing", String.class), is(nullValue()));
+        assertThat(event.get("number.missing", String.class), is(nullValue()));
+        assertThat(event.get("list.bar", String.class), is(nullValue()));
+    }
+
+    @Test
+    public void testGet_withIncorrectPojo() {
+        assertThrows(RuntimeException.class, () -> event.get("foo", UUID.class));
+    }
+
+    @Test
+    public void testGet_withMalformedJson() {
+        event = LazyJacksonEvent.builder()
+                .withEventType(eventType)
+                .withJsonBytes("{\"foo\":".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        assertThrows(RuntimeException.class, () -> event.get("foo", String.class));
+    }
+
+    @Test
+    public void testGet_withDuplicateKeys_readsLastValueLikeParsedEvent() {
+        final String json = "{\"foo\":{\"bar\":1,\"baz\":2},\"number\":1,\"foo\":{\"bar\":3},\"number\":2}";
+        event = LazyJacksonEvent.builder()
+                .withEventType(eventType)
+                .withJsonBytes(json.getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        assertThat(event.get("number", Integer.class), is(equalTo(2)));
+        assertThat(event.get("foo.bar", Integer.class), is(equalTo(3)));
+        assertThat(event.get("foo.baz", Integer.class), is(nullValue()));
+        assertThat(event.isParsed(), is(false));
+
+        event.put("other", "value");
+
+        assertThat(event.isParsed(), is(true));
+        assertThat(event.get("number", Integer.class), is(equalTo(2)));
+        assertThat(event.get("foo.bar", Integer.class), is(equalTo(3)));
+        assertThat(event.get("foo.baz", Integer.class), is(nullValue()));
+    }
+
+    @Test
+    public void testToJson_withoutModification() {
+        assertThat(event.toJsonBytes(), is(sameInstance(jsonBytes)));
+        assertThat(event.toJsonString(), is(equalTo(TEST_JSON)));
+        assertThat(event.isParsed(), is(false));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        final UUID value = UUID.randomUUID();
+
+        event.put("foo.bar", value);
+
+        assertThat(event.isParsed(), is(true));
+        assertThat(event.get("foo.bar", UUID.class), is(equalTo(value)));
+        assertThat(event.get(EventKey.of("number"), Integer.class), is(equalTo(42)));
+    }
+
+    @Test
+    public void testDelete() {
+        event.delete("foo");
+        event.delete(EventKey.of("list"));
+
+        assertThat(event.isParsed(), is(true));
+        assertThat(event.get("foo.bar", String.class), is(nullValue()));
+        assertThat(event.toJsonString(), is(equalTo("{\"number\":42}")));
+        assertThat(event.toJsonBytes(), is(equalTo("{\"number\":42}".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testPut_withMalformedJson() {
+        event = LazyJacksonEvent.builder()
+                .withEventType(eventType)
+                .withJsonBytes("{\"foo\":".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        assertThrows(UncheckedIOException.class, () -> event.put("foo", "bar"));
+    }
+
+    @Test
+    public void testEventKey_withNullEventKey_throwsNullPointerException() {
+        final EventKey key = null;
+
+        assertThrows(NullPointerException.class, () -> event.put(key, UUID.randomUUID()));
+        assertThrows(NullPointerException.class, () -> event.get(key, String.class));
+        assertThrows(NullPointerException.class, () -> event.delete(key));
+    }
+
+    @Test
+    public void testKey_withInvalidKey_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> event.put(".foo", UUID.randomUUID()));
+        assertThrows(IllegalArgumentException.class, () -> event.get(".foo", String.class));
+        assertThrows(IllegalArgumentException.class, () -> event.delete(".foo"));
+    }
+
+    @Test
+    public void testBuild_withoutJsonBytes_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> LazyJacksonEvent.builder().withEventType(eventType).build());
+    }
+
+    @Test
+    public void testBuild_withJsonWhichIsNotAnObject_throwsIllegalArgumentException() {
+        for (final String json : Arrays.asList("[{\"foo\":1}]", "\"foo\"", "42", "", "foo")) {
+            final LazyJacksonEvent.Builder builder = LazyJacksonEvent.builder()
+                    .withEventType(eventType)
+                    .withJsonBytes(json.getBytes(StandardCharsets.UTF_8));
+
+            assertThrows(IllegalArgumentException.class, builder::build);
+        }
+    }
+
+    @Test
+    public void testBuild_withMetadataFields() {
+        final Instant now = Instant.now();
+        final Map<String, Object> testAttributes = new HashMap<>();
+        testAttributes.put(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        event = LazyJacksonEvent.builder()
+                .withEventType(eventType)
+                .withTimeReceived(now)
+                .withEventMetadataAttributes(testAttributes)
+                .withJsonBytes(jsonBytes)
+                .build();
+
+        assertThat(event.getMetadata().getEventType(), is(equalTo(eventType)));
+        assertThat(event.getMetadata().getTimeReceived(), is(equalTo(now)));
+        assertThat(event.getMetadata().getAttributes(), is(equalTo(testAttributes)));
+    }
+
+    @Test
+    public void testBuild_withEventMetadata() {
+        final EventMetadata metadata = DefaultEventMetadata.builder()
+                .withEventType(eventType)
+                .build();
+
+        event = LazyJacksonEvent.builder()
+                .withEventMetadata(metadata)
+                .withJsonBytes(jsonBytes)
+                .build();
+
+        assertThat(event.getMetadata(), is(equalTo(metadata)));
+    }
+}
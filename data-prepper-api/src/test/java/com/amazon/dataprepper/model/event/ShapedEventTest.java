@@ -0,0 +1,268 @@
+package com.amazon.dataprepper.model.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class ShapedEventTest {
+
+    private static final String TEST_JSON = "{\"list\":[1,{\"bar\":2.5}],\"foo\":{\"bar\":\"value\",\"flag\":false,\"empty\":null},\"number\":42,\"enabled\":true}";
+
+    private ShapedEvent event;
+
+    private String eventType;
+
+    @BeforeEach
+    public void setup() {
+        eventType = UUID.randomUUID().toString();
+
+        event = ShapedEvent.builder()
+                .withEventType(eventType)
+                .withJsonBytes(TEST_JSON.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+
+    @Test
+    public void testGet_withJsonBytes() {
+        assertThat(event.get("foo.bar", String.class), is(equalTo("value")));
+        assertThat(event.get("foo.flag", Boolean.class), is(false));
+        assertThat(event.get("enabled", Boolean.class), is(true));
+        assertThat(event.get(EventKey.of("number"), Integer.class), is(equalTo(42)));
+        assertThat(event.get("number", Long.class), is(equalTo(42L)));
+        assertThat(event.get("list", List.class), is(equalTo(Arrays.asList(1, Collections.singletonMap("bar", 2.5)))));
+    }
+
+    @Test
+    public void testGet_withNullValue() {
+        assertThat(event.get("foo.empty", String.class), is(nullValue()));
+    }
+
+    @Test
+    public void testGet_withMissingKey() {
+        assertThat(event.get("foo.missing", String.class), is(nullValue()));
+        assertThat(event.get("number.missing", String.class), is(nullValue()));
+    }
+
+    @Test
+    public void testGet_withIncorrectPojo() {
+        assertThrows(RuntimeException.class, () -> event.get("foo", UUID.class));
+    }
+
+    @Test
+    public void testEventsOfSameFields_shareShape() {
+        final ShapedEvent otherEvent = ShapedEvent.builder()
+                .withEventType(eventType)
+                .withJsonBytes("{\"list\":[],\"foo\":{},\"number\":1,\"enabled\":false}".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        assertThat(otherEvent.getShape(), is(notNullValue()));
+        assertThat(otherEvent.getShape(), is(sameInstance(event.getShape())));
+    }
+
+    @Test
+    public void testPutAndDelete_keepsSharingShape() {
+        final ShapedEvent otherEvent = ShapedEvent.builder()
+                .withEventType(eventType)
+                .withData(Collections.singletonMap("list", Collections.emptyList()))
+                .build();
+
+        otherEvent.put("foo.bar", "other");
+        otherEvent.put("number", 1);
+        otherEvent.put("enabled", true);
+        otherEvent.put("extra", 1);
+        otherEvent.delete("extra");
+
+        assertThat(otherEvent.getShape(), is(sameInstance(event.getShape())));
+    }
+
+    @Test
+    public void testPutAndGet_withMultLevelKey() {
+        final String key = "foo.bar.baz";
+        final String value = UUID.randomUUID().toString();
+
+        event.put(key, value);
+        event.put("number.nested", 1);
+
+        assertThat(event.get(key, String.class), is(equalTo(value)));
+        assertThat(event.get("number.nested", Integer.class), is(equalTo(1)));
+    }
+
+    @Test
+    public void testPutUpdateAndGet_withPojo() {
+        final String key = "foo.bar";
+        final String nestedValue = UUID.randomUUID().toString();
+        final String nestedKey = "foo.bar.field1";
+
+        event.put(key, new TestObject(nestedValue));
+
+        assertThat(event.get(nestedKey, String.class), is(equalTo(nestedValue)));
+
+        final String replacementValue = UUID.randomUUID().toString();
+        event.put(nestedKey, replacementValue);
+        final TestObject result = event.get(key, TestObject.class);
+
+        assertThat(result, is(notNullValue()));
+        assertThat(result.getField1(), is(equalTo(replacementValue)));
+    }
+
+    @Test
+    public void testPutAndGet_withBinaryValue() {
+        final byte[] value = {1, 2, 3};
+
+        event.put("binary", value);
+
+        assertThat(event.get("binary", byte[].class), is(equalTo(value)));
+        assertThat(event.toJsonString().endsWith("\"binary\":\"AQID\"}"), is(true));
+    }
+
+    @Test
+    public void testPut_withUnserializableValue() {
+        assertThrows(UncheckedIOException.class, () -> event.put("foo", new Object()));
+    }
+
+    @Test
+    public void testDelete() {
+        event.delete("foo.bar");
+        event.delete("number");
+
+        assertThat(event.get("foo.bar", String.class), is(nullValue()));
+        assertThat(event.get("number", Integer.class), is(nullValue()));
+        assertThat(event.get("foo.flag", Boolean.class), is(false));
+    }
+
+    @Test
+    public void testDelete_withNonexistentKey() {
+        event.delete("foo.missing");
+        event.delete("missing.bar");
+        event.delete("number.bar");
+
+        assertThat(event.toJsonString(), is(equalTo(TEST_JSON)));
+    }
+
+    @Test
+    public void testEventKey_withNullEventKey_throwsNullPointerException() {
+        final EventKey key = null;
+
+        assertThrows(NullPointerException.class, () -> event.put(key, UUID.randomUUID()));
+        assertThrows(NullPointerException.class, () -> event.get(key, String.class));
+        assertThrows(NullPointerException.class, () -> event.delete(key));
+    }
+
+    @Test
+    public void testKey_withInvalidKey_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> event.put("withSuffixDot.", UUID.randomUUID()));
+        assertThrows(IllegalArgumentException.class, () -> event.get("withSuffixDot.", String.class));
+        assertThrows(IllegalArgumentException.class, () -> event.delete("withSuffixDot."));
+    }
+
+    @Test
+    public void testToJson() {
+        assertThat(event.toJsonString(), is(equalTo(TEST_JSON)));
+        assertThat(event.toJsonBytes(), is(equalTo(TEST_JSON.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testToJson_withManyFields() {
+        final ShapedEvent otherEvent = ShapedEvent.builder()
+                .withEventType(eventType)
+                .build();
+        final StringBuilder expected = new StringBuilder("{");
+        for (int i = 0; i <= EventShape.MAX_FIELDS; i++) {
+            otherEvent.put("field" + i, i);
+            expected.append(i == 0 ? "" : ",").append("\"field").append(i).append("\":").append(i);
+        }
+
+        assertThat(otherEvent.getShape(), is(nullValue()));
+        assertThat(otherEvent.toJsonString(), is(equalTo(expected.append("}").toString())));
+    }
+
+    @Test
+    public void testBuild_withData() {
+        final String value = UUID.randomUUID().toString();
+
+        event = ShapedEvent.builder()
+                .withEventType(eventType)
+                .withData(new TestObject(value))
+                .build();
+
+        assertThat(event.get("field1", String.class), is(equalTo(value)));
+    }
+
+    @Test
+    public void testBuild_withEmptyData() {
+        event = ShapedEvent.builder()
+                .withEventType(eventType)
+                .build();
+
+        assertThat(event.toJsonString(), is(equalTo("{}")));
+        assertThat(event.getShape(), is(sameInstance(EventShape.EMPTY)));
+    }
+
+    @Test
+    public void testBuild_withNonObjectData() {
+        assertThrows(IllegalArgumentException.class, () -> ShapedEvent.builder()
+                .withEventType(eventType)
+                .withData(UUID.randomUUID().toString())
+                .build());
+        assertThrows(IllegalArgumentException.class, () -> ShapedEvent.builder()
+                .withEventType(eventType)
+                .withJsonBytes("[]".getBytes(StandardCharsets.UTF_8))
+                .build());
+    }
+
+    @Test
+    public void testBuild_withMalformedJson() {
+        assertThrows(UncheckedIOException.class, () -> ShapedEvent.builder()
+                .withEventType(eventType)
+                .withJsonBytes("{\"foo\":".getBytes(StandardCharsets.UTF_8))
+                .build());
+    }
+
+    @Test
+    public void testBuild_withAllMetadataFields() {
+        final Instant now = Instant.now();
+        final Map<String, Object> testAttributes = new HashMap<>();
+        testAttributes.put(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        event = ShapedEvent.builder()
+                .withEventType(eventType)
+                .withTimeReceived(now)
+                .withEventMetadataAttributes(testAttributes)
+                .build();
+
+        assertThat(event.getMetadata().getEventType(), is(equalTo(eventType)));
+        assertThat(event.getMetadata().getTimeReceived(), is(equalTo(now)));
+        assertThat(event.getMetadata().getAttributes(), is(equalTo(testAttributes)));
+    }
+
+    @Test
+    public void testBuild_withEventMetadata() {
+        final EventMetadata metadata = DefaultEventMetadata.builder()
+                .withEventType(eventType)
+                .build();
+
+        event = ShapedEvent.builder()
+                .withEventType(UUID.randomUUID().toString())
+                .withEventMetadata(metadata)
+                .build();
+
+        assertThat(event.getMetadata(), is(equalTo(metadata)));
+    }
+}
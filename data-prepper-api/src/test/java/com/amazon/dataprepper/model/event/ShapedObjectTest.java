@@ -0,0 +1,220 @@
+package com.amazon.dataprepper.model.event;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ShapedObjectTest {
+
+    private String firstFieldName;
+
+    @BeforeEach
+    public void setup() {
+        firstFieldName = UUID.randomUUID().toString();
+    }
+
+    @Test
+    public void testOf_sharesShape() {
+        final ShapedObject object = ShapedObject.of(Arrays.asList(firstFieldName, "second"), Arrays.asList(1, "value"));
+        final ShapedObject otherObject = ShapedObject.of(Arrays.asList(firstFieldName, "second"), Arrays.asList(2, null));
+
+        assertThat(object.getShape(), is(notNullValue()));
+        assertThat(otherObject.getShape(), is(sameInstance(object.getShape())));
+        assertThat(object.get(firstFieldName), is(equalTo(1)));
+        assertThat(otherObject.get("second"), is(nullValue()));
+        assertThat(object.get("missing"), is(nullValue()));
+    }
+
+    @Test
+    public void testOf_withDuplicateField_keepsLastValue() {
+        final ShapedObject object = ShapedObject.of(Arrays.asList(firstFieldName, "second", firstFieldName),
+                Arrays.asList(1, 2, 3));
+
+        assertThat(object.getShape().size(), is(equalTo(2)));
+        assertThat(object.get(firstFieldName), is(equalTo(3)));
+    }
+
+    @Test
+    public void testPut_movesToSharedShape() {
+        final ShapedObject object = ShapedObject.empty();
+        object.put(firstFieldName, 1);
+        object.put("second", 2);
+        object.put(firstFieldName, 3);
+
+        assertThat(object.getShape(), is(sameInstance(
+                ShapedObject.of(Arrays.asList(firstFieldName, "second"), Arrays.asList(1, 2)).getShape())));
+        assertThat(object.get(firstFieldName), is(equalTo(3)));
+    }
+
+    @Test
+    public void testRemove_movesToShapeOfRemainingFields() {
+        final ShapedObject object = ShapedObject.of(Arrays.asList(firstFieldName, "second", "third"),
+                Arrays.asList(1, 2, 3));
+
+        object.remove("second");
+        object.remove("missing");
+
+        assertThat(object.getShape(), is(sameInstance(
+                ShapedObject.of(Arrays.asList(firstFieldName, "third"), Arrays.asList(1, 3)).getShape())));
+        assertThat(object.get("second"), is(nullValue()));
+        assertThat(object.get("third"), is(equalTo(3)));
+    }
+
+    @Test
+    public void testPut_manyFields_keepsValues() {
+        final ShapedObject object = ShapedObject.empty();
+        object.put(firstFieldName, 0);
+        for (int i = 1; i < 100; i++) {
+            object.put("field" + i, i);
+        }
+
+        assertThat(object.getShape().size(), is(equalTo(100)));
+        assertThat(object.get(firstFieldName), is(equalTo(0)));
+        assertThat(object.get("field99"), is(equalTo(99)));
+        assertThat(((Map<?, ?>) ShapedObject.toPlainValue(object)).size(), is(equalTo(100)));
+    }
+
+    @Test
+    public void testRemove_keepsValuesOfFollowingFields() {
+        final ShapedObject object = ShapedObject.empty();
+        object.put(firstFieldName, 1);
+        object.put("second", 2);
+        object.put("third", 3);
+
+        object.remove(firstFieldName);
+        object.put("fourth", 4);
+
+        assertThat(object.getShape(), is(sameInstance(
+                ShapedObject.of(Arrays.asList("second", "third", "fourth"), Arrays.asList(2, 3, 4)).getShape())));
+        assertThat(object.get(firstFieldName), is(nullValue()));
+        assertThat(ShapedObject.toPlainValue(object), is(equalTo(
+                ShapedObject.toPlainValue(ShapedObject.of(Arrays.asList("second", "third", "fourth"),
+                        Arrays.asList(2, 3, 4))))));
+    }
+
+    @Test
+    public void testOf_manyFieldOrders_fallsBackToMapOnceShapesAreExhausted() {
+        final EventShape empty = EventShape.newTree(16);
+        final List<String> fieldNames = Arrays.asList(firstFieldName, "b", "c", "d", "e");
+        int maps = 0;
+        for (final String fieldName : fieldNames) {
+            for (final String otherFieldName : fieldNames) {
+                if (fieldName.equals(otherFieldName)) {
+                    continue;
+                }
+                final ShapedObject object = ShapedObject.of(empty, Arrays.asList(fieldName, otherFieldName),
+                        Arrays.asList(fieldName, otherFieldName));
+
+                if (object.getShape() == null) {
+                    maps++;
+                }
+                assertThat(object.get(fieldName), is(equalTo(fieldName)));
+                assertThat(object.get(otherFieldName), is(equalTo(otherFieldName)));
+            }
+        }
+
+        assertThat(empty.getRemainingShapes(), is(equalTo(0)));
+        assertThat(maps, is(equalTo(8)));
+    }
+
+    @Test
+    public void testRemove_withShapesExhausted_fallsBackToMap() {
+        final EventShape empty = EventShape.newTree(3);
+        final ShapedObject object = ShapedObject.of(empty, Arrays.asList(firstFieldName, "second", "third"),
+                Arrays.asList(1, 2, 3));
+
+        object.remove(firstFieldName);
+
+        assertThat(object.getShape(), is(nullValue()));
+        assertThat(object.get(firstFieldName), is(nullValue()));
+        assertThat(object.get("third"), is(equalTo(3)));
+    }
+
+    @Test
+    public void testFallBackToMap() throws IOException {
+        final ShapedObject object = ShapedObject.empty();
+        object.put(firstFieldName, 0);
+        for (int i = 1; i <= EventShape.MAX_FIELDS; i++) {
+            object.put("field" + i, i);
+        }
+        object.put("nested", ShapedObject.of(Collections.singletonList(firstFieldName), Collections.singletonList(1)));
+        object.remove("field1");
+        object.put("field2", "value");
+
+        assertThat(object.getShape(), is(nullValue()));
+        assertThat(object.get("field1"), is(nullValue()));
+        assertThat(object.get("field2"), is(equalTo("value")));
+        assertThat(object.get("nested"), is(notNullValue()));
+
+        final Map<?, ?> map = (Map<?, ?>) ShapedObject.toPlainValue(object);
+        assertThat(map.size(), is(equalTo(EventShape.MAX_FIELDS + 1)));
+        assertThat(map.get("nested"), is(equalTo(Collections.singletonMap(firstFieldName, 1))));
+        assertThat(new ObjectMapper().readValue(write(object), Map.class), is(equalTo(map)));
+    }
+
+    @Test
+    public void testOf_exceedingMaxFields_fallsBackToMap() {
+        final List<String> fieldNames = new ArrayList<>();
+        final List<Object> fieldValues = new ArrayList<>();
+        fieldNames.add(firstFieldName);
+        fieldValues.add(0);
+        for (int i = 1; i <= EventShape.MAX_FIELDS; i++) {
+            fieldNames.add("field" + i);
+            fieldValues.add(i);
+        }
+
+        final ShapedObject object = ShapedObject.of(fieldNames, fieldValues);
+
+        assertThat(object.getShape(), is(nullValue()));
+        assertThat(object.get("field" + EventShape.MAX_FIELDS), is(equalTo(EventShape.MAX_FIELDS)));
+    }
+
+    @Test
+    public void testToPlainValue() {
+        final ShapedObject nested = ShapedObject.of(Collections.singletonList("nested"), Collections.singletonList(true));
+        final ShapedObject object = ShapedObject.of(Arrays.asList(firstFieldName, "list"),
+                Arrays.asList(nested, Arrays.asList(1, nested)));
+
+        final Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put(firstFieldName, Collections.singletonMap("nested", true));
+        expected.put("list", Arrays.asList(1, Collections.singletonMap("nested", true)));
+        assertThat(ShapedObject.toPlainValue(object), is(equalTo(expected)));
+        assertThat(ShapedObject.toPlainValue("value"), is(equalTo("value")));
+    }
+
+    @Test
+    public void testWriteValue() throws IOException {
+        final ShapedObject nested = ShapedObject.of(Collections.singletonList("nested"), Collections.singletonList(true));
+        final ShapedObject object = ShapedObject.of(Arrays.asList(firstFieldName, "list", "empty"),
+                Arrays.asList(nested, Arrays.asList(1.5, nested), null));
+
+        assertThat(write(object), is(equalTo(
+                "{\"" + firstFieldName + "\":{\"nested\":true},\"list\":[1.5,{\"nested\":true}],\"empty\":null}")));
+    }
+
+    private static String write(final Object value) throws IOException {
+        final StringWriter writer = new StringWriter();
+        try (final JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(writer)) {
+            ShapedObject.writeValue(generator, value);
+        }
+        return writer.toString();
+    }
+}
@@ -0,0 +1,193 @@
+package com.amazon.dataprepper.model.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThrows;
+
+public class SmileEventCodecTest {
+    private static final String TEST_EVENT_TYPE = "LOG";
+
+    private static final String TEST_JSON = "{\"message\":\"value\",\"status\":200,\"size\":1.5," +
+            "\"http\":{\"method\":\"GET\",\"tags\":[\"a\",\"b\"]},\"empty\":null}";
+
+    private static final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    private SmileEventCodec eventCodec;
+
+    @BeforeEach
+    public void setup() {
+        eventCodec = new SmileEventCodec();
+    }
+
+    @Test
+    public void testEncodeAndDecode() throws IOException {
+        final Instant timeReceived = Instant.ofEpochSecond(1_600_000_000L, 123_456_789);
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put("source", "http");
+        attributes.put("count", 3);
+        final Map<String, Object> data = new HashMap<>();
+        data.put("message", "value");
+        data.put("list", Arrays.asList(1, Collections.singletonMap("nested", 1.5)));
+        final Event event = JacksonEvent.builder()
+                .withEventType(TEST_EVENT_TYPE)
+                .withTimeReceived(timeReceived)
+                .withEventMetadataAttributes(attributes)
+                .withData(data)
+                .build();
+
+        final Event decodedEvent = eventCodec.decode(eventCodec.encode(event));
+
+        assertThat(decodedEvent, is(instanceOf(JacksonEvent.class)));
+        assertThat(decodedEvent.toJsonString(), is(equalTo(event.toJsonString())));
+        assertThat(decodedEvent.getMetadata().getEventType(), is(equalTo(TEST_EVENT_TYPE)));
+        assertThat(decodedEvent.getMetadata().getTimeReceived(), is(equalTo(timeReceived)));
+        assertThat(decodedEvent.getMetadata().getAttributes(), is(equalTo(attributes)));
+    }
+
+    @Test
+    public void testEncodeAndDecode_withLazyJacksonEvent_keepsJsonWithoutParsing() throws IOException {
+        final Event event = LazyJacksonEvent.builder()
+                .withEventType(TEST_EVENT_TYPE)
+                .withJsonBytes(TEST_JSON.getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        final Event decodedEvent = eventCodec.decode(eventCodec.encode(event));
+
+        assertThat(decodedEvent, is(instanceOf(LazyJacksonEvent.class)));
+        assertThat(((LazyJacksonEvent) decodedEvent).isParsed(), is(false));
+        assertThat(decodedEvent.toJsonString(), is(equalTo(TEST_JSON)));
+        assertThat(decodedEvent.getMetadata().getEventType(), is(equalTo(TEST_EVENT_TYPE)));
+    }
+
+    @Test
+    public void testEncodeAndDecode_withModifiedLazyJacksonEvent_usesTree() throws IOException {
+        final Event event = LazyJacksonEvent.builder()
+                .withEventType(TEST_EVENT_TYPE)
+                .withJsonBytes(TEST_JSON.getBytes(StandardCharsets.UTF_8))
+                .build();
+        event.put("added", true);
+
+        final Event decodedEvent = eventCodec.decode(eventCodec.encode(event));
+
+        assertThat(decodedEvent, is(instanceOf(JacksonEvent.class)));
+        assertThat(decodedEvent.toJsonString(), is(equalTo(event.toJsonString())));
+    }
+
+    @Test
+    public void testEncodeAndDecode_withOtherEvent_transcodesJson() throws IOException {
+        final Event event = ShapedEvent.builder()
+                .withEventType(TEST_EVENT_TYPE)
+                .withJsonBytes(TEST_JSON.getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        final Event decodedEvent = eventCodec.decode(eventCodec.encode(event));
+
+        assertThat(decodedEvent, is(instanceOf(LazyJacksonEvent.class)));
+        assertThat(decodedEvent.toJsonString(), is(equalTo(event.toJsonString())));
+    }
+
+    @Test
+    public void testTreeAndJsonEncodingsDecodeToSameEvent() throws IOException {
+        final Event treeEvent = JacksonEvent.builder()
+                .withEventType(TEST_EVENT_TYPE)
+                .withData(new ObjectMapper().readValue(TEST_JSON, Map.class))
+                .build();
+        final Event jsonEvent = LazyJacksonEvent.builder()
+                .withEventType(TEST_EVENT_TYPE)
+                .withJsonBytes(TEST_JSON.getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        final Event decodedTreeEvent = eventCodec.decode(eventCodec.encode(treeEvent));
+        final Event decodedJsonEvent = eventCodec.decode(eventCodec.encode(jsonEvent));
+
+        assertThat(decodedTreeEvent.toJsonString(), is(equalTo(decodedJsonEvent.toJsonString())));
+        for (final String key : Arrays.asList("message", "status", "size", "http.method", "http.tags", "empty")) {
+            assertThat(decodedTreeEvent.get(key, Object.class), is(equalTo(decodedJsonEvent.get(key, Object.class))));
+        }
+    }
+
+    @Test
+    public void testEncode_isSmallerThanJsonForRepeatedValues() throws IOException {
+        final StringBuilder json = new StringBuilder("{\"spans\":[");
+        for (int i = 0; i < 100; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"serviceName\":\"frontend\",\"kind\":\"SPAN_KIND_SERVER\"}");
+        }
+        final byte[] jsonBytes = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        final Event event = LazyJacksonEvent.builder()
+                .withEventType(TEST_EVENT_TYPE)
+                .withJsonBytes(jsonBytes)
+                .build();
+
+        assertThat(eventCodec.encode(event).length, is(lessThan(jsonBytes.length / 4)));
+    }
+
+    @Test
+    public void testDecode_skipsUnknownFields() throws IOException {
+        final Map<String, Object> encodedEvent = new HashMap<>();
+        encodedEvent.put("eventType", TEST_EVENT_TYPE);
+        encodedEvent.put("unknown", Collections.singletonMap("field", Arrays.asList(1, 2)));
+        encodedEvent.put("data", Collections.singletonMap("message", "value"));
+
+        final Event decodedEvent = eventCodec.decode(smileMapper.writeValueAsBytes(encodedEvent));
+
+        assertThat(decodedEvent.toJsonString(), is(equalTo("{\"message\":\"value\"}")));
+    }
+
+    @Test
+    public void testDecode_withoutData() throws IOException {
+        final byte[] bytes = smileMapper.writeValueAsBytes(Collections.singletonMap("eventType", TEST_EVENT_TYPE));
+
+        assertThrows(IOException.class, () -> eventCodec.decode(bytes));
+    }
+
+    @Test
+    public void testDecode_withDataWhichIsNotAnObject() throws IOException {
+        final Map<String, Object> encodedEvent = new HashMap<>();
+        encodedEvent.put("eventType", TEST_EVENT_TYPE);
+        encodedEvent.put("data", Collections.singletonList("message"));
+
+        assertThrows(IOException.class, () -> eventCodec.decode(smileMapper.writeValueAsBytes(encodedEvent)));
+    }
+
+    @Test
+    public void testDecode_withTreeWhichIsNotAnObject() throws IOException {
+        final Map<String, Object> encodedEvent = new HashMap<>();
+        encodedEvent.put("eventType", TEST_EVENT_TYPE);
+        encodedEvent.put("tree", "message");
+
+        assertThrows(IOException.class, () -> eventCodec.decode(smileMapper.writeValueAsBytes(encodedEvent)));
+    }
+
+    @Test
+    public void testDecode_withoutObject() throws IOException {
+        final byte[] bytes = smileMapper.writeValueAsBytes(Collections.singletonList(TEST_EVENT_TYPE));
+
+        assertThrows(IOException.class, () -> eventCodec.decode(bytes));
+    }
+
+    @Test
+    public void testEncode_withAttributeWhichCannotBeSerialized() {
+        final Event event = JacksonEvent.builder()
+                .withEventType(TEST_EVENT_TYPE)
+                .withEventMetadataAttributes(Collections.singletonMap("attribute", new Object()))
+                .build();
+
+        assertThrows(IOException.class, () -> eventCodec.encode(event));
+    }
+}
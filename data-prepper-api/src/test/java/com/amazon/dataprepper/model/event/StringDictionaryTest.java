@@ -0,0 +1,32 @@
+package com.amazon.dataprepper.model.event;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class StringDictionaryTest {
+
+    @Test
+    public void testEncodeAndDecode() {
+        final StringDictionary dictionary = new StringDictionary();
+
+        final int fooCode = dictionary.encode("foo");
+        final int barCode = dictionary.encode("bar");
+
+        assertThat(dictionary.encode("foo"), is(equalTo(fooCode)));
+        assertThat(dictionary.getCode("bar"), is(equalTo(barCode)));
+        assertThat(dictionary.decode(fooCode), is(equalTo("foo")));
+        assertThat(dictionary.decode(barCode), is(equalTo("bar")));
+        assertThat(dictionary.size(), is(2));
+    }
+
+    @Test
+    public void testGetCode_withUnknownString() {
+        final StringDictionary dictionary = new StringDictionary();
+
+        assertThat(dictionary.getCode("foo"), is(equalTo(StringDictionary.NO_CODE)));
+        assertThat(dictionary.size(), is(0));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.prepper;
+
+import com.amazon.dataprepper.metrics.MetricNames;
+import com.amazon.dataprepper.metrics.MetricsTestUtil;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.event.EventBatch;
+import com.amazon.dataprepper.model.event.EventColumn;
+import com.amazon.dataprepper.model.event.LazyJacksonEvent;
+import com.amazon.dataprepper.model.record.Record;
+import io.micrometer.core.instrument.Measurement;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+public class AbstractBatchPrepperTest {
+    private static final String PREPPER_NAME = "testBatchPrepper";
+    private static final String PIPELINE_NAME = "pipelineName";
+
+    private AbstractBatchPrepper prepper;
+
+    @Before
+    public void setup() {
+        MetricsTestUtil.initMetrics();
+        final PluginSetting pluginSetting = new PluginSetting(PREPPER_NAME, Collections.emptyMap());
+        pluginSetting.setPipelineName(PIPELINE_NAME);
+        prepper = new BatchPrepperImpl(pluginSetting);
+    }
+
+    @Test
+    public void testExecuteProcessesBatch() {
+        final Collection<Record<Event>> result = prepper.execute(Arrays.asList(
+                record("{\"message\":\"Value1\"}"),
+                record("{\"message\":\"drop\"}"),
+                record("{\"message\":\"Value3\"}")
+        ));
+
+        Assert.assertEquals(Arrays.asList("Value1", "Value3"),
+                result.stream().map(record -> record.getData().get("message", String.class)).collect(Collectors.toList()));
+        Assert.assertEquals(3.0, getMeasurements(MetricNames.RECORDS_IN).get(0).getValue(), 0);
+        Assert.assertEquals(2.0, getMeasurements(MetricNames.RECORDS_OUT).get(0).getValue(), 0);
+    }
+
+    @Test
+    public void testRecordCounts() {
+        prepper.recordCounts(5, 3);
+
+        Assert.assertEquals(5.0, getMeasurements(MetricNames.RECORDS_IN).get(0).getValue(), 0);
+        Assert.assertEquals(3.0, getMeasurements(MetricNames.RECORDS_OUT).get(0).getValue(), 0);
+    }
+
+    @Test
+    public void testShutdown() {
+        prepper.prepareForShutdown();
+
+        Assert.assertTrue(prepper.isReadyForShutdown());
+        prepper.shutdown();
+    }
+
+    private static Record<Event> record(final String json) {
+        return new Record<>(LazyJacksonEvent.builder()
+                .withEventType("LOG")
+                .withJsonBytes(json.getBytes(StandardCharsets.UTF_8))
+                .build());
+    }
+
+    private static List<Measurement> getMeasurements(final String metricName) {
+        return MetricsTestUtil.getMeasurementList(
+                new StringJoiner(MetricNames.DELIMITER).add(PIPELINE_NAME).add(PREPPER_NAME).add(metricName).toString());
+    }
+
+    public static class BatchPrepperImpl extends AbstractBatchPrepper {
+        public BatchPrepperImpl(final PluginSetting pluginSetting) {
+            super(pluginSetting);
+        }
+
+        @Override
+        public void processBatch(final EventBatch batch) {
+            final int dropCode = batch.getDictionary().getCode("drop");
+            final EventColumn messageColumn = batch.getColumn("message");
+            for (int row = 0; row < batch.size(); row++) {
+                if (messageColumn.getStringCode(row) == dropCode) {
+                    batch.deselect(row);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.model.prepper;
+
+import com.amazon.dataprepper.metrics.MetricNames;
+import com.amazon.dataprepper.metrics.MetricsTestUtil;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.record.Record;
+import io.micrometer.core.instrument.Measurement;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class AbstractRecordPrepperTest {
+    private static final String PREPPER_NAME = "testRecordPrepper";
+    private static final String PIPELINE_NAME = "pipelineName";
+
+    private AbstractRecordPrepper<Record<String>, Record<String>> prepper;
+
+    @Before
+    public void setup() {
+        MetricsTestUtil.initMetrics();
+        final PluginSetting pluginSetting = new PluginSetting(PREPPER_NAME, Collections.emptyMap());
+        pluginSetting.setPipelineName(PIPELINE_NAME);
+        prepper = new RecordPrepperImpl(pluginSetting);
+    }
+
+    @Test
+    public void testExecuteProcessesEachRecord() {
+        final Collection<Record<String>> result = prepper.execute(Arrays.asList(
+                new Record<>("Value1"),
+                new Record<>("drop"),
+                new Record<>("Value3")
+        ));
+
+        Assert.assertEquals(Arrays.asList("Value1", "Value1", "Value3", "Value3"),
+                result.stream().map(Record::getData).collect(Collectors.toList()));
+        Assert.assertEquals(3.0, getMeasurements(MetricNames.RECORDS_IN).get(0).getValue(), 0);
+        Assert.assertEquals(4.0, getMeasurements(MetricNames.RECORDS_OUT).get(0).getValue(), 0);
+    }
+
+    @Test
+    public void testRecordCounts() {
+        prepper.recordCounts(5, 7);
+
+        Assert.assertEquals(5.0, getMeasurements(MetricNames.RECORDS_IN).get(0).getValue(), 0);
+        Assert.assertEquals(7.0, getMeasurements(MetricNames.RECORDS_OUT).get(0).getValue(), 0);
+    }
+
+    private static List<Measurement> getMeasurements(final String metricName) {
+        return MetricsTestUtil.getMeasurementList(
+                new StringJoiner(MetricNames.DELIMITER).add(PIPELINE_NAME).add(PREPPER_NAME).add(metricName).toString());
+    }
+
+    public static class RecordPrepperImpl extends AbstractRecordPrepper<Record<String>, Record<String>> {
+        public RecordPrepperImpl(final PluginSetting pluginSetting) {
+            super(pluginSetting);
+        }
+
+        @Override
+        public void processRecord(final Record<String> record, final Consumer<Record<String>> output) {
+            if (!"drop".equals(record.getData())) {
+                output.accept(record);
+                output.accept(record);
+            }
+        }
+    }
+}
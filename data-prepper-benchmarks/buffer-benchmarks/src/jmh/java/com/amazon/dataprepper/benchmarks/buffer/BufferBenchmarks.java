@@ -0,0 +1,123 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.benchmarks.buffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.plugins.buffer.blockingbuffer.BlockingBuffer;
+import com.amazon.dataprepper.plugins.buffer.ringbuffer.RingBuffer;
+import com.amazon.dataprepper.plugins.buffer.ringbuffer.WaitStrategyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Compares the throughput of the buffers with many writer threads, as with a source receiving requests on many
+ * threads, and a few worker threads reading and checkpointing batches. Writes time out after a short time so the
+ * writers do not block the end of an iteration once the readers stopped.
+ */
+@State(Scope.Group)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BufferBenchmarks {
+    private static final String PIPELINE_NAME = "benchmark-pipeline";
+    private static final String BOUNDED_BLOCKING = "bounded_blocking";
+    private static final String RING_BUFFER_PREFIX = "ring_buffer:";
+    private static final int BUFFER_SIZE = 4096;
+    private static final int BATCH_SIZE = 256;
+    private static final int WRITE_BATCH_SIZE = 50;
+    private static final int WRITE_TIMEOUT_IN_MILLIS = 10;
+    private static final int READ_TIMEOUT_IN_MILLIS = 10;
+
+    @Param({BOUNDED_BLOCKING, RING_BUFFER_PREFIX + "blocking", RING_BUFFER_PREFIX + "sleeping",
+            RING_BUFFER_PREFIX + "yielding"})
+    private String bufferType;
+
+    private Buffer<Record<String>> buffer;
+    private final Record<String> record = new Record<>(UUID.randomUUID().toString());
+    private final List<Record<String>> records = new ArrayList<Record<String>>() {{
+        for (int i = 0; i < WRITE_BATCH_SIZE; i++) {
+            add(new Record<>(UUID.randomUUID().toString()));
+        }
+    }};
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        if (BOUNDED_BLOCKING.equals(bufferType)) {
+            buffer = new BlockingBuffer<>(BUFFER_SIZE, BATCH_SIZE, PIPELINE_NAME);
+        } else {
+            buffer = new RingBuffer<>(BUFFER_SIZE, BATCH_SIZE,
+                    WaitStrategyType.fromOptionValue(bufferType.substring(RING_BUFFER_PREFIX.length())), PIPELINE_NAME);
+        }
+    }
+
+    @Benchmark
+    @Group("write")
+    @GroupThreads(16)
+    public boolean write() {
+        try {
+            buffer.write(record, WRITE_TIMEOUT_IN_MILLIS);
+            return true;
+        } catch (final TimeoutException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    @Group("write")
+    @GroupThreads(2)
+    public int readWrittenRecords() {
+        return readAndCheckpoint();
+    }
+
+    @Benchmark
+    @Group("writeAll")
+    @GroupThreads(16)
+    public boolean writeAll() throws Exception {
+        try {
+            buffer.writeAll(records, WRITE_TIMEOUT_IN_MILLIS);
+            return true;
+        } catch (final TimeoutException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    @Group("writeAll")
+    @GroupThreads(2)
+    public int readWrittenBatches() {
+        return readAndCheckpoint();
+    }
+
+    private int readAndCheckpoint() {
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = buffer.read(READ_TIMEOUT_IN_MILLIS);
+        buffer.checkpoint(readResult.getValue());
+        return readResult.getKey().size();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.benchmarks.event;
+
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.event.JacksonEvent;
+import com.amazon.dataprepper.model.event.LazyJacksonEvent;
+import com.amazon.dataprepper.model.event.SmileEventCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the two paths of the {@link SmileEventCodec}: events holding a tree, which are written from and read into
+ * a tree, and events holding their Json, which are transcoded between Json and Smile. Both kinds of events hold the
+ * same data, a log with a few nested fields and a list of spans with repeated values.
+ */
+@State(Scope.Thread)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SmileEventCodecBenchmarks {
+    private static final String TREE = "tree";
+    private static final String JSON = "json";
+    private static final String EVENT_TYPE = "LOG";
+    private static final int SPANS = 20;
+
+    @Param({TREE, JSON})
+    private String eventKind;
+
+    private final SmileEventCodec eventCodec = new SmileEventCodec();
+    private Event event;
+    private byte[] encodedEvent;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final Map<String, Object> data = createData();
+        final Event treeEvent = JacksonEvent.builder()
+                .withEventType(EVENT_TYPE)
+                .withData(data)
+                .build();
+        if (TREE.equals(eventKind)) {
+            event = treeEvent;
+        } else {
+            event = LazyJacksonEvent.builder()
+                    .withEventType(EVENT_TYPE)
+                    .withJsonBytes(treeEvent.toJsonString().getBytes(StandardCharsets.UTF_8))
+                    .build();
+        }
+        encodedEvent = eventCodec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return eventCodec.encode(event);
+    }
+
+    @Benchmark
+    public Event decode() throws IOException {
+        return eventCodec.decode(encodedEvent);
+    }
+
+    /**
+     * Decodes the event and reads a nested field, as a prepper does with the events read from a buffer.
+     */
+    @Benchmark
+    public String decodeAndGet() throws IOException {
+        return eventCodec.decode(encodedEvent).get("http.method", String.class);
+    }
+
+    private static Map<String, Object> createData() {
+        final Map<String, Object> http = new HashMap<>();
+        http.put("method", "GET");
+        http.put("status", 200);
+        http.put("path", "/api/orders/42");
+        final List<Map<String, Object>> spans = new ArrayList<>(SPANS);
+        for (int i = 0; i < SPANS; i++) {
+            final Map<String, Object> span = new HashMap<>();
+            span.put("serviceName", "frontend");
+            span.put("kind", "SPAN_KIND_SERVER");
+            span.put("durationInNanos", 1_000_000L + i);
+            spans.add(span);
+        }
+        final Map<String, Object> data = new HashMap<>();
+        data.put("message", "order 42 created");
+        data.put("http", http);
+        data.put("spans", spans);
+        return data;
+    }
+}
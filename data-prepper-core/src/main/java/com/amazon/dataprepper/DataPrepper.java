@@ -16,7 +16,9 @@ import com.amazon.dataprepper.parser.PipelineParser;
 import com.amazon.dataprepper.parser.model.DataPrepperConfiguration;
 import com.amazon.dataprepper.parser.model.MetricRegistryType;
 import com.amazon.dataprepper.pipeline.Pipeline;
+import com.amazon.dataprepper.pipeline.common.PipelineScheduler;
 import com.amazon.dataprepper.pipeline.server.DataPrepperServer;
+import com.amazon.dataprepper.pipeline.snapshot.PipelineSnapshotStore;
 import com.amazon.dataprepper.plugin.DefaultPluginFactory;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
@@ -30,6 +32,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 
@@ -47,6 +50,7 @@ public class DataPrepper {
     private static final CompositeMeterRegistry systemMeterRegistry = new CompositeMeterRegistry();
 
     private Map<String, Pipeline> transformationPipelines;
+    private PipelineScheduler pipelineScheduler;
 
     private static volatile DataPrepper dataPrepper;
 
@@ -131,7 +135,18 @@ public class DataPrepper {
     public boolean execute(final String configurationFileLocation) {
         LOG.info("Using {} configuration file", configurationFileLocation);
         final PluginFactory pluginFactory = new DefaultPluginFactory();
-        final PipelineParser pipelineParser = new PipelineParser(configurationFileLocation, pluginFactory);
+        if (configuration.useSharedScheduler()) {
+            pipelineScheduler = new PipelineScheduler();
+            LOG.info("Running the workers of all pipelines on a shared scheduler with {} slots",
+                    pipelineScheduler.getParallelism());
+        }
+        final PipelineSnapshotStore snapshotStore = configuration.getSnapshotDirectory() == null ? null :
+                new PipelineSnapshotStore(Paths.get(configuration.getSnapshotDirectory()));
+        if (snapshotStore != null) {
+            LOG.info("Writing snapshots of the pipelines on shutdown to {}", snapshotStore.getDirectory());
+        }
+        final PipelineParser pipelineParser = new PipelineParser(configurationFileLocation, pluginFactory,
+                pipelineScheduler, snapshotStore);
         transformationPipelines = pipelineParser.parseConfiguration();
         if (transformationPipelines.size() == 0) {
             LOG.error("No valid pipeline is available for execution, exiting");
@@ -148,6 +163,9 @@ public class DataPrepper {
             LOG.info("Shutting down pipeline: {}", pipeline.getName());
             pipeline.shutdown();
         }
+        if (pipelineScheduler != null) {
+            pipelineScheduler.shutdown();
+        }
     }
 
     /**
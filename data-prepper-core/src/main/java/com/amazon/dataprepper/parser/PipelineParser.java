@@ -13,14 +13,26 @@ package com.amazon.dataprepper.parser;
 
 import com.amazon.dataprepper.model.annotations.SingleThread;
 import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.RecordPartitioner;
+import com.amazon.dataprepper.model.buffer.RecordPrioritizer;
 import com.amazon.dataprepper.model.configuration.PluginSetting;
 import com.amazon.dataprepper.model.plugin.PluginFactory;
+import com.amazon.dataprepper.model.prepper.PartitionedPrepper;
 import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.prepper.PrioritizedPrepper;
 import com.amazon.dataprepper.model.sink.Sink;
 import com.amazon.dataprepper.model.source.Source;
 import com.amazon.dataprepper.parser.model.PipelineConfiguration;
+import com.amazon.dataprepper.pipeline.AdaptiveBatchController;
+import com.amazon.dataprepper.pipeline.PartitionedBuffer;
 import com.amazon.dataprepper.pipeline.Pipeline;
 import com.amazon.dataprepper.pipeline.PipelineConnector;
+import com.amazon.dataprepper.pipeline.PipelineSettings;
+import com.amazon.dataprepper.pipeline.PrioritizedBuffer;
+import com.amazon.dataprepper.pipeline.SinkIsolationSettings;
+import com.amazon.dataprepper.pipeline.SplittingPrepper;
+import com.amazon.dataprepper.pipeline.common.PipelineScheduler;
+import com.amazon.dataprepper.pipeline.snapshot.PipelineSnapshotStore;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -28,14 +40,18 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -47,13 +63,48 @@ public class PipelineParser {
             .enable(DeserializationFeature.FAIL_ON_READING_DUP_TREE_KEY);
     private static final String PIPELINE_TYPE = "pipeline";
     private static final String ATTRIBUTE_NAME = "name";
+    private static final String BUFFER_BATCH_SIZE = "batch_size";
+    private static final int DEFAULT_BUFFER_BATCH_SIZE = 8;
     private final String configurationFileLocation;
     private final Map<String, PipelineConnector> sourceConnectorMap = new HashMap<>(); //TODO Remove this and rely only on pipelineMap
     private final PluginFactory pluginFactory;
+    private final PipelineScheduler pipelineScheduler;
+    private final PipelineSnapshotStore snapshotStore;
 
     public PipelineParser(final String configurationFileLocation, final PluginFactory pluginFactory) {
+        this(configurationFileLocation, pluginFactory, null);
+    }
+
+    /**
+     * @param configurationFileLocation location of the pipeline configuration file
+     * @param pluginFactory             factory to load the plugins of the pipelines
+     * @param pipelineScheduler         shared scheduler to run the workers of all pipelines on, or null to run the
+     *                                  workers of each pipeline on its own threads
+     */
+    public PipelineParser(
+            final String configurationFileLocation,
+            final PluginFactory pluginFactory,
+            @Nullable final PipelineScheduler pipelineScheduler) {
+        this(configurationFileLocation, pluginFactory, pipelineScheduler, null);
+    }
+
+    /**
+     * @param configurationFileLocation location of the pipeline configuration file
+     * @param pluginFactory             factory to load the plugins of the pipelines
+     * @param pipelineScheduler         shared scheduler to run the workers of all pipelines on, or null to run the
+     *                                  workers of each pipeline on its own threads
+     * @param snapshotStore             store of the snapshots the pipelines write on shutdown, or null to drain the
+     *                                  pipelines on shutdown
+     */
+    public PipelineParser(
+            final String configurationFileLocation,
+            final PluginFactory pluginFactory,
+            @Nullable final PipelineScheduler pipelineScheduler,
+            @Nullable final PipelineSnapshotStore snapshotStore) {
         this.configurationFileLocation = configurationFileLocation;
         this.pluginFactory = Objects.requireNonNull(pluginFactory);
+        this.pipelineScheduler = pipelineScheduler;
+        this.snapshotStore = snapshotStore;
     }
 
     /**
@@ -76,6 +127,7 @@ public class PipelineParser {
                     buildPipelineFromConfiguration(pipelineName, pipelineConfigurationMap, pipelineMap);
                 }
             }
+            chainConnectedPipelines(pipelineConfigurationMap, pipelineMap);
             return pipelineMap;
         } catch (IOException e) {
             throw new ParseException(format("Failed to parse the configuration file %s", configurationFileLocation), e);
@@ -95,22 +147,37 @@ public class PipelineParser {
             final Source source = pipelineSource.orElseGet(() ->
                     pluginFactory.loadPlugin(Source.class, sourceSetting));
 
-            LOG.info("Building buffer for the pipeline [{}]", pipelineName);
-            final Buffer buffer = pluginFactory.loadPlugin(Buffer.class, pipelineConfiguration.getBufferPluginSetting());
-
             LOG.info("Building preppers for the pipeline [{}]", pipelineName);
             final int prepperThreads = pipelineConfiguration.getWorkers();
             final List<List<Prepper>> prepperSets = pipelineConfiguration.getPrepperPluginSettings().stream()
                     .map(this::newPreppers)
                     .collect(Collectors.toList());
+
+            LOG.info("Building buffer for the pipeline [{}]", pipelineName);
+            final Buffer buffer = newBuffer(pipelineConfiguration.getBufferPluginSetting(), prepperSets, prepperThreads,
+                    pipelineConfiguration.getMaxSkippedReads());
             final int readBatchDelay = pipelineConfiguration.getReadBatchDelay();
+            final int maxInflightBatches = pipelineConfiguration.getMaxInflightBatches();
 
             LOG.info("Building sinks for the pipeline [{}]", pipelineName);
             final List<Sink> sinks = pipelineConfiguration.getSinkPluginSettings().stream()
                     .map(this::buildSinkOrConnector)
                     .collect(Collectors.toList());
+            final int defaultSinkWorkers = prepperThreads * maxInflightBatches;
+            final List<SinkIsolationSettings> sinkIsolationSettings = pipelineConfiguration.getSinkPluginSettings().stream()
+                    .map(sinkSetting -> SinkIsolationSettings.fromPluginSetting(sinkSetting, defaultSinkWorkers))
+                    .collect(Collectors.toList());
 
-            final Pipeline pipeline = new Pipeline(pipelineName, source, buffer, prepperSets, sinks, prepperThreads, readBatchDelay);
+            final PipelineSettings pipelineSettings = PipelineSettings.builder(prepperThreads, readBatchDelay)
+                    .withMaxInflightBatches(maxInflightBatches)
+                    .withSinkIsolationSettings(sinkIsolationSettings)
+                    .withScheduler(pipelineScheduler, pipelineConfiguration.getSchedulerWeight(),
+                            pipelineConfiguration.getSchedulerMinWorkers())
+                    .withExecutionMode(pipelineConfiguration.getExecutionMode())
+                    .withAdaptiveBatchController(newAdaptiveBatchController(pipelineName, pipelineConfiguration))
+                    .withSnapshotStore(snapshotStore)
+                    .build();
+            final Pipeline pipeline = new Pipeline(pipelineName, source, buffer, prepperSets, sinks, pipelineSettings);
             pipelineMap.put(pipelineName, pipeline);
         } catch (Exception ex) {
             //If pipeline construction errors out, we will skip that pipeline and proceed
@@ -121,11 +188,140 @@ public class PipelineParser {
 
     }
 
+    /**
+     * Returns the controller of the reads of the workers of the pipeline if a batch target latency is configured.
+     */
+    private AdaptiveBatchController newAdaptiveBatchController(
+            final String pipelineName,
+            final PipelineConfiguration pipelineConfiguration) {
+        final Integer batchTargetLatency = pipelineConfiguration.getBatchTargetLatency();
+        if (batchTargetLatency == null) {
+            return null;
+        }
+        return new AdaptiveBatchController(pipelineName, batchTargetLatency, pipelineConfiguration.getMaxBatchSize());
+    }
+
+    /**
+     * Chains each pipeline whose only sink is another pipeline into that downstream pipeline, provided both have the
+     * same number of workers and neither disables chaining. The workers of the upstream pipeline then run the
+     * preppers and sinks of the downstream pipeline, avoiding the buffer round-trip and the extra thread hops. As the
+     * buffer of the downstream pipeline is skipped, a downstream pipeline which configures its own buffer, or whose
+     * buffer is partitioned or prioritized, is never chained.
+     */
+    private void chainConnectedPipelines(
+            final Map<String, PipelineConfiguration> pipelineConfigurationMap,
+            final Map<String, Pipeline> pipelineMap) {
+        for (final Map.Entry<String, Pipeline> pipelineEntry : pipelineMap.entrySet()) {
+            final PipelineConfiguration pipelineConfiguration = pipelineConfigurationMap.get(pipelineEntry.getKey());
+            final List<PluginSetting> sinkSettings = pipelineConfiguration.getSinkPluginSettings();
+            if (sinkSettings.size() != 1) {
+                continue;
+            }
+            final Optional<String> downstreamPipelineName = getPipelineNameIfPipelineType(sinkSettings.get(0));
+            if (!downstreamPipelineName.isPresent() || !pipelineMap.containsKey(downstreamPipelineName.get())) {
+                continue;
+            }
+            final PipelineConfiguration downstreamConfiguration = pipelineConfigurationMap.get(downstreamPipelineName.get());
+            final Pipeline downstreamPipeline = pipelineMap.get(downstreamPipelineName.get());
+            if (!pipelineConfiguration.getChaining() || !downstreamConfiguration.getChaining()) {
+                continue;
+            }
+            if (!downstreamConfiguration.hasDefaultBuffer() || downstreamPipeline.getBuffer() instanceof PartitionedBuffer ||
+                    downstreamPipeline.getBuffer() instanceof PrioritizedBuffer) {
+                LOG.warn("Pipeline [{}] is not chained into pipeline [{}] as its buffer would be skipped",
+                        downstreamPipelineName.get(), pipelineEntry.getKey());
+                continue;
+            }
+            if (pipelineConfiguration.getWorkers().equals(downstreamConfiguration.getWorkers())) {
+                LOG.info("Chaining pipeline [{}] into pipeline [{}]", downstreamPipelineName.get(), pipelineEntry.getKey());
+                pipelineEntry.getValue().chainTo(downstreamPipeline);
+            }
+        }
+    }
+
+    /**
+     * Creates the instances of a prepper, which share new objects, so instances of a pipeline which is built again do
+     * not share state with the instances of the previous pipeline.
+     */
     private List<Prepper> newPreppers(final PluginSetting pluginSetting) {
+        pluginSetting.setSharedObjects(new ConcurrentHashMap<>());
         return pluginFactory.loadPlugins(Prepper.class, pluginSetting,
                 actualClass -> actualClass.isAnnotationPresent(SingleThread.class) ?
                 pluginSetting.getNumberOfProcessWorkers() :
-                1);
+                1).stream()
+                .map(prepper -> SplittingPrepper.decorate(prepper, pluginSetting))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds the buffer of a pipeline. If the first prepper of the pipeline is a {@link PartitionedPrepper}, the buffer
+     * is partitioned into a buffer per worker and records are routed with the partitioner of the prepper. If the first
+     * prepper is a {@link PrioritizedPrepper}, the buffer, or each of its partitions, is split into a buffer per lane
+     * of the prioritizer of the prepper. Each partition and lane is a buffer with the full configured capacity.
+     */
+    @SuppressWarnings("unchecked")
+    private Buffer newBuffer(
+            final PluginSetting bufferSetting,
+            final List<List<Prepper>> prepperSets,
+            final int prepperThreads,
+            final int maxSkippedReads) {
+        final Optional<RecordPartitioner> recordPartitioner = getRecordPartitioner(prepperSets);
+        final Optional<RecordPrioritizer> recordPrioritizer = getRecordPrioritizer(prepperSets);
+        final int numberOfPartitions = recordPartitioner.isPresent() ? prepperThreads : 1;
+        final int numberOfLanes = recordPrioritizer.isPresent() ? recordPrioritizer.get().getNumberOfLanes() : 1;
+        if (numberOfPartitions == 1 && numberOfLanes == 1) {
+            return pluginFactory.loadPlugin(Buffer.class, bufferSetting);
+        }
+        final List<Buffer> buffers = new ArrayList<>(numberOfPartitions * numberOfLanes);
+        for (int i = 0; i < numberOfPartitions * numberOfLanes; i++) {
+            // Each partition and lane gets its own index, so buffers backed by files do not share them
+            final PluginSetting instanceSetting = new PluginSetting(bufferSetting.getName(),
+                    bufferSetting.getSettings());
+            instanceSetting.setPipelineName(bufferSetting.getPipelineName());
+            instanceSetting.setProcessWorkers(bufferSetting.getNumberOfProcessWorkers());
+            instanceSetting.setInstanceIndex(i);
+            buffers.add(pluginFactory.loadPlugin(Buffer.class, instanceSetting));
+        }
+        if (numberOfLanes > 1) {
+            LOG.info("Prioritizing buffer [{}] across {} lanes", bufferSetting.getName(), numberOfLanes);
+        }
+        final List<Buffer> partitions = new ArrayList<>(numberOfPartitions);
+        for (int i = 0; i < numberOfPartitions; i++) {
+            if (numberOfLanes == 1) {
+                partitions.add(buffers.get(i));
+                continue;
+            }
+            final List<Buffer> lanes = new ArrayList<>(buffers.subList(i * numberOfLanes, (i + 1) * numberOfLanes));
+            partitions.add(new PrioritizedBuffer(lanes, recordPrioritizer.get(),
+                    bufferSetting.getIntegerOrDefault(BUFFER_BATCH_SIZE, DEFAULT_BUFFER_BATCH_SIZE), maxSkippedReads,
+                    bufferSetting.getPipelineName()));
+        }
+        if (numberOfPartitions == 1) {
+            return partitions.get(0);
+        }
+        LOG.info("Partitioning buffer [{}] across {} workers", bufferSetting.getName(), prepperThreads);
+        return new PartitionedBuffer(partitions, recordPartitioner.get());
+    }
+
+    private Optional<RecordPartitioner> getRecordPartitioner(final List<List<Prepper>> prepperSets) {
+        for (int i = 1; i < prepperSets.size(); i++) {
+            final Prepper prepper = prepperSets.get(i).get(0);
+            if (prepper instanceof PartitionedPrepper) {
+                throw new IllegalArgumentException(format("Prepper [%s] partitions the records of the pipeline " +
+                        "and must be its first prepper", prepper.getClass().getSimpleName()));
+            }
+        }
+        if (prepperSets.isEmpty() || !(prepperSets.get(0).get(0) instanceof PartitionedPrepper)) {
+            return Optional.empty();
+        }
+        return Optional.of(((PartitionedPrepper) prepperSets.get(0).get(0)).getRecordPartitioner());
+    }
+
+    private Optional<RecordPrioritizer> getRecordPrioritizer(final List<List<Prepper>> prepperSets) {
+        if (prepperSets.isEmpty() || !(prepperSets.get(0).get(0) instanceof PrioritizedPrepper)) {
+            return Optional.empty();
+        }
+        return Optional.of(((PrioritizedPrepper) prepperSets.get(0).get(0)).getRecordPrioritizer());
     }
 
     private Optional<Source> getSourceIfPipelineType(
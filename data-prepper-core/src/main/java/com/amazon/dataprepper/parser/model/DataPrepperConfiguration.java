@@ -32,6 +32,8 @@ public class DataPrepperConfiguration {
     private String keyStorePassword = "";
     private String privateKeyPassword = "";
     private List<MetricRegistryType> metricRegistries = DEFAULT_METRIC_REGISTRY_TYPE;
+    private boolean sharedScheduler = false;
+    private String snapshotDirectory = null;
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper(new YAMLFactory());
 
@@ -59,7 +61,9 @@ public class DataPrepperConfiguration {
             @JsonProperty("keyStorePassword") final String keyStorePassword,
             @JsonProperty("privateKeyPassword") final String privateKeyPassword,
             @JsonProperty("serverPort") final String serverPort,
-            @JsonProperty("metricRegistries") final List<MetricRegistryType> metricRegistries
+            @JsonProperty("metricRegistries") final List<MetricRegistryType> metricRegistries,
+            @JsonProperty("sharedScheduler") final Boolean sharedScheduler,
+            @JsonProperty("snapshotDirectory") final String snapshotDirectory
     ) {
         setSsl(ssl);
         this.keyStoreFilePath = keyStoreFilePath != null ? keyStoreFilePath : "";
@@ -67,6 +71,8 @@ public class DataPrepperConfiguration {
         this.privateKeyPassword = privateKeyPassword != null ? privateKeyPassword : "";
         this.metricRegistries = metricRegistries != null && !metricRegistries.isEmpty() ? metricRegistries : DEFAULT_METRIC_REGISTRY_TYPE;
         setServerPort(serverPort);
+        this.sharedScheduler = sharedScheduler != null && sharedScheduler;
+        this.snapshotDirectory = snapshotDirectory != null && !snapshotDirectory.isEmpty() ? snapshotDirectory : null;
     }
 
     public int getServerPort() {
@@ -93,6 +99,21 @@ public class DataPrepperConfiguration {
         return metricRegistries;
     }
 
+    /**
+     * @return true if the workers of all pipelines run on a single process-wide scheduler.
+     */
+    public boolean useSharedScheduler() {
+        return sharedScheduler;
+    }
+
+    /**
+     * @return directory to which the pipelines write a snapshot of their buffers and stateful preppers on shutdown, or
+     * null if the pipelines drain them on shutdown.
+     */
+    public String getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+
     private void setSsl(final Boolean ssl) {
         if (ssl != null) {
             this.ssl = ssl;
@@ -11,6 +11,7 @@
 
 package com.amazon.dataprepper.parser.model;
 
+import com.amazon.dataprepper.model.concurrent.ExecutionMode;
 import com.amazon.dataprepper.model.configuration.PluginSetting;
 import com.amazon.dataprepper.plugins.buffer.blockingbuffer.BlockingBuffer;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -27,15 +28,37 @@ import static java.lang.String.format;
 public class PipelineConfiguration {
     private static final String WORKERS_COMPONENT = "workers";
     private static final String DELAY_COMPONENT = "delay";
+    private static final String MAX_INFLIGHT_BATCHES_COMPONENT = "max_inflight_batches";
+    private static final String SCHEDULER_WEIGHT_COMPONENT = "scheduler_weight";
+    private static final String SCHEDULER_MIN_WORKERS_COMPONENT = "scheduler_min_workers";
+    private static final String BATCH_TARGET_LATENCY_COMPONENT = "batch_target_latency";
+    private static final String MAX_BATCH_SIZE_COMPONENT = "max_batch_size";
+    private static final String MAX_SKIPPED_READS_COMPONENT = "max_skipped_reads";
     private static final int DEFAULT_READ_BATCH_DELAY = 3_000;
     private static final int DEFAULT_WORKERS = 1;
+    private static final int DEFAULT_MAX_INFLIGHT_BATCHES = 1;
+    private static final boolean DEFAULT_CHAINING = true;
+    private static final int DEFAULT_SCHEDULER_WEIGHT = 1;
+    private static final int DEFAULT_SCHEDULER_MIN_WORKERS = 0;
+    private static final ExecutionMode DEFAULT_EXECUTION_MODE = ExecutionMode.PLATFORM_THREADS;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 512;
+    private static final int DEFAULT_MAX_SKIPPED_READS = 4;
 
     private final PluginSetting sourcePluginSetting;
     private final PluginSetting bufferPluginSetting;
+    private final boolean defaultBuffer;
     private final List<PluginSetting> prepperPluginSettings;
     private final List<PluginSetting> sinkPluginSettings;
     private final Integer workers;
     private final Integer readBatchDelay;
+    private final Integer maxInflightBatches;
+    private final Boolean chaining;
+    private final Integer schedulerWeight;
+    private final Integer schedulerMinWorkers;
+    private final ExecutionMode executionMode;
+    private final Integer batchTargetLatency;
+    private final Integer maxBatchSize;
+    private final Integer maxSkippedReads;
 
     @JsonCreator
     public PipelineConfiguration(
@@ -44,13 +67,30 @@ public class PipelineConfiguration {
             @JsonProperty("prepper") final List<Map.Entry<String, Map<String, Object>>> preppers,
             @JsonProperty("sink") final List<Map.Entry<String, Map<String, Object>>> sinks,
             @JsonProperty("workers") final Integer workers,
-            @JsonProperty("delay") final Integer delay) {
+            @JsonProperty("delay") final Integer delay,
+            @JsonProperty("max_inflight_batches") final Integer maxInflightBatches,
+            @JsonProperty("chaining") final Boolean chaining,
+            @JsonProperty("scheduler_weight") final Integer schedulerWeight,
+            @JsonProperty("scheduler_min_workers") final Integer schedulerMinWorkers,
+            @JsonProperty("execution_mode") final String executionMode,
+            @JsonProperty("batch_target_latency") final Integer batchTargetLatency,
+            @JsonProperty("max_batch_size") final Integer maxBatchSize,
+            @JsonProperty("max_skipped_reads") final Integer maxSkippedReads) {
         this.sourcePluginSetting = getSourceFromConfiguration(source);
         this.bufferPluginSetting = getBufferFromConfigurationOrDefault(buffer);
+        this.defaultBuffer = buffer == null;
         this.prepperPluginSettings = getPreppersFromConfiguration(preppers);
         this.sinkPluginSettings = getSinksFromConfiguration(sinks);
         this.workers = getWorkersFromConfiguration(workers);
         this.readBatchDelay = getReadBatchDelayFromConfiguration(delay);
+        this.maxInflightBatches = getMaxInflightBatchesFromConfiguration(maxInflightBatches);
+        this.chaining = chaining == null ? DEFAULT_CHAINING : chaining;
+        this.schedulerWeight = getSchedulerWeightFromConfiguration(schedulerWeight);
+        this.schedulerMinWorkers = getSchedulerMinWorkersFromConfiguration(schedulerMinWorkers);
+        this.executionMode = executionMode == null ? DEFAULT_EXECUTION_MODE : ExecutionMode.fromOptionValue(executionMode);
+        this.batchTargetLatency = getValueFromConfiguration(batchTargetLatency, BATCH_TARGET_LATENCY_COMPONENT);
+        this.maxBatchSize = getMaxBatchSizeFromConfiguration(maxBatchSize);
+        this.maxSkippedReads = getMaxSkippedReadsFromConfiguration(maxSkippedReads);
     }
 
     public PluginSetting getSourcePluginSetting() {
@@ -61,6 +101,13 @@ public class PipelineConfiguration {
         return bufferPluginSetting;
     }
 
+    /**
+     * @return true if the pipeline does not configure a buffer and uses the default buffer.
+     */
+    public boolean hasDefaultBuffer() {
+        return defaultBuffer;
+    }
+
     public List<PluginSetting> getPrepperPluginSettings() {
         return prepperPluginSettings;
     }
@@ -77,6 +124,61 @@ public class PipelineConfiguration {
         return readBatchDelay;
     }
 
+    public Integer getMaxInflightBatches() {
+        return maxInflightBatches;
+    }
+
+    /**
+     * @return false if the pipeline must not be chained with its connected pipelines, true by default.
+     */
+    public Boolean getChaining() {
+        return chaining;
+    }
+
+    /**
+     * @return share of the CPU time of the shared scheduler relative to the other pipelines.
+     */
+    public Integer getSchedulerWeight() {
+        return schedulerWeight;
+    }
+
+    /**
+     * @return number of workers which the shared scheduler runs ahead of the weighted share.
+     */
+    public Integer getSchedulerMinWorkers() {
+        return schedulerMinWorkers;
+    }
+
+    /**
+     * @return kind of threads which run the workers of the pipeline.
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * @return time in milliseconds within which the workers aim to read and checkpoint a record, or null if the workers
+     * read fixed batches.
+     */
+    public Integer getBatchTargetLatency() {
+        return batchTargetLatency;
+    }
+
+    /**
+     * @return maximum number of records of a read of the workers when the batch target latency is configured.
+     */
+    public Integer getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @return number of reads in a row which may skip a lower priority lane of a prioritized pipeline before the lane
+     * is read first.
+     */
+    public Integer getMaxSkippedReads() {
+        return maxSkippedReads;
+    }
+
     public void updateCommonPipelineConfiguration(final String pipelineName) {
         updatePluginSetting(sourcePluginSetting, pipelineName);
         updatePluginSetting(bufferPluginSetting, pipelineName);
@@ -143,6 +245,41 @@ public class PipelineConfiguration {
         return configuredDelay == null ? DEFAULT_READ_BATCH_DELAY : configuredDelay;
     }
 
+    private Integer getMaxInflightBatchesFromConfiguration(final Integer maxInflightBatchesConfiguration) {
+        final Integer configuredMaxInflightBatches = getValueFromConfiguration(maxInflightBatchesConfiguration,
+                MAX_INFLIGHT_BATCHES_COMPONENT);
+        return configuredMaxInflightBatches == null ? DEFAULT_MAX_INFLIGHT_BATCHES : configuredMaxInflightBatches;
+    }
+
+    private Integer getSchedulerWeightFromConfiguration(final Integer schedulerWeightConfiguration) {
+        final Integer configuredSchedulerWeight = getValueFromConfiguration(schedulerWeightConfiguration,
+                SCHEDULER_WEIGHT_COMPONENT);
+        return configuredSchedulerWeight == null ? DEFAULT_SCHEDULER_WEIGHT : configuredSchedulerWeight;
+    }
+
+    private Integer getSchedulerMinWorkersFromConfiguration(final Integer schedulerMinWorkersConfiguration) {
+        if (schedulerMinWorkersConfiguration == null) {
+            return DEFAULT_SCHEDULER_MIN_WORKERS;
+        }
+        if (schedulerMinWorkersConfiguration < 0) {
+            throw new IllegalArgumentException(format("Invalid configuration, %s cannot be %s",
+                    SCHEDULER_MIN_WORKERS_COMPONENT, schedulerMinWorkersConfiguration));
+        }
+        return schedulerMinWorkersConfiguration;
+    }
+
+    private Integer getMaxBatchSizeFromConfiguration(final Integer maxBatchSizeConfiguration) {
+        final Integer configuredMaxBatchSize = getValueFromConfiguration(maxBatchSizeConfiguration,
+                MAX_BATCH_SIZE_COMPONENT);
+        return configuredMaxBatchSize == null ? DEFAULT_MAX_BATCH_SIZE : configuredMaxBatchSize;
+    }
+
+    private Integer getMaxSkippedReadsFromConfiguration(final Integer maxSkippedReadsConfiguration) {
+        final Integer configuredMaxSkippedReads = getValueFromConfiguration(maxSkippedReadsConfiguration,
+                MAX_SKIPPED_READS_COMPONENT);
+        return configuredMaxSkippedReads == null ? DEFAULT_MAX_SKIPPED_READS : configuredMaxSkippedReads;
+    }
+
     private Integer getValueFromConfiguration(final Integer configuration, final String component) {
         if (configuration != null && configuration <= 0) {
             throw new IllegalArgumentException(format("Invalid configuration, %s cannot be %s",
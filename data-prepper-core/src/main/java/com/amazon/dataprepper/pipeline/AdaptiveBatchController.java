@@ -0,0 +1,118 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.metrics.PluginMetrics;
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the size and timeout of the reads of the {@link ProcessWorker}s of a pipeline so that records are processed
+ * within a target latency. The controller keeps a moving average of the arrival rate of records, observed on each read,
+ * and of the downstream time of a batch, i.e. the time from the read until the batch is checkpointed. The read
+ * timeout is the part of the target latency which is left after the downstream time, and the batch size is the number
+ * of records expected to arrive within that timeout. The batch size at most doubles or halves per read, and is kept
+ * between 1 and the configured maximum.
+ * <p>
+ * A controller is shared by all the workers of a pipeline.
+ */
+public class AdaptiveBatchController {
+    static final String ADAPTIVE_BATCHING = "adaptiveBatching";
+    static final String READ_BATCH_SIZE = "readBatchSize";
+    static final double SMOOTHING_FACTOR = 0.2;
+    private static final int MIN_READ_TIMEOUT_IN_MILLIS = 1;
+
+    private final int targetLatencyInMillis;
+    private final int maxBatchSize;
+    private final AtomicInteger batchSize;
+    private double arrivalRatePerMilli = -1;
+    private double downstreamTimeInMillis = 0;
+
+    /**
+     * @param pipelineName          name of the pipeline, used for the metrics of the controller
+     * @param targetLatencyInMillis time within which a record should be read and checkpointed
+     * @param maxBatchSize          maximum number of records of a read
+     */
+    public AdaptiveBatchController(final String pipelineName, final int targetLatencyInMillis, final int maxBatchSize) {
+        Preconditions.checkArgument(targetLatencyInMillis > 0, "targetLatencyInMillis must be greater than 0");
+        Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be greater than 0");
+        this.targetLatencyInMillis = targetLatencyInMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = PluginMetrics.fromNames(ADAPTIVE_BATCHING, pipelineName)
+                .gauge(READ_BATCH_SIZE, new AtomicInteger(maxBatchSize));
+    }
+
+    /**
+     * @return maximum number of records of the next read
+     */
+    public int getBatchSize() {
+        return batchSize.get();
+    }
+
+    /**
+     * @return time to wait for the next read to fill up
+     */
+    public synchronized int getReadTimeoutInMillis() {
+        return (int) Math.max(MIN_READ_TIMEOUT_IN_MILLIS, targetLatencyInMillis - downstreamTimeInMillis);
+    }
+
+    public int getTargetLatencyInMillis() {
+        return targetLatencyInMillis;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Records a read from the buffer and adjusts the batch size to the observed arrival rate.
+     *
+     * @param numRecords      number of records which were read
+     * @param readTimeInNanos time the read took
+     */
+    public synchronized void recordRead(final int numRecords, final long readTimeInNanos) {
+        final double readTimeInMillis = (double) readTimeInNanos / TimeUnit.MILLISECONDS.toNanos(1);
+        if (readTimeInMillis <= 0) {
+            return;
+        }
+        final double observedArrivalRate = numRecords / readTimeInMillis;
+        arrivalRatePerMilli = arrivalRatePerMilli < 0 ? observedArrivalRate :
+                average(arrivalRatePerMilli, observedArrivalRate);
+        adjustBatchSize();
+    }
+
+    /**
+     * Records the time from the read of a batch until it was checkpointed.
+     *
+     * @param downstreamTimeInNanos time the preppers and sinks took to process the batch
+     */
+    public synchronized void recordDownstreamTime(final long downstreamTimeInNanos) {
+        final double observedDownstreamTime = (double) downstreamTimeInNanos / TimeUnit.MILLISECONDS.toNanos(1);
+        downstreamTimeInMillis = average(downstreamTimeInMillis, observedDownstreamTime);
+    }
+
+    private void adjustBatchSize() {
+        final int currentBatchSize = batchSize.get();
+        final double remainingLatencyInMillis = targetLatencyInMillis - downstreamTimeInMillis;
+        // Once the downstream time alone exceeds the target, smaller batches are the only way to bring it down
+        final double targetBatchSize = remainingLatencyInMillis <= 0 ? 1 :
+                Math.ceil(arrivalRatePerMilli * remainingLatencyInMillis);
+        final double boundedBatchSize = Math.max(currentBatchSize / 2.0, Math.min(currentBatchSize * 2.0, targetBatchSize));
+        batchSize.set((int) Math.max(1, Math.min(maxBatchSize, boundedBatchSize)));
+    }
+
+    private static double average(final double average, final double sample) {
+        return average + SMOOTHING_FACTOR * (sample - average);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.event.EventBatch;
+import com.amazon.dataprepper.model.prepper.BatchPrepper;
+import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.record.Record;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs consecutive {@link BatchPrepper}s on a single {@link EventBatch}. The records are converted into the batch
+ * once before the first prepper and back into records once after the last prepper. The records in and out of each
+ * prepper are the selected rows of the batch before and after the prepper.
+ */
+class FusedBatchPrepper implements Prepper<Record<Event>, Record<Event>> {
+    private final List<BatchPrepper> preppers;
+
+    FusedBatchPrepper(final List<BatchPrepper> preppers) {
+        this.preppers = preppers;
+    }
+
+    @Override
+    public Collection<Record<Event>> execute(final Collection<Record<Event>> records) {
+        final EventBatch batch = EventBatch.fromRecords(records);
+        for (final BatchPrepper prepper : preppers) {
+            final int recordsIn = batch.getSelectedCount();
+            prepper.processBatch(batch);
+            prepper.recordCounts(recordsIn, batch.getSelectedCount());
+        }
+        return batch.toRecords();
+    }
+
+    @Override
+    public void prepareForShutdown() {
+        preppers.forEach(Prepper::prepareForShutdown);
+    }
+
+    @Override
+    public boolean isReadyForShutdown() {
+        return preppers.stream().allMatch(Prepper::isReadyForShutdown);
+    }
+
+    @Override
+    public void shutdown() {
+        preppers.forEach(Prepper::shutdown);
+    }
+
+    List<BatchPrepper> getPreppers() {
+        return preppers;
+    }
+}
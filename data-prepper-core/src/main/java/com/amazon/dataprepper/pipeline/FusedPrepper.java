@@ -0,0 +1,130 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.prepper.BatchPrepper;
+import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.prepper.RecordPrepper;
+import com.amazon.dataprepper.model.record.Record;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs consecutive {@link RecordPrepper}s in a single pass over the batch. Each record is passed through all the
+ * preppers before the next record is processed, so no intermediate collection is built between the preppers. The
+ * records in and out of each prepper are counted and reported once per batch.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class FusedPrepper implements Prepper<Record<?>, Record<?>> {
+    private final List<RecordPrepper> preppers;
+
+    FusedPrepper(final List<RecordPrepper> preppers) {
+        this.preppers = preppers;
+    }
+
+    /**
+     * Replaces each run of two or more consecutive {@link RecordPrepper}s with a single {@link FusedPrepper} and each
+     * run of two or more consecutive {@link BatchPrepper}s with a single {@link FusedBatchPrepper}.
+     *
+     * @param preppers preppers run by a {@link ProcessWorker}, in order
+     * @return preppers with the record preppers and batch preppers fused
+     */
+    static List<Prepper> fuse(final List<Prepper> preppers) {
+        final List<Prepper> fusedPreppers = new ArrayList<>(preppers.size());
+        List<RecordPrepper> recordPreppers = new ArrayList<>();
+        List<BatchPrepper> batchPreppers = new ArrayList<>();
+        for (final Prepper prepper : preppers) {
+            if (prepper instanceof RecordPrepper) {
+                addBatchPreppers(fusedPreppers, batchPreppers);
+                batchPreppers = new ArrayList<>();
+                recordPreppers.add((RecordPrepper) prepper);
+                continue;
+            }
+            addRecordPreppers(fusedPreppers, recordPreppers);
+            recordPreppers = new ArrayList<>();
+            if (prepper instanceof BatchPrepper) {
+                batchPreppers.add((BatchPrepper) prepper);
+                continue;
+            }
+            addBatchPreppers(fusedPreppers, batchPreppers);
+            batchPreppers = new ArrayList<>();
+            fusedPreppers.add(prepper);
+        }
+        addRecordPreppers(fusedPreppers, recordPreppers);
+        addBatchPreppers(fusedPreppers, batchPreppers);
+        return fusedPreppers;
+    }
+
+    private static void addRecordPreppers(final List<Prepper> fusedPreppers, final List<RecordPrepper> recordPreppers) {
+        if (recordPreppers.size() > 1) {
+            fusedPreppers.add(new FusedPrepper(recordPreppers));
+        } else {
+            fusedPreppers.addAll(recordPreppers);
+        }
+    }
+
+    private static void addBatchPreppers(final List<Prepper> fusedPreppers, final List<BatchPrepper> batchPreppers) {
+        if (batchPreppers.size() > 1) {
+            fusedPreppers.add(new FusedBatchPrepper(batchPreppers));
+        } else {
+            fusedPreppers.addAll(batchPreppers);
+        }
+    }
+
+    @Override
+    public Collection<Record<?>> execute(final Collection<Record<?>> records) {
+        final List<Record<?>> recordsOut = new ArrayList<>(records.size());
+        final int[] recordsIn = new int[preppers.size()];
+        Consumer<Record<?>> output = recordsOut::add;
+        for (int i = preppers.size() - 1; i >= 0; i--) {
+            final RecordPrepper prepper = preppers.get(i);
+            final Consumer<Record<?>> prepperOutput = output;
+            final int prepperIndex = i;
+            output = record -> {
+                recordsIn[prepperIndex]++;
+                prepper.processRecord(record, prepperOutput);
+            };
+        }
+
+        for (final Record<?> record : records) {
+            output.accept(record);
+        }
+
+        for (int i = 0; i < preppers.size(); i++) {
+            final int prepperRecordsOut = i + 1 < preppers.size() ? recordsIn[i + 1] : recordsOut.size();
+            preppers.get(i).recordCounts(recordsIn[i], prepperRecordsOut);
+        }
+        return recordsOut;
+    }
+
+    @Override
+    public void prepareForShutdown() {
+        preppers.forEach(Prepper::prepareForShutdown);
+    }
+
+    @Override
+    public boolean isReadyForShutdown() {
+        return preppers.stream().allMatch(Prepper::isReadyForShutdown);
+    }
+
+    @Override
+    public void shutdown() {
+        preppers.forEach(Prepper::shutdown);
+    }
+
+    List<RecordPrepper> getPreppers() {
+        return preppers;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.Backpressure;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.RecordPartitioner;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.record.Record;
+import com.google.common.base.Preconditions;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+/**
+ * Buffer of a partitioned pipeline. Records written to the buffer are routed by a {@link RecordPartitioner} to one
+ * buffer per worker, and each {@link ProcessWorker} reads from and checkpoints its own partition. Reading the
+ * partitioned buffer itself, e.g. to drain it, takes the records of one partition at a time.
+ * <p>
+ * A write of records of several partitions writes the partitions one after another within the timeout of the write
+ * and is not atomic: if a partition times out, the records of the partitions written before it stay in the buffer, and
+ * a writer which retries the write, such as a {@link PipelineConnector} or a source, writes them again. Writes of a
+ * partitioned buffer are therefore at-least-once.
+ */
+public class PartitionedBuffer<T extends Record<?>> implements Buffer<T> {
+    private final List<Buffer<T>> partitions;
+    private final RecordPartitioner<T> recordPartitioner;
+    private final AtomicInteger nextPartition = new AtomicInteger();
+
+    public PartitionedBuffer(final List<Buffer<T>> partitions, final RecordPartitioner<T> recordPartitioner) {
+        Preconditions.checkArgument(!partitions.isEmpty(), "A partitioned buffer requires at least one partition");
+        this.partitions = partitions;
+        this.recordPartitioner = Preconditions.checkNotNull(recordPartitioner);
+    }
+
+    @Override
+    public void write(final T record, final int timeoutInMillis) throws TimeoutException {
+        for (final Map.Entry<Integer, T> partitionedRecord : recordPartitioner.partition(record, partitions.size()).entrySet()) {
+            partitions.get(partitionedRecord.getKey()).write(partitionedRecord.getValue(), timeoutInMillis);
+        }
+    }
+
+    @Override
+    public void writeAll(final Collection<T> records, final int timeoutInMillis) throws Exception {
+        final List<List<T>> partitionedRecords = new ArrayList<>(partitions.size());
+        for (int i = 0; i < partitions.size(); i++) {
+            partitionedRecords.add(new ArrayList<>());
+        }
+        for (final T record : records) {
+            recordPartitioner.partition(record, partitions.size())
+                    .forEach((partition, partitionedRecord) -> partitionedRecords.get(partition).add(partitionedRecord));
+        }
+        for (int i = 0; i < partitions.size(); i++) {
+            if (partitionedRecords.get(i).size() > partitions.get(i).getCapacity()) {
+                throw new SizeOverflowException(format("Partition %d capacity too small for the size of records: %d",
+                        i, partitionedRecords.get(i).size()));
+            }
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        for (int i = 0; i < partitions.size(); i++) {
+            if (!partitionedRecords.get(i).isEmpty()) {
+                final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(Math.max(0, deadline - System.nanoTime()));
+                partitions.get(i).writeAll(partitionedRecords.get(i), (int) remainingMillis);
+            }
+        }
+    }
+
+    /**
+     * Reads a batch from the first partition which is not empty, taking turns between the partitions. If all the
+     * partitions are empty, waits up to timeoutInMillis for records in the next partition.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> read(final int timeoutInMillis) {
+        final int firstPartition = Math.floorMod(nextPartition.getAndIncrement(), partitions.size());
+        for (int i = 0; i < partitions.size(); i++) {
+            final int partition = (firstPartition + i) % partitions.size();
+            if (!partitions.get(partition).isEmpty()) {
+                return readPartition(partition, 0);
+            }
+        }
+        return readPartition(firstPartition, timeoutInMillis);
+    }
+
+    /**
+     * Checkpoints the records of the batch on the partition they were read from.
+     */
+    @Override
+    public void checkpoint(final CheckpointState checkpointState) {
+        Preconditions.checkArgument(checkpointState instanceof PartitionCheckpointState,
+                "The checkpoint state was not read from a partitioned buffer");
+        final PartitionCheckpointState partitionCheckpointState = (PartitionCheckpointState) checkpointState;
+        partitions.get(partitionCheckpointState.partition).checkpoint(partitionCheckpointState.checkpointState);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return partitions.stream().allMatch(Buffer::isEmpty);
+    }
+
+    @Override
+    public void shutdown() {
+        partitions.forEach(Buffer::shutdown);
+    }
+
+    @Override
+    public boolean isPersistent() {
+        return partitions.stream().allMatch(Buffer::isPersistent);
+    }
+
+    /**
+     * @return the capacity of the smallest partition, as all the records of a write may be routed to it
+     */
+    @Override
+    public int getCapacity() {
+        return partitions.stream().mapToInt(Buffer::getCapacity).min().getAsInt();
+    }
+
+    /**
+     * @return the backpressure of the most loaded partition, as the records of a write may be routed to it
+     */
+    @Override
+    public Backpressure getBackpressure() {
+        return Backpressure.ofMostLoaded(partitions);
+    }
+
+    public int getNumberOfPartitions() {
+        return partitions.size();
+    }
+
+    public Buffer<T> getPartition(final int partition) {
+        return partitions.get(partition);
+    }
+
+    private Map.Entry<Collection<T>, CheckpointState> readPartition(final int partition, final int timeoutInMillis) {
+        final Map.Entry<Collection<T>, CheckpointState> readResult = partitions.get(partition).read(timeoutInMillis);
+        return new AbstractMap.SimpleEntry<>(readResult.getKey(),
+                new PartitionCheckpointState(partition, readResult.getValue()));
+    }
+
+    /**
+     * Checkpoint state of a batch read from one partition.
+     */
+    private static class PartitionCheckpointState extends CheckpointState {
+        private final int partition;
+        private final CheckpointState checkpointState;
+
+        private PartitionCheckpointState(final int partition, final CheckpointState checkpointState) {
+            super(checkpointState.getNumRecordsToBeChecked(), checkpointState.getNumBytesToBeChecked());
+            this.partition = partition;
+            this.checkpointState = checkpointState;
+        }
+    }
+}
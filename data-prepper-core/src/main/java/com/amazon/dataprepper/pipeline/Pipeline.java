@@ -12,17 +12,23 @@
 package com.amazon.dataprepper.pipeline;
 
 import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.concurrent.ExecutionMode;
 import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.prepper.StatefulPrepper;
 import com.amazon.dataprepper.model.record.Record;
 import com.amazon.dataprepper.model.sink.Sink;
 import com.amazon.dataprepper.model.source.Source;
+import com.amazon.dataprepper.pipeline.common.PipelineScheduler;
+import com.amazon.dataprepper.pipeline.common.PipelineSchedulerGroup;
 import com.amazon.dataprepper.pipeline.common.PipelineThreadFactory;
 import com.amazon.dataprepper.pipeline.common.PipelineThreadPoolExecutor;
+import com.amazon.dataprepper.pipeline.snapshot.PipelineSnapshotStore;
 import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -51,8 +57,16 @@ public class Pipeline {
     private final List<Sink> sinks;
     private final int prepperThreads;
     private final int readBatchTimeoutInMillis;
+    private final int maxInflightBatches;
+    private final ExecutionMode executionMode;
+    private final AdaptiveBatchController adaptiveBatchController;
+    private final PipelineSnapshotStore snapshotStore;
     private final ExecutorService prepperExecutorService;
-    private final ExecutorService sinkExecutorService;
+    private final PipelineSchedulerGroup schedulerGroup;
+    private final List<SinkIsolationSettings> sinkIsolationSettings;
+    private final List<SinkIsolator> sinkIsolators;
+    private Pipeline chainedPipeline;
+    private Pipeline upstreamPipeline;
 
     /**
      * Constructs a {@link Pipeline} object with provided {@link Source}, {@link #name}, {@link Collection} of
@@ -78,21 +92,72 @@ public class Pipeline {
             @Nonnull final List<Sink> sinks,
             final int prepperThreads,
             final int readBatchTimeoutInMillis) {
+        this(name, source, buffer, prepperSets, sinks,
+                PipelineSettings.builder(prepperThreads, readBatchTimeoutInMillis).build());
+    }
+
+    /**
+     * Constructs a {@link Pipeline} object with provided {@link Source}, {@link #name}, {@link Collection} of
+     * {@link Sink}, {@link Buffer} and list of {@link Prepper}. On {@link #execute()} the engine will read records
+     * {@link Record} from provided {@link Source}, buffers the records in {@link Buffer}, applies List of
+     * {@link Prepper} sequentially (in the given order) and outputs the processed records to collection of
+     * {@link Sink}. The {@link PipelineSettings} control how many {@link ProcessWorker}s run the pipeline, which
+     * threads they run on, how they read from the {@link Buffer} and whether a snapshot of the pipeline is written to
+     * a {@link PipelineSnapshotStore} on shutdown instead of draining it.
+     *
+     * @param name        name of the pipeline
+     * @param source      source from where the pipeline reads the records
+     * @param buffer      buffer for the source to queue records
+     * @param prepperSets prepper sets that will be applied to records. Each set includes either a single shared prepper instance
+     *                    or multiple instances with each to be accessed only by a single {@link ProcessWorker}.
+     * @param sinks       sink to which the transformed records are posted
+     * @param settings    settings of the workers of the pipeline
+     */
+    public Pipeline(
+            @Nonnull final String name,
+            @Nonnull final Source source,
+            @Nonnull final Buffer buffer,
+            @Nonnull final List<List<Prepper>> prepperSets,
+            @Nonnull final List<Sink> sinks,
+            @Nonnull final PipelineSettings settings) {
+        final int prepperThreads = settings.getPrepperThreads();
+        final int maxInflightBatches = settings.getMaxInflightBatches();
+        final List<SinkIsolationSettings> sinkIsolationSettings = settings.getSinkIsolationSettings() != null ?
+                settings.getSinkIsolationSettings() :
+                sinks.stream()
+                        .map(sink -> SinkIsolationSettings.defaultSettings(sink.getClass().getSimpleName(),
+                                prepperThreads * maxInflightBatches))
+                        .collect(Collectors.toList());
         Preconditions.checkArgument(prepperSets.stream().allMatch(
                 prepperSet -> Objects.nonNull(prepperSet) && (prepperSet.size() == 1 || prepperSet.size() == prepperThreads)));
+        Preconditions.checkArgument(sinkIsolationSettings.size() == sinks.size(),
+                "sinkIsolationSettings must be provided for each sink");
+        Preconditions.checkArgument(!(buffer instanceof PartitionedBuffer) ||
+                        ((PartitionedBuffer) buffer).getNumberOfPartitions() == prepperThreads,
+                "A partitioned buffer must have a partition for each worker");
         this.name = name;
         this.source = source;
         this.buffer = buffer;
         this.prepperSets = prepperSets;
         this.sinks = sinks;
         this.prepperThreads = prepperThreads;
-        this.readBatchTimeoutInMillis = readBatchTimeoutInMillis;
-        this.prepperExecutorService = PipelineThreadPoolExecutor.newFixedThreadPool(prepperThreads,
-                new PipelineThreadFactory(format("%s-prepper-worker", name)), this);
+        this.readBatchTimeoutInMillis = settings.getReadBatchTimeoutInMillis();
+        this.maxInflightBatches = maxInflightBatches;
+        this.executionMode = settings.getExecutionMode();
+        this.adaptiveBatchController = settings.getAdaptiveBatchController();
+        this.snapshotStore = settings.getSnapshotStore();
 
-        // TODO: allow this to be configurable as well?
-        this.sinkExecutorService = PipelineThreadPoolExecutor.newFixedThreadPool(prepperThreads,
-                new PipelineThreadFactory(format("%s-sink-worker", name)), this);
+        this.sinkIsolationSettings = sinkIsolationSettings;
+        this.sinkIsolators = new ArrayList<>(sinks.size());
+        final PipelineScheduler scheduler = settings.getScheduler();
+        if (scheduler == null) {
+            this.schedulerGroup = null;
+            this.prepperExecutorService = PipelineThreadPoolExecutor.newFixedThreadPool(prepperThreads,
+                    new PipelineThreadFactory(format("%s-prepper-worker", name), executionMode), this);
+        } else {
+            this.schedulerGroup = scheduler.register(this, settings.getSchedulerWeight(), settings.getSchedulerMinWorkers());
+            this.prepperExecutorService = null;
+        }
 
         stopRequested = false;
     }
@@ -140,27 +205,89 @@ public class Pipeline {
         return readBatchTimeoutInMillis;
     }
 
+    /**
+     * @return maximum number of batches each {@link ProcessWorker} may have pending in the sinks.
+     */
+    public int getMaxInflightBatches() {
+        return maxInflightBatches;
+    }
+
+    /**
+     * @return kind of threads of the thread pools of this pipeline.
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * @return controller of the reads of the {@link ProcessWorker}s, or null if they read fixed batches.
+     */
+    @Nullable
+    public AdaptiveBatchController getAdaptiveBatchController() {
+        return adaptiveBatchController;
+    }
+
+    /**
+     * @return true if the pipeline writes a snapshot of its buffer and stateful preppers on shutdown instead of
+     * draining them.
+     */
+    public boolean isSnapshotEnabled() {
+        return snapshotStore != null;
+    }
+
+    /**
+     * Chains the provided downstream pipeline into this pipeline, i.e. the {@link ProcessWorker}s of this pipeline run
+     * the preppers of the downstream pipeline right after the preppers of this pipeline and publish to the sinks of the
+     * downstream pipeline, skipping the buffer and the workers of the downstream pipeline. This must be called before
+     * {@link #execute()}.
+     *
+     * @param downstreamPipeline pipeline whose only source is this pipeline, with the same number of workers
+     */
+    public void chainTo(@Nonnull final Pipeline downstreamPipeline) {
+        Preconditions.checkArgument(downstreamPipeline.prepperThreads == prepperThreads,
+                "Chained pipelines must have the same number of workers");
+        Preconditions.checkState(chainedPipeline == null && downstreamPipeline.upstreamPipeline == null,
+                "Pipeline is already chained");
+        Preconditions.checkArgument(!(downstreamPipeline.buffer instanceof PartitionedBuffer),
+                "A partitioned pipeline cannot be chained into another pipeline");
+        this.chainedPipeline = downstreamPipeline;
+        downstreamPipeline.upstreamPipeline = this;
+    }
+
+    /**
+     * @return true if the preppers and sinks of this pipeline run on the workers of an upstream pipeline.
+     */
+    public boolean isChained() {
+        return upstreamPipeline != null;
+    }
+
     /**
      * Executes the current pipeline i.e. reads the data from {@link Source}, executes optional {@link Prepper} on the
      * read data and outputs to {@link Sink}.
      */
     public void execute() {
         LOG.info("Pipeline [{}] - Initiating pipeline execution", name);
+        if (!isChained()) {
+            // The preppers of the chained pipelines run on the workers of this pipeline, so they are restored first
+            restoreSnapshot();
+        }
         try {
             source.start(buffer);
+            if (isChained()) {
+                LOG.info("Pipeline [{}] - Chained into pipeline [{}], records are processed by its workers", name,
+                        upstreamPipeline.getName());
+                return;
+            }
+            createSinkIsolators(prepperThreads * maxInflightBatches);
             LOG.info("Pipeline [{}] - Submitting request to initiate the pipeline processing", name);
             for (int i = 0; i < prepperThreads; i++) {
-                final int finalI = i;
-                final List<Prepper> preppers = prepperSets.stream().map(
-                        prepperSet -> {
-                            if (prepperSet.size() == 1) {
-                                return prepperSet.get(0);
-                            } else {
-                                return prepperSet.get(finalI);
-                            }
-                        }
-                ).collect(Collectors.toList());
-                prepperExecutorService.submit(new ProcessWorker(buffer, preppers, sinks, this));
+                final ProcessWorker processWorker = new ProcessWorker(getBufferForWorker(i),
+                        FusedPrepper.fuse(getPreppersForWorker(i)), sinks, this, i);
+                if (schedulerGroup != null) {
+                    processWorker.runOn(schedulerGroup);
+                } else {
+                    prepperExecutorService.submit(processWorker);
+                }
             }
         } catch (Exception ex) {
             //source failed to start - Cannot proceed further with the current pipeline, skipping further execution
@@ -181,29 +308,108 @@ public class Pipeline {
      * 2. Notifying preppers to prepare for shutdown (e.g. flushing batched items)
      * 3. Waiting for ProcessWorkers to exit their run loop (only after buffer/preppers are empty)
      * 4. Stopping the ProcessWorkers if they are unable to exit gracefully
-     * 5. Shutting down preppers and sinks
-     * 6. Stopping the sink ExecutorService
+     * 5. Writing the snapshot of the buffer and stateful preppers, if snapshots are enabled
+     * 6. Shutting down the buffer, preppers and sinks
+     * 7. Stopping the sink ExecutorServices
      *
      * @param prepperTimeout the maximum time to wait after initiating shutdown to forcefully shutdown process worker
      */
     public void shutdown(int prepperTimeout) {
         LOG.info("Pipeline [{}] - Received shutdown signal with timeout {}, will initiate the shutdown process",
                 name, prepperTimeout);
+        if (isChained() && !upstreamPipeline.isStopRequested()) {
+            // The workers of the upstream pipeline publish to the sinks of this pipeline, stop them first
+            upstreamPipeline.shutdown(prepperTimeout);
+        }
         try {
             source.stop();
             stopRequested = true;
-            prepperSets.forEach(prepperSet -> prepperSet.forEach(Prepper::prepareForShutdown));
+            prepareForShutdown();
         } catch (Exception ex) {
             LOG.error("Pipeline [{}] - Encountered exception while stopping the source, " +
                     "proceeding with termination of process workers", name);
         }
 
-        shutdownExecutorService(prepperExecutorService, prepperTimeout);
+        if (schedulerGroup != null) {
+            // Waits for the worker steps and sink tasks of this pipeline on the shared scheduler
+            schedulerGroup.close(prepperTimeout);
+        } else {
+            shutdownExecutorService(prepperExecutorService, prepperTimeout);
+        }
+
+        if (snapshotStore != null) {
+            snapshotStore.snapshot(name, buffer, prepperSets);
+        }
 
+        buffer.shutdown();
         prepperSets.forEach(prepperSet -> prepperSet.forEach(Prepper::shutdown));
         sinks.forEach(Sink::shutdown);
 
-        shutdownExecutorService(sinkExecutorService, prepperTimeout);
+        sinkIsolators.forEach(sinkIsolator -> {
+            sinkIsolator.getExecutorService().ifPresent(executorService ->
+                    shutdownExecutorService(executorService, prepperTimeout));
+            sinkIsolator.shutdown();
+        });
+    }
+
+    private void prepareForShutdown() {
+        prepperSets.forEach(prepperSet -> prepperSet.stream()
+                // The state of stateful preppers is written to the snapshot rather than flushed
+                .filter(prepper -> !(isSnapshotEnabled() && prepper instanceof StatefulPrepper))
+                .forEach(Prepper::prepareForShutdown));
+        if (chainedPipeline != null) {
+            chainedPipeline.prepareForShutdown();
+        }
+    }
+
+    /**
+     * Creates the isolators of the sinks the workers of this pipeline publish to. If a downstream pipeline is chained
+     * into this pipeline, the workers publish to its sinks instead, so only the isolators of the downstream sinks are
+     * created, sized for the workers and in-flight batches of this pipeline.
+     *
+     * @param defaultSinkWorkers workers and queue size of the sinks which do not configure them
+     */
+    private void createSinkIsolators(final int defaultSinkWorkers) {
+        if (chainedPipeline != null) {
+            chainedPipeline.createSinkIsolators(defaultSinkWorkers);
+            return;
+        }
+        for (int i = 0; i < sinks.size(); i++) {
+            final SinkIsolationSettings settings = sinkIsolationSettings.get(i).withDefaultWorkers(defaultSinkWorkers);
+            sinkIsolators.add(schedulerGroup == null ?
+                    new SinkIsolator(this, sinks.get(i), i, settings) :
+                    new SinkIsolator(this, sinks.get(i), i, settings, schedulerGroup));
+        }
+    }
+
+    private void restoreSnapshot() {
+        if (snapshotStore != null) {
+            snapshotStore.restore(name, buffer, prepperSets, readBatchTimeoutInMillis);
+        }
+        if (chainedPipeline != null) {
+            chainedPipeline.restoreSnapshot();
+        }
+    }
+
+    /**
+     * Returns the buffer read by a single {@link ProcessWorker}, which is its own partition if the buffer is partitioned.
+     */
+    private Buffer getBufferForWorker(final int workerIndex) {
+        return buffer instanceof PartitionedBuffer ? ((PartitionedBuffer) buffer).getPartition(workerIndex) : buffer;
+    }
+
+    /**
+     * Returns the preppers which are run by a single {@link ProcessWorker}, followed by the preppers of the chained
+     * pipeline if any. Each prepper set includes either a single shared instance or an instance per worker.
+     */
+    private List<Prepper> getPreppersForWorker(final int workerIndex) {
+        final List<Prepper> preppers = prepperSets.stream()
+                .map(prepperSet -> prepperSet.size() == 1 ? prepperSet.get(0) : prepperSet.get(workerIndex))
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (chainedPipeline != null) {
+            preppers.addAll(chainedPipeline.getPreppersForWorker(workerIndex));
+        }
+        return preppers;
     }
 
     private void shutdownExecutorService(final ExecutorService executorService, int timeoutForTerminationInMillis) {
@@ -223,18 +429,22 @@ public class Pipeline {
     }
 
     /**
-     * Submits the provided collection of records to output to each sink. Collects the future from each sink and returns
-     * them as list of futures
+     * Submits the provided collection of records to output to each sink through the queue of the sink. Collects the
+     * future from each sink and returns them as list of futures. This blocks while the queue of a sink with the
+     * {@link SinkOverflowPolicy#BLOCK} policy is full. If a downstream pipeline is chained into this pipeline, the
+     * records are published to the sinks of the downstream pipeline instead.
      *
      * @param records records that needs to published to each sink
      * @return List of Future, each future for each sink
      */
     public List<Future<Void>> publishToSinks(final Collection<Record> records) {
-        final int sinksSize = sinks.size();
+        if (chainedPipeline != null) {
+            return chainedPipeline.publishToSinks(records);
+        }
+        final int sinksSize = sinkIsolators.size();
         List<Future<Void>> sinkFutures = new ArrayList<>(sinksSize);
         for (int i = 0; i < sinksSize; i++) {
-            int finalI = i;
-            sinkFutures.add(sinkExecutorService.submit(() -> sinks.get(finalI).output(records), null));
+            sinkFutures.add(sinkIsolators.get(i).submit(records));
         }
         return sinkFutures;
     }
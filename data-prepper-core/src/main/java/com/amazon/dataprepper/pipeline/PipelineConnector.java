@@ -11,31 +11,48 @@
 
 package com.amazon.dataprepper.pipeline;
 
+import com.amazon.dataprepper.metrics.PluginMetrics;
 import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
 import com.amazon.dataprepper.model.record.Record;
 import com.amazon.dataprepper.model.sink.Sink;
 import com.amazon.dataprepper.model.source.Source;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.lang.String.format;
 
 /**
- * PipelineConnector is a special type of Plugin which connects two pipelines acting both as Sink and Source.
+ * PipelineConnector is a special type of Plugin which connects two pipelines acting both as Sink and Source. Records
+ * are handed over to the buffer of the connected pipeline as whole batches using {@link Buffer#writeAll}, split into
+ * chunks of at most a quarter of the capacity of the buffer. A chunk of the whole capacity could only be written once
+ * every record of the buffer, including the records in flight, was checkpointed, which stalls under steady load. A
+ * chunk which the buffer rejects with a {@link SizeOverflowException}, e.g. as it exceeds the capacity of the buffer in
+ * bytes, is split in halves down to single records, and only a single record which does not fit fails the write.
  *
  * @param <T>
  */
 public final class PipelineConnector<T extends Record<?>> implements Source<T>, Sink<T> {
     private static final Logger LOG = LoggerFactory.getLogger(PipelineConnector.class);
     private static final int DEFAULT_WRITE_TIMEOUT = Integer.MAX_VALUE;
+    private static final int CHUNKS_PER_CAPACITY = 4;
+    private static final String PLUGIN_NAME = "pipeline";
+    static final String HANDOFF_TIME_ELAPSED = "handoffTimeElapsed";
     private String sourcePipelineName; //name of the pipeline for which this connector acts as source
     private String sinkPipelineName; //name of the pipeline for which this connector acts as sink
     private Buffer<T> buffer;
     private AtomicBoolean isStopRequested;
+    private Timer handoffTimer;
 
     public PipelineConnector() {
         isStopRequested = new AtomicBoolean(false);
@@ -48,6 +65,7 @@ public final class PipelineConnector<T extends Record<?>> implements Source<T>,
 
     @Override
     public void start(final Buffer<T> buffer) {
+        this.handoffTimer = PluginMetrics.fromNames(PLUGIN_NAME, sinkPipelineName).timer(HANDOFF_TIME_ELAPSED);
         this.buffer = buffer;
     }
 
@@ -59,17 +77,21 @@ public final class PipelineConnector<T extends Record<?>> implements Source<T>,
     @Override
     public void output(final Collection<T> records) {
         if (buffer != null && !isStopRequested.get()) {
-            for (T record : records) {
-                while (true) {
-                    try {
-                        buffer.write(record, DEFAULT_WRITE_TIMEOUT);
-                        break;
-                    } catch (TimeoutException ex) {
-                        LOG.error("PipelineConnector [{}-{}]: Timed out writing to pipeline [{}]",
-                                sinkPipelineName, sourcePipelineName, sourcePipelineName, ex);
+            final long startTime = System.nanoTime();
+            try {
+                final int chunkSize = Math.max(1, buffer.getCapacity() / CHUNKS_PER_CAPACITY);
+                if (records.size() <= chunkSize) {
+                    writeAllToBuffer(records);
+                } else {
+                    // Lists are split into sub list views, only other collections are copied into chunks
+                    final Iterable<List<T>> chunks = records instanceof List ?
+                            Lists.partition((List<T>) records, chunkSize) : Iterables.partition(records, chunkSize);
+                    for (final List<T> chunk : chunks) {
+                        writeAllToBuffer(chunk);
                     }
                 }
-
+            } finally {
+                handoffTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
             }
         } else {
             LOG.error("PipelineConnector [{}-{}]: Pipeline [{}] is currently not initialized or has been halted",
@@ -79,6 +101,49 @@ public final class PipelineConnector<T extends Record<?>> implements Source<T>,
         }
     }
 
+    private void writeAllToBuffer(final Collection<T> records) {
+        while (true) {
+            try {
+                buffer.writeAll(records, DEFAULT_WRITE_TIMEOUT);
+                break;
+            } catch (final TimeoutException ex) {
+                // The records were not written, so the whole chunk is retried
+                LOG.error("PipelineConnector [{}-{}]: Timed out writing to pipeline [{}]",
+                        sinkPipelineName, sourcePipelineName, sourcePipelineName, ex);
+            } catch (final SizeOverflowException ex) {
+                if (records.size() > 1) {
+                    writeAllInHalves(records);
+                    break;
+                }
+                LOG.error("PipelineConnector [{}-{}]: {} records exceed the capacity of pipeline [{}]",
+                        sinkPipelineName, sourcePipelineName, records.size(), sourcePipelineName, ex);
+                throw new RuntimeException(format("PipelineConnector [%s-%s]: %d records exceed the capacity of " +
+                        "pipeline [%s]", sinkPipelineName, sourcePipelineName, records.size(), sourcePipelineName), ex);
+            } catch (final RuntimeException ex) {
+                LOG.error("PipelineConnector [{}-{}]: Failed writing {} records to pipeline [{}]",
+                        sinkPipelineName, sourcePipelineName, records.size(), sourcePipelineName, ex);
+                throw ex;
+            } catch (final Exception ex) {
+                LOG.error("PipelineConnector [{}-{}]: Failed writing {} records to pipeline [{}]",
+                        sinkPipelineName, sourcePipelineName, records.size(), sourcePipelineName, ex);
+                throw new RuntimeException(format("PipelineConnector [%s-%s]: Failed writing to pipeline [%s]",
+                        sinkPipelineName, sourcePipelineName, sourcePipelineName), ex);
+            }
+        }
+    }
+
+    /**
+     * Writes the records as two chunks of half the records each, which are split further if they still do not fit.
+     */
+    private void writeAllInHalves(final Collection<T> records) {
+        LOG.debug("PipelineConnector [{}-{}]: {} records exceed the capacity of pipeline [{}], writing them in halves",
+                sinkPipelineName, sourcePipelineName, records.size(), sourcePipelineName);
+        final List<T> recordList = records instanceof List ? (List<T>) records : new ArrayList<>(records);
+        final int half = recordList.size() / 2;
+        writeAllToBuffer(recordList.subList(0, half));
+        writeAllToBuffer(recordList.subList(half, recordList.size()));
+    }
+
     @Override
     public void shutdown() {
         //TODO: Cleanup resources
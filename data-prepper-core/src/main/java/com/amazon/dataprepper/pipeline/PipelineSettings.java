@@ -0,0 +1,209 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.concurrent.ExecutionMode;
+import com.amazon.dataprepper.pipeline.common.PipelineScheduler;
+import com.amazon.dataprepper.pipeline.snapshot.PipelineSnapshotStore;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Settings of the workers of a {@link Pipeline}. Only the number of workers and the read batch timeout must be
+ * provided, all other settings default to a pipeline which runs its workers on platform threads of its own thread
+ * pools, keeps a single batch in flight and drains its buffer on shutdown.
+ *
+ * @since 1.2
+ */
+public class PipelineSettings {
+    private static final int DEFAULT_MAX_INFLIGHT_BATCHES = 1;
+    private static final int DEFAULT_SCHEDULER_WEIGHT = 1;
+    private static final int DEFAULT_SCHEDULER_MIN_WORKERS = 0;
+
+    private final int prepperThreads;
+    private final int readBatchTimeoutInMillis;
+    private final int maxInflightBatches;
+    private final List<SinkIsolationSettings> sinkIsolationSettings;
+    private final PipelineScheduler scheduler;
+    private final int schedulerWeight;
+    private final int schedulerMinWorkers;
+    private final ExecutionMode executionMode;
+    private final AdaptiveBatchController adaptiveBatchController;
+    private final PipelineSnapshotStore snapshotStore;
+
+    private PipelineSettings(final Builder builder) {
+        this.prepperThreads = builder.prepperThreads;
+        this.readBatchTimeoutInMillis = builder.readBatchTimeoutInMillis;
+        this.maxInflightBatches = builder.maxInflightBatches;
+        this.sinkIsolationSettings = builder.sinkIsolationSettings;
+        this.scheduler = builder.scheduler;
+        this.schedulerWeight = builder.schedulerWeight;
+        this.schedulerMinWorkers = builder.schedulerMinWorkers;
+        this.executionMode = builder.executionMode;
+        this.adaptiveBatchController = builder.adaptiveBatchController;
+        this.snapshotStore = builder.snapshotStore;
+    }
+
+    /**
+     * @param prepperThreads           configured or default threads to parallelize prepper work
+     * @param readBatchTimeoutInMillis configured or default timeout for reading batch of records from buffer
+     * @return builder of the settings of a pipeline
+     */
+    public static Builder builder(final int prepperThreads, final int readBatchTimeoutInMillis) {
+        return new Builder(prepperThreads, readBatchTimeoutInMillis);
+    }
+
+    public int getPrepperThreads() {
+        return prepperThreads;
+    }
+
+    public int getReadBatchTimeoutInMillis() {
+        return readBatchTimeoutInMillis;
+    }
+
+    public int getMaxInflightBatches() {
+        return maxInflightBatches;
+    }
+
+    /**
+     * @return queue and worker settings of each sink, or null to isolate every sink with the default settings.
+     */
+    @Nullable
+    public List<SinkIsolationSettings> getSinkIsolationSettings() {
+        return sinkIsolationSettings;
+    }
+
+    @Nullable
+    public PipelineScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public int getSchedulerWeight() {
+        return schedulerWeight;
+    }
+
+    public int getSchedulerMinWorkers() {
+        return schedulerMinWorkers;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    @Nullable
+    public AdaptiveBatchController getAdaptiveBatchController() {
+        return adaptiveBatchController;
+    }
+
+    @Nullable
+    public PipelineSnapshotStore getSnapshotStore() {
+        return snapshotStore;
+    }
+
+    public static class Builder {
+        private final int prepperThreads;
+        private final int readBatchTimeoutInMillis;
+        private int maxInflightBatches = DEFAULT_MAX_INFLIGHT_BATCHES;
+        private List<SinkIsolationSettings> sinkIsolationSettings;
+        private PipelineScheduler scheduler;
+        private int schedulerWeight = DEFAULT_SCHEDULER_WEIGHT;
+        private int schedulerMinWorkers = DEFAULT_SCHEDULER_MIN_WORKERS;
+        private ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+        private AdaptiveBatchController adaptiveBatchController;
+        private PipelineSnapshotStore snapshotStore;
+
+        private Builder(final int prepperThreads, final int readBatchTimeoutInMillis) {
+            this.prepperThreads = prepperThreads;
+            this.readBatchTimeoutInMillis = readBatchTimeoutInMillis;
+        }
+
+        /**
+         * Allows each {@link ProcessWorker} to keep up to maxInflightBatches batches in flight to the sinks, i.e. a
+         * worker reads and prepares the next batch while the sinks are still writing the previous ones.
+         *
+         * @param maxInflightBatches number of batches a worker may have pending in the sinks
+         * @return this builder
+         */
+        public Builder withMaxInflightBatches(final int maxInflightBatches) {
+            Preconditions.checkArgument(maxInflightBatches > 0, "maxInflightBatches must be greater than 0");
+            this.maxInflightBatches = maxInflightBatches;
+            return this;
+        }
+
+        /**
+         * @param sinkIsolationSettings queue and worker settings of each sink, in the same order as the sinks
+         * @return this builder
+         */
+        public Builder withSinkIsolationSettings(final List<SinkIsolationSettings> sinkIsolationSettings) {
+            this.sinkIsolationSettings = Preconditions.checkNotNull(sinkIsolationSettings);
+            return this;
+        }
+
+        /**
+         * Runs the {@link ProcessWorker}s and sink workers as tasks on the provided shared scheduler instead of thread
+         * pools of the pipeline, if a scheduler is provided.
+         *
+         * @param scheduler           shared scheduler to run the workers on, or null to use thread pools of the pipeline
+         * @param schedulerWeight     share of the CPU time of the scheduler relative to the other pipelines
+         * @param schedulerMinWorkers number of workers which are scheduled ahead of the weighted share
+         * @return this builder
+         */
+        public Builder withScheduler(
+                @Nullable final PipelineScheduler scheduler,
+                final int schedulerWeight,
+                final int schedulerMinWorkers) {
+            this.scheduler = scheduler;
+            this.schedulerWeight = schedulerWeight;
+            this.schedulerMinWorkers = schedulerMinWorkers;
+            return this;
+        }
+
+        /**
+         * @param executionMode kind of threads of the thread pools of the pipeline
+         * @return this builder
+         */
+        public Builder withExecutionMode(final ExecutionMode executionMode) {
+            this.executionMode = Preconditions.checkNotNull(executionMode);
+            return this;
+        }
+
+        /**
+         * Lets the {@link ProcessWorker}s choose the size and timeout of their reads with the provided controller, if
+         * one is provided, instead of reading batches of the size configured on the buffer with the configured timeout.
+         *
+         * @param adaptiveBatchController controller of the reads of the workers, or null to read fixed batches
+         * @return this builder
+         */
+        public Builder withAdaptiveBatchController(@Nullable final AdaptiveBatchController adaptiveBatchController) {
+            this.adaptiveBatchController = adaptiveBatchController;
+            return this;
+        }
+
+        /**
+         * Writes the records left in the buffer and the state of the stateful preppers to the provided store on
+         * shutdown and restores them on start, if a store is provided.
+         *
+         * @param snapshotStore store of the snapshots taken on shutdown, or null to drain the pipeline on shutdown
+         * @return this builder
+         */
+        public Builder withSnapshotStore(@Nullable final PipelineSnapshotStore snapshotStore) {
+            this.snapshotStore = snapshotStore;
+            return this;
+        }
+
+        public PipelineSettings build() {
+            return new PipelineSettings(this);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.AbstractBuffer;
+import com.amazon.dataprepper.model.buffer.Backpressure;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.RecordPrioritizer;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.record.Record;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.String.format;
+
+/**
+ * Buffer of a prioritized pipeline. Records written to the buffer are routed by a {@link RecordPrioritizer} to one
+ * buffer per lane, and reads fill their batch from the highest lane first. A lower lane which is skipped because the
+ * higher lanes filled maxSkippedReads batches in a row is read first by the next read, so it is not starved.
+ * <p>
+ * Each lane is a buffer of its own with the full capacity of the configured buffer, so the prioritized buffer holds up
+ * to the number of lanes times that capacity. A write of records of several lanes writes the lanes one after another
+ * and is not atomic: if a lane times out, the records of the lanes written before it stay in the buffer, and a writer
+ * which retries the write writes them again. Writes of a prioritized buffer are therefore at-least-once.
+ */
+public class PrioritizedBuffer<T extends Record<?>> extends AbstractBuffer<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(PrioritizedBuffer.class);
+
+    private final List<Buffer<T>> lanes;
+    private final RecordPrioritizer<T> recordPrioritizer;
+    private final int batchSize;
+    private final int maxSkippedReads;
+    private final String pipelineName;
+    private final AtomicInteger[] skippedReads;
+    /**
+     * Counts the writes, so a reader waiting for records only waits if no record was written since it last read.
+     */
+    private final AtomicLong writes = new AtomicLong();
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition recordsWritten = waitLock.newCondition();
+    private final AtomicInteger waitingReaders = new AtomicInteger();
+
+    /**
+     * @param lanes             a buffer per lane, from the highest to the lowest priority
+     * @param recordPrioritizer prioritizer which assigns the records to the lanes
+     * @param batchSize         the batch size for {@link #read(int)}
+     * @param maxSkippedReads   number of reads in a row which may skip a lane before it is read first
+     * @param pipelineName      the name of the associated Pipeline
+     */
+    public PrioritizedBuffer(final List<Buffer<T>> lanes, final RecordPrioritizer<T> recordPrioritizer,
+                             final int batchSize, final int maxSkippedReads, final String pipelineName) {
+        super("PrioritizedBuffer", pipelineName);
+        Preconditions.checkArgument(!lanes.isEmpty(), "A prioritized buffer requires at least one lane");
+        Preconditions.checkArgument(lanes.size() == recordPrioritizer.getNumberOfLanes(),
+                "A prioritized buffer requires a buffer for each lane of its prioritizer");
+        Preconditions.checkArgument(maxSkippedReads > 0, "maxSkippedReads must be greater than 0");
+        this.lanes = lanes;
+        this.recordPrioritizer = recordPrioritizer;
+        this.batchSize = batchSize;
+        this.maxSkippedReads = maxSkippedReads;
+        this.pipelineName = pipelineName;
+        this.skippedReads = new AtomicInteger[lanes.size()];
+        for (int i = 0; i < lanes.size(); i++) {
+            skippedReads[i] = new AtomicInteger();
+        }
+    }
+
+    @Override
+    public void doWrite(final T record, final int timeoutInMillis) throws TimeoutException {
+        lanes.get(recordPrioritizer.getLane(record)).write(record, timeoutInMillis);
+        recordsWritten();
+    }
+
+    /**
+     * Writes the records of each lane to its lane, from the highest to the lowest lane, within a single timeout. The
+     * records of each lane are checked against the capacity of their lane before any lane is written, but a lane which
+     * times out leaves the lanes written before it written, see {@link PrioritizedBuffer}.
+     */
+    @Override
+    public void doWriteAll(final Collection<T> records, final int timeoutInMillis) throws Exception {
+        final List<List<T>> prioritizedRecords = new ArrayList<>(lanes.size());
+        for (int i = 0; i < lanes.size(); i++) {
+            prioritizedRecords.add(new ArrayList<>());
+        }
+        for (final T record : records) {
+            prioritizedRecords.get(recordPrioritizer.getLane(record)).add(record);
+        }
+        for (int i = 0; i < lanes.size(); i++) {
+            if (prioritizedRecords.get(i).size() > lanes.get(i).getCapacity()) {
+                throw new SizeOverflowException(format("Lane %d capacity too small for the size of records: %d",
+                        i, prioritizedRecords.get(i).size()));
+            }
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        for (int i = 0; i < lanes.size(); i++) {
+            if (!prioritizedRecords.get(i).isEmpty()) {
+                final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(Math.max(0, deadline - System.nanoTime()));
+                lanes.get(i).writeAll(prioritizedRecords.get(i), (int) remainingMillis);
+                recordsWritten();
+            }
+        }
+    }
+
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis) {
+        return doRead(timeoutInMillis, batchSize);
+    }
+
+    /**
+     * Retrieves and removes a batch of up to maxBatchSize records, taken from the highest lanes first, waiting up to
+     * timeoutInMillis for the batch to fill up.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis, final int maxBatchSize) {
+        final List<T> records = new ArrayList<>();
+        final List<LaneCheckpointState.LaneState> laneStates = new ArrayList<>();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        try {
+            while (true) {
+                final long writesBeforeRead = writes.get();
+                readLanes(records, laneStates, maxBatchSize);
+                if (records.size() >= maxBatchSize || !awaitWrites(writesBeforeRead, deadline)) {
+                    break;
+                }
+            }
+        } catch (final InterruptedException ex) {
+            LOG.info("Pipeline [{}] - Interrupt received while reading from buffer", pipelineName);
+            throw new RuntimeException(ex);
+        }
+        return new AbstractMap.SimpleEntry<>(records, new LaneCheckpointState(records.size(), laneStates));
+    }
+
+    /**
+     * Checkpoints the records of the batch on the lanes they were read from.
+     */
+    @Override
+    public void doCheckpoint(final CheckpointState checkpointState) {
+        Preconditions.checkArgument(checkpointState instanceof LaneCheckpointState,
+                "The checkpoint state was not read from a prioritized buffer");
+        for (final LaneCheckpointState.LaneState laneState : ((LaneCheckpointState) checkpointState).laneStates) {
+            lanes.get(laneState.lane).checkpoint(laneState.checkpointState);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return lanes.stream().allMatch(Buffer::isEmpty);
+    }
+
+    @Override
+    public void shutdown() {
+        lanes.forEach(Buffer::shutdown);
+    }
+
+    @Override
+    public boolean isPersistent() {
+        return lanes.stream().allMatch(Buffer::isPersistent);
+    }
+
+    /**
+     * @return the capacity of the smallest lane, as all the records of a write may be routed to it
+     */
+    @Override
+    public int getCapacity() {
+        return lanes.stream().mapToInt(Buffer::getCapacity).min().getAsInt();
+    }
+
+    /**
+     * @return the backpressure of the most loaded lane, as the records of a write may be routed to it
+     */
+    @Override
+    public Backpressure getBackpressure() {
+        return Backpressure.ofMostLoaded(lanes);
+    }
+
+    public int getNumberOfLanes() {
+        return lanes.size();
+    }
+
+    public Buffer<T> getLane(final int lane) {
+        return lanes.get(lane);
+    }
+
+    /**
+     * Reads the lanes without waiting, starting with the lanes which were skipped maxSkippedReads times and continuing
+     * from the highest lane, until the batch is full.
+     */
+    private void readLanes(final List<T> records, final List<LaneCheckpointState.LaneState> laneStates,
+                           final int maxBatchSize) {
+        final boolean[] readLanes = new boolean[lanes.size()];
+        for (int i = 0; i < lanes.size() && records.size() < maxBatchSize; i++) {
+            if (skippedReads[i].get() >= maxSkippedReads) {
+                readLane(i, records, laneStates, maxBatchSize);
+                readLanes[i] = true;
+            }
+        }
+        for (int i = 0; i < lanes.size() && records.size() < maxBatchSize; i++) {
+            if (!readLanes[i]) {
+                readLane(i, records, laneStates, maxBatchSize);
+                readLanes[i] = true;
+            }
+        }
+        for (int i = 0; i < lanes.size(); i++) {
+            if (readLanes[i]) {
+                skippedReads[i].set(0);
+            } else {
+                skippedReads[i].incrementAndGet();
+            }
+        }
+    }
+
+    private void readLane(final int lane, final List<T> records, final List<LaneCheckpointState.LaneState> laneStates,
+                          final int maxBatchSize) {
+        final Map.Entry<Collection<T>, CheckpointState> readResult =
+                lanes.get(lane).read(0, maxBatchSize - records.size());
+        if (!readResult.getKey().isEmpty()) {
+            records.addAll(readResult.getKey());
+            laneStates.add(new LaneCheckpointState.LaneState(lane, readResult.getValue()));
+        }
+    }
+
+    private void recordsWritten() {
+        writes.incrementAndGet();
+        if (waitingReaders.get() > 0) {
+            waitLock.lock();
+            try {
+                recordsWritten.signalAll();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Waits until a record is written after writesBeforeRead or the deadline passes. The reader is registered before
+     * the writes are checked under the lock, so it does not miss the signal of a write.
+     *
+     * @return true if a record was written
+     */
+    private boolean awaitWrites(final long writesBeforeRead, final long deadline) throws InterruptedException {
+        waitingReaders.incrementAndGet();
+        waitLock.lock();
+        try {
+            while (writes.get() == writesBeforeRead) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                recordsWritten.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            waitLock.unlock();
+            waitingReaders.decrementAndGet();
+        }
+    }
+
+    /**
+     * Checkpoint state of a batch read from several lanes, which keeps the checkpoint state of each lane.
+     */
+    private static class LaneCheckpointState extends CheckpointState {
+        private final List<LaneState> laneStates;
+
+        private LaneCheckpointState(final int numRecordsToBeChecked, final List<LaneState> laneStates) {
+            super(numRecordsToBeChecked);
+            this.laneStates = Collections.unmodifiableList(laneStates);
+        }
+
+        private static class LaneState {
+            private final int lane;
+            private final CheckpointState checkpointState;
+
+            private LaneState(final int lane, final CheckpointState checkpointState) {
+                this.lane = lane;
+                this.checkpointState = checkpointState;
+            }
+        }
+    }
+}
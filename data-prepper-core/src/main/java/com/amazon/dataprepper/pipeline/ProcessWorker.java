@@ -11,73 +11,163 @@
 
 package com.amazon.dataprepper.pipeline;
 
-import com.amazon.dataprepper.model.CheckpointState;
 import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.ReadBatch;
 import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.prepper.StatefulPrepper;
 import com.amazon.dataprepper.model.record.Record;
 import com.amazon.dataprepper.model.sink.Sink;
 import com.amazon.dataprepper.pipeline.common.FutureHelper;
-import com.amazon.dataprepper.pipeline.common.FutureHelperResult;
+import com.amazon.dataprepper.pipeline.common.PipelineScheduler;
+import com.amazon.dataprepper.pipeline.common.PipelineSchedulerGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.Future;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class ProcessWorker implements Runnable {
     private static final Logger LOG = LoggerFactory.getLogger(ProcessWorker.class);
+    private static final int SCHEDULED_READ_TIMEOUT_IN_MILLIS = 1;
 
     private final Buffer readBuffer;
     private final List<Prepper> preppers;
     private final Collection<Sink> sinks;
     private final Pipeline pipeline;
+    /**
+     * Index of this worker among the workers of the pipeline, passed to the buffer with each read.
+     */
+    private final int workerIndex;
+    private final int maxInflightBatches;
+    private final Queue<InflightBatch> inflightBatches;
+    /**
+     * Batches of this worker which were checkpointed and are reused for its next reads, there are at most
+     * maxInflightBatches batches in use at any time.
+     */
+    private final Queue<ReadBatch> freeReadBatches;
+    private final AdaptiveBatchController adaptiveBatchController;
     private boolean isEmptyRecordsLogged = false;
 
     public ProcessWorker(
             final Buffer readBuffer,
             final List<Prepper> preppers,
             final Collection<Sink> sinks,
-            final Pipeline pipeline) {
+            final Pipeline pipeline,
+            final int workerIndex) {
         this.readBuffer = readBuffer;
         this.preppers = preppers;
         this.sinks = sinks;
         this.pipeline = pipeline;
+        this.workerIndex = workerIndex;
+        this.maxInflightBatches = pipeline.getMaxInflightBatches();
+        this.inflightBatches = new ArrayDeque<>(maxInflightBatches);
+        this.freeReadBatches = new ArrayDeque<>(maxInflightBatches);
+        this.adaptiveBatchController = pipeline.getAdaptiveBatchController();
     }
 
     @Override
     public void run() {
         try {
             do {
-                final Map.Entry<Collection, CheckpointState> readResult = readBuffer.read(pipeline.getReadBatchTimeoutInMillis());
-                Collection records = readResult.getKey();
-                final CheckpointState checkpointState = readResult.getValue();
-                //TODO Hacky way to avoid logging continuously - Will be removed as part of metrics implementation
-                if (records.isEmpty()) {
-                    if(!isEmptyRecordsLogged) {
-                        LOG.info(" {} Worker: No records received from buffer", pipeline.getName());
-                        isEmptyRecordsLogged = true;
-                    }
-                } else {
-                    LOG.info(" {} Worker: Processing {} records from buffer", pipeline.getName(), records.size());
-                }
-                //Should Empty list from buffer should be sent to the preppers? For now sending as the Stateful preppers expects it.
-                for (final Prepper prepper : preppers) {
-                    records = prepper.execute(records);
-                }
-                if (!records.isEmpty()) {
-                    postToSink(records);
-                }
-                // Checkpoint the current batch read from the buffer after being processed by prepper and sinks.
-                readBuffer.checkpoint(checkpointState);
+                final int numRecordsRead = processBatch(getReadTimeoutInMillis());
+                // When nothing was read there is no work to overlap with, so all in-flight batches are completed.
+                completeInflightBatches(numRecordsRead == 0 ? 0 : maxInflightBatches - 1);
             } while (!shouldStop());
+            completeInflightBatches(0);
         } catch (final Exception e) {
             LOG.error("Encountered exception during pipeline {} processing", pipeline.getName(), e);
         }
     }
 
+    /**
+     * Runs this worker as a sequence of steps on the shared {@link PipelineScheduler} instead of a dedicated thread.
+     * Each step processes at most one batch and never waits on the sinks, it submits the next step once the worker can
+     * make progress again.
+     *
+     * @param schedulerGroup group of the pipeline on the shared scheduler
+     */
+    void runOn(final PipelineSchedulerGroup schedulerGroup) {
+        schedulerGroup.execute(() -> step(schedulerGroup));
+    }
+
+    private void step(final PipelineSchedulerGroup schedulerGroup) {
+        final Runnable nextStep = () -> step(schedulerGroup);
+        try {
+            completeInflightBatches(maxInflightBatches);
+            if (inflightBatches.size() >= maxInflightBatches || (!inflightBatches.isEmpty() && shouldStop())) {
+                FutureHelper.allOf(inflightBatches.peek().getSinkFutures())
+                        .whenComplete((result, throwable) -> schedulerGroup.execute(nextStep));
+                return;
+            }
+            if (shouldStop()) {
+                return;
+            }
+            // Reads whatever is available rather than holding a slot of the scheduler until the batch fills up
+            final int numRecordsRead = processBatch(SCHEDULED_READ_TIMEOUT_IN_MILLIS);
+            if (numRecordsRead == 0) {
+                completeInflightBatches(maxInflightBatches);
+                schedulerGroup.executeLater(nextStep, getReadTimeoutInMillis());
+            } else {
+                schedulerGroup.execute(nextStep);
+            }
+        } catch (final Exception e) {
+            LOG.error("Encountered exception during pipeline {} processing", pipeline.getName(), e);
+        }
+    }
+
+    /**
+     * Reads a batch from the buffer into a reused {@link ReadBatch}, runs the preppers on it and submits it to the
+     * sinks, tracking it as in-flight.
+     *
+     * @return number of records to be checked of the batch
+     */
+    private int processBatch(final int readTimeoutInMillis) {
+        final ReadBatch readBatch = freeReadBatches.isEmpty() ? ReadBatch.forReader(workerIndex) :
+                freeReadBatches.remove();
+        final long readStartTime = System.nanoTime();
+        if (adaptiveBatchController == null) {
+            readBuffer.read(readBatch, readTimeoutInMillis);
+        } else {
+            readBuffer.read(readBatch, readTimeoutInMillis, adaptiveBatchController.getBatchSize());
+        }
+        final long readEndTime = System.nanoTime();
+        Collection records = readBatch.getRecords();
+        if (adaptiveBatchController != null) {
+            adaptiveBatchController.recordRead(records.size(), readEndTime - readStartTime);
+        }
+        //TODO Hacky way to avoid logging continuously - Will be removed as part of metrics implementation
+        if (records.isEmpty()) {
+            if(!isEmptyRecordsLogged) {
+                LOG.info(" {} Worker: No records received from buffer", pipeline.getName());
+                isEmptyRecordsLogged = true;
+            }
+        } else {
+            LOG.info(" {} Worker: Processing {} records from buffer", pipeline.getName(), records.size());
+        }
+        //Should Empty list from buffer should be sent to the preppers? For now sending as the Stateful preppers expects it.
+        for (final Prepper prepper : preppers) {
+            records = prepper.execute(records);
+        }
+        final List<Future<Void>> sinkFutures = records.isEmpty() ?
+                Collections.emptyList() : postToSink(records);
+        inflightBatches.add(new InflightBatch(sinkFutures, readBatch, readEndTime));
+        return readBatch.getNumRecordsToBeChecked();
+    }
+
+    /**
+     * Returns the timeout of the reads from the buffer, which is chosen by the {@link AdaptiveBatchController} of the
+     * pipeline if it has one.
+     */
+    private int getReadTimeoutInMillis() {
+        return adaptiveBatchController == null ?
+                pipeline.getReadBatchTimeoutInMillis() : adaptiveBatchController.getReadTimeoutInMillis();
+    }
+
     /**
      * Shutdown should be handled end to end.
      *
@@ -87,21 +177,81 @@ public class ProcessWorker implements Runnable {
         return pipeline.isStopRequested() && areComponentsReadyForShutdown();
     }
 
+    /**
+     * If the pipeline writes a snapshot on shutdown, the records left in the buffer and the state of the stateful
+     * preppers are kept for the snapshot instead of being drained.
+     */
     private boolean areComponentsReadyForShutdown() {
-        return readBuffer.isEmpty() && preppers.stream()
-                .map(Prepper::isReadyForShutdown)
-                .allMatch(result -> result == true);
+        final boolean isSnapshotEnabled = pipeline.isSnapshotEnabled();
+        return (isSnapshotEnabled || readBuffer.isEmpty()) && preppers.stream()
+                .allMatch(prepper -> (isSnapshotEnabled && prepper instanceof StatefulPrepper) ||
+                        prepper.isReadyForShutdown());
     }
 
     /**
-     * TODO Add isolator pattern - Fail if one of the Sink fails [isolator Pattern]
-     * Uses the pipeline method to publish to sinks, waits for each of the sink result to be true before attempting to
-     * process more records from buffer.
+     * Uses the pipeline method to publish to sinks, each sink is isolated behind its own queue, and returns the sink
+     * futures without waiting on them. The batch is tracked as in-flight until all of its sinks complete.
      */
-    private boolean postToSink(final Collection<Record> records) {
+    private List<Future<Void>> postToSink(final Collection<Record> records) {
         LOG.debug("Pipeline Worker: Submitting {} processed records to sinks", records.size());
-        final List<Future<Void>> sinkFutures = pipeline.publishToSinks(records);
-        final FutureHelperResult<Void> futureResults = FutureHelper.awaitFuturesIndefinitely(sinkFutures);
-        return futureResults.getFailedReasons().size() == 0;
+        return pipeline.publishToSinks(records);
+    }
+
+    /**
+     * Completes in-flight batches in the order they were read, waiting on the oldest batch while more than
+     * maxPendingBatches are in flight. Batches whose sinks already completed are checkpointed without waiting.
+     * Each batch is checkpointed in the buffer only after all of its sinks are done, as the preppers may pass the list
+     * of records of the batch on to the sinks; only then it is cleared and reused for the next reads.
+     *
+     * @param maxPendingBatches number of batches which are allowed to remain in flight
+     */
+    private void completeInflightBatches(final int maxPendingBatches) {
+        while (!inflightBatches.isEmpty() &&
+                (inflightBatches.size() > maxPendingBatches || inflightBatches.peek().isDone())) {
+            final InflightBatch inflightBatch = inflightBatches.remove();
+            FutureHelper.awaitFuturesIndefinitely(inflightBatch.getSinkFutures());
+            // Checkpoint the batch read from the buffer after being processed by prepper and sinks.
+            final ReadBatch readBatch = inflightBatch.getReadBatch();
+            readBuffer.checkpoint(readBatch);
+            if (adaptiveBatchController != null && readBatch.getNumRecordsToBeChecked() > 0) {
+                adaptiveBatchController.recordDownstreamTime(System.nanoTime() - inflightBatch.getReadTime());
+            }
+            readBatch.clear();
+            freeReadBatches.add(readBatch);
+        }
+    }
+
+    /**
+     * A batch read from the buffer which was submitted to the sinks and is pending checkpoint.
+     */
+    private static class InflightBatch {
+        private final List<Future<Void>> sinkFutures;
+        private final ReadBatch readBatch;
+        private final long readTime;
+
+        private InflightBatch(final List<Future<Void>> sinkFutures, final ReadBatch readBatch, final long readTime) {
+            this.sinkFutures = sinkFutures;
+            this.readBatch = readBatch;
+            this.readTime = readTime;
+        }
+
+        private List<Future<Void>> getSinkFutures() {
+            return sinkFutures;
+        }
+
+        private ReadBatch getReadBatch() {
+            return readBatch;
+        }
+
+        /**
+         * @return value of {@link System#nanoTime()} when the batch was read
+         */
+        private long getReadTime() {
+            return readTime;
+        }
+
+        private boolean isDone() {
+            return sinkFutures.stream().allMatch(Future::isDone);
+        }
     }
 }
@@ -0,0 +1,177 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.pipeline.common.PipelineThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Appends the records dropped by a {@link SinkIsolator} to its dead letter file, one record per line, on a thread of
+ * its own so that the {@link ProcessWorker}s which drop the records do not wait for the file. {@link Event}s are
+ * written as JSON, protobuf messages as the Base64 of their bytes and any other data as its string with backslashes
+ * and line breaks escaped. The file is flushed once no further dropped batch waits to be written.
+ */
+@SuppressWarnings("rawtypes")
+class SinkDeadLetterWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(SinkDeadLetterWriter.class);
+    private static final String PROTOBUF_MESSAGE = "com.google.protobuf.MessageLite";
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final String pipelineName;
+    private final String sinkScope;
+    private final String dlqFile;
+    private final ThreadPoolExecutor executor;
+    /**
+     * Only used by the thread of the executor, or once the executor terminated.
+     */
+    private BufferedWriter dlqWriter;
+
+    /**
+     * @param maxPendingBatches number of dropped batches which may wait to be written before further batches are
+     *                          dropped without being written
+     */
+    SinkDeadLetterWriter(final String pipelineName, final String sinkScope, final String dlqFile,
+                         final int maxPendingBatches) {
+        this.pipelineName = pipelineName;
+        this.sinkScope = sinkScope;
+        this.dlqFile = dlqFile;
+        this.executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxPendingBatches),
+                new PipelineThreadFactory(format("%s-%s-dlq-writer", pipelineName, sinkScope)));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues the records to be appended to the dead letter file.
+     *
+     * @return false if too many dropped batches wait to be written, in which case the records are not written
+     */
+    boolean write(final Collection<Record> records) {
+        try {
+            executor.execute(() -> writeLines(records));
+            return true;
+        } catch (final RejectedExecutionException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the queued records and closes the dead letter file.
+     */
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("Pipeline [{}] - Timed out writing dropped records of sink [{}] to dead letter file",
+                        pipelineName, sinkScope);
+                executor.shutdownNow();
+                return;
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            return;
+        }
+        if (dlqWriter != null) {
+            try {
+                dlqWriter.close();
+            } catch (final IOException ex) {
+                LOG.error("Pipeline [{}] - Failed to close dead letter file of sink [{}]", pipelineName, sinkScope, ex);
+            }
+            dlqWriter = null;
+        }
+    }
+
+    private void writeLines(final Collection<Record> records) {
+        try {
+            if (dlqWriter == null) {
+                dlqWriter = Files.newBufferedWriter(Paths.get(dlqFile), StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+            for (final Record record : records) {
+                dlqWriter.write(toLine(record.getData()));
+                dlqWriter.newLine();
+            }
+            if (executor.getQueue().isEmpty()) {
+                dlqWriter.flush();
+            }
+        } catch (final IOException ex) {
+            LOG.error("Pipeline [{}] - Failed to write {} dropped records of sink [{}] to dead letter file", pipelineName,
+                    records.size(), sinkScope, ex);
+        }
+    }
+
+    static String toLine(final Object data) throws IOException {
+        if (data instanceof Event) {
+            return ((Event) data).toJsonString();
+        } else if (data != null && !(data instanceof String) && isProtobufMessage(data.getClass())) {
+            try {
+                final byte[] bytes = (byte[]) data.getClass().getMethod("toByteArray").invoke(data);
+                return Base64.getEncoder().encodeToString(bytes);
+            } catch (final ReflectiveOperationException ex) {
+                throw new IOException("Unable to serialize protobuf message", ex);
+            }
+        }
+        return escape(String.valueOf(data));
+    }
+
+    /**
+     * The protobuf runtime is not a dependency of data-prepper-core, so messages are detected by the name of their
+     * interface, as in {@code SnapshotRecordCodec}.
+     */
+    private static boolean isProtobufMessage(final Class<?> dataClass) {
+        try {
+            return Class.forName(PROTOBUF_MESSAGE, false, dataClass.getClassLoader()).isAssignableFrom(dataClass);
+        } catch (final ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+    private static String escape(final String line) {
+        final StringBuilder escaped = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            switch (c) {
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.google.common.base.Preconditions;
+
+import static java.lang.String.format;
+
+/**
+ * Settings of the dedicated queue and workers which publish records to a single {@link com.amazon.dataprepper.model.sink.Sink}.
+ * The settings are optional attributes of each sink in the pipeline configuration:
+ * <pre>
+ * sink:
+ *   - opensearch:
+ *       sink_workers: 4
+ *       sink_queue_size: 8
+ *       sink_overflow_policy: "drop"
+ *       sink_dlq_file: "/tmp/opensearch-sink-dlq.txt"
+ * </pre>
+ */
+public class SinkIsolationSettings {
+    static final String SINK_WORKERS = "sink_workers";
+    static final String SINK_QUEUE_SIZE = "sink_queue_size";
+    static final String SINK_OVERFLOW_POLICY = "sink_overflow_policy";
+    static final String SINK_DLQ_FILE = "sink_dlq_file";
+
+    private final String sinkName;
+    private final Integer configuredWorkers;
+    private final Integer configuredQueueSize;
+    private final int defaultWorkers;
+    private final SinkOverflowPolicy overflowPolicy;
+    private final String dlqFile;
+
+    public SinkIsolationSettings(
+            final String sinkName,
+            final int workers,
+            final int queueSize,
+            final SinkOverflowPolicy overflowPolicy,
+            final String dlqFile) {
+        this(sinkName, workers, queueSize, overflowPolicy, dlqFile, workers);
+    }
+
+    private SinkIsolationSettings(
+            final String sinkName,
+            final Integer configuredWorkers,
+            final Integer configuredQueueSize,
+            final SinkOverflowPolicy overflowPolicy,
+            final String dlqFile,
+            final int defaultWorkers) {
+        this.sinkName = sinkName;
+        this.configuredWorkers = configuredWorkers;
+        this.configuredQueueSize = configuredQueueSize;
+        this.defaultWorkers = defaultWorkers;
+        this.overflowPolicy = Preconditions.checkNotNull(overflowPolicy);
+        this.dlqFile = dlqFile;
+        Preconditions.checkArgument(getWorkers() > 0,
+                format("Invalid configuration, %s cannot be %s", SINK_WORKERS, getWorkers()));
+        Preconditions.checkArgument(getQueueSize() >= 0,
+                format("Invalid configuration, %s cannot be %s", SINK_QUEUE_SIZE, getQueueSize()));
+    }
+
+    /**
+     * Reads the sink isolation attributes from the {@link PluginSetting} of a sink.
+     *
+     * @param pluginSetting  settings of the sink
+     * @param defaultWorkers workers and queue size to use if they are not configured for the sink
+     * @return sink isolation settings
+     */
+    public static SinkIsolationSettings fromPluginSetting(final PluginSetting pluginSetting, final int defaultWorkers) {
+        final String overflowPolicy = pluginSetting.getStringOrDefault(SINK_OVERFLOW_POLICY,
+                SinkOverflowPolicy.BLOCK.name());
+        return new SinkIsolationSettings(
+                pluginSetting.getName(),
+                getConfiguredInteger(pluginSetting, SINK_WORKERS),
+                getConfiguredInteger(pluginSetting, SINK_QUEUE_SIZE),
+                SinkOverflowPolicy.valueOf(overflowPolicy.toUpperCase()),
+                pluginSetting.getStringOrDefault(SINK_DLQ_FILE, null),
+                defaultWorkers);
+    }
+
+    /**
+     * @param sinkName       name of the sink
+     * @param defaultWorkers workers and queue size of the sink
+     * @return sink isolation settings which block when the sink queue is full
+     */
+    public static SinkIsolationSettings defaultSettings(final String sinkName, final int defaultWorkers) {
+        return new SinkIsolationSettings(sinkName, null, null, SinkOverflowPolicy.BLOCK, null, defaultWorkers);
+    }
+
+    /**
+     * Returns these settings with another default for the workers and queue size which are not configured, e.g. for
+     * the sinks of a pipeline which run on the workers of the pipeline chained to it.
+     *
+     * @param defaultWorkers workers and queue size to use if they are not configured for the sink
+     * @return sink isolation settings
+     */
+    public SinkIsolationSettings withDefaultWorkers(final int defaultWorkers) {
+        return new SinkIsolationSettings(sinkName, configuredWorkers, configuredQueueSize, overflowPolicy, dlqFile,
+                defaultWorkers);
+    }
+
+    private static Integer getConfiguredInteger(final PluginSetting pluginSetting, final String attribute) {
+        return pluginSetting.getSettings() != null && pluginSetting.getSettings().containsKey(attribute) ?
+                pluginSetting.getIntegerOrDefault(attribute, 0) : null;
+    }
+
+    public String getSinkName() {
+        return sinkName;
+    }
+
+    public int getWorkers() {
+        return configuredWorkers == null ? defaultWorkers : configuredWorkers;
+    }
+
+    public int getQueueSize() {
+        return configuredQueueSize == null ? defaultWorkers : configuredQueueSize;
+    }
+
+    public SinkOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public String getDlqFile() {
+        return dlqFile;
+    }
+}
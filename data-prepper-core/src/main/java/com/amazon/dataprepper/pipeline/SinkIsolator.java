@@ -0,0 +1,231 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.metrics.PluginMetrics;
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.model.sink.Sink;
+import com.amazon.dataprepper.pipeline.common.PipelineScheduler;
+import com.amazon.dataprepper.pipeline.common.PipelineSchedulerGroup;
+import com.amazon.dataprepper.pipeline.common.PipelineThreadFactory;
+import com.amazon.dataprepper.pipeline.common.PipelineThreadPoolExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+/**
+ * Isolates a single {@link Sink} of a {@link Pipeline} behind its own bounded queue and pool of sink workers, so a
+ * slow sink can only exhaust its own workers. When the queue is full the {@link SinkOverflowPolicy} determines whether
+ * the submitting {@link ProcessWorker} waits for room or the batch is dropped for this sink.
+ * <p>
+ * The metrics and threads of the isolator are named after the sink and its index in the pipeline, e.g.
+ * {@code opensearch-0}, so that two sinks of the same plugin in a pipeline do not share them.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class SinkIsolator {
+    private static final Logger LOG = LoggerFactory.getLogger(SinkIsolator.class);
+    static final String SINK_QUEUE_DEPTH = "sinkQueueDepth";
+    static final String SINK_BLOCKED_TIME_ELAPSED = "sinkBlockedTimeElapsed";
+    static final String SINK_RECORDS_DROPPED = "sinkRecordsDropped";
+
+    private final String pipelineName;
+    private final String sinkScope;
+    private final Sink sink;
+    private final SinkIsolationSettings settings;
+    private final ExecutorService executorService;
+    private final Executor schedulerExecutor;
+    private final Semaphore capacitySemaphore;
+    private final AtomicInteger queueDepth;
+    private final Timer blockedTimer;
+    private final Counter recordsDroppedCounter;
+    private final SinkDeadLetterWriter deadLetterWriter;
+
+    SinkIsolator(final Pipeline pipeline, final Sink sink, final int sinkIndex, final SinkIsolationSettings settings) {
+        this(pipeline, sink, sinkIndex, settings,
+                PipelineThreadPoolExecutor.newFixedThreadPool(settings.getWorkers(), new PipelineThreadFactory(
+                        format("%s-%s-sink-worker", pipeline.getName(), getSinkScope(settings, sinkIndex)),
+                        pipeline.getExecutionMode()), pipeline),
+                null);
+    }
+
+    /**
+     * Constructs a {@link SinkIsolator} whose sink workers are tasks on the shared {@link PipelineScheduler}.
+     */
+    SinkIsolator(final Pipeline pipeline, final Sink sink, final int sinkIndex, final SinkIsolationSettings settings,
+                 final PipelineSchedulerGroup schedulerGroup) {
+        this(pipeline, sink, sinkIndex, settings, null, schedulerGroup.newBlockingExecutor(settings.getWorkers()));
+    }
+
+    private SinkIsolator(final Pipeline pipeline, final Sink sink, final int sinkIndex,
+                         final SinkIsolationSettings settings, final ExecutorService executorService,
+                         final Executor schedulerExecutor) {
+        this.pipelineName = pipeline.getName();
+        this.sinkScope = getSinkScope(settings, sinkIndex);
+        this.sink = sink;
+        this.settings = settings;
+        this.executorService = executorService;
+        this.schedulerExecutor = schedulerExecutor;
+        this.capacitySemaphore = new Semaphore(settings.getWorkers() + settings.getQueueSize());
+
+        final PluginMetrics pluginMetrics = PluginMetrics.fromNames(sinkScope, pipelineName);
+        this.queueDepth = pluginMetrics.gauge(SINK_QUEUE_DEPTH, new AtomicInteger());
+        this.blockedTimer = pluginMetrics.timer(SINK_BLOCKED_TIME_ELAPSED);
+        this.recordsDroppedCounter = pluginMetrics.counter(SINK_RECORDS_DROPPED);
+        this.deadLetterWriter = settings.getDlqFile() == null ? null : new SinkDeadLetterWriter(pipelineName,
+                sinkScope, settings.getDlqFile(), settings.getWorkers() + settings.getQueueSize());
+    }
+
+    private static String getSinkScope(final SinkIsolationSettings settings, final int sinkIndex) {
+        return format("%s-%d", settings.getSinkName(), sinkIndex);
+    }
+
+    /**
+     * Submits the records to the isolated sink, waiting for room in the sink queue or dropping the records according
+     * to the configured {@link SinkOverflowPolicy}.
+     *
+     * @param records records to output to the sink
+     * @return future which completes after the sink output the records, or a completed future if they were dropped
+     */
+    Future<Void> submit(final Collection<Record> records) {
+        if (!acquireCapacity()) {
+            dropRecords(records);
+            return CompletableFuture.completedFuture(null);
+        }
+        queueDepth.incrementAndGet();
+        try {
+            if (schedulerExecutor != null) {
+                return submitToScheduler(records);
+            }
+            return executorService.submit(() -> {
+                queueDepth.decrementAndGet();
+                try {
+                    sink.output(records);
+                } finally {
+                    capacitySemaphore.release();
+                }
+            }, null);
+        } catch (final RejectedExecutionException ex) {
+            queueDepth.decrementAndGet();
+            capacitySemaphore.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Submits the records to the sink workers on the shared {@link PipelineScheduler}. A failure of the sink fails the
+     * returned future and is rethrown so that the scheduler shuts the pipeline down.
+     */
+    private Future<Void> submitToScheduler(final Collection<Record> records) {
+        final CompletableFuture<Void> sinkFuture = new CompletableFuture<>();
+        schedulerExecutor.execute(() -> {
+            queueDepth.decrementAndGet();
+            try {
+                sink.output(records);
+                sinkFuture.complete(null);
+            } catch (final RuntimeException ex) {
+                sinkFuture.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                capacitySemaphore.release();
+            }
+        });
+        return sinkFuture;
+    }
+
+    /**
+     * @return the sink workers of this isolator, or empty if they run on the shared {@link PipelineScheduler}
+     */
+    Optional<ExecutorService> getExecutorService() {
+        return Optional.ofNullable(executorService);
+    }
+
+    /**
+     * Releases the resources of the isolator. The sink itself is shutdown by the {@link Pipeline}.
+     */
+    void shutdown() {
+        if (deadLetterWriter != null) {
+            deadLetterWriter.shutdown();
+        }
+    }
+
+    private boolean acquireCapacity() {
+        if (capacitySemaphore.tryAcquire()) {
+            return true;
+        }
+        if (settings.getOverflowPolicy() == SinkOverflowPolicy.DROP) {
+            return false;
+        }
+        final long startTime = System.nanoTime();
+        try {
+            ForkJoinPool.managedBlock(new CapacityBlocker());
+            return true;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(format("Pipeline [%s] - Interrupted while waiting for sink [%s] queue",
+                    pipelineName, sinkScope), ex);
+        } finally {
+            blockedTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Waits for room in the sink queue as a managed block, so that a worker step which waits on a thread of the shared
+     * {@link PipelineScheduler} lets the pool compensate with another thread, which runs the sink tasks that make room.
+     * Outside of a {@link ForkJoinPool} it simply waits.
+     */
+    private class CapacityBlocker implements ForkJoinPool.ManagedBlocker {
+        private boolean acquired = false;
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (!acquired) {
+                capacitySemaphore.acquire();
+                acquired = true;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (!acquired) {
+                acquired = capacitySemaphore.tryAcquire();
+            }
+            return acquired;
+        }
+    }
+
+    private void dropRecords(final Collection<Record> records) {
+        recordsDroppedCounter.increment(records.size());
+        if (deadLetterWriter == null) {
+            LOG.warn("Pipeline [{}] - Queue of sink [{}] is full, dropped {} records", pipelineName,
+                    sinkScope, records.size());
+        } else if (!deadLetterWriter.write(records)) {
+            LOG.warn("Pipeline [{}] - Queue of sink [{}] is full, dropped {} records without writing them to the " +
+                    "dead letter file as it is behind", pipelineName, sinkScope, records.size());
+        }
+    }
+}
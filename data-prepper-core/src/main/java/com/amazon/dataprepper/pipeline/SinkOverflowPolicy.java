@@ -0,0 +1,27 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+/**
+ * Determines what a {@link ProcessWorker} does with a batch when the queue of a sink is full.
+ */
+public enum SinkOverflowPolicy {
+    /**
+     * Waits for room in the sink queue, applying backpressure on the process worker.
+     */
+    BLOCK,
+    /**
+     * Drops the batch for this sink only. The dropped records are written to the sink dead letter file if one is
+     * configured.
+     */
+    DROP;
+}
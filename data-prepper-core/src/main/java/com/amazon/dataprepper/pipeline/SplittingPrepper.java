@@ -0,0 +1,146 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.annotations.SingleThread;
+import com.amazon.dataprepper.model.annotations.Splittable;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.prepper.BatchPrepper;
+import com.amazon.dataprepper.model.prepper.PartitionedPrepper;
+import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.prepper.RecordPrepper;
+import com.amazon.dataprepper.model.prepper.StatefulPrepper;
+import com.amazon.dataprepper.model.record.Record;
+import com.google.common.collect.Lists;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Decorates a {@link Splittable} prepper so that batches of at least {@value #PARALLEL_THRESHOLD} records are split
+ * into parts which are processed concurrently on a {@link ForkJoinPool} shared by all pipelines. The calling process
+ * worker processes the first part itself and the outputs of the parts are merged in the order of the input batch.
+ * The shared pool is created for the first splitting prepper and shut down with the last one.
+ */
+public class SplittingPrepper<InputRecord extends Record<?>, OutputRecord extends Record<?>>
+        implements Prepper<InputRecord, OutputRecord> {
+    static final String PARALLEL_THRESHOLD = "parallel_threshold";
+    static final int DEFAULT_PARALLEL_THRESHOLD = 512;
+
+    private static ForkJoinPool sharedPool;
+    private static int sharedPoolUsers;
+
+    private final Prepper<InputRecord, OutputRecord> prepper;
+    private final int parallelThreshold;
+    private final ForkJoinPool forkJoinPool;
+
+    SplittingPrepper(
+            final Prepper<InputRecord, OutputRecord> prepper,
+            final int parallelThreshold,
+            final ForkJoinPool forkJoinPool) {
+        this.prepper = prepper;
+        this.parallelThreshold = parallelThreshold;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Wraps the prepper in a {@link SplittingPrepper} if its class is annotated with {@link Splittable} and not with
+     * {@link SingleThread}. A {@value #PARALLEL_THRESHOLD} of 0 disables splitting for the prepper. Preppers which the
+     * pipeline engine handles by their type, such as {@link StatefulPrepper}, {@link PartitionedPrepper},
+     * {@link RecordPrepper} and {@link BatchPrepper}, are never wrapped so that the engine still recognizes them.
+     *
+     * @param prepper       prepper built from the plugin setting
+     * @param pluginSetting settings of the prepper
+     * @return the splitting prepper or the given prepper if it cannot be split
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Prepper decorate(final Prepper prepper, final PluginSetting pluginSetting) {
+        final Class<?> prepperClass = prepper.getClass();
+        if (!prepperClass.isAnnotationPresent(Splittable.class) || prepperClass.isAnnotationPresent(SingleThread.class) ||
+                prepper instanceof StatefulPrepper || prepper instanceof PartitionedPrepper ||
+                prepper instanceof RecordPrepper || prepper instanceof BatchPrepper) {
+            return prepper;
+        }
+        final int parallelThreshold = pluginSetting.getIntegerOrDefault(PARALLEL_THRESHOLD, DEFAULT_PARALLEL_THRESHOLD);
+        if (parallelThreshold <= 0) {
+            return prepper;
+        }
+        return new SplittingPrepper(prepper, parallelThreshold, acquireSharedPool());
+    }
+
+    private static synchronized ForkJoinPool acquireSharedPool() {
+        if (sharedPool == null) {
+            sharedPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        sharedPoolUsers++;
+        return sharedPool;
+    }
+
+    private static synchronized void releaseSharedPool(final ForkJoinPool forkJoinPool) {
+        if (forkJoinPool != sharedPool) {
+            return;
+        }
+        if (--sharedPoolUsers == 0) {
+            sharedPool.shutdown();
+            sharedPool = null;
+        }
+    }
+
+    @Override
+    public Collection<OutputRecord> execute(final Collection<InputRecord> records) {
+        if (records.size() < parallelThreshold) {
+            return prepper.execute(records);
+        }
+
+        final int numberOfParts = Math.min(forkJoinPool.getParallelism() + 1, records.size() / parallelThreshold + 1);
+        final List<InputRecord> batch = records instanceof List ? (List<InputRecord>) records : new ArrayList<>(records);
+        final int partSize = (batch.size() + numberOfParts - 1) / numberOfParts;
+        final List<List<InputRecord>> parts = Lists.partition(batch, partSize);
+
+        final List<ForkJoinTask<Collection<OutputRecord>>> forkedParts = new ArrayList<>(parts.size() - 1);
+        for (final List<InputRecord> part : parts.subList(1, parts.size())) {
+            forkedParts.add(forkJoinPool.submit(() -> prepper.execute(part)));
+        }
+        final List<OutputRecord> output = new ArrayList<>(prepper.execute(parts.get(0)));
+        for (final ForkJoinTask<Collection<OutputRecord>> forkedPart : forkedParts) {
+            output.addAll(forkedPart.join());
+        }
+        return output;
+    }
+
+    @Override
+    public void prepareForShutdown() {
+        prepper.prepareForShutdown();
+    }
+
+    @Override
+    public boolean isReadyForShutdown() {
+        return prepper.isReadyForShutdown();
+    }
+
+    @Override
+    public void shutdown() {
+        prepper.shutdown();
+        releaseSharedPool(forkJoinPool);
+    }
+
+    Prepper<InputRecord, OutputRecord> getPrepper() {
+        return prepper;
+    }
+
+    ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+}
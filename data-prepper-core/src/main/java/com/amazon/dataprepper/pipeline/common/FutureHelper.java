@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -42,4 +43,22 @@ public class FutureHelper {
         }
         return new FutureHelperResult<>(completedFutureResults, failedExceptionList);
     }
+
+    /**
+     * Returns a future which completes when all of the provided futures complete, without blocking the caller.
+     *
+     * @param futureList futures which must be {@link CompletableFuture}s
+     * @return future which completes after all of the futures
+     */
+    public static <A> CompletableFuture<Void> allOf(final List<Future<A>> futureList) {
+        final CompletableFuture<?>[] completableFutures = new CompletableFuture<?>[futureList.size()];
+        for (int i = 0; i < completableFutures.length; i++) {
+            final Future<A> future = futureList.get(i);
+            if (!(future instanceof CompletableFuture)) {
+                throw new IllegalArgumentException("Only CompletableFutures can be awaited without blocking");
+            }
+            completableFutures[i] = (CompletableFuture<?>) future;
+        }
+        return CompletableFuture.allOf(completableFutures);
+    }
 }
@@ -0,0 +1,266 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline.common;
+
+import com.amazon.dataprepper.pipeline.Pipeline;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A process-wide scheduler which runs the worker steps and sink tasks of all pipelines on a single work-stealing
+ * {@link ForkJoinPool} sized to the available cores, instead of a fixed thread pool per pipeline and per sink.
+ * <p>
+ * Each pipeline registers a {@link PipelineSchedulerGroup}. At most parallelism worker steps run at any time; when a
+ * slot frees up the next step is taken from the group which is below its minimum number of running steps, or else
+ * from the group which used the least CPU time relative to its weight. Sink tasks are blocking and are run on the same
+ * pool as managed blocks, so they do not take a slot and the pool compensates for the blocked threads.
+ */
+public class PipelineScheduler {
+    private static final Logger LOG = LoggerFactory.getLogger(PipelineScheduler.class);
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final int parallelism;
+    private final ForkJoinPool forkJoinPool;
+    private final ScheduledExecutorService delayedStepExecutor;
+    private final List<PipelineSchedulerGroup> groups = new ArrayList<>();
+    private int runningSteps;
+
+    /**
+     * Constructs a {@link PipelineScheduler} with a slot for each available processor.
+     */
+    public PipelineScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism maximum number of worker steps which run at the same time
+     */
+    public PipelineScheduler(final int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be greater than 0");
+        this.parallelism = parallelism;
+        final AtomicInteger threadNumber = new AtomicInteger(1);
+        this.forkJoinPool = new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("pipeline-scheduler-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(false);
+            return thread;
+        }, null, true);
+        // Only hands delayed steps over to the pool, the steps themselves never run on this thread
+        this.delayedStepExecutor = new ScheduledThreadPoolExecutor(1, new PipelineThreadFactory("pipeline-scheduler-timer"));
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Registers a pipeline with the scheduler.
+     *
+     * @param pipeline   pipeline whose worker steps and sink tasks are run by the returned group
+     * @param weight     share of the CPU time of the pipeline relative to the other pipelines
+     * @param minWorkers number of worker steps of the pipeline which are dispatched ahead of any weighted share
+     * @return group through which the pipeline submits its tasks
+     */
+    public PipelineSchedulerGroup register(final Pipeline pipeline, final int weight, final int minWorkers) {
+        Preconditions.checkArgument(weight > 0, "weight must be greater than 0");
+        Preconditions.checkArgument(minWorkers >= 0, "minWorkers cannot be negative");
+        final PipelineSchedulerGroup group = new PipelineSchedulerGroup(this, pipeline, weight, minWorkers);
+        synchronized (this) {
+            groups.add(group);
+        }
+        return group;
+    }
+
+    /**
+     * Stops the scheduler, steps which are still pending are not run.
+     */
+    public void shutdown() {
+        LOG.info("Shutting down the pipeline scheduler");
+        delayedStepExecutor.shutdownNow();
+        forkJoinPool.shutdownNow();
+    }
+
+    synchronized void deregister(final PipelineSchedulerGroup group) {
+        groups.remove(group);
+        notifyAll();
+    }
+
+    synchronized void enqueueStep(final PipelineSchedulerGroup group, final Runnable step) {
+        if (group.isClosed()) {
+            return;
+        }
+        if (group.isIdle()) {
+            // A group which was idle must not catch up on the CPU time it did not use while idle
+            group.advanceVirtualRuntimeTo(minimumVirtualRuntime());
+        }
+        group.getPendingSteps().add(step);
+        dispatch();
+    }
+
+    void enqueueStepLater(final PipelineSchedulerGroup group, final Runnable step, final long delayInMillis) {
+        synchronized (this) {
+            group.incrementDelayedSteps();
+        }
+        delayedStepExecutor.schedule(() -> {
+            synchronized (this) {
+                group.decrementDelayedSteps();
+                enqueueStep(group, step);
+                notifyAll();
+            }
+        }, delayInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void executeBlocking(final PipelineSchedulerGroup group, final Runnable task) {
+        synchronized (this) {
+            group.incrementRunningBlockingTasks();
+        }
+        forkJoinPool.execute(() -> {
+            final long startTime = currentThreadTime();
+            try {
+                ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                    private boolean done = false;
+
+                    @Override
+                    public boolean block() {
+                        task.run();
+                        done = true;
+                        return true;
+                    }
+
+                    @Override
+                    public boolean isReleasable() {
+                        return done;
+                    }
+                });
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (final RuntimeException ex) {
+                group.handleFailure(ex);
+            } finally {
+                final long elapsedTime = currentThreadTime() - startTime;
+                synchronized (this) {
+                    group.decrementRunningBlockingTasks();
+                    group.recordCpuTime(elapsedTime);
+                    notifyAll();
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits until the group has no pending, delayed or running tasks.
+     *
+     * @return true if the group became idle before the timeout
+     */
+    synchronized boolean awaitIdle(final PipelineSchedulerGroup group, final long timeoutInMillis)
+            throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutInMillis;
+        while (!group.isIdle()) {
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Dispatches pending steps to the pool while there are free slots.
+     */
+    private void dispatch() {
+        while (runningSteps < parallelism) {
+            final PipelineSchedulerGroup group = nextGroup();
+            if (group == null) {
+                return;
+            }
+            final Runnable step = group.getPendingSteps().remove();
+            group.incrementRunningSteps();
+            runningSteps++;
+            forkJoinPool.execute(() -> runStep(group, step));
+        }
+    }
+
+    private PipelineSchedulerGroup nextGroup() {
+        PipelineSchedulerGroup next = null;
+        for (final PipelineSchedulerGroup group : groups) {
+            if (group.getPendingSteps().isEmpty()) {
+                continue;
+            }
+            if (next == null || isAhead(group, next)) {
+                next = group;
+            }
+        }
+        return next;
+    }
+
+    private static boolean isAhead(final PipelineSchedulerGroup group, final PipelineSchedulerGroup other) {
+        if (group.isBelowMinWorkers() != other.isBelowMinWorkers()) {
+            return group.isBelowMinWorkers();
+        }
+        return group.getVirtualRuntime() < other.getVirtualRuntime();
+    }
+
+    private long minimumVirtualRuntime() {
+        long minimum = Long.MAX_VALUE;
+        for (final PipelineSchedulerGroup group : groups) {
+            if (!group.isIdle()) {
+                minimum = Math.min(minimum, group.getVirtualRuntime());
+            }
+        }
+        return minimum == Long.MAX_VALUE ? 0 : minimum;
+    }
+
+    private void runStep(final PipelineSchedulerGroup group, final Runnable step) {
+        final long startTime = currentThreadTime();
+        try {
+            step.run();
+        } catch (final RuntimeException ex) {
+            group.handleFailure(ex);
+        } finally {
+            final long elapsedTime = currentThreadTime() - startTime;
+            synchronized (this) {
+                runningSteps--;
+                group.decrementRunningSteps();
+                group.recordCpuTime(elapsedTime);
+                dispatch();
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns the CPU time of the current thread in nanoseconds, or the wall clock time if the JVM does not measure
+     * thread CPU time.
+     */
+    private static long currentThreadTime() {
+        if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+            final long cpuTime = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+            if (cpuTime >= 0) {
+                return cpuTime;
+            }
+        }
+        return System.nanoTime();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline.common;
+
+import com.amazon.dataprepper.metrics.PluginMetrics;
+import com.amazon.dataprepper.pipeline.Pipeline;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.String.format;
+
+/**
+ * The tasks of a single {@link Pipeline} on the shared {@link PipelineScheduler}. The scheduling state of the group is
+ * guarded by the lock of the scheduler.
+ */
+public class PipelineSchedulerGroup {
+    private static final Logger LOG = LoggerFactory.getLogger(PipelineSchedulerGroup.class);
+    static final String SCHEDULER = "scheduler";
+    static final String CPU_TIME_ELAPSED = "cpuTimeElapsed";
+
+    private final PipelineScheduler scheduler;
+    private final Pipeline pipeline;
+    private final int weight;
+    private final int minWorkers;
+    private final Queue<Runnable> pendingSteps = new ArrayDeque<>();
+    private final Timer cpuTimer;
+    private final AtomicBoolean failed = new AtomicBoolean(false);
+    private volatile boolean closed = false;
+    private int runningSteps;
+    private int delayedSteps;
+    private int runningBlockingTasks;
+    private long virtualRuntime;
+
+    PipelineSchedulerGroup(final PipelineScheduler scheduler, final Pipeline pipeline, final int weight,
+                           final int minWorkers) {
+        this.scheduler = scheduler;
+        this.pipeline = pipeline;
+        this.weight = weight;
+        this.minWorkers = minWorkers;
+        this.cpuTimer = PluginMetrics.fromNames(SCHEDULER, pipeline.getName()).timer(CPU_TIME_ELAPSED);
+    }
+
+    /**
+     * Submits a worker step which is run once a slot of the scheduler is assigned to this group. A step must not block
+     * for long, it should rather submit its continuation through this group.
+     *
+     * @param step worker step to run
+     */
+    public void execute(final Runnable step) {
+        scheduler.enqueueStep(this, step);
+    }
+
+    /**
+     * Submits a worker step which is run after the provided delay.
+     *
+     * @param step          worker step to run
+     * @param delayInMillis time to wait before the step is submitted
+     */
+    public void executeLater(final Runnable step, final long delayInMillis) {
+        scheduler.enqueueStepLater(this, step, delayInMillis);
+    }
+
+    /**
+     * Returns an {@link Executor} for blocking tasks, e.g. the output of a sink, which runs at most the provided number
+     * of tasks at the same time on the pool of the scheduler and queues the remaining ones.
+     *
+     * @param maxConcurrentTasks maximum number of tasks which run at the same time
+     * @return executor for blocking tasks of this group
+     */
+    public Executor newBlockingExecutor(final int maxConcurrentTasks) {
+        return new BlockingTaskExecutor(maxConcurrentTasks);
+    }
+
+    /**
+     * Waits for the submitted tasks to complete and drops the steps which are still pending after the timeout. Steps
+     * which are submitted to a closed group are ignored.
+     *
+     * @param timeoutInMillis maximum time to wait for the tasks to complete
+     */
+    public void close(final long timeoutInMillis) {
+        try {
+            if (!scheduler.awaitIdle(this, timeoutInMillis)) {
+                LOG.warn("Pipeline [{}] - Workers did not terminate in time, dropping pending steps", pipeline.getName());
+            }
+        } catch (final InterruptedException ex) {
+            LOG.info("Pipeline [{}] - Encountered interruption terminating the pipeline execution, " +
+                    "dropping pending steps", pipeline.getName());
+            Thread.currentThread().interrupt();
+        }
+        closed = true;
+        synchronized (scheduler) {
+            pendingSteps.clear();
+        }
+        scheduler.deregister(this);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    Queue<Runnable> getPendingSteps() {
+        return pendingSteps;
+    }
+
+    boolean isIdle() {
+        return pendingSteps.isEmpty() && runningSteps == 0 && delayedSteps == 0 && runningBlockingTasks == 0;
+    }
+
+    boolean isBelowMinWorkers() {
+        return runningSteps < minWorkers;
+    }
+
+    long getVirtualRuntime() {
+        return virtualRuntime;
+    }
+
+    void advanceVirtualRuntimeTo(final long minimumVirtualRuntime) {
+        virtualRuntime = Math.max(virtualRuntime, minimumVirtualRuntime);
+    }
+
+    void recordCpuTime(final long cpuTimeInNanos) {
+        virtualRuntime += cpuTimeInNanos / weight;
+        cpuTimer.record(cpuTimeInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void incrementRunningSteps() {
+        runningSteps++;
+    }
+
+    void decrementRunningSteps() {
+        runningSteps--;
+    }
+
+    void incrementDelayedSteps() {
+        delayedSteps++;
+    }
+
+    void decrementDelayedSteps() {
+        delayedSteps--;
+    }
+
+    void incrementRunningBlockingTasks() {
+        runningBlockingTasks++;
+    }
+
+    void decrementRunningBlockingTasks() {
+        runningBlockingTasks--;
+    }
+
+    /**
+     * Shuts the pipeline down after a task failed, as the {@link PipelineThreadPoolExecutor} does for the workers of a
+     * pipeline which does not use the scheduler. The shutdown waits for the tasks of this group, so it is run on its
+     * own thread.
+     */
+    void handleFailure(final Throwable throwable) {
+        LOG.error("Pipeline [{}] process worker encountered a fatal exception, cannot proceed further",
+                pipeline.getName(), throwable);
+        if (failed.compareAndSet(false, true)) {
+            new PipelineThreadFactory(format("%s-shutdown", pipeline.getName()))
+                    .newThread(pipeline::shutdown)
+                    .start();
+        }
+    }
+
+    /**
+     * Runs at most maxConcurrentTasks tasks at the same time on the pool of the scheduler.
+     */
+    private class BlockingTaskExecutor implements Executor {
+        private final int maxConcurrentTasks;
+        private final Queue<Runnable> queuedTasks = new ArrayDeque<>();
+        private int runningTasks;
+
+        private BlockingTaskExecutor(final int maxConcurrentTasks) {
+            this.maxConcurrentTasks = maxConcurrentTasks;
+        }
+
+        @Override
+        public void execute(final Runnable task) {
+            synchronized (this) {
+                if (closed) {
+                    throw new RejectedExecutionException(format("Pipeline [%s] - Scheduler group is closed",
+                            pipeline.getName()));
+                }
+                queuedTasks.add(task);
+            }
+            startQueuedTasks();
+        }
+
+        private void startQueuedTasks() {
+            while (true) {
+                final Runnable task;
+                synchronized (this) {
+                    if (runningTasks >= maxConcurrentTasks || queuedTasks.isEmpty()) {
+                        return;
+                    }
+                    task = queuedTasks.remove();
+                    runningTasks++;
+                }
+                scheduler.executeBlocking(PipelineSchedulerGroup.this, () -> {
+                    try {
+                        task.run();
+                    } finally {
+                        synchronized (this) {
+                            runningTasks--;
+                        }
+                        // Started before this task completes, so the group does not appear idle in between
+                        startQueuedTasks();
+                    }
+                });
+            }
+        }
+    }
+}
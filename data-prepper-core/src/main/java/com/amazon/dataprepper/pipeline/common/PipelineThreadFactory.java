@@ -11,29 +11,47 @@
 
 package com.amazon.dataprepper.pipeline.common;
 
+import com.amazon.dataprepper.model.concurrent.ExecutionMode;
+import com.amazon.dataprepper.model.concurrent.VirtualThreads;
+
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ThreadFactory with the ability to set the thread name prefix. This class is exactly similar to
- * {@link Executors#defaultThreadFactory()}, except for the thread naming feature.
+ * {@link Executors#defaultThreadFactory()}, except for the thread naming feature. In the
+ * {@link ExecutionMode#VIRTUAL_THREADS} execution mode the threads are virtual threads.
  */
 public class PipelineThreadFactory implements ThreadFactory {
     private static final AtomicInteger poolNumber = new AtomicInteger(1);
     private final ThreadGroup threadGroup;
     private final AtomicInteger threadNumber = new AtomicInteger(1);
     private final String namePrefix;
+    private final ThreadFactory virtualThreadFactory;
 
     public PipelineThreadFactory(final String namePrefix) {
+        this(namePrefix, ExecutionMode.PLATFORM_THREADS);
+    }
+
+    /**
+     * @param namePrefix    prefix of the names of the created threads
+     * @param executionMode {@link ExecutionMode#VIRTUAL_THREADS} to create virtual threads
+     */
+    public PipelineThreadFactory(final String namePrefix, final ExecutionMode executionMode) {
         final SecurityManager securityManager = System.getSecurityManager();
         threadGroup = (securityManager != null) ? securityManager.getThreadGroup() :
                 Thread.currentThread().getThreadGroup();
         this.namePrefix = namePrefix + "-" + poolNumber.getAndIncrement() + "-thread-";
+        this.virtualThreadFactory = executionMode == ExecutionMode.VIRTUAL_THREADS ?
+                VirtualThreads.newThreadFactory(namePrefix) : null;
     }
 
     @Override
     public Thread newThread(final Runnable runnable) {
+        if (virtualThreadFactory != null) {
+            return virtualThreadFactory.newThread(runnable);
+        }
         Thread thread = new Thread(threadGroup, runnable, namePrefix + threadNumber.getAndIncrement(), 0);
         if(thread.isDaemon()) {
             thread.setDaemon(false);
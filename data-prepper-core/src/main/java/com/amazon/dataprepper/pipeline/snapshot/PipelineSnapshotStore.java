@@ -0,0 +1,359 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline.snapshot;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.prepper.StatefulPrepper;
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.pipeline.PartitionedBuffer;
+import com.amazon.dataprepper.pipeline.PrioritizedBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static java.lang.String.format;
+
+/**
+ * Writes the records left in the buffer of a pipeline and the state of its {@link StatefulPrepper}s to a local
+ * directory on shutdown, and restores them when the pipeline starts again, so they survive a restart. Each pipeline
+ * has its own subdirectory with a file for the buffer and a file for each stateful prepper instance.
+ * <p>
+ * The files are streamed in a binary format. Each file is written to a temporary file which is moved in place once
+ * complete, and is deleted once restored, so a snapshot is restored at most once. Buffers which keep their records
+ * across a restart themselves, see {@link Buffer#isPersistent()}, are not part of the snapshot, and the records of the
+ * other buffers are only checkpointed once the snapshot with them is in place.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class PipelineSnapshotStore {
+    private static final Logger LOG = LoggerFactory.getLogger(PipelineSnapshotStore.class);
+    static final String BUFFER_FILE = "buffer.snapshot";
+    static final String REMAINING_BUFFER_FILE = "buffer-remaining.snapshot";
+    static final String PREPPER_FILE_FORMAT = "prepper-%d-%d.snapshot";
+    private static final String BUFFER_COMPONENT = "buffer";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int MAGIC = 0x44505353;
+    private static final int VERSION = 2;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final int DRAIN_TIMEOUT_IN_MILLIS = 0;
+
+    private final Path directory;
+    private final SnapshotRecordCodec recordCodec = new SnapshotRecordCodec();
+
+    /**
+     * @param directory directory under which the snapshots of the pipelines are stored
+     */
+    public PipelineSnapshotStore(final Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Drains the buffer of the pipeline into a snapshot and writes the state of each stateful prepper. This must only
+     * be called once the workers of the pipeline stopped.
+     *
+     * @param pipelineName name of the pipeline
+     * @param buffer       buffer of the pipeline
+     * @param prepperSets  prepper sets of the pipeline
+     */
+    public void snapshot(final String pipelineName, final Buffer buffer, final List<List<Prepper>> prepperSets) {
+        final Path pipelineDirectory = directory.resolve(pipelineName);
+        try {
+            Files.createDirectories(pipelineDirectory);
+        } catch (final IOException e) {
+            LOG.error("Pipeline [{}] - Unable to create the snapshot directory {}", pipelineName, pipelineDirectory, e);
+            return;
+        }
+        try {
+            snapshotBuffer(pipelineName, pipelineDirectory.resolve(BUFFER_FILE), buffer);
+        } catch (final IOException e) {
+            LOG.error("Pipeline [{}] - Unable to write the snapshot of the buffer", pipelineName, e);
+        }
+        for (int setIndex = 0; setIndex < prepperSets.size(); setIndex++) {
+            final List<Prepper> prepperSet = prepperSets.get(setIndex);
+            for (int instanceIndex = 0; instanceIndex < prepperSet.size(); instanceIndex++) {
+                final Prepper prepper = prepperSet.get(instanceIndex);
+                if (!(prepper instanceof StatefulPrepper)) {
+                    continue;
+                }
+                try {
+                    writeFile(pipelineDirectory.resolve(format(PREPPER_FILE_FORMAT, setIndex, instanceIndex)),
+                            prepper.getClass().getName(), prepperSet.size(), ((StatefulPrepper) prepper)::snapshotState);
+                } catch (final IOException e) {
+                    LOG.error("Pipeline [{}] - Unable to write the snapshot of prepper {}", pipelineName,
+                            prepper.getClass().getSimpleName(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Restores the state of each stateful prepper and writes the records of the buffer snapshot back to the buffer,
+     * then deletes the snapshot. If the buffer fills up, the records which were not restored are kept in the snapshot
+     * of the buffer for the next start. This must be called before the source and the workers of the pipeline start.
+     *
+     * @param pipelineName         name of the pipeline
+     * @param buffer               buffer of the pipeline
+     * @param prepperSets          prepper sets of the pipeline
+     * @param writeTimeoutInMillis timeout of each write of a restored record to the buffer
+     */
+    public void restore(final String pipelineName, final Buffer buffer, final List<List<Prepper>> prepperSets,
+                        final int writeTimeoutInMillis) {
+        final Path pipelineDirectory = directory.resolve(pipelineName);
+        if (!Files.isDirectory(pipelineDirectory)) {
+            return;
+        }
+        for (int setIndex = 0; setIndex < prepperSets.size(); setIndex++) {
+            final List<Prepper> prepperSet = prepperSets.get(setIndex);
+            for (int instanceIndex = 0; instanceIndex < prepperSet.size(); instanceIndex++) {
+                final Prepper prepper = prepperSet.get(instanceIndex);
+                if (!(prepper instanceof StatefulPrepper)) {
+                    continue;
+                }
+                final Path file = pipelineDirectory.resolve(format(PREPPER_FILE_FORMAT, setIndex, instanceIndex));
+                try {
+                    readFile(file, prepper.getClass().getName(), prepperSet.size(),
+                            ((StatefulPrepper) prepper)::restoreState);
+                } catch (final IOException e) {
+                    LOG.error("Pipeline [{}] - Unable to restore the snapshot of prepper {}", pipelineName,
+                            prepper.getClass().getSimpleName(), e);
+                }
+                deleteQuietly(file);
+            }
+        }
+        final Path bufferFile = pipelineDirectory.resolve(BUFFER_FILE);
+        final Path remainingBufferFile = pipelineDirectory.resolve(REMAINING_BUFFER_FILE);
+        deleteQuietly(remainingBufferFile);
+        try {
+            readFile(bufferFile, BUFFER_COMPONENT, 1, inputStream -> restoreBuffer(pipelineName, inputStream, buffer,
+                    writeTimeoutInMillis, remainingBufferFile));
+        } catch (final IOException e) {
+            LOG.error("Pipeline [{}] - Unable to restore the snapshot of the buffer", pipelineName, e);
+        }
+        if (Files.exists(remainingBufferFile)) {
+            try {
+                Files.move(remainingBufferFile, bufferFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (final IOException e) {
+                LOG.error("Pipeline [{}] - Unable to keep the records of the buffer which were not restored",
+                        pipelineName, e);
+            }
+        } else {
+            deleteQuietly(bufferFile);
+        }
+    }
+
+    /**
+     * Drains the buffers which do not persist themselves into the snapshot, after the records of a previous snapshot
+     * which could not be restored, and checkpoints the records once the snapshot is in place. The records of a batch
+     * which were not all written to the snapshot are not checkpointed.
+     */
+    private void snapshotBuffer(final String pipelineName, final Path file, final Buffer buffer) throws IOException {
+        final List<Buffer> buffers = new ArrayList<>();
+        addSnapshottedBuffers(buffer, buffers);
+        final boolean hasRemainingRecords = Files.exists(file);
+        if (!hasRemainingRecords && buffers.stream().allMatch(Buffer::isEmpty)) {
+            return;
+        }
+        final List<Map.Entry<Buffer, CheckpointState>> writtenBatches = new ArrayList<>();
+        writeFile(file, BUFFER_COMPONENT, 1, outputStream -> {
+            long numRecords = 0;
+            long numDroppedRecords = 0;
+            if (hasRemainingRecords) {
+                numRecords += copySnapshotRecords(file, outputStream);
+            }
+            for (final Buffer partition : buffers) {
+                while (!partition.isEmpty()) {
+                    final Map.Entry<Collection<Record>, CheckpointState> readResult = partition.read(DRAIN_TIMEOUT_IN_MILLIS);
+                    boolean written = true;
+                    for (final Record record : readResult.getKey()) {
+                        if (writeRecord(record.getData(), outputStream)) {
+                            numRecords++;
+                        } else {
+                            numDroppedRecords++;
+                            written = false;
+                        }
+                    }
+                    if (written) {
+                        writtenBatches.add(new AbstractMap.SimpleEntry<>(partition, readResult.getValue()));
+                    }
+                    // Records which are still in flight, e.g. of a worker which was forced to stop, cannot be read
+                    if (readResult.getKey().isEmpty()) {
+                        break;
+                    }
+                }
+            }
+            recordCodec.encodeEnd(outputStream);
+            LOG.info("Pipeline [{}] - Wrote {} records of the buffer to the snapshot", pipelineName, numRecords);
+            if (numDroppedRecords > 0) {
+                LOG.warn("Pipeline [{}] - Dropped {} records of the buffer whose type cannot be written to the snapshot",
+                        pipelineName, numDroppedRecords);
+            }
+        });
+        for (final Map.Entry<Buffer, CheckpointState> writtenBatch : writtenBatches) {
+            writtenBatch.getKey().checkpoint(writtenBatch.getValue());
+        }
+    }
+
+    private static void addSnapshottedBuffers(final Buffer buffer, final List<Buffer> buffers) {
+        if (buffer instanceof PartitionedBuffer) {
+            final PartitionedBuffer partitionedBuffer = (PartitionedBuffer) buffer;
+            for (int i = 0; i < partitionedBuffer.getNumberOfPartitions(); i++) {
+                addSnapshottedBuffers(partitionedBuffer.getPartition(i), buffers);
+            }
+        } else if (buffer instanceof PrioritizedBuffer) {
+            final PrioritizedBuffer prioritizedBuffer = (PrioritizedBuffer) buffer;
+            for (int i = 0; i < prioritizedBuffer.getNumberOfLanes(); i++) {
+                addSnapshottedBuffers(prioritizedBuffer.getLane(i), buffers);
+            }
+        } else if (!buffer.isPersistent()) {
+            buffers.add(buffer);
+        }
+    }
+
+    /**
+     * @return false if the data cannot be written to the snapshot, in which case nothing is written
+     */
+    private boolean writeRecord(final Object data, final DataOutputStream outputStream) throws IOException {
+        if (!recordCodec.canEncode(data)) {
+            return false;
+        }
+        try {
+            recordCodec.encode(data, outputStream);
+            return true;
+        } catch (final ObjectStreamException e) {
+            LOG.debug("Unable to serialize a record of type {}", data.getClass().getName(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Copies the records of the snapshot of a buffer into a new snapshot.
+     */
+    private long copySnapshotRecords(final Path file, final DataOutputStream outputStream) throws IOException {
+        final long[] numRecords = {0};
+        readFile(file, BUFFER_COMPONENT, 1,
+                inputStream -> numRecords[0] = copyRecords(inputStream, outputStream));
+        return numRecords[0];
+    }
+
+    private long copyRecords(final DataInputStream inputStream, final DataOutputStream outputStream)
+            throws IOException {
+        long numRecords = 0;
+        while (recordCodec.copy(inputStream, outputStream)) {
+            numRecords++;
+        }
+        return numRecords;
+    }
+
+    private void restoreBuffer(final String pipelineName, final DataInputStream inputStream, final Buffer buffer,
+                               final int writeTimeoutInMillis, final Path remainingFile) throws IOException {
+        long numRecords = 0;
+        Object data;
+        while ((data = recordCodec.decode(inputStream)) != null) {
+            try {
+                buffer.write(new Record<>(data), writeTimeoutInMillis);
+            } catch (final TimeoutException e) {
+                final Object remainingData = data;
+                writeFile(remainingFile, BUFFER_COMPONENT, 1, outputStream -> {
+                    recordCodec.encode(remainingData, outputStream);
+                    copyRecords(inputStream, outputStream);
+                    recordCodec.encodeEnd(outputStream);
+                });
+                LOG.warn("Pipeline [{}] - Buffer is full after restoring {} records of the snapshot, the remaining " +
+                        "records are restored on the next start", pipelineName, numRecords);
+                return;
+            }
+            numRecords++;
+        }
+        LOG.info("Pipeline [{}] - Restored {} records of the buffer from the snapshot", pipelineName, numRecords);
+    }
+
+    /**
+     * Writes a snapshot file with a header which identifies the component and the number of its instances.
+     */
+    private static void writeFile(final Path file, final String component, final int numberOfInstances,
+                                  final SnapshotWriter snapshotWriter) throws IOException {
+        final Path temporaryFile = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+        try (DataOutputStream outputStream = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporaryFile), STREAM_BUFFER_SIZE))) {
+            outputStream.writeInt(MAGIC);
+            outputStream.writeInt(VERSION);
+            outputStream.writeUTF(component);
+            outputStream.writeInt(numberOfInstances);
+            snapshotWriter.write(outputStream);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot file if it exists, provided it was written by the same component with the same number of
+     * instances.
+     */
+    private static void readFile(final Path file, final String component, final int numberOfInstances,
+                                 final SnapshotReader snapshotReader) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream inputStream = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), STREAM_BUFFER_SIZE))) {
+            if (inputStream.readInt() != MAGIC || inputStream.readInt() != VERSION) {
+                throw new IOException(format("%s is not a snapshot of this version", file));
+            }
+            final String snapshotComponent = inputStream.readUTF();
+            final int snapshotInstances = inputStream.readInt();
+            if (!snapshotComponent.equals(component) || snapshotInstances != numberOfInstances) {
+                LOG.warn("Skipping snapshot {} of {} with {} instances, which does not match {} with {} instances",
+                        file, snapshotComponent, snapshotInstances, component, numberOfInstances);
+                return;
+            }
+            snapshotReader.read(inputStream);
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOG.warn("Unable to delete snapshot {}", file, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SnapshotWriter {
+        void write(DataOutputStream outputStream) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface SnapshotReader {
+        void read(DataInputStream inputStream) throws IOException;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline.snapshot;
+
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.event.SmileEventCodec;
+import com.amazon.dataprepper.model.record.RecordMetadata;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Encodes the data of the records of a buffer snapshot. {@link String} records, e.g. the log lines of the http source
+ * and the documents of the trace pipelines, are stored as UTF-8; {@link Event} records are stored with their event
+ * metadata by the {@link SmileEventCodec}. Records of other {@link Serializable} types, e.g. the requests of the
+ * otel_trace_source, are stored with Java serialization, which is restricted to boxed primitives, strings, the common
+ * collections and protobuf messages both when writing and when reading a snapshot, so a snapshot file cannot
+ * instantiate arbitrary classes. The {@link RecordMetadata} of a record is not stored, records are restored with the
+ * default record metadata.
+ */
+class SnapshotRecordCodec {
+    private static final byte END = 0;
+    private static final byte STRING = 1;
+    private static final byte BYTES = 2;
+    private static final byte SERIALIZABLE = 3;
+    private static final byte EVENT = 4;
+    private static final String PROTOBUF_MESSAGE = "com.google.protobuf.MessageLite";
+    /**
+     * Protobuf messages are serialized as this class, which holds the class and the bytes of the message.
+     */
+    private static final String PROTOBUF_SERIALIZED_FORM = "com.google.protobuf.GeneratedMessageLite$SerializedForm";
+    private static final Set<Class<?>> SERIALIZABLE_CLASSES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Number.class, Byte.class, Short.class, Integer.class,
+            Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class,
+            ArrayList.class, LinkedList.class, HashMap.class, LinkedHashMap.class, TreeMap.class, HashSet.class,
+            LinkedHashSet.class, TreeSet.class));
+
+    private final SmileEventCodec eventCodec = new SmileEventCodec();
+
+    boolean canEncode(final Object data) {
+        return data instanceof Event || data instanceof Serializable;
+    }
+
+    /**
+     * Writes the data of a record, starting with its type.
+     *
+     * @throws NotSerializableException if the data is, or contains, an object of a type which is not stored in
+     *                                  snapshots; nothing is written in that case
+     */
+    void encode(final Object data, final DataOutputStream outputStream) throws IOException {
+        if (data instanceof String) {
+            outputStream.writeByte(STRING);
+            writeBytes(((String) data).getBytes(StandardCharsets.UTF_8), outputStream);
+        } else if (data instanceof byte[]) {
+            outputStream.writeByte(BYTES);
+            writeBytes((byte[]) data, outputStream);
+        } else if (data instanceof Event) {
+            outputStream.writeByte(EVENT);
+            writeBytes(eventCodec.encode((Event) data), outputStream);
+        } else {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutputStream = new AllowListObjectOutputStream(bytes)) {
+                objectOutputStream.writeObject(data);
+            }
+            outputStream.writeByte(SERIALIZABLE);
+            writeBytes(bytes.toByteArray(), outputStream);
+        }
+    }
+
+    /**
+     * Marks the end of the records, in place of the type of a next record.
+     */
+    void encodeEnd(final DataOutputStream outputStream) throws IOException {
+        outputStream.writeByte(END);
+    }
+
+    /**
+     * @return the data of the next record, or null at the end of the records
+     */
+    Object decode(final DataInputStream inputStream) throws IOException {
+        final byte type = inputStream.readByte();
+        if (type == END) {
+            return null;
+        }
+        final byte[] bytes = readBytes(inputStream);
+        switch (type) {
+            case STRING:
+                return new String(bytes, StandardCharsets.UTF_8);
+            case BYTES:
+                return bytes;
+            case SERIALIZABLE:
+                try (ObjectInputStream objectInputStream = new AllowListObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return objectInputStream.readObject();
+                } catch (final ClassNotFoundException e) {
+                    throw new IOException("Unable to deserialize record", e);
+                }
+            case EVENT:
+                return eventCodec.decode(bytes);
+            default:
+                throw new IOException("Unknown record type " + type);
+        }
+    }
+
+    /**
+     * Copies the data of the next record from one snapshot to another without decoding it.
+     *
+     * @return false at the end of the records, in which case nothing is copied
+     */
+    boolean copy(final DataInputStream inputStream, final DataOutputStream outputStream) throws IOException {
+        final byte type = inputStream.readByte();
+        if (type == END) {
+            return false;
+        }
+        outputStream.writeByte(type);
+        writeBytes(readBytes(inputStream), outputStream);
+        return true;
+    }
+
+    private static void writeBytes(final byte[] bytes, final DataOutputStream outputStream) throws IOException {
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream inputStream) throws IOException {
+        final byte[] bytes = new byte[inputStream.readInt()];
+        inputStream.readFully(bytes);
+        return bytes;
+    }
+
+    private static boolean isSerializable(final Class<?> type) {
+        Class<?> componentType = type;
+        while (componentType.isArray()) {
+            componentType = componentType.getComponentType();
+        }
+        return componentType.isPrimitive() || SERIALIZABLE_CLASSES.contains(componentType)
+                || componentType.getName().equals(PROTOBUF_SERIALIZED_FORM) || isProtobufMessage(componentType);
+    }
+
+    /**
+     * Checks the class by name, as the protobuf classes are not a dependency of the core.
+     */
+    private static boolean isProtobufMessage(final Class<?> type) {
+        if (type == null) {
+            return false;
+        }
+        if (type.getName().equals(PROTOBUF_MESSAGE)) {
+            return true;
+        }
+        for (final Class<?> implementedInterface : type.getInterfaces()) {
+            if (isProtobufMessage(implementedInterface)) {
+                return true;
+            }
+        }
+        return isProtobufMessage(type.getSuperclass());
+    }
+
+    /**
+     * Refuses to write objects which {@link AllowListObjectInputStream} would refuse to read.
+     */
+    private static class AllowListObjectOutputStream extends ObjectOutputStream {
+        private AllowListObjectOutputStream(final OutputStream outputStream) throws IOException {
+            super(outputStream);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object object) throws IOException {
+            if (!isSerializable(object.getClass())) {
+                throw new NotSerializableException(object.getClass().getName());
+            }
+            return object;
+        }
+    }
+
+    /**
+     * Only resolves the classes which are stored in snapshots. Classes are loaded without being initialized, so the
+     * check runs before any code of a class in the snapshot.
+     */
+    private static class AllowListObjectInputStream extends ObjectInputStream {
+        private AllowListObjectInputStream(final InputStream inputStream) throws IOException {
+            super(inputStream);
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass objectStreamClass)
+                throws IOException, ClassNotFoundException {
+            final Class<?> type = super.resolveClass(objectStreamClass);
+            if (!isSerializable(type)) {
+                throw new InvalidClassException(type.getName(), "Class is not allowed in snapshots");
+            }
+            return type;
+        }
+    }
+}
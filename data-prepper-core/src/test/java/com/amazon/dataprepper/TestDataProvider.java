@@ -36,7 +36,19 @@ public class TestDataProvider {
     public static final Integer DEFAULT_WORKERS = 1;
     public static final Integer DEFAULT_READ_BATCH_DELAY = 3_000;
     public static final Integer TEST_DELAY = 3_000;
+    public static final Integer TEST_MAX_INFLIGHT_BATCHES = 2;
+    public static final Integer DEFAULT_MAX_INFLIGHT_BATCHES = 1;
+    public static final Boolean TEST_CHAINING = false;
+    public static final Integer TEST_SCHEDULER_WEIGHT = 3;
+    public static final Integer TEST_SCHEDULER_MIN_WORKERS = 1;
+    public static final String TEST_EXECUTION_MODE = "platform_threads";
+    public static final Integer TEST_BATCH_TARGET_LATENCY = 200;
+    public static final Integer TEST_MAX_BATCH_SIZE = 1_000;
+    public static final Integer TEST_MAX_SKIPPED_READS = 8;
+    public static final Boolean DEFAULT_CHAINING = true;
     public static final String VALID_MULTIPLE_PIPELINE_CONFIG_FILE = "src/test/resources/valid_multiple_pipeline_configuration.yml";
+    public static final String VALID_MULTIPLE_PIPELINE_DOWNSTREAM_BUFFER_CONFIG_FILE = "src/test/resources/valid_multiple_pipeline_configuration_downstream_buffer.yml";
+    public static final String VALID_MULTIPLE_PIPELINE_CHAINING_DISABLED_CONFIG_FILE = "src/test/resources/valid_multiple_pipeline_configuration_chaining_disabled.yml";
     public static final String VALID_SINGLE_PIPELINE_EMPTY_SOURCE_PLUGIN_FILE = "src/test/resources/single_pipeline_valid_empty_source_plugin_settings.yml";
     public static final String CONNECTED_PIPELINE_ROOT_SOURCE_INCORRECT = "src/test/resources/connected_pipeline_incorrect_root_source.yml";
     public static final String CONNECTED_PIPELINE_CHILD_PIPELINE_INCORRECT = "src/test/resources/connected_pipeline_incorrect_child_pipeline.yml";
@@ -25,7 +25,9 @@ import static com.amazon.dataprepper.TestDataProvider.CYCLE_MULTIPLE_PIPELINE_CO
 import static com.amazon.dataprepper.TestDataProvider.INCORRECT_SOURCE_MULTIPLE_PIPELINE_CONFIG_FILE;
 import static com.amazon.dataprepper.TestDataProvider.MISSING_NAME_MULTIPLE_PIPELINE_CONFIG_FILE;
 import static com.amazon.dataprepper.TestDataProvider.MISSING_PIPELINE_MULTIPLE_PIPELINE_CONFIG_FILE;
+import static com.amazon.dataprepper.TestDataProvider.VALID_MULTIPLE_PIPELINE_CHAINING_DISABLED_CONFIG_FILE;
 import static com.amazon.dataprepper.TestDataProvider.VALID_MULTIPLE_PIPELINE_CONFIG_FILE;
+import static com.amazon.dataprepper.TestDataProvider.VALID_MULTIPLE_PIPELINE_DOWNSTREAM_BUFFER_CONFIG_FILE;
 import static com.amazon.dataprepper.TestDataProvider.VALID_MULTIPLE_PIPELINE_NAMES;
 import static com.amazon.dataprepper.TestDataProvider.VALID_MULTIPLE_PREPPERS_CONFIG_FILE;
 import static com.amazon.dataprepper.TestDataProvider.VALID_MULTIPLE_SINKS_CONFIG_FILE;
@@ -50,6 +52,41 @@ class PipelineParserTests {
         assertThat(actualPipelineMap.keySet(), equalTo(VALID_MULTIPLE_PIPELINE_NAMES));
     }
 
+    @Test
+    void parseConfiguration_chains_pipelines_whose_only_sink_is_a_pipeline() {
+        final PipelineParser pipelineParser = new PipelineParser(VALID_MULTIPLE_PIPELINE_CONFIG_FILE, pluginFactory);
+        final Map<String, Pipeline> actualPipelineMap = pipelineParser.parseConfiguration();
+        assertThat(actualPipelineMap.get("test-pipeline-1").isChained(), equalTo(false));
+        assertThat(actualPipelineMap.get("test-pipeline-2").isChained(), equalTo(true));
+        assertThat(actualPipelineMap.get("test-pipeline-3").isChained(), equalTo(true));
+    }
+
+    @Test
+    void parseConfiguration_does_not_chain_pipelines_into_downstream_pipelines_with_configured_buffer() {
+        final PipelineParser pipelineParser = new PipelineParser(VALID_MULTIPLE_PIPELINE_DOWNSTREAM_BUFFER_CONFIG_FILE,
+                pluginFactory);
+        final Map<String, Pipeline> actualPipelineMap = pipelineParser.parseConfiguration();
+        assertThat(actualPipelineMap.get("test-pipeline-1").isChained(), equalTo(false));
+        assertThat(actualPipelineMap.get("test-pipeline-2").isChained(), equalTo(true));
+        assertThat(actualPipelineMap.get("test-pipeline-3").isChained(), equalTo(false));
+    }
+
+    @Test
+    void parseConfiguration_does_not_chain_pipelines_with_chaining_disabled_or_different_workers() {
+        final PipelineParser pipelineParser = new PipelineParser(VALID_MULTIPLE_PIPELINE_CHAINING_DISABLED_CONFIG_FILE,
+                pluginFactory);
+        final Map<String, Pipeline> actualPipelineMap = pipelineParser.parseConfiguration();
+        assertThat(actualPipelineMap.keySet(), equalTo(VALID_MULTIPLE_PIPELINE_NAMES));
+        actualPipelineMap.values().forEach(pipeline -> assertThat(pipeline.isChained(), equalTo(false)));
+    }
+
+    @Test
+    void testMultipleSinksAreNotChained() {
+        final PipelineParser pipelineParser = new PipelineParser(VALID_MULTIPLE_SINKS_CONFIG_FILE, pluginFactory);
+        final Map<String, Pipeline> pipelineMap = pipelineParser.parseConfiguration();
+        pipelineMap.values().forEach(pipeline -> assertThat(pipeline.isChained(), equalTo(false)));
+    }
+
     @Test
     void parseConfiguration_with_invalid_root_pipeline_creates_empty_pipelinesMap() {
         final PipelineParser pipelineParser = new PipelineParser(CONNECTED_PIPELINE_ROOT_SOURCE_INCORRECT, pluginFactory);
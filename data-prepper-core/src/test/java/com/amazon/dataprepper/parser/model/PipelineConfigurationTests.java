@@ -11,6 +11,8 @@
 
 package com.amazon.dataprepper.parser.model;
 
+import com.amazon.dataprepper.model.concurrent.ExecutionMode;
+import com.amazon.dataprepper.model.concurrent.VirtualThreads;
 import com.amazon.dataprepper.model.configuration.PluginSetting;
 import com.amazon.dataprepper.plugins.buffer.blockingbuffer.BlockingBuffer;
 import org.junit.Test;
@@ -19,10 +21,20 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static com.amazon.dataprepper.TestDataProvider.DEFAULT_CHAINING;
+import static com.amazon.dataprepper.TestDataProvider.DEFAULT_MAX_INFLIGHT_BATCHES;
 import static com.amazon.dataprepper.TestDataProvider.DEFAULT_READ_BATCH_DELAY;
 import static com.amazon.dataprepper.TestDataProvider.DEFAULT_WORKERS;
+import static com.amazon.dataprepper.TestDataProvider.TEST_CHAINING;
 import static com.amazon.dataprepper.TestDataProvider.TEST_DELAY;
+import static com.amazon.dataprepper.TestDataProvider.TEST_BATCH_TARGET_LATENCY;
+import static com.amazon.dataprepper.TestDataProvider.TEST_EXECUTION_MODE;
+import static com.amazon.dataprepper.TestDataProvider.TEST_MAX_BATCH_SIZE;
+import static com.amazon.dataprepper.TestDataProvider.TEST_MAX_INFLIGHT_BATCHES;
+import static com.amazon.dataprepper.TestDataProvider.TEST_MAX_SKIPPED_READS;
 import static com.amazon.dataprepper.TestDataProvider.TEST_PIPELINE_NAME;
+import static com.amazon.dataprepper.TestDataProvider.TEST_SCHEDULER_MIN_WORKERS;
+import static com.amazon.dataprepper.TestDataProvider.TEST_SCHEDULER_WEIGHT;
 import static com.amazon.dataprepper.TestDataProvider.TEST_WORKERS;
 import static com.amazon.dataprepper.TestDataProvider.VALID_PLUGIN_SETTING_1;
 import static com.amazon.dataprepper.TestDataProvider.VALID_PLUGIN_SETTING_2;
@@ -35,7 +47,10 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeFalse;
 
 public class PipelineConfigurationTests {
 
@@ -45,7 +60,9 @@ public class PipelineConfigurationTests {
                 null,
                 validMultipleConfigurationOfSizeOne(),
                 validMultipleConfiguration(),
-                TEST_WORKERS, TEST_DELAY);
+                TEST_WORKERS, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
         final PluginSetting actualSourcePluginSetting = pipelineConfiguration.getSourcePluginSetting();
         final PluginSetting actualBufferPluginSetting = pipelineConfiguration.getBufferPluginSetting();
         final List<PluginSetting> actualPrepperPluginSettings = pipelineConfiguration.getPrepperPluginSettings();
@@ -61,6 +78,14 @@ public class PipelineConfigurationTests {
         comparePluginSettings(actualSinkPluginSettings.get(1), VALID_PLUGIN_SETTING_2);
         assertThat(pipelineConfiguration.getWorkers(), is(TEST_WORKERS));
         assertThat(pipelineConfiguration.getReadBatchDelay(), is(TEST_DELAY));
+        assertThat(pipelineConfiguration.getMaxInflightBatches(), is(TEST_MAX_INFLIGHT_BATCHES));
+        assertThat(pipelineConfiguration.getChaining(), is(TEST_CHAINING));
+        assertThat(pipelineConfiguration.getSchedulerWeight(), is(TEST_SCHEDULER_WEIGHT));
+        assertThat(pipelineConfiguration.getSchedulerMinWorkers(), is(TEST_SCHEDULER_MIN_WORKERS));
+        assertThat(pipelineConfiguration.getExecutionMode(), is(ExecutionMode.PLATFORM_THREADS));
+        assertThat(pipelineConfiguration.getBatchTargetLatency(), is(TEST_BATCH_TARGET_LATENCY));
+        assertThat(pipelineConfiguration.getMaxBatchSize(), is(TEST_MAX_BATCH_SIZE));
+        assertThat(pipelineConfiguration.getMaxSkippedReads(), is(TEST_MAX_SKIPPED_READS));
 
         pipelineConfiguration.updateCommonPipelineConfiguration(TEST_PIPELINE_NAME);
         assertThat(actualSourcePluginSetting.getPipelineName(), is(equalTo(TEST_PIPELINE_NAME)));
@@ -83,7 +108,7 @@ public class PipelineConfigurationTests {
                 null,
                 null,
                 validMultipleConfigurationOfSizeOne(),
-                null, null);
+                null, null, null, null, null, null, null, null, null, null);
         final PluginSetting actualSourcePluginSetting = pipelineConfiguration.getSourcePluginSetting();
         final PluginSetting actualBufferPluginSetting = pipelineConfiguration.getBufferPluginSetting();
         final List<PluginSetting> actualPrepperPluginSettings = pipelineConfiguration.getPrepperPluginSettings();
@@ -92,12 +117,31 @@ public class PipelineConfigurationTests {
         comparePluginSettings(actualSourcePluginSetting, VALID_PLUGIN_SETTING_1);
         assertThat(pipelineConfiguration.getBufferPluginSetting(), notNullValue());
         comparePluginSettings(actualBufferPluginSetting, BlockingBuffer.getDefaultPluginSettings());
+        assertThat(pipelineConfiguration.hasDefaultBuffer(), is(true));
         assertThat(actualPrepperPluginSettings, isA(Iterable.class));
         assertThat(actualPrepperPluginSettings.size(), is(0));
         assertThat(actualSinkPluginSettings.size(), is(1));
         comparePluginSettings(actualSinkPluginSettings.get(0), VALID_PLUGIN_SETTING_1);
         assertThat(pipelineConfiguration.getWorkers(), is(DEFAULT_WORKERS));
         assertThat(pipelineConfiguration.getReadBatchDelay(), is(DEFAULT_READ_BATCH_DELAY));
+        assertThat(pipelineConfiguration.getMaxInflightBatches(), is(DEFAULT_MAX_INFLIGHT_BATCHES));
+        assertThat(pipelineConfiguration.getChaining(), is(DEFAULT_CHAINING));
+        assertThat(pipelineConfiguration.getExecutionMode(), is(ExecutionMode.PLATFORM_THREADS));
+        assertThat(pipelineConfiguration.getBatchTargetLatency(), is(nullValue()));
+        assertThat(pipelineConfiguration.getMaxBatchSize(), is(512));
+        assertThat(pipelineConfiguration.getMaxSkippedReads(), is(4));
+    }
+
+    @Test
+    public void testVirtualThreadsExecutionModeIsRejectedWithoutVirtualThreads() {
+        assumeFalse(VirtualThreads.isSupported());
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> new PipelineConfiguration(
+                validSingleConfiguration(),
+                null,
+                null,
+                validMultipleConfigurationOfSizeOne(),
+                null, null, null, null, null, null, "virtual_threads", null, null, null));
+        assertThat(ex.getMessage(), is("Invalid configuration, execution_mode virtual_threads requires JDK 21 or later"));
     }
 
     @Test //not using expected to assert the message
@@ -108,7 +152,9 @@ public class PipelineConfigurationTests {
                     validSingleConfiguration(),
                     validMultipleConfiguration(),
                     validMultipleConfiguration(),
-                    TEST_WORKERS, TEST_DELAY);
+                    TEST_WORKERS, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                    TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                    TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
         } catch (IllegalArgumentException ex) {
             assertThat(ex.getMessage(), is("Invalid configuration, source is a required component"));
         }
@@ -121,7 +167,9 @@ public class PipelineConfigurationTests {
                 validSingleConfiguration(),
                 null,
                 validMultipleConfiguration(),
-                TEST_WORKERS, TEST_DELAY);
+                TEST_WORKERS, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
         assertThat(nullPreppersConfiguration.getPrepperPluginSettings(), isA(Iterable.class));
         assertThat(nullPreppersConfiguration.getPrepperPluginSettings().size(), is(0));
 
@@ -130,7 +178,9 @@ public class PipelineConfigurationTests {
                 validSingleConfiguration(),
                 new ArrayList<>(),
                 validMultipleConfiguration(),
-                TEST_WORKERS, TEST_DELAY);
+                TEST_WORKERS, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
         assertThat(emptyPreppersConfiguration.getPrepperPluginSettings(), isA(Iterable.class));
         assertThat(emptyPreppersConfiguration.getPrepperPluginSettings().size(), is(0));
     }
@@ -143,7 +193,9 @@ public class PipelineConfigurationTests {
                     validSingleConfiguration(),
                     validMultipleConfiguration(),
                     null,
-                    TEST_WORKERS, TEST_DELAY);
+                    TEST_WORKERS, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                    TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                    TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
         } catch (IllegalArgumentException ex) {
             assertThat(ex.getMessage(), is("Invalid configuration, at least one sink is required"));
         }
@@ -154,7 +206,9 @@ public class PipelineConfigurationTests {
                     validSingleConfiguration(),
                     validMultipleConfiguration(),
                     new ArrayList<>(),
-                    TEST_WORKERS, TEST_DELAY);
+                    TEST_WORKERS, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                    TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                    TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
         } catch (IllegalArgumentException ex) {
             assertThat(ex.getMessage(), is("Invalid configuration, at least one sink is required"));
         }
@@ -168,7 +222,9 @@ public class PipelineConfigurationTests {
                     validSingleConfiguration(),
                     validMultipleConfiguration(),
                     validMultipleConfiguration(),
-                    0, TEST_DELAY);
+                    0, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                    TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                    TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
         } catch (IllegalArgumentException ex) {
             assertThat(ex.getMessage(), is("Invalid configuration, workers cannot be 0"));
         }
@@ -182,12 +238,104 @@ public class PipelineConfigurationTests {
                     validSingleConfiguration(),
                     validMultipleConfiguration(),
                     validMultipleConfiguration(),
-                    TEST_WORKERS, 0);
+                    TEST_WORKERS, 0, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                    TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                    TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
         } catch (IllegalArgumentException ex) {
             assertThat(ex.getMessage(), is("Invalid configuration, delay cannot be 0"));
         }
     }
 
+    @Test //not using expected to assert the message
+    public void testInvalidMaxInflightBatchesConfiguration() {
+        try {
+            new PipelineConfiguration(
+                    validSingleConfiguration(),
+                    validSingleConfiguration(),
+                    validMultipleConfiguration(),
+                    validMultipleConfiguration(),
+                    TEST_WORKERS, TEST_DELAY, 0, TEST_CHAINING,
+                    TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                    TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is("Invalid configuration, max_inflight_batches cannot be 0"));
+        }
+    }
+
+    @Test //not using expected to assert the message
+    public void testInvalidSchedulerConfiguration() {
+        try {
+            new PipelineConfiguration(
+                    validSingleConfiguration(),
+                    validSingleConfiguration(),
+                    validMultipleConfiguration(),
+                    validMultipleConfiguration(),
+                    TEST_WORKERS, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                    0, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                    TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is("Invalid configuration, scheduler_weight cannot be 0"));
+        }
+
+        try {
+            new PipelineConfiguration(
+                    validSingleConfiguration(),
+                    validSingleConfiguration(),
+                    validMultipleConfiguration(),
+                    validMultipleConfiguration(),
+                    TEST_WORKERS, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                    TEST_SCHEDULER_WEIGHT, -1, TEST_EXECUTION_MODE,
+                    TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is("Invalid configuration, scheduler_min_workers cannot be -1"));
+        }
+    }
+
+    @Test //not using expected to assert the message
+    public void testInvalidAdaptiveBatchingConfiguration() {
+        try {
+            new PipelineConfiguration(
+                    validSingleConfiguration(),
+                    validSingleConfiguration(),
+                    validMultipleConfiguration(),
+                    validMultipleConfiguration(),
+                    TEST_WORKERS, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                    TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                    0, TEST_MAX_BATCH_SIZE, TEST_MAX_SKIPPED_READS);
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is("Invalid configuration, batch_target_latency cannot be 0"));
+        }
+
+        try {
+            new PipelineConfiguration(
+                    validSingleConfiguration(),
+                    validSingleConfiguration(),
+                    validMultipleConfiguration(),
+                    validMultipleConfiguration(),
+                    TEST_WORKERS, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                    TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                    TEST_BATCH_TARGET_LATENCY, 0, TEST_MAX_SKIPPED_READS);
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is("Invalid configuration, max_batch_size cannot be 0"));
+        }
+    }
+
+    @Test //not using expected to assert the message
+    public void testInvalidMaxSkippedReadsConfiguration() {
+        try {
+            new PipelineConfiguration(
+                    validSingleConfiguration(),
+                    validSingleConfiguration(),
+                    validMultipleConfiguration(),
+                    validMultipleConfiguration(),
+                    TEST_WORKERS, TEST_DELAY, TEST_MAX_INFLIGHT_BATCHES, TEST_CHAINING,
+                    TEST_SCHEDULER_WEIGHT, TEST_SCHEDULER_MIN_WORKERS, TEST_EXECUTION_MODE,
+                    TEST_BATCH_TARGET_LATENCY, TEST_MAX_BATCH_SIZE, 0);
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is("Invalid configuration, max_skipped_reads cannot be 0"));
+        }
+    }
+
     @Test
     public void testPipelineConfigurationWithoutPluginSettingAttributes() throws Exception {
         final Map<String, PipelineConfiguration> pipelineConfigurationMap = readConfigFile(
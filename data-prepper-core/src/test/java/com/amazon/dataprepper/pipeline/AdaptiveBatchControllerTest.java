@@ -0,0 +1,107 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+public class AdaptiveBatchControllerTest {
+    private static final String TEST_PIPELINE_NAME = "test-pipeline";
+    private static final int TEST_TARGET_LATENCY = 200;
+    private static final int TEST_MAX_BATCH_SIZE = 64;
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTargetLatency() {
+        new AdaptiveBatchController(TEST_PIPELINE_NAME, 0, TEST_MAX_BATCH_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxBatchSize() {
+        new AdaptiveBatchController(TEST_PIPELINE_NAME, TEST_TARGET_LATENCY, 0);
+    }
+
+    @Test
+    public void testInitialReadsUseMaxBatchSizeAndTargetLatency() {
+        final AdaptiveBatchController controller = newController();
+
+        assertThat(controller.getBatchSize(), is(TEST_MAX_BATCH_SIZE));
+        assertThat(controller.getReadTimeoutInMillis(), is(TEST_TARGET_LATENCY));
+        assertThat(controller.getTargetLatencyInMillis(), is(TEST_TARGET_LATENCY));
+        assertThat(controller.getMaxBatchSize(), is(TEST_MAX_BATCH_SIZE));
+    }
+
+    @Test
+    public void testBatchSizeShrinksAtMostByHalfToLowArrivalRate() {
+        final AdaptiveBatchController controller = newController();
+
+        // 1 record per 100ms, i.e. 2 records within the target latency
+        controller.recordRead(1, TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(controller.getBatchSize(), is(TEST_MAX_BATCH_SIZE / 2));
+
+        for (int i = 0; i < 10; i++) {
+            controller.recordRead(1, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertThat(controller.getBatchSize(), is(2));
+    }
+
+    @Test
+    public void testBatchSizeGrowsAtMostByDoubleUpToMaxBatchSize() {
+        final AdaptiveBatchController controller = newController();
+        for (int i = 0; i < 10; i++) {
+            controller.recordRead(1, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        final int shrunkBatchSize = controller.getBatchSize();
+
+        controller.recordRead(TEST_MAX_BATCH_SIZE, TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(controller.getBatchSize(), is(shrunkBatchSize * 2));
+
+        for (int i = 0; i < 10; i++) {
+            controller.recordRead(TEST_MAX_BATCH_SIZE, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertThat(controller.getBatchSize(), is(TEST_MAX_BATCH_SIZE));
+    }
+
+    @Test
+    public void testDownstreamTimeShortensReadTimeout() {
+        final AdaptiveBatchController controller = newController();
+
+        controller.recordDownstreamTime(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(controller.getReadTimeoutInMillis(), is(lessThan(TEST_TARGET_LATENCY)));
+        assertThat(controller.getReadTimeoutInMillis(), is(greaterThan(0)));
+    }
+
+    @Test
+    public void testDownstreamTimeAboveTargetLatencyShrinksBatchSize() {
+        final AdaptiveBatchController controller = newController();
+        for (int i = 0; i < 20; i++) {
+            controller.recordDownstreamTime(TimeUnit.MILLISECONDS.toNanos(TEST_TARGET_LATENCY * 2));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            controller.recordRead(TEST_MAX_BATCH_SIZE, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        assertThat(controller.getBatchSize(), is(1));
+        assertThat(controller.getReadTimeoutInMillis(), is(1));
+    }
+
+    private static AdaptiveBatchController newController() {
+        return new AdaptiveBatchController(TEST_PIPELINE_NAME, TEST_TARGET_LATENCY, TEST_MAX_BATCH_SIZE);
+    }
+}
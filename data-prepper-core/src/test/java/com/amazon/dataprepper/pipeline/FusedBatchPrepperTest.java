@@ -0,0 +1,128 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.event.EventBatch;
+import com.amazon.dataprepper.model.event.EventColumn;
+import com.amazon.dataprepper.model.event.LazyJacksonEvent;
+import com.amazon.dataprepper.model.prepper.BatchPrepper;
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FusedBatchPrepperTest {
+
+    @Test
+    public void testExecuteRunsAllPreppersOnSingleBatch() {
+        final DroppingPrepper droppingPrepper = new DroppingPrepper();
+        final ProjectingPrepper projectingPrepper = new ProjectingPrepper();
+        final FusedBatchPrepper fusedBatchPrepper = new FusedBatchPrepper(Arrays.asList(droppingPrepper, projectingPrepper));
+
+        final Collection<Record<Event>> output = fusedBatchPrepper.execute(Arrays.asList(
+                record("{\"message\":\"first\",\"status\":200}"),
+                record("{\"message\":\"drop\",\"status\":500}"),
+                record("{\"message\":\"second\",\"status\":404}")));
+
+        assertThat(output.stream().map(record -> record.getData().toJsonString()).collect(Collectors.toList()),
+                is(equalTo(Arrays.asList("{\"message\":\"first\"}", "{\"message\":\"second\"}"))));
+        assertThat(droppingPrepper.recordsIn, is(3));
+        assertThat(droppingPrepper.recordsOut, is(2));
+        assertThat(projectingPrepper.recordsIn, is(2));
+        assertThat(projectingPrepper.recordsOut, is(2));
+    }
+
+    @Test
+    public void testShutdownIsDelegated() {
+        final BatchPrepper firstBatchPrepper = mock(BatchPrepper.class);
+        final BatchPrepper secondBatchPrepper = mock(BatchPrepper.class);
+        when(firstBatchPrepper.isReadyForShutdown()).thenReturn(true);
+        when(secondBatchPrepper.isReadyForShutdown()).thenReturn(false);
+        final FusedBatchPrepper fusedBatchPrepper = new FusedBatchPrepper(Arrays.asList(firstBatchPrepper, secondBatchPrepper));
+
+        fusedBatchPrepper.prepareForShutdown();
+        assertThat(fusedBatchPrepper.isReadyForShutdown(), is(false));
+        fusedBatchPrepper.shutdown();
+
+        verify(firstBatchPrepper).prepareForShutdown();
+        verify(secondBatchPrepper).prepareForShutdown();
+        verify(firstBatchPrepper).shutdown();
+        verify(secondBatchPrepper).shutdown();
+    }
+
+    private static Record<Event> record(final String json) {
+        return new Record<>(LazyJacksonEvent.builder()
+                .withEventType("LOG")
+                .withJsonBytes(json.getBytes(StandardCharsets.UTF_8))
+                .build());
+    }
+
+    private abstract static class CountingPrepper implements BatchPrepper {
+        int recordsIn;
+        int recordsOut;
+
+        @Override
+        public Collection<Record<Event>> execute(final Collection<Record<Event>> records) {
+            throw new UnsupportedOperationException("Fused preppers are called per batch");
+        }
+
+        @Override
+        public void recordCounts(final int recordsIn, final int recordsOut) {
+            this.recordsIn = recordsIn;
+            this.recordsOut = recordsOut;
+        }
+
+        @Override
+        public void prepareForShutdown() {
+        }
+
+        @Override
+        public boolean isReadyForShutdown() {
+            return true;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    private static class DroppingPrepper extends CountingPrepper {
+        @Override
+        public void processBatch(final EventBatch batch) {
+            final int dropCode = batch.getDictionary().getCode("drop");
+            final EventColumn messageColumn = batch.getColumn("message");
+            for (int row = 0; row < batch.size(); row++) {
+                if (messageColumn.getStringCode(row) == dropCode) {
+                    batch.deselect(row);
+                }
+            }
+        }
+    }
+
+    private static class ProjectingPrepper extends CountingPrepper {
+        @Override
+        public void processBatch(final EventBatch batch) {
+            batch.removeColumn("status");
+        }
+    }
+}
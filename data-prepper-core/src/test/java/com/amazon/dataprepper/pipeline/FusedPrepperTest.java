@@ -0,0 +1,162 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.prepper.BatchPrepper;
+import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.prepper.RecordPrepper;
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class FusedPrepperTest {
+
+    @Mock
+    private Prepper prepper;
+
+    @Test
+    public void testFuseConsecutiveRecordPreppers() {
+        final RecordPrepper firstRecordPrepper = mock(RecordPrepper.class);
+        final RecordPrepper secondRecordPrepper = mock(RecordPrepper.class);
+        final RecordPrepper thirdRecordPrepper = mock(RecordPrepper.class);
+
+        final List<Prepper> fusedPreppers = FusedPrepper.fuse(
+                Arrays.asList(firstRecordPrepper, secondRecordPrepper, prepper, thirdRecordPrepper));
+
+        assertThat(fusedPreppers.size(), is(3));
+        assertThat(fusedPreppers.get(0), instanceOf(FusedPrepper.class));
+        assertThat(((FusedPrepper) fusedPreppers.get(0)).getPreppers(),
+                is(equalTo(Arrays.asList(firstRecordPrepper, secondRecordPrepper))));
+        assertThat(fusedPreppers.get(1), is(sameInstance(prepper)));
+        assertThat(fusedPreppers.get(2), is(sameInstance(thirdRecordPrepper)));
+    }
+
+    @Test
+    public void testFuseConsecutiveBatchPreppers() {
+        final BatchPrepper firstBatchPrepper = mock(BatchPrepper.class);
+        final BatchPrepper secondBatchPrepper = mock(BatchPrepper.class);
+        final BatchPrepper thirdBatchPrepper = mock(BatchPrepper.class);
+        final RecordPrepper firstRecordPrepper = mock(RecordPrepper.class);
+        final RecordPrepper secondRecordPrepper = mock(RecordPrepper.class);
+
+        final List<Prepper> fusedPreppers = FusedPrepper.fuse(Arrays.asList(firstBatchPrepper, secondBatchPrepper,
+                firstRecordPrepper, secondRecordPrepper, thirdBatchPrepper, prepper));
+
+        assertThat(fusedPreppers.size(), is(4));
+        assertThat(fusedPreppers.get(0), instanceOf(FusedBatchPrepper.class));
+        assertThat(((FusedBatchPrepper) fusedPreppers.get(0)).getPreppers(),
+                is(equalTo(Arrays.asList(firstBatchPrepper, secondBatchPrepper))));
+        assertThat(fusedPreppers.get(1), instanceOf(FusedPrepper.class));
+        assertThat(fusedPreppers.get(2), is(sameInstance(thirdBatchPrepper)));
+        assertThat(fusedPreppers.get(3), is(sameInstance(prepper)));
+    }
+
+    @Test
+    public void testExecuteRunsEachRecordThroughAllPreppers() {
+        final DuplicatingPrepper duplicatingPrepper = new DuplicatingPrepper();
+        final DroppingPrepper droppingPrepper = new DroppingPrepper();
+        final FusedPrepper fusedPrepper = new FusedPrepper(Arrays.asList(duplicatingPrepper, droppingPrepper));
+
+        final Collection<Record<?>> output = fusedPrepper.execute(Arrays.asList(
+                new Record<>("first"), new Record<>("drop"), new Record<>("second")));
+
+        assertThat(output.stream().map(Record::getData).collect(Collectors.toList()),
+                is(equalTo(Arrays.asList("first", "first", "second", "second"))));
+        assertThat(duplicatingPrepper.recordsIn, is(3));
+        assertThat(duplicatingPrepper.recordsOut, is(6));
+        assertThat(droppingPrepper.recordsIn, is(6));
+        assertThat(droppingPrepper.recordsOut, is(4));
+    }
+
+    @Test
+    public void testShutdownIsDelegated() {
+        final RecordPrepper firstRecordPrepper = mock(RecordPrepper.class);
+        final RecordPrepper secondRecordPrepper = mock(RecordPrepper.class);
+        when(firstRecordPrepper.isReadyForShutdown()).thenReturn(true);
+        when(secondRecordPrepper.isReadyForShutdown()).thenReturn(false);
+        final FusedPrepper fusedPrepper = new FusedPrepper(Arrays.asList(firstRecordPrepper, secondRecordPrepper));
+
+        fusedPrepper.prepareForShutdown();
+        assertThat(fusedPrepper.isReadyForShutdown(), is(false));
+        fusedPrepper.shutdown();
+
+        verify(firstRecordPrepper).prepareForShutdown();
+        verify(secondRecordPrepper).prepareForShutdown();
+        verify(firstRecordPrepper).shutdown();
+        verify(secondRecordPrepper).shutdown();
+    }
+
+    private abstract static class CountingPrepper implements RecordPrepper<Record<String>, Record<String>> {
+        int recordsIn;
+        int recordsOut;
+
+        @Override
+        public Collection<Record<String>> execute(final Collection<Record<String>> records) {
+            throw new UnsupportedOperationException("Fused preppers are called per record");
+        }
+
+        @Override
+        public void recordCounts(final int recordsIn, final int recordsOut) {
+            this.recordsIn = recordsIn;
+            this.recordsOut = recordsOut;
+        }
+
+        @Override
+        public void prepareForShutdown() {
+        }
+
+        @Override
+        public boolean isReadyForShutdown() {
+            return true;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    private static class DuplicatingPrepper extends CountingPrepper {
+        @Override
+        public void processRecord(final Record<String> record, final Consumer<Record<String>> output) {
+            output.accept(record);
+            output.accept(record);
+        }
+    }
+
+    private static class DroppingPrepper extends CountingPrepper {
+        @Override
+        public void processRecord(final Record<String> record, final Consumer<Record<String>> output) {
+            if (!"drop".equals(record.getData())) {
+                output.accept(record);
+            }
+        }
+    }
+}
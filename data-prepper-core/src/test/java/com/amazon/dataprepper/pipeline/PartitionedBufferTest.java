@@ -0,0 +1,202 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.RecordPartitioner;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PartitionedBufferTest {
+    private static final int TEST_WRITE_TIMEOUT = 10;
+    private static final int TEST_CAPACITY = 10;
+
+    @Mock
+    private Buffer<Record<String>> firstPartition;
+
+    @Mock
+    private Buffer<Record<String>> secondPartition;
+
+    private PartitionedBuffer<Record<String>> partitionedBuffer;
+
+    @Before
+    public void setup() {
+        partitionedBuffer = new PartitionedBuffer<>(Arrays.asList(firstPartition, secondPartition),
+                new FirstCharacterPartitioner());
+    }
+
+    @Test
+    public void testWriteRoutesRecordToItsPartition() throws Exception {
+        final Record<String> record = new Record<>("b-record");
+
+        partitionedBuffer.write(record, TEST_WRITE_TIMEOUT);
+
+        verify(secondPartition).write(record, TEST_WRITE_TIMEOUT);
+        verify(firstPartition, never()).write(record, TEST_WRITE_TIMEOUT);
+    }
+
+    @Test
+    public void testWriteAllGroupsRecordsByPartition() throws Exception {
+        final Record<String> firstRecord = new Record<>("a-record");
+        final Record<String> secondRecord = new Record<>("b-record");
+        final Record<String> thirdRecord = new Record<>("a-other-record");
+
+        stubCapacity(TEST_CAPACITY, TEST_CAPACITY);
+
+        partitionedBuffer.writeAll(Arrays.asList(firstRecord, secondRecord, thirdRecord), TEST_WRITE_TIMEOUT);
+
+        verify(firstPartition).writeAll(eq(Arrays.asList(firstRecord, thirdRecord)), intThat(timeout -> timeout <= TEST_WRITE_TIMEOUT));
+        verify(secondPartition).writeAll(eq(Collections.singletonList(secondRecord)), intThat(timeout -> timeout <= TEST_WRITE_TIMEOUT));
+    }
+
+    @Test
+    public void testWriteAllSkipsEmptyPartitions() throws Exception {
+        final Record<String> record = new Record<>("a-record");
+        stubCapacity(TEST_CAPACITY, TEST_CAPACITY);
+
+        partitionedBuffer.writeAll(Collections.singletonList(record), TEST_WRITE_TIMEOUT);
+
+        verify(firstPartition).writeAll(eq(Collections.singletonList(record)), intThat(timeout -> timeout <= TEST_WRITE_TIMEOUT));
+        verify(secondPartition, never()).writeAll(anyList(), anyInt());
+    }
+
+    @Test
+    public void testWriteAllChecksCapacityOfAllPartitionsBeforeWriting() throws Exception {
+        stubCapacity(TEST_CAPACITY, 1);
+
+        assertThrows(SizeOverflowException.class, () -> partitionedBuffer.writeAll(
+                Arrays.asList(new Record<>("a-record"), new Record<>("b-record"), new Record<>("b-other-record")),
+                TEST_WRITE_TIMEOUT));
+
+        verify(firstPartition, never()).writeAll(anyList(), anyInt());
+        verify(secondPartition, never()).writeAll(anyList(), anyInt());
+    }
+
+    @Test
+    public void testWriteAllSharesTimeoutAcrossPartitions() throws Exception {
+        stubCapacity(TEST_CAPACITY, TEST_CAPACITY);
+        doAnswer(invocation -> {
+            Thread.sleep(TEST_WRITE_TIMEOUT * 2);
+            return null;
+        }).when(firstPartition).writeAll(anyList(), anyInt());
+        final Record<String> secondRecord = new Record<>("b-record");
+
+        partitionedBuffer.writeAll(Arrays.asList(new Record<>("a-record"), secondRecord), TEST_WRITE_TIMEOUT);
+
+        verify(secondPartition).writeAll(Collections.singletonList(secondRecord), 0);
+    }
+
+    @Test
+    public void testIsEmptyWhenAllPartitionsAreEmpty() {
+        when(firstPartition.isEmpty()).thenReturn(true);
+        when(secondPartition.isEmpty()).thenReturn(false);
+        assertThat(partitionedBuffer.isEmpty(), is(false));
+
+        when(secondPartition.isEmpty()).thenReturn(true);
+        assertThat(partitionedBuffer.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testShutdownShutsDownAllPartitions() {
+        partitionedBuffer.shutdown();
+
+        verify(firstPartition).shutdown();
+        verify(secondPartition).shutdown();
+    }
+
+    @Test
+    public void testCapacityIsCapacityOfSmallestPartition() {
+        when(firstPartition.getCapacity()).thenReturn(20);
+        when(secondPartition.getCapacity()).thenReturn(10);
+
+        assertThat(partitionedBuffer.getCapacity(), is(10));
+    }
+
+    @Test
+    public void testGetPartition() {
+        assertThat(partitionedBuffer.getNumberOfPartitions(), is(2));
+        assertThat(partitionedBuffer.getPartition(1), is(sameInstance(secondPartition)));
+    }
+
+    @Test
+    public void testReadAndCheckpointNonEmptyPartition() {
+        final Collection<Record<String>> records = Collections.singletonList(new Record<>("b-record"));
+        final CheckpointState partitionCheckpointState = new CheckpointState(1);
+        when(firstPartition.isEmpty()).thenReturn(true);
+        when(secondPartition.read(0)).thenReturn(new AbstractMap.SimpleEntry<>(records, partitionCheckpointState));
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = partitionedBuffer.read(TEST_WRITE_TIMEOUT);
+        assertThat(readResult.getKey(), is(sameInstance(records)));
+        assertThat(readResult.getValue().getNumRecordsToBeChecked(), is(1));
+
+        partitionedBuffer.checkpoint(readResult.getValue());
+        verify(secondPartition).checkpoint(partitionCheckpointState);
+        verify(firstPartition, never()).checkpoint(partitionCheckpointState);
+    }
+
+    @Test
+    public void testReadWaitsOnNextPartitionWhenAllPartitionsAreEmpty() {
+        final CheckpointState partitionCheckpointState = new CheckpointState(0);
+        when(firstPartition.isEmpty()).thenReturn(true);
+        when(secondPartition.isEmpty()).thenReturn(true);
+        when(firstPartition.read(TEST_WRITE_TIMEOUT)).thenReturn(
+                new AbstractMap.SimpleEntry<>(Collections.emptyList(), partitionCheckpointState));
+
+        assertThat(partitionedBuffer.read(TEST_WRITE_TIMEOUT).getKey().isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCheckpointRequiresStateReadFromPartitionedBuffer() {
+        partitionedBuffer.checkpoint(new CheckpointState(0));
+    }
+
+    private void stubCapacity(final int firstCapacity, final int secondCapacity) {
+        when(firstPartition.getCapacity()).thenReturn(firstCapacity);
+        when(secondPartition.getCapacity()).thenReturn(secondCapacity);
+    }
+
+    private static class FirstCharacterPartitioner implements RecordPartitioner<Record<String>> {
+        @Override
+        public Map<Integer, Record<String>> partition(final Record<String> record, final int numberOfPartitions) {
+            final Map<Integer, Record<String>> partitionedRecords = new HashMap<>();
+            partitionedRecords.put((record.getData().charAt(0) - 'a') % numberOfPartitions, record);
+            return partitionedRecords;
+        }
+    }
+}
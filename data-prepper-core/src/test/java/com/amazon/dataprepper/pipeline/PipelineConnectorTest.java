@@ -11,31 +11,49 @@
 
 package com.amazon.dataprepper.pipeline;
 
+import com.amazon.dataprepper.model.CheckpointState;
 import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
 import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.plugins.buffer.blockingbuffer.BlockingBuffer;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PipelineConnectorTest {
     private static final String RECORD_DATA = "RECORD_DATA";
     private static final Record<String> RECORD = new Record<>(RECORD_DATA);
     private static final String SINK_PIPELINE_NAME = "SINK_PIPELINE_NAME";
+    private static final int TEST_BUFFER_CAPACITY = 8;
 
     @Mock
     private Buffer<Record<String>> buffer;
@@ -66,22 +84,100 @@ public class PipelineConnectorTest {
 
     @Test
     public void testOutputBufferTimesOutThenSucceeds() throws Exception {
-        doThrow(new TimeoutException()).doNothing().when(buffer).write(any(), anyInt());
+        when(buffer.getCapacity()).thenReturn(TEST_BUFFER_CAPACITY);
+        doThrow(new TimeoutException()).doNothing().when(buffer).writeAll(any(), anyInt());
 
         sut.start(buffer);
 
         sut.output(recordList);
 
-        verify(buffer, times(2)).write(eq(RECORD), anyInt());
+        verify(buffer, times(2)).writeAll(eq(recordList), anyInt());
     }
 
     @Test
     public void testOutputSuccess() throws Exception {
+        when(buffer.getCapacity()).thenReturn(TEST_BUFFER_CAPACITY);
         sut.start(buffer);
 
         sut.output(recordList);
 
-        verify(buffer).write(eq(RECORD), anyInt());
+        verify(buffer).writeAll(eq(recordList), anyInt());
+    }
+
+    @Test
+    public void testOutputSplitsRecordsIntoChunksOfQuarterOfBufferCapacity() throws Exception {
+        when(buffer.getCapacity()).thenReturn(TEST_BUFFER_CAPACITY);
+        final List<Record<String>> records = Arrays.asList(RECORD, RECORD, RECORD);
+        sut.start(buffer);
+
+        sut.output(records);
+
+        verify(buffer).writeAll(eq(Arrays.asList(RECORD, RECORD)), anyInt());
+        verify(buffer).writeAll(eq(Collections.singletonList(RECORD)), anyInt());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testOutputBufferOverflowFails() throws Exception {
+        when(buffer.getCapacity()).thenReturn(TEST_BUFFER_CAPACITY);
+        doThrow(new SizeOverflowException("overflow")).when(buffer).writeAll(any(), anyInt());
+        sut.start(buffer);
+
+        sut.output(recordList);
+    }
+
+    @Test
+    public void testOutputSplitsChunkWhichOverflowsBufferInHalves() throws Exception {
+        when(buffer.getCapacity()).thenReturn(TEST_BUFFER_CAPACITY);
+        final List<Record<String>> records = Arrays.asList(RECORD, RECORD);
+        doThrow(new SizeOverflowException("overflow")).when(buffer).writeAll(eq(records), anyInt());
+        sut.start(buffer);
+
+        sut.output(records);
+
+        verify(buffer, times(2)).writeAll(eq(Collections.singletonList(RECORD)), anyInt());
+    }
+
+    @Test
+    public void testOutputToBufferBoundedInBytesWritesAllRecords() throws Exception {
+        final BlockingBuffer<Record<String>> boundedBuffer = new BlockingBuffer<>(TEST_BUFFER_CAPACITY,
+                TEST_BUFFER_CAPACITY, 10, Long.MAX_VALUE, record -> record.getData().length(), SINK_PIPELINE_NAME);
+        final List<Record<String>> records = Arrays.asList(
+                new Record<>("aaaaaa"), new Record<>("bbbbbb"), new Record<>("cccccc"));
+        sut.start(boundedBuffer);
+
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<List<String>> readData = executorService.submit(() -> {
+                final List<String> data = new ArrayList<>();
+                while (data.size() < records.size()) {
+                    final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = boundedBuffer.read(10);
+                    readResult.getKey().forEach(record -> data.add(record.getData()));
+                    boundedBuffer.checkpoint(readResult.getValue());
+                }
+                return data;
+            });
+
+            sut.output(records);
+
+            assertThat(readData.get(5, TimeUnit.SECONDS), is(equalTo(Arrays.asList("aaaaaa", "bbbbbb", "cccccc"))));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOutputRethrowsRuntimeExceptionOfBuffer() throws Exception {
+        final IllegalStateException bufferException = new IllegalStateException("buffer failed");
+        when(buffer.getCapacity()).thenReturn(TEST_BUFFER_CAPACITY);
+        doThrow(bufferException).when(buffer).writeAll(any(), anyInt());
+        sut.start(buffer);
+
+        try {
+            sut.output(recordList);
+            fail("Expected the exception of the buffer");
+        } catch (final IllegalStateException ex) {
+            assertThat(ex, is(sameInstance(bufferException)));
+        }
     }
 
     @Test
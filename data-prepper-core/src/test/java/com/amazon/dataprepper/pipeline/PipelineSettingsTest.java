@@ -0,0 +1,69 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.concurrent.ExecutionMode;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class PipelineSettingsTest {
+    private static final int TEST_PREPPER_THREADS = 2;
+    private static final int TEST_READ_BATCH_TIMEOUT = 3000;
+
+    @Test
+    public void testDefaults() {
+        final PipelineSettings settings = PipelineSettings.builder(TEST_PREPPER_THREADS, TEST_READ_BATCH_TIMEOUT).build();
+
+        assertThat(settings.getPrepperThreads(), is(equalTo(TEST_PREPPER_THREADS)));
+        assertThat(settings.getReadBatchTimeoutInMillis(), is(equalTo(TEST_READ_BATCH_TIMEOUT)));
+        assertThat(settings.getMaxInflightBatches(), is(equalTo(1)));
+        assertThat(settings.getSinkIsolationSettings(), is(nullValue()));
+        assertThat(settings.getScheduler(), is(nullValue()));
+        assertThat(settings.getSchedulerWeight(), is(equalTo(1)));
+        assertThat(settings.getSchedulerMinWorkers(), is(equalTo(0)));
+        assertThat(settings.getExecutionMode(), is(equalTo(ExecutionMode.PLATFORM_THREADS)));
+        assertThat(settings.getAdaptiveBatchController(), is(nullValue()));
+        assertThat(settings.getSnapshotStore(), is(nullValue()));
+    }
+
+    @Test
+    public void testConfiguredValues() {
+        final List<SinkIsolationSettings> sinkIsolationSettings = Collections.singletonList(
+                SinkIsolationSettings.defaultSettings("test-sink", 4));
+        final PipelineSettings settings = PipelineSettings.builder(TEST_PREPPER_THREADS, TEST_READ_BATCH_TIMEOUT)
+                .withMaxInflightBatches(3)
+                .withSinkIsolationSettings(sinkIsolationSettings)
+                .withScheduler(null, 5, 1)
+                .withExecutionMode(ExecutionMode.VIRTUAL_THREADS)
+                .build();
+
+        assertThat(settings.getMaxInflightBatches(), is(equalTo(3)));
+        assertThat(settings.getSinkIsolationSettings(), is(equalTo(sinkIsolationSettings)));
+        assertThat(settings.getSchedulerWeight(), is(equalTo(5)));
+        assertThat(settings.getSchedulerMinWorkers(), is(equalTo(1)));
+        assertThat(settings.getExecutionMode(), is(equalTo(ExecutionMode.VIRTUAL_THREADS)));
+    }
+
+    @Test
+    public void testInvalidMaxInflightBatches() {
+        assertThrows(IllegalArgumentException.class, () ->
+                PipelineSettings.builder(TEST_PREPPER_THREADS, TEST_READ_BATCH_TIMEOUT).withMaxInflightBatches(0));
+    }
+}
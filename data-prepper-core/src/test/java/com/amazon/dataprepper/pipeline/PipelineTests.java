@@ -37,6 +37,7 @@ public class PipelineTests {
     private static final int TEST_READ_BATCH_TIMEOUT = 3000;
     private static final int TEST_PREPPER_THREADS = 1;
     private static final String TEST_PIPELINE_NAME = "test-pipeline";
+    private static final String TEST_DOWNSTREAM_PIPELINE_NAME = "test-downstream-pipeline";
 
     private Pipeline testPipeline;
 
@@ -171,4 +172,39 @@ public class PipelineTests {
         assertEquals(1, testPipeline.getSinks().size());
         assertEquals(testSink, testPipeline.getSinks().iterator().next());
     }
+
+    @Test
+    public void testChainedPipelinePublishesToDownstreamSinks() {
+        final TestSink testSink = new TestSink();
+        final PipelineConnector<Record<String>> pipelineConnector = new PipelineConnector<>(TEST_DOWNSTREAM_PIPELINE_NAME);
+        testPipeline = new Pipeline(TEST_PIPELINE_NAME, new TestSource(), new BlockingBuffer(TEST_PIPELINE_NAME),
+                Collections.emptyList(), Collections.singletonList(pipelineConnector),
+                TEST_PREPPER_THREADS, TEST_READ_BATCH_TIMEOUT);
+        final Pipeline downstreamPipeline = new Pipeline(TEST_DOWNSTREAM_PIPELINE_NAME, pipelineConnector,
+                new BlockingBuffer(TEST_DOWNSTREAM_PIPELINE_NAME), Collections.emptyList(),
+                Collections.singletonList(testSink), TEST_PREPPER_THREADS, TEST_READ_BATCH_TIMEOUT);
+
+        testPipeline.chainTo(downstreamPipeline);
+        assertThat("Downstream pipeline is expected to be chained", downstreamPipeline.isChained(), is(true));
+        assertThat("Upstream pipeline is not expected to be chained", testPipeline.isChained(), is(false));
+        downstreamPipeline.execute();
+        testPipeline.execute();
+        downstreamPipeline.shutdown();
+
+        assertThat("Upstream pipeline should be shutdown first", testPipeline.isStopRequested(), is(true));
+        assertThat("Records should bypass the downstream buffer", downstreamPipeline.getBuffer().isEmpty(), is(true));
+        assertEquals(TestSource.TEST_DATA, testSink.getCollectedRecords());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChainToPipelineWithDifferentWorkers() {
+        final Pipeline upstreamPipeline = new Pipeline(TEST_PIPELINE_NAME, new TestSource(),
+                new BlockingBuffer(TEST_PIPELINE_NAME), Collections.emptyList(),
+                Collections.singletonList(new TestSink()), TEST_PREPPER_THREADS, TEST_READ_BATCH_TIMEOUT);
+        final Pipeline downstreamPipeline = new Pipeline(TEST_DOWNSTREAM_PIPELINE_NAME, new TestSource(),
+                new BlockingBuffer(TEST_DOWNSTREAM_PIPELINE_NAME), Collections.emptyList(),
+                Collections.singletonList(new TestSink()), TEST_PREPPER_THREADS + 1, TEST_READ_BATCH_TIMEOUT);
+
+        upstreamPipeline.chainTo(downstreamPipeline);
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.RecordPrioritizer;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.plugins.buffer.blockingbuffer.BlockingBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class PrioritizedBufferTest {
+    private static final String TEST_PIPELINE_NAME = "test-pipeline";
+    private static final int TEST_BUFFER_SIZE = 10;
+    private static final int TEST_BATCH_SIZE = 2;
+    private static final int TEST_MAX_SKIPPED_READS = 2;
+    private static final int TEST_WRITE_TIMEOUT = 10;
+    private static final int TEST_READ_TIMEOUT = 10;
+    private static final int TEST_LONG_READ_TIMEOUT = 5_000;
+
+    private Buffer<Record<String>> highLane;
+    private Buffer<Record<String>> lowLane;
+    private PrioritizedBuffer<Record<String>> prioritizedBuffer;
+
+    @Before
+    public void setup() {
+        highLane = new BlockingBuffer<>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE, TEST_PIPELINE_NAME);
+        lowLane = new BlockingBuffer<>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE, TEST_PIPELINE_NAME);
+        prioritizedBuffer = new PrioritizedBuffer<>(Arrays.asList(highLane, lowLane), new FirstCharacterPrioritizer(),
+                TEST_BATCH_SIZE, TEST_MAX_SKIPPED_READS, TEST_PIPELINE_NAME);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLanesMustMatchPrioritizer() {
+        new PrioritizedBuffer<>(Collections.singletonList(highLane), new FirstCharacterPrioritizer(),
+                TEST_BATCH_SIZE, TEST_MAX_SKIPPED_READS, TEST_PIPELINE_NAME);
+    }
+
+    @Test
+    public void testWriteRoutesRecordsToTheirLane() throws Exception {
+        prioritizedBuffer.write(new Record<>("b-record"), TEST_WRITE_TIMEOUT);
+        prioritizedBuffer.writeAll(Arrays.asList(new Record<>("a-record"), new Record<>("b-other-record")),
+                TEST_WRITE_TIMEOUT);
+
+        assertThat(readData(highLane.read(TEST_READ_TIMEOUT)), is(equalTo(Collections.singletonList("a-record"))));
+        assertThat(readData(lowLane.read(TEST_READ_TIMEOUT)),
+                is(equalTo(Arrays.asList("b-record", "b-other-record"))));
+    }
+
+    @Test
+    public void testWriteAllRejectsRecordsExceedingALaneBeforeWritingAnyLane() {
+        final List<Record<String>> records = new ArrayList<>();
+        records.add(new Record<>("a-1"));
+        for (int i = 0; i <= TEST_BUFFER_SIZE; i++) {
+            records.add(new Record<>("b-" + i));
+        }
+
+        assertThrows(SizeOverflowException.class, () -> prioritizedBuffer.writeAll(records, TEST_WRITE_TIMEOUT));
+        assertThat(highLane.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testWriteAllRetriedAfterLaneTimeoutWritesHigherLanesAgain() throws Exception {
+        for (int i = 0; i < TEST_BUFFER_SIZE; i++) {
+            lowLane.write(new Record<>("b-" + i), TEST_WRITE_TIMEOUT);
+        }
+        final List<Record<String>> records = Arrays.asList(new Record<>("a-1"), new Record<>("b-new"));
+
+        assertThrows(TimeoutException.class, () -> prioritizedBuffer.writeAll(records, TEST_WRITE_TIMEOUT));
+        final Map.Entry<Collection<Record<String>>, CheckpointState> lowRecords =
+                lowLane.read(TEST_READ_TIMEOUT, TEST_BUFFER_SIZE);
+        lowLane.checkpoint(lowRecords.getValue());
+        prioritizedBuffer.writeAll(records, TEST_WRITE_TIMEOUT);
+
+        // Writes are at-least-once, the record of the high lane was written by both writes
+        assertThat(readData(highLane.read(TEST_READ_TIMEOUT)), is(equalTo(Arrays.asList("a-1", "a-1"))));
+        assertThat(readData(lowLane.read(TEST_READ_TIMEOUT)), is(equalTo(Collections.singletonList("b-new"))));
+    }
+
+    @Test
+    public void testReadPropagatesInterrupt() {
+        Thread.currentThread().interrupt();
+        try {
+            final RuntimeException ex = assertThrows(RuntimeException.class,
+                    () -> prioritizedBuffer.read(TEST_LONG_READ_TIMEOUT));
+            assertThat(ex.getCause(), is(instanceOf(InterruptedException.class)));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void testReadFillsBatchFromHighestLaneFirst() throws Exception {
+        prioritizedBuffer.writeAll(Arrays.asList(new Record<>("b-1"), new Record<>("a-1"), new Record<>("b-2")),
+                TEST_WRITE_TIMEOUT);
+
+        assertThat(readData(prioritizedBuffer.read(TEST_READ_TIMEOUT)), is(equalTo(Arrays.asList("a-1", "b-1"))));
+        assertThat(readData(prioritizedBuffer.read(TEST_READ_TIMEOUT)), is(equalTo(Collections.singletonList("b-2"))));
+    }
+
+    @Test
+    public void testSkippedLaneIsReadFirstAfterMaxSkippedReads() throws Exception {
+        prioritizedBuffer.write(new Record<>("b-1"), TEST_WRITE_TIMEOUT);
+        prioritizedBuffer.writeAll(Arrays.asList(new Record<>("a-1"), new Record<>("a-2"), new Record<>("a-3"),
+                new Record<>("a-4"), new Record<>("a-5"), new Record<>("a-6")), TEST_WRITE_TIMEOUT);
+
+        assertThat(readData(prioritizedBuffer.read(TEST_READ_TIMEOUT)), is(equalTo(Arrays.asList("a-1", "a-2"))));
+        assertThat(readData(prioritizedBuffer.read(TEST_READ_TIMEOUT)), is(equalTo(Arrays.asList("a-3", "a-4"))));
+        assertThat(readData(prioritizedBuffer.read(TEST_READ_TIMEOUT)), is(equalTo(Arrays.asList("b-1", "a-5"))));
+    }
+
+    @Test
+    public void testCheckpointReleasesRecordsOnTheirLanes() throws Exception {
+        prioritizedBuffer.writeAll(Arrays.asList(new Record<>("a-1"), new Record<>("b-1")), TEST_WRITE_TIMEOUT);
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult =
+                prioritizedBuffer.read(TEST_READ_TIMEOUT);
+        assertThat(readResult.getValue().getNumRecordsToBeChecked(), is(2));
+        assertThat(prioritizedBuffer.isEmpty(), is(false));
+
+        prioritizedBuffer.checkpoint(readResult.getValue());
+        assertThat(highLane.isEmpty(), is(true));
+        assertThat(lowLane.isEmpty(), is(true));
+        assertThat(prioritizedBuffer.isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCheckpointOfOtherBufferIsRejected() {
+        prioritizedBuffer.checkpoint(new CheckpointState(0));
+    }
+
+    @Test
+    public void testReadWaitsForWrittenRecords() throws Exception {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Map.Entry<Collection<Record<String>>, CheckpointState>> readResult =
+                    executorService.submit(() -> prioritizedBuffer.read(TEST_LONG_READ_TIMEOUT));
+            prioritizedBuffer.write(new Record<>("b-1"), TEST_WRITE_TIMEOUT);
+            prioritizedBuffer.write(new Record<>("a-1"), TEST_WRITE_TIMEOUT);
+
+            assertThat(readResult.get(TEST_LONG_READ_TIMEOUT, TimeUnit.MILLISECONDS).getKey().size(), is(2));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCapacityIsCapacityOfSmallestLane() {
+        assertThat(prioritizedBuffer.getCapacity(), is(TEST_BUFFER_SIZE));
+        assertThat(prioritizedBuffer.getNumberOfLanes(), is(2));
+    }
+
+    private static List<String> readData(final Map.Entry<Collection<Record<String>>, CheckpointState> readResult) {
+        return readResult.getKey().stream().map(Record::getData).collect(Collectors.toList());
+    }
+
+    private static class FirstCharacterPrioritizer implements RecordPrioritizer<Record<String>> {
+        @Override
+        public int getNumberOfLanes() {
+            return 2;
+        }
+
+        @Override
+        public int getLane(final Record<String> record) {
+            return record.getData().charAt(0) - 'a';
+        }
+    }
+}
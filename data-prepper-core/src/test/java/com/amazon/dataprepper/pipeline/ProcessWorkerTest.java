@@ -0,0 +1,150 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.ReadBatch;
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.model.sink.Sink;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ProcessWorkerTest {
+    private static final int TEST_READ_BATCH_TIMEOUT = 100;
+    private static final Collection<Record<String>> RECORDS = Collections.singletonList(new Record<>("RECORD_DATA"));
+
+    @Mock
+    private Buffer buffer;
+
+    @Mock
+    private Sink sink;
+
+    @Mock
+    private Pipeline pipeline;
+
+    @Mock
+    private Future<Void> firstSinkFuture;
+
+    @Mock
+    private Future<Void> secondSinkFuture;
+
+    private CheckpointState firstCheckpointState;
+    private CheckpointState secondCheckpointState;
+    private CheckpointState emptyCheckpointState;
+
+    @Before
+    public void setup() {
+        firstCheckpointState = new CheckpointState(RECORDS.size());
+        secondCheckpointState = new CheckpointState(RECORDS.size());
+        emptyCheckpointState = new CheckpointState(0);
+
+        when(pipeline.getReadBatchTimeoutInMillis()).thenReturn(TEST_READ_BATCH_TIMEOUT);
+        when(buffer.read(anyInt())).thenReturn(
+                readResult(RECORDS, firstCheckpointState),
+                readResult(RECORDS, secondCheckpointState),
+                readResult(Collections.emptyList(), emptyCheckpointState));
+        when(pipeline.publishToSinks(any())).thenReturn(
+                Collections.singletonList(firstSinkFuture),
+                Collections.singletonList(secondSinkFuture));
+        when(pipeline.isStopRequested()).thenReturn(false, false, true);
+        when(buffer.isEmpty()).thenReturn(true);
+        // The worker reads into reused batches, which the Buffer falls back to reading by read(int)
+        doCallRealMethod().when(buffer).read(any(ReadBatch.class), anyInt());
+        doCallRealMethod().when(buffer).checkpoint(any(ReadBatch.class));
+    }
+
+    @Test
+    public void testSingleInflightBatchIsCheckpointedBeforeNextRead() {
+        when(pipeline.getMaxInflightBatches()).thenReturn(1);
+
+        new ProcessWorker(buffer, Collections.emptyList(), Collections.singletonList(sink), pipeline, 0).run();
+
+        final InOrder inOrder = inOrder(buffer, pipeline);
+        inOrder.verify(pipeline).publishToSinks(any());
+        inOrder.verify(buffer).checkpoint(firstCheckpointState);
+        inOrder.verify(pipeline).publishToSinks(any());
+        inOrder.verify(buffer).checkpoint(secondCheckpointState);
+        inOrder.verify(buffer).checkpoint(emptyCheckpointState);
+    }
+
+    @Test
+    public void testMultipleInflightBatchesAreCheckpointedInReadOrder() {
+        when(pipeline.getMaxInflightBatches()).thenReturn(2);
+
+        new ProcessWorker(buffer, Collections.emptyList(), Collections.singletonList(sink), pipeline, 0).run();
+
+        final InOrder inOrder = inOrder(buffer, pipeline);
+        inOrder.verify(pipeline).publishToSinks(any());
+        inOrder.verify(pipeline).publishToSinks(any());
+        inOrder.verify(buffer).checkpoint(firstCheckpointState);
+        inOrder.verify(buffer).checkpoint(secondCheckpointState);
+        inOrder.verify(buffer).checkpoint(emptyCheckpointState);
+    }
+
+    @Test
+    public void testReadBatchesAreReusedAfterCheckpoint() {
+        when(pipeline.getMaxInflightBatches()).thenReturn(1);
+        final ArgumentCaptor<ReadBatch> readBatchCaptor = ArgumentCaptor.forClass(ReadBatch.class);
+
+        new ProcessWorker(buffer, Collections.emptyList(), Collections.singletonList(sink), pipeline, 0).run();
+
+        verify(buffer, times(3)).read(readBatchCaptor.capture(), anyInt());
+        final List<ReadBatch> readBatches = readBatchCaptor.getAllValues();
+        assertThat(readBatches.get(1), is(sameInstance(readBatches.get(0))));
+        assertThat(readBatches.get(2), is(sameInstance(readBatches.get(0))));
+        assertThat(readBatches.get(0).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testInflightReadBatchesAreNotReused() {
+        when(pipeline.getMaxInflightBatches()).thenReturn(2);
+        final ArgumentCaptor<ReadBatch> readBatchCaptor = ArgumentCaptor.forClass(ReadBatch.class);
+
+        new ProcessWorker(buffer, Collections.emptyList(), Collections.singletonList(sink), pipeline, 0).run();
+
+        verify(buffer, times(3)).read(readBatchCaptor.capture(), anyInt());
+        final List<ReadBatch> readBatches = readBatchCaptor.getAllValues();
+        assertThat(readBatches.get(1), is(not(sameInstance(readBatches.get(0)))));
+    }
+
+    private static Map.Entry<Collection, CheckpointState> readResult(
+            final Collection records, final CheckpointState checkpointState) {
+        return new AbstractMap.SimpleEntry<>(records, checkpointState);
+    }
+}
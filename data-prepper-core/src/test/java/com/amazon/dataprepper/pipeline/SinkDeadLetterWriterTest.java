@@ -0,0 +1,64 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.event.JacksonEvent;
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class SinkDeadLetterWriterTest {
+    private static final String TEST_PIPELINE_NAME = "test-pipeline";
+    private static final String TEST_SINK_SCOPE = "test-sink-0";
+
+    @Test
+    public void testToLineWritesEventsAsJson() throws Exception {
+        final Event event = JacksonEvent.builder()
+                .withEventType("LOG")
+                .withData(Collections.singletonMap("message", "first\nsecond"))
+                .build();
+
+        assertThat(SinkDeadLetterWriter.toLine(event), is(equalTo(event.toJsonString())));
+    }
+
+    @Test
+    public void testToLineEscapesLineBreaksAndBackslashes() throws Exception {
+        assertThat(SinkDeadLetterWriter.toLine("first\r\nsecond\\third"), is(equalTo("first\\r\\nsecond\\\\third")));
+    }
+
+    @Test
+    public void testWriteAppendsOneLinePerRecord() throws Exception {
+        final File dlqFile = File.createTempFile("sink-dlq", ".txt");
+        dlqFile.deleteOnExit();
+        final SinkDeadLetterWriter deadLetterWriter = new SinkDeadLetterWriter(TEST_PIPELINE_NAME, TEST_SINK_SCOPE,
+                dlqFile.getAbsolutePath(), 2);
+
+        assertThat(deadLetterWriter.write(Arrays.asList(new Record<>("first\nrecord"), new Record<>("second"))),
+                is(true));
+        assertThat(deadLetterWriter.write(Collections.singletonList(new Record<>("third"))), is(true));
+        deadLetterWriter.shutdown();
+
+        final List<String> dlqLines = Files.readAllLines(dlqFile.toPath());
+        assertThat(dlqLines, equalTo(Arrays.asList("first\\nrecord", "second", "third")));
+    }
+}
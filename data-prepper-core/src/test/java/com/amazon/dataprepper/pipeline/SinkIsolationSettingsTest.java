@@ -0,0 +1,91 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SinkIsolationSettingsTest {
+    private static final String TEST_SINK_NAME = "test-sink";
+    private static final int TEST_DEFAULT_WORKERS = 4;
+
+    @Test
+    public void testFromPluginSettingWithDefaults() {
+        final SinkIsolationSettings settings = SinkIsolationSettings.fromPluginSetting(
+                new PluginSetting(TEST_SINK_NAME, new HashMap<>()), TEST_DEFAULT_WORKERS);
+
+        assertThat(settings.getSinkName(), is(equalTo(TEST_SINK_NAME)));
+        assertThat(settings.getWorkers(), is(equalTo(TEST_DEFAULT_WORKERS)));
+        assertThat(settings.getQueueSize(), is(equalTo(TEST_DEFAULT_WORKERS)));
+        assertThat(settings.getOverflowPolicy(), is(equalTo(SinkOverflowPolicy.BLOCK)));
+        assertThat(settings.getDlqFile(), is(nullValue()));
+    }
+
+    @Test
+    public void testFromPluginSettingWithConfiguredValues() {
+        final Map<String, Object> pluginSettings = new HashMap<>();
+        pluginSettings.put(SinkIsolationSettings.SINK_WORKERS, 2);
+        pluginSettings.put(SinkIsolationSettings.SINK_QUEUE_SIZE, 16);
+        pluginSettings.put(SinkIsolationSettings.SINK_OVERFLOW_POLICY, "drop");
+        pluginSettings.put(SinkIsolationSettings.SINK_DLQ_FILE, "/tmp/dlq.txt");
+
+        final SinkIsolationSettings settings = SinkIsolationSettings.fromPluginSetting(
+                new PluginSetting(TEST_SINK_NAME, pluginSettings), TEST_DEFAULT_WORKERS);
+
+        assertThat(settings.getWorkers(), is(equalTo(2)));
+        assertThat(settings.getQueueSize(), is(equalTo(16)));
+        assertThat(settings.getOverflowPolicy(), is(equalTo(SinkOverflowPolicy.DROP)));
+        assertThat(settings.getDlqFile(), is(equalTo("/tmp/dlq.txt")));
+    }
+
+    @Test
+    public void testWithDefaultWorkersKeepsConfiguredValues() {
+        final Map<String, Object> pluginSettings = new HashMap<>();
+        pluginSettings.put(SinkIsolationSettings.SINK_WORKERS, 2);
+
+        final SinkIsolationSettings settings = SinkIsolationSettings.fromPluginSetting(
+                new PluginSetting(TEST_SINK_NAME, pluginSettings), TEST_DEFAULT_WORKERS).withDefaultWorkers(8);
+
+        assertThat(settings.getWorkers(), is(equalTo(2)));
+        assertThat(settings.getQueueSize(), is(equalTo(8)));
+    }
+
+    @Test
+    public void testWithDefaultWorkersReplacesDefaults() {
+        final SinkIsolationSettings settings = SinkIsolationSettings.defaultSettings(TEST_SINK_NAME, TEST_DEFAULT_WORKERS)
+                .withDefaultWorkers(8);
+
+        assertThat(settings.getSinkName(), is(equalTo(TEST_SINK_NAME)));
+        assertThat(settings.getWorkers(), is(equalTo(8)));
+        assertThat(settings.getQueueSize(), is(equalTo(8)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSinkWorkers() {
+        new SinkIsolationSettings(TEST_SINK_NAME, 0, 1, SinkOverflowPolicy.BLOCK, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidOverflowPolicy() {
+        final Map<String, Object> pluginSettings = new HashMap<>();
+        pluginSettings.put(SinkIsolationSettings.SINK_OVERFLOW_POLICY, "spill");
+        SinkIsolationSettings.fromPluginSetting(new PluginSetting(TEST_SINK_NAME, pluginSettings), TEST_DEFAULT_WORKERS);
+    }
+}
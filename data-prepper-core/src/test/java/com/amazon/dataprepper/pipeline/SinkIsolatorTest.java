@@ -0,0 +1,197 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.concurrent.ExecutionMode;
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.model.sink.Sink;
+import com.amazon.dataprepper.pipeline.common.PipelineScheduler;
+import com.amazon.dataprepper.pipeline.common.PipelineSchedulerGroup;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class SinkIsolatorTest {
+    private static final String TEST_PIPELINE_NAME = "test-pipeline";
+    private static final String TEST_SINK_NAME = "test-sink";
+    private static final String RECORD_DATA = "RECORD_DATA";
+    private static final Collection<Record> RECORDS = Collections.singletonList(new Record<>(RECORD_DATA));
+
+    @Mock
+    private Pipeline pipeline;
+
+    @Mock
+    private Sink sink;
+
+    private CountDownLatch sinkLatch;
+    private SinkIsolator sinkIsolator;
+
+    @Before
+    public void setup() {
+        when(pipeline.getName()).thenReturn(TEST_PIPELINE_NAME);
+        when(pipeline.getExecutionMode()).thenReturn(ExecutionMode.PLATFORM_THREADS);
+        sinkLatch = new CountDownLatch(1);
+    }
+
+    @After
+    public void teardown() {
+        sinkLatch.countDown();
+        if (sinkIsolator != null) {
+            sinkIsolator.getExecutorService().ifPresent(ExecutorService::shutdownNow);
+            sinkIsolator.shutdown();
+        }
+    }
+
+    @Test
+    public void testSubmitOutputsRecordsToSink() throws Exception {
+        sinkIsolator = new SinkIsolator(pipeline, sink, 0,
+                new SinkIsolationSettings(TEST_SINK_NAME, 1, 1, SinkOverflowPolicy.BLOCK, null));
+
+        sinkIsolator.submit(RECORDS).get(1, TimeUnit.SECONDS);
+
+        verify(sink).output(RECORDS);
+    }
+
+    @Test
+    public void testSubmitDropsRecordsWhenQueueIsFull() throws Exception {
+        blockSinkUntilLatch();
+        sinkIsolator = new SinkIsolator(pipeline, sink, 0,
+                new SinkIsolationSettings(TEST_SINK_NAME, 1, 0, SinkOverflowPolicy.DROP, null));
+
+        final Future<Void> firstFuture = sinkIsolator.submit(RECORDS);
+        final Future<Void> droppedFuture = sinkIsolator.submit(RECORDS);
+
+        assertThat(droppedFuture.isDone(), is(true));
+        sinkLatch.countDown();
+        firstFuture.get(1, TimeUnit.SECONDS);
+        verify(sink, times(1)).output(any());
+    }
+
+    @Test
+    public void testSubmitWritesDroppedRecordsToDlqFile() throws Exception {
+        final File dlqFile = File.createTempFile("sink-dlq", ".txt");
+        dlqFile.deleteOnExit();
+        blockSinkUntilLatch();
+        sinkIsolator = new SinkIsolator(pipeline, sink, 0,
+                new SinkIsolationSettings(TEST_SINK_NAME, 1, 0, SinkOverflowPolicy.DROP, dlqFile.getAbsolutePath()));
+
+        sinkIsolator.submit(RECORDS);
+        sinkIsolator.submit(RECORDS);
+        sinkIsolator.shutdown();
+
+        final List<String> dlqLines = Files.readAllLines(dlqFile.toPath());
+        assertThat(dlqLines, equalTo(Collections.singletonList(RECORD_DATA)));
+    }
+
+    @Test
+    public void testSubmitBlocksUntilQueueHasRoom() throws Exception {
+        blockSinkUntilLatch();
+        sinkIsolator = new SinkIsolator(pipeline, sink, 0,
+                new SinkIsolationSettings(TEST_SINK_NAME, 1, 0, SinkOverflowPolicy.BLOCK, null));
+
+        final Future<Void> firstFuture = sinkIsolator.submit(RECORDS);
+        final Thread releaseThread = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            sinkLatch.countDown();
+        });
+        releaseThread.start();
+        final Future<Void> secondFuture = sinkIsolator.submit(RECORDS);
+
+        firstFuture.get(1, TimeUnit.SECONDS);
+        secondFuture.get(1, TimeUnit.SECONDS);
+        verify(sink, times(2)).output(any());
+    }
+
+    @Test
+    public void testSubmitFromSchedulerWithSingleSlotDoesNotDeadlockWhenQueueIsFull() throws Exception {
+        final PipelineScheduler scheduler = new PipelineScheduler(1);
+        try {
+            final PipelineSchedulerGroup schedulerGroup = scheduler.register(pipeline, 1, 0);
+            sinkIsolator = new SinkIsolator(pipeline, sink, 0,
+                    new SinkIsolationSettings(TEST_SINK_NAME, 1, 0, SinkOverflowPolicy.BLOCK, null), schedulerGroup);
+            final CountDownLatch submittedLatch = new CountDownLatch(1);
+
+            schedulerGroup.execute(() -> {
+                sinkIsolator.submit(RECORDS);
+                sinkIsolator.submit(RECORDS);
+                submittedLatch.countDown();
+            });
+
+            assertThat(submittedLatch.await(5, TimeUnit.SECONDS), is(true));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void testSinksOfSamePluginHaveOwnMetrics() {
+        Metrics.addRegistry(new SimpleMeterRegistry());
+        blockSinkUntilLatch();
+        sinkIsolator = new SinkIsolator(pipeline, sink, 0,
+                new SinkIsolationSettings(TEST_SINK_NAME, 1, 0, SinkOverflowPolicy.DROP, null));
+        final SinkIsolator otherSinkIsolator = new SinkIsolator(pipeline, sink, 1,
+                new SinkIsolationSettings(TEST_SINK_NAME, 1, 0, SinkOverflowPolicy.DROP, null));
+
+        try {
+            sinkIsolator.submit(RECORDS);
+            sinkIsolator.submit(RECORDS);
+
+            assertThat(droppedRecords(0), is(equalTo(1.0)));
+            assertThat(droppedRecords(1), is(equalTo(0.0)));
+        } finally {
+            sinkLatch.countDown();
+            otherSinkIsolator.getExecutorService().ifPresent(ExecutorService::shutdownNow);
+        }
+    }
+
+    private static double droppedRecords(final int sinkIndex) {
+        return Metrics.globalRegistry.find(String.join(".", TEST_PIPELINE_NAME, TEST_SINK_NAME + "-" + sinkIndex,
+                SinkIsolator.SINK_RECORDS_DROPPED)).counter().count();
+    }
+
+    private void blockSinkUntilLatch() {
+        doAnswer(invocation -> {
+            sinkLatch.await();
+            return null;
+        }).when(sink).output(any());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline;
+
+import com.amazon.dataprepper.model.annotations.SingleThread;
+import com.amazon.dataprepper.model.annotations.Splittable;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.prepper.RecordPrepper;
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SplittingPrepperTest {
+    private static final int TEST_PARALLEL_THRESHOLD = 10;
+
+    private ForkJoinPool forkJoinPool;
+    private UpperCasePrepper upperCasePrepper;
+
+    @Before
+    public void setup() {
+        forkJoinPool = new ForkJoinPool(4);
+        upperCasePrepper = new UpperCasePrepper();
+    }
+
+    @After
+    public void tearDown() {
+        forkJoinPool.shutdownNow();
+    }
+
+    @Test
+    public void testBatchBelowThresholdIsNotSplit() {
+        final SplittingPrepper<Record<String>, Record<String>> splittingPrepper =
+                new SplittingPrepper<>(upperCasePrepper, TEST_PARALLEL_THRESHOLD, forkJoinPool);
+
+        final Collection<Record<String>> output = splittingPrepper.execute(records(TEST_PARALLEL_THRESHOLD - 1));
+
+        assertThat(upperCasePrepper.executions.get(), is(1));
+        assertThat(data(output), is(equalTo(upperCaseData(TEST_PARALLEL_THRESHOLD - 1))));
+    }
+
+    @Test
+    public void testBatchAboveThresholdIsSplitAndMergedInOrder() {
+        final SplittingPrepper<Record<String>, Record<String>> splittingPrepper =
+                new SplittingPrepper<>(upperCasePrepper, TEST_PARALLEL_THRESHOLD, forkJoinPool);
+
+        final Collection<Record<String>> output = splittingPrepper.execute(records(10 * TEST_PARALLEL_THRESHOLD));
+
+        assertThat(upperCasePrepper.executions.get(), is(5));
+        assertThat(data(output), is(equalTo(upperCaseData(10 * TEST_PARALLEL_THRESHOLD))));
+    }
+
+    @Test
+    public void testShutdownIsDelegated() {
+        final SplittingPrepper<Record<String>, Record<String>> splittingPrepper =
+                new SplittingPrepper<>(upperCasePrepper, TEST_PARALLEL_THRESHOLD, forkJoinPool);
+
+        splittingPrepper.prepareForShutdown();
+        assertThat(splittingPrepper.isReadyForShutdown(), is(true));
+        splittingPrepper.shutdown();
+        assertThat(upperCasePrepper.isShutdown, is(true));
+    }
+
+    @Test
+    public void testDecorateSplittablePrepper() {
+        final Prepper prepper = SplittingPrepper.decorate(upperCasePrepper, pluginSetting(null));
+
+        assertThat(prepper, instanceOf(SplittingPrepper.class));
+        assertThat(((SplittingPrepper) prepper).getPrepper(), is(sameInstance(upperCasePrepper)));
+        prepper.shutdown();
+    }
+
+    @Test
+    public void testSharedPoolIsShutDownWithLastSplittingPrepper() {
+        final Prepper first = SplittingPrepper.decorate(upperCasePrepper, pluginSetting(null));
+        final Prepper second = SplittingPrepper.decorate(new UpperCasePrepper(), pluginSetting(null));
+        final ForkJoinPool sharedPool = ((SplittingPrepper) first).getForkJoinPool();
+
+        assertThat(((SplittingPrepper) second).getForkJoinPool(), is(sameInstance(sharedPool)));
+        first.shutdown();
+        assertThat(sharedPool.isShutdown(), is(false));
+        second.shutdown();
+        assertThat(sharedPool.isShutdown(), is(true));
+    }
+
+    @Test
+    public void testDecorateRecordPrepperReturnsPrepper() {
+        final Prepper prepper = new UpperCaseRecordPrepper();
+
+        assertThat(SplittingPrepper.decorate(prepper, pluginSetting(null)), is(sameInstance(prepper)));
+    }
+
+    @Test
+    public void testDecorateWithZeroThresholdReturnsPrepper() {
+        assertThat(SplittingPrepper.decorate(upperCasePrepper, pluginSetting(0)), is(sameInstance(upperCasePrepper)));
+    }
+
+    @Test
+    public void testDecorateSingleThreadPrepperReturnsPrepper() {
+        final Prepper prepper = new SingleThreadUpperCasePrepper();
+
+        assertThat(SplittingPrepper.decorate(prepper, pluginSetting(null)), is(sameInstance(prepper)));
+    }
+
+    private static PluginSetting pluginSetting(final Integer parallelThreshold) {
+        final Map<String, Object> settings = new HashMap<>();
+        if (parallelThreshold != null) {
+            settings.put(SplittingPrepper.PARALLEL_THRESHOLD, parallelThreshold);
+        }
+        return new PluginSetting("upper_case", settings);
+    }
+
+    private static Collection<Record<String>> records(final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Record<>("record-" + i))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> data(final Collection<Record<String>> records) {
+        return records.stream().map(Record::getData).collect(Collectors.toList());
+    }
+
+    private static List<String> upperCaseData(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> "RECORD-" + i).collect(Collectors.toList());
+    }
+
+    @Splittable
+    private static class UpperCasePrepper implements Prepper<Record<String>, Record<String>> {
+        private final AtomicInteger executions = new AtomicInteger();
+        private boolean isShutdown = false;
+
+        @Override
+        public Collection<Record<String>> execute(final Collection<Record<String>> records) {
+            executions.incrementAndGet();
+            return records.stream()
+                    .map(record -> new Record<>(record.getData().toUpperCase()))
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public void prepareForShutdown() {
+        }
+
+        @Override
+        public boolean isReadyForShutdown() {
+            return true;
+        }
+
+        @Override
+        public void shutdown() {
+            isShutdown = true;
+        }
+    }
+
+    @Splittable
+    @SingleThread
+    private static class SingleThreadUpperCasePrepper extends UpperCasePrepper {
+    }
+
+    @Splittable
+    private static class UpperCaseRecordPrepper extends UpperCasePrepper
+            implements RecordPrepper<Record<String>, Record<String>> {
+        @Override
+        public void processRecord(final Record<String> record, final Consumer<Record<String>> output) {
+            output.accept(new Record<>(record.getData().toUpperCase()));
+        }
+
+        @Override
+        public void recordCounts(final int recordsIn, final int recordsOut) {
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline.common;
+
+import com.amazon.dataprepper.pipeline.Pipeline;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PipelineSchedulerTest {
+    private static final long TEST_TIMEOUT_MILLIS = 5_000;
+
+    @Mock
+    private Pipeline firstPipeline;
+
+    @Mock
+    private Pipeline secondPipeline;
+
+    private PipelineScheduler pipelineScheduler;
+
+    @Before
+    public void setup() {
+        when(firstPipeline.getName()).thenReturn("first-pipeline");
+        when(secondPipeline.getName()).thenReturn("second-pipeline");
+        pipelineScheduler = new PipelineScheduler(1);
+    }
+
+    @After
+    public void tearDown() {
+        pipelineScheduler.shutdown();
+    }
+
+    @Test
+    public void testStepsOfAllGroupsAreRun() throws InterruptedException {
+        final PipelineSchedulerGroup firstGroup = pipelineScheduler.register(firstPipeline, 1, 0);
+        final PipelineSchedulerGroup secondGroup = pipelineScheduler.register(secondPipeline, 1, 0);
+        final CountDownLatch stepsRun = new CountDownLatch(3);
+
+        firstGroup.execute(stepsRun::countDown);
+        secondGroup.execute(stepsRun::countDown);
+        firstGroup.executeLater(stepsRun::countDown, 10);
+
+        assertThat(stepsRun.await(TEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(true));
+    }
+
+    @Test
+    public void testGroupBelowMinWorkersIsDispatchedFirst() throws InterruptedException {
+        final PipelineSchedulerGroup firstGroup = pipelineScheduler.register(firstPipeline, 1, 0);
+        final PipelineSchedulerGroup secondGroup = pipelineScheduler.register(secondPipeline, 1, 1);
+        final CountDownLatch slotTaken = new CountDownLatch(1);
+        final CountDownLatch releaseSlot = new CountDownLatch(1);
+        final List<String> runOrder = new CopyOnWriteArrayList<>();
+        final CountDownLatch stepsRun = new CountDownLatch(2);
+
+        firstGroup.execute(() -> {
+            slotTaken.countDown();
+            awaitQuietly(releaseSlot);
+        });
+        assertThat(slotTaken.await(TEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(true));
+        firstGroup.execute(() -> {
+            runOrder.add("first");
+            stepsRun.countDown();
+        });
+        secondGroup.execute(() -> {
+            runOrder.add("second");
+            stepsRun.countDown();
+        });
+        releaseSlot.countDown();
+
+        assertThat(stepsRun.await(TEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(true));
+        assertThat(runOrder, is(equalTo(Arrays.asList("second", "first"))));
+    }
+
+    @Test
+    public void testBlockingExecutorLimitsConcurrentTasks() throws InterruptedException {
+        final PipelineSchedulerGroup group = pipelineScheduler.register(firstPipeline, 1, 0);
+        final Executor blockingExecutor = group.newBlockingExecutor(2);
+        final AtomicInteger runningTasks = new AtomicInteger();
+        final AtomicInteger maxRunningTasks = new AtomicInteger();
+        final CountDownLatch tasksRun = new CountDownLatch(6);
+
+        for (int i = 0; i < 6; i++) {
+            blockingExecutor.execute(() -> {
+                maxRunningTasks.accumulateAndGet(runningTasks.incrementAndGet(), Math::max);
+                sleepQuietly(20);
+                runningTasks.decrementAndGet();
+                tasksRun.countDown();
+            });
+        }
+
+        assertThat(tasksRun.await(TEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(true));
+        assertThat(maxRunningTasks.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    public void testCloseWaitsForRunningSteps() {
+        final PipelineSchedulerGroup group = pipelineScheduler.register(firstPipeline, 1, 0);
+        final AtomicInteger stepsRun = new AtomicInteger();
+
+        group.execute(() -> {
+            sleepQuietly(50);
+            stepsRun.incrementAndGet();
+        });
+        group.close(TEST_TIMEOUT_MILLIS);
+        group.execute(stepsRun::incrementAndGet);
+
+        assertThat(stepsRun.get(), is(1));
+    }
+
+    @Test
+    public void testFailedStepShutsPipelineDown() {
+        final PipelineSchedulerGroup group = pipelineScheduler.register(firstPipeline, 1, 0);
+
+        group.execute(() -> {
+            throw new RuntimeException("step failed");
+        });
+
+        verify(firstPipeline, timeout(TEST_TIMEOUT_MILLIS)).shutdown();
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(TEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
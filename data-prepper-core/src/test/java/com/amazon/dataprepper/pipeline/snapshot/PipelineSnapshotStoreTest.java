@@ -0,0 +1,306 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline.snapshot;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.event.JacksonEvent;
+import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.prepper.StatefulPrepper;
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.plugins.buffer.blockingbuffer.BlockingBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class PipelineSnapshotStoreTest {
+    private static final String TEST_PIPELINE_NAME = "test-pipeline";
+    private static final int TEST_BUFFER_SIZE = 10;
+    private static final int TEST_BATCH_SIZE = 2;
+    private static final int TEST_TIMEOUT = 10;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private PipelineSnapshotStore snapshotStore;
+
+    @Before
+    public void setup() {
+        snapshotStore = new PipelineSnapshotStore(temporaryFolder.getRoot().toPath());
+    }
+
+    @Test
+    public void testBufferAndStatefulPreppersAreRestored() throws Exception {
+        final Buffer buffer = newBuffer();
+        buffer.writeAll(Arrays.asList(new Record<>("first"), new Record<>("second"), new Record<>("third")), TEST_TIMEOUT);
+        final TestStatefulPrepper firstPrepper = new TestStatefulPrepper(Arrays.asList("a", "b"));
+        final TestStatefulPrepper secondPrepper = new TestStatefulPrepper(Collections.singletonList("c"));
+
+        snapshotStore.snapshot(TEST_PIPELINE_NAME, buffer,
+                Collections.singletonList(Arrays.asList(firstPrepper, secondPrepper)));
+
+        assertThat(buffer.isEmpty(), is(true));
+
+        final Buffer restoredBuffer = newBuffer();
+        final TestStatefulPrepper restoredFirstPrepper = new TestStatefulPrepper(Collections.emptyList());
+        final TestStatefulPrepper restoredSecondPrepper = new TestStatefulPrepper(Collections.emptyList());
+        snapshotStore.restore(TEST_PIPELINE_NAME, restoredBuffer,
+                Collections.singletonList(Arrays.asList(restoredFirstPrepper, restoredSecondPrepper)), TEST_TIMEOUT);
+
+        assertThat(readAll(restoredBuffer), is(equalTo(Arrays.asList("first", "second", "third"))));
+        assertThat(restoredFirstPrepper.getState(), is(equalTo(Arrays.asList("a", "b"))));
+        assertThat(restoredSecondPrepper.getState(), is(equalTo(Collections.singletonList("c"))));
+    }
+
+    @Test
+    public void testSnapshotIsRestoredOnlyOnce() throws Exception {
+        final Buffer buffer = newBuffer();
+        buffer.write(new Record<>("record"), TEST_TIMEOUT);
+        final List<List<Prepper>> prepperSets = Collections.singletonList(
+                Collections.singletonList(new TestStatefulPrepper(Collections.singletonList("a"))));
+
+        snapshotStore.snapshot(TEST_PIPELINE_NAME, buffer, prepperSets);
+        snapshotStore.restore(TEST_PIPELINE_NAME, newBuffer(), prepperSets, TEST_TIMEOUT);
+
+        final Buffer restoredBuffer = newBuffer();
+        final TestStatefulPrepper restoredPrepper = new TestStatefulPrepper(Collections.emptyList());
+        snapshotStore.restore(TEST_PIPELINE_NAME, restoredBuffer,
+                Collections.singletonList(Collections.singletonList(restoredPrepper)), TEST_TIMEOUT);
+
+        assertThat(restoredBuffer.isEmpty(), is(true));
+        assertThat(restoredPrepper.getState().isEmpty(), is(true));
+        try (final Stream<Path> files = Files.list(temporaryFolder.getRoot().toPath().resolve(TEST_PIPELINE_NAME))) {
+            assertThat(files.count(), is(0L));
+        }
+    }
+
+    @Test
+    public void testSnapshotOfPrepperWithDifferentNumberOfInstancesIsSkipped() {
+        snapshotStore.snapshot(TEST_PIPELINE_NAME, newBuffer(), Collections.singletonList(
+                Arrays.asList(new TestStatefulPrepper(Collections.singletonList("a")),
+                        new TestStatefulPrepper(Collections.singletonList("b")))));
+
+        final TestStatefulPrepper restoredPrepper = new TestStatefulPrepper(Collections.emptyList());
+        snapshotStore.restore(TEST_PIPELINE_NAME, newBuffer(),
+                Collections.singletonList(Collections.singletonList(restoredPrepper)), TEST_TIMEOUT);
+
+        assertThat(restoredPrepper.getState().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testRecordsOfOtherTypesAreRestored() throws Exception {
+        final Buffer buffer = newBuffer();
+        buffer.writeAll(Arrays.asList(new Record<>(42L), new Record<>(new ArrayList<>(Arrays.asList("a", "b")))),
+                TEST_TIMEOUT);
+
+        snapshotStore.snapshot(TEST_PIPELINE_NAME, buffer, Collections.emptyList());
+        final Buffer restoredBuffer = newBuffer();
+        snapshotStore.restore(TEST_PIPELINE_NAME, restoredBuffer, Collections.emptyList(), TEST_TIMEOUT);
+
+        final Map.Entry<Collection<Record>, CheckpointState> readResult = restoredBuffer.read(TEST_TIMEOUT);
+        assertThat(readResult.getKey().stream().map(Record::getData).collect(Collectors.toList()),
+                is(equalTo(Arrays.asList(42L, Arrays.asList("a", "b")))));
+    }
+
+    @Test
+    public void testEventRecordsAreRestored() throws Exception {
+        final Buffer buffer = newBuffer();
+        final Event event = JacksonEvent.builder()
+                .withEventType("LOG")
+                .withData(Collections.singletonMap("message", "value"))
+                .build();
+        buffer.write(new Record<>(event), TEST_TIMEOUT);
+
+        snapshotStore.snapshot(TEST_PIPELINE_NAME, buffer, Collections.emptyList());
+        final Buffer restoredBuffer = newBuffer();
+        snapshotStore.restore(TEST_PIPELINE_NAME, restoredBuffer, Collections.emptyList(), TEST_TIMEOUT);
+
+        final Event restoredEvent = (Event) readAll(restoredBuffer).get(0);
+        assertThat(restoredEvent.toJsonString(), is(equalTo(event.toJsonString())));
+        assertThat(restoredEvent.getMetadata().getEventType(), is(equalTo("LOG")));
+    }
+
+    @Test
+    public void testPersistentBufferIsNotDrained() throws Exception {
+        final Buffer buffer = new BlockingBuffer<Record<String>>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE, TEST_PIPELINE_NAME) {
+            @Override
+            public boolean isPersistent() {
+                return true;
+            }
+        };
+        buffer.write(new Record<>("record"), TEST_TIMEOUT);
+
+        snapshotStore.snapshot(TEST_PIPELINE_NAME, buffer, Collections.emptyList());
+
+        assertThat(readAll(buffer), is(equalTo(Collections.singletonList("record"))));
+        assertThat(Files.exists(bufferFile()), is(false));
+    }
+
+    @Test
+    public void testRecordsAreNotCheckpointedIfSnapshotCannotBeWritten() throws Exception {
+        final Buffer buffer = newBuffer();
+        buffer.write(new Record<>("record"), TEST_TIMEOUT);
+        // The temporary snapshot file cannot be created if a directory is in its place
+        Files.createDirectories(bufferFile().resolveSibling(PipelineSnapshotStore.BUFFER_FILE + ".tmp"));
+
+        snapshotStore.snapshot(TEST_PIPELINE_NAME, buffer, Collections.emptyList());
+
+        assertThat(buffer.isEmpty(), is(false));
+    }
+
+    @Test
+    public void testBatchWithRecordWhichCannotBeSerializedIsNotCheckpointed() throws Exception {
+        final Buffer buffer = newBuffer();
+        buffer.writeAll(Arrays.asList(new Record<>("record"), new Record<>(new TestSerializable())), TEST_TIMEOUT);
+
+        snapshotStore.snapshot(TEST_PIPELINE_NAME, buffer, Collections.emptyList());
+
+        assertThat(buffer.isEmpty(), is(false));
+        final Buffer restoredBuffer = newBuffer();
+        snapshotStore.restore(TEST_PIPELINE_NAME, restoredBuffer, Collections.emptyList(), TEST_TIMEOUT);
+        assertThat(readAll(restoredBuffer), is(equalTo(Collections.singletonList("record"))));
+    }
+
+    @Test
+    public void testRecordsWhichDoNotFitIntoBufferAreKeptForNextRestore() throws Exception {
+        final Buffer buffer = newBuffer();
+        buffer.writeAll(Arrays.asList(new Record<>("first"), new Record<>("second"), new Record<>("third")), TEST_TIMEOUT);
+        snapshotStore.snapshot(TEST_PIPELINE_NAME, buffer, Collections.emptyList());
+
+        final Buffer smallBuffer = new BlockingBuffer<>(2, TEST_BATCH_SIZE, TEST_PIPELINE_NAME);
+        snapshotStore.restore(TEST_PIPELINE_NAME, smallBuffer, Collections.emptyList(), TEST_TIMEOUT);
+
+        assertThat(readAll(smallBuffer), is(equalTo(Arrays.asList("first", "second"))));
+        final Buffer restoredBuffer = newBuffer();
+        snapshotStore.restore(TEST_PIPELINE_NAME, restoredBuffer, Collections.emptyList(), TEST_TIMEOUT);
+        assertThat(readAll(restoredBuffer), is(equalTo(Collections.singletonList("third"))));
+        assertThat(Files.exists(bufferFile()), is(false));
+    }
+
+    @Test
+    public void testSnapshotKeepsRecordsOfPreviousSnapshotWhichWereNotRestored() throws Exception {
+        final Buffer buffer = newBuffer();
+        buffer.writeAll(Arrays.asList(new Record<>("first"), new Record<>("second")), TEST_TIMEOUT);
+        snapshotStore.snapshot(TEST_PIPELINE_NAME, buffer, Collections.emptyList());
+        final Buffer smallBuffer = new BlockingBuffer<>(1, TEST_BATCH_SIZE, TEST_PIPELINE_NAME);
+        snapshotStore.restore(TEST_PIPELINE_NAME, smallBuffer, Collections.emptyList(), TEST_TIMEOUT);
+        readAll(smallBuffer);
+        smallBuffer.write(new Record<>("third"), TEST_TIMEOUT);
+
+        snapshotStore.snapshot(TEST_PIPELINE_NAME, smallBuffer, Collections.emptyList());
+
+        final Buffer restoredBuffer = newBuffer();
+        snapshotStore.restore(TEST_PIPELINE_NAME, restoredBuffer, Collections.emptyList(), TEST_TIMEOUT);
+        assertThat(readAll(restoredBuffer), is(equalTo(Arrays.asList("second", "third"))));
+    }
+
+    @Test
+    public void testRestoreWithoutSnapshot() {
+        final Buffer buffer = newBuffer();
+        final TestStatefulPrepper prepper = new TestStatefulPrepper(Collections.emptyList());
+
+        snapshotStore.restore(TEST_PIPELINE_NAME, buffer, Collections.singletonList(Collections.singletonList(prepper)),
+                TEST_TIMEOUT);
+
+        assertThat(buffer.isEmpty(), is(true));
+        assertThat(prepper.getState().isEmpty(), is(true));
+    }
+
+    private Path bufferFile() {
+        return temporaryFolder.getRoot().toPath().resolve(TEST_PIPELINE_NAME).resolve(PipelineSnapshotStore.BUFFER_FILE);
+    }
+
+    private static Buffer newBuffer() {
+        return new BlockingBuffer<>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE, TEST_PIPELINE_NAME);
+    }
+
+    private static List<Object> readAll(final Buffer buffer) {
+        final List<Object> data = new ArrayList<>();
+        while (!buffer.isEmpty()) {
+            final Map.Entry<Collection<Record>, CheckpointState> readResult = buffer.read(TEST_TIMEOUT);
+            readResult.getKey().forEach(record -> data.add(record.getData()));
+            buffer.checkpoint(readResult.getValue());
+        }
+        return data;
+    }
+
+    private static class TestSerializable implements Serializable {
+    }
+
+    private static class TestStatefulPrepper implements StatefulPrepper<Record<String>, Record<String>> {
+        private final List<String> state;
+
+        private TestStatefulPrepper(final List<String> state) {
+            this.state = new ArrayList<>(state);
+        }
+
+        private List<String> getState() {
+            return state;
+        }
+
+        @Override
+        public Collection<Record<String>> execute(final Collection<Record<String>> records) {
+            return records;
+        }
+
+        @Override
+        public void prepareForShutdown() {
+        }
+
+        @Override
+        public boolean isReadyForShutdown() {
+            return true;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public void snapshotState(final DataOutputStream outputStream) throws IOException {
+            outputStream.writeInt(state.size());
+            for (final String value : state) {
+                outputStream.writeUTF(value);
+            }
+        }
+
+        @Override
+        public void restoreState(final DataInputStream inputStream) throws IOException {
+            final int size = inputStream.readInt();
+            for (int i = 0; i < size; i++) {
+                state.add(inputStream.readUTF());
+            }
+        }
+    }
+}
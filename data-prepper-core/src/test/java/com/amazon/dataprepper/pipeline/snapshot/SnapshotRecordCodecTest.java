@@ -0,0 +1,104 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.pipeline.snapshot;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class SnapshotRecordCodecTest {
+    private static final byte SERIALIZABLE = 3;
+
+    private final SnapshotRecordCodec recordCodec = new SnapshotRecordCodec();
+
+    @Test
+    public void testRecordsAreDecodedUntilEnd() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream outputStream = new DataOutputStream(bytes);
+        recordCodec.encode("record", outputStream);
+        recordCodec.encode(new byte[]{1, 2}, outputStream);
+        recordCodec.encode(new HashMap<>(Collections.singletonMap("key", new ArrayList<>(Arrays.asList(1L, 2.0)))),
+                outputStream);
+        recordCodec.encodeEnd(outputStream);
+
+        final DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(recordCodec.decode(inputStream), is(equalTo("record")));
+        assertThat(recordCodec.decode(inputStream), is(equalTo(new byte[]{1, 2})));
+        assertThat(recordCodec.decode(inputStream),
+                is(equalTo(Collections.singletonMap("key", Arrays.asList(1L, 2.0)))));
+        assertThat(recordCodec.decode(inputStream), is(nullValue()));
+    }
+
+    @Test
+    public void testRecordWithClassWhichIsNotAllowedIsNotEncoded() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream outputStream = new DataOutputStream(bytes);
+
+        assertThrows(NotSerializableException.class, () -> recordCodec.encode(
+                new ArrayList<>(Collections.singletonList(new TestSerializable())), outputStream));
+        assertThat(bytes.size(), is(0));
+    }
+
+    @Test
+    public void testRecordWithClassWhichIsNotAllowedIsNotDecoded() throws IOException {
+        final ByteArrayOutputStream serializedBytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(serializedBytes)) {
+            objectOutputStream.writeObject(new TestSerializable());
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream outputStream = new DataOutputStream(bytes);
+        outputStream.writeByte(SERIALIZABLE);
+        outputStream.writeInt(serializedBytes.size());
+        outputStream.write(serializedBytes.toByteArray());
+
+        final DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThrows(InvalidClassException.class, () -> recordCodec.decode(inputStream));
+    }
+
+    @Test
+    public void testRecordsAreCopied() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream outputStream = new DataOutputStream(bytes);
+        recordCodec.encode("record", outputStream);
+        recordCodec.encodeEnd(outputStream);
+        final DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        final ByteArrayOutputStream copiedBytes = new ByteArrayOutputStream();
+        final DataOutputStream copyOutputStream = new DataOutputStream(copiedBytes);
+
+        assertThat(recordCodec.copy(inputStream, copyOutputStream), is(true));
+        assertThat(recordCodec.copy(inputStream, copyOutputStream), is(false));
+
+        recordCodec.encodeEnd(copyOutputStream);
+        assertThat(copiedBytes.toByteArray(), is(equalTo(bytes.toByteArray())));
+    }
+
+    private static class TestSerializable implements Serializable {
+    }
+}
@@ -15,10 +15,11 @@ import com.amazon.dataprepper.model.CheckpointState;
 import com.amazon.dataprepper.model.annotations.DataPrepperPlugin;
 import com.amazon.dataprepper.model.buffer.AbstractBuffer;
 import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.ReadBatch;
+import com.amazon.dataprepper.model.buffer.RecordSizeEstimator;
 import com.amazon.dataprepper.model.buffer.SizeOverflowException;
 import com.amazon.dataprepper.model.configuration.PluginSetting;
 import com.amazon.dataprepper.model.record.Record;
-import com.google.common.base.Stopwatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,11 +30,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.lang.String.format;
 
@@ -44,6 +49,12 @@ import static java.lang.String.format;
  * specified timeout in milliseconds if necessary for space to become available; and throws an exception if the
  * record is null. {@link #read(int)} retrieves and removes the batch of records from the head of the queue. The
  * batch size is defined/determined by the configuration attribute {@link #ATTRIBUTE_BATCH_SIZE} or the timeout parameter
+ * <p>
+ * The buffer may additionally be bounded in bytes by {@link #ATTRIBUTE_MAX_BYTES}, and its batches by
+ * {@link #ATTRIBUTE_BATCH_MAX_BYTES}, using the size of the records estimated by the configured
+ * {@link #ATTRIBUTE_RECORD_SIZE_ESTIMATOR}. The size of a record is then estimated once when it is written and kept
+ * with the record, so the bytes released on checkpoint are the bytes which were reserved. A buffer which is not bounded
+ * in bytes queues the records as they are and reads them straight into the batches.
  */
 @DataPrepperPlugin(name = "bounded_blocking", pluginType = Buffer.class)
 public class BlockingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
@@ -53,13 +64,40 @@ public class BlockingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
     private static final String PLUGIN_NAME = "bounded_blocking";
     private static final String ATTRIBUTE_BUFFER_CAPACITY = "buffer_size";
     private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
+    private static final String ATTRIBUTE_MAX_BYTES = "max_bytes";
+    private static final String ATTRIBUTE_BATCH_MAX_BYTES = "batch_max_bytes";
+    private static final String ATTRIBUTE_RECORD_SIZE_ESTIMATOR = "record_size_estimator";
+    private static final String DEFAULT_RECORD_SIZE_ESTIMATOR = "string";
 
     private final int bufferCapacity;
     private final int batchSize;
+    private final long maxBytes;
+    private final long batchMaxBytes;
+    private final boolean boundedInBytes;
+    /**
+     * The queue of a buffer which is not bounded in bytes, null otherwise.
+     */
     private final BlockingQueue<T> blockingQueue;
+    /**
+     * The queue of a buffer which is bounded in bytes, which keeps the size of each record, null otherwise.
+     */
+    private final BlockingQueue<BufferedRecord<T>> sizedRecordQueue;
     private final String pipelineName;
 
     private final Semaphore capacitySemaphore;
+    private final ReentrantLock byteCapacityLock = new ReentrantLock();
+    private final Condition bytesReleased = byteCapacityLock.newCondition();
+    /**
+     * Guarded by the byteCapacityLock, volatile so the fill ratio can be read without taking the lock.
+     */
+    private volatile long availableBytes;
+
+    /**
+     * Serializes the readers of a buffer which is bounded in bytes while they take records, which hand
+     * the records that did not fit into their batch over to the next read. Readers wait for records without it.
+     */
+    private final ReentrantLock readLock = new ReentrantLock();
+    private final ConcurrentLinkedDeque<BufferedRecord<T>> carriedOverRecords = new ConcurrentLinkedDeque<>();
 
     /**
      * Creates a BlockingBuffer with the given (fixed) capacity.
@@ -69,10 +107,35 @@ public class BlockingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
      * @param pipelineName   the name of the associated Pipeline
      */
     public BlockingBuffer(final int bufferCapacity, final int batchSize, final String pipelineName) {
-        super("BlockingBuffer", pipelineName);
+        this(bufferCapacity, batchSize, Long.MAX_VALUE, Long.MAX_VALUE, null, pipelineName);
+    }
+
+    /**
+     * Creates a BlockingBuffer with the given (fixed) capacity in records and in bytes.
+     *
+     * @param bufferCapacity      the capacity of the buffer
+     * @param batchSize           the batch size for {@link #read(int)}
+     * @param maxBytes            the capacity of the buffer in bytes, {@link Long#MAX_VALUE} for no limit
+     * @param batchMaxBytes       the maximum size in bytes of a batch returned on read, {@link Long#MAX_VALUE} for no
+     *                            limit; a single record which exceeds it is returned on its own
+     * @param recordSizeEstimator estimator of the size of the records, required if the size in bytes is bounded
+     * @param pipelineName        the name of the associated Pipeline
+     */
+    public BlockingBuffer(final int bufferCapacity, final int batchSize, final long maxBytes, final long batchMaxBytes,
+                          final RecordSizeEstimator<? super T> recordSizeEstimator, final String pipelineName) {
+        super("BlockingBuffer", pipelineName, recordSizeEstimator);
+        checkArgument(maxBytes > 0, "max_bytes must be greater than 0");
+        checkArgument(batchMaxBytes > 0, "batch_max_bytes must be greater than 0");
+        checkArgument(recordSizeEstimator != null || (maxBytes == Long.MAX_VALUE && batchMaxBytes == Long.MAX_VALUE),
+                "A record size estimator is required to bound the size of the buffer in bytes");
         this.bufferCapacity = bufferCapacity;
         this.batchSize = batchSize;
-        this.blockingQueue = new LinkedBlockingQueue<>(bufferCapacity);
+        this.maxBytes = maxBytes;
+        this.batchMaxBytes = batchMaxBytes;
+        this.availableBytes = maxBytes;
+        this.boundedInBytes = maxBytes != Long.MAX_VALUE || batchMaxBytes != Long.MAX_VALUE;
+        this.blockingQueue = boundedInBytes ? null : new LinkedBlockingQueue<>(bufferCapacity);
+        this.sizedRecordQueue = boundedInBytes ? new LinkedBlockingQueue<>(bufferCapacity) : null;
         this.capacitySemaphore = new Semaphore(bufferCapacity);
         this.pipelineName = pipelineName;
     }
@@ -81,8 +144,8 @@ public class BlockingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
      * Mandatory constructor for Data Prepper Component - This constructor is used by Data Prepper runtime engine to construct an
      * instance of {@link BlockingBuffer} using an instance of {@link PluginSetting} which has access to
      * pluginSetting metadata from pipeline pluginSetting file. Buffer settings like `buffer-size`, `batch-size`,
-     * `batch-timeout` are optional and can be passed via {@link PluginSetting}, if not present default values will
-     * be used to create the buffer.
+     * `batch-timeout`, `max_bytes`, `batch_max_bytes` are optional and can be passed via {@link PluginSetting}, if not
+     * present default values will be used to create the buffer.
      *
      * @param pluginSetting instance with metadata information from pipeline pluginSetting file.
      */
@@ -90,6 +153,9 @@ public class BlockingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
         this(checkNotNull(pluginSetting, "PluginSetting cannot be null")
                         .getIntegerOrDefault(ATTRIBUTE_BUFFER_CAPACITY, DEFAULT_BUFFER_CAPACITY),
                 pluginSetting.getIntegerOrDefault(ATTRIBUTE_BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                pluginSetting.getLongOrDefault(ATTRIBUTE_MAX_BYTES, Long.MAX_VALUE),
+                pluginSetting.getLongOrDefault(ATTRIBUTE_BATCH_MAX_BYTES, Long.MAX_VALUE),
+                recordSizeEstimatorFrom(pluginSetting),
                 pluginSetting.getPipelineName());
     }
 
@@ -97,27 +163,102 @@ public class BlockingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
         this(DEFAULT_BUFFER_CAPACITY, DEFAULT_BATCH_SIZE, pipelineName);
     }
 
+    private static <T extends Record<?>> RecordSizeEstimator<? super T> recordSizeEstimatorFrom(
+            final PluginSetting pluginSetting) {
+        final Map<String, Object> settings = pluginSetting.getSettings();
+        final boolean bytesBounded = settings != null &&
+                (settings.containsKey(ATTRIBUTE_MAX_BYTES) || settings.containsKey(ATTRIBUTE_BATCH_MAX_BYTES));
+        final String recordSizeEstimator = pluginSetting.getStringOrDefault(ATTRIBUTE_RECORD_SIZE_ESTIMATOR,
+                bytesBounded ? DEFAULT_RECORD_SIZE_ESTIMATOR : null);
+        return recordSizeEstimator == null ? null :
+                RecordSizeEstimatorType.fromOptionValue(recordSizeEstimator).getRecordSizeEstimator();
+    }
+
     @Override
     public void doWrite(T record, int timeoutInMillis) throws TimeoutException {
+        doWrite(record, estimateSizeInBytes(record), timeoutInMillis);
+    }
+
+    /**
+     * Writes the record like {@link #doWriteAll(Collection, long, int)}. A record which exceeds
+     * {@link #ATTRIBUTE_MAX_BYTES} on its own fails with the same {@link SizeOverflowException}, as the cause of a
+     * {@link RuntimeException} since {@link #write(Record, int)} only declares {@link TimeoutException}.
+     */
+    @Override
+    public void doWrite(T record, long sizeInBytes, int timeoutInMillis) throws TimeoutException {
+        checkNotNull(record, "Record cannot be null");
         try {
-            final boolean permitAcquired = capacitySemaphore.tryAcquire(timeoutInMillis, TimeUnit.MILLISECONDS);
-            if (!permitAcquired) {
-                throw new TimeoutException(format("Pipeline [%s] - Buffer is full, timed out waiting for a slot",
-                        pipelineName));
-            }
+            reserveCapacity(1, sizeInBytes, timeoutInMillis);
+        } catch (final SizeOverflowException ex) {
+            throw new RuntimeException(ex);
+        }
+        if (boundedInBytes) {
+            sizedRecordQueue.offer(new BufferedRecord<>(record, sizeInBytes));
+        } else {
             blockingQueue.offer(record);
-        } catch (InterruptedException ex) {
-            LOG.error("Pipeline [{}] - Buffer is full, interrupted while waiting to write the record", pipelineName, ex);
-            throw new TimeoutException("Buffer is full, timed out waiting for a slot");
         }
     }
 
     @Override
     public void doWriteAll(Collection<T> records, int timeoutInMillis) throws Exception {
-        final int size = records.size();
+        doWriteAllAndEstimateSize(records, timeoutInMillis);
+    }
+
+    /**
+     * Writes the records. A buffer which is bounded in bytes keeps the size of each record, so it estimates the
+     * records one by one like {@link #doWriteAllAndEstimateSize(Collection, int)} instead of using sizeInBytes.
+     */
+    @Override
+    public void doWriteAll(Collection<T> records, long sizeInBytes, int timeoutInMillis) throws Exception {
+        if (boundedInBytes) {
+            doWriteAllAndEstimateSize(records, timeoutInMillis);
+            return;
+        }
+        for (final T record : records) {
+            checkNotNull(record, "Record cannot be null");
+        }
+        reserveCapacity(records.size(), sizeInBytes, timeoutInMillis);
+        blockingQueue.addAll(records);
+    }
+
+    /**
+     * Writes the records of a buffer which is bounded in bytes with the size of each record, which is estimated only
+     * once, and returns the size of all the records.
+     */
+    @Override
+    protected long doWriteAllAndEstimateSize(Collection<T> records, int timeoutInMillis) throws Exception {
+        if (!boundedInBytes) {
+            return super.doWriteAllAndEstimateSize(records, timeoutInMillis);
+        }
+        final long[] recordSizesInBytes = new long[records.size()];
+        long sizeInBytes = 0;
+        int index = 0;
+        for (final T record : records) {
+            checkNotNull(record, "Record cannot be null");
+            recordSizesInBytes[index] = estimateSizeInBytes(record);
+            sizeInBytes += recordSizesInBytes[index++];
+        }
+        reserveCapacity(records.size(), sizeInBytes, timeoutInMillis);
+        index = 0;
+        for (final T record : records) {
+            sizedRecordQueue.offer(new BufferedRecord<>(record, recordSizesInBytes[index++]));
+        }
+        return sizeInBytes;
+    }
+
+    /**
+     * Takes the slots and bytes of the records, waiting up to timeoutInMillis for them to become available.
+     */
+    private void reserveCapacity(final int size, final long sizeInBytes, final int timeoutInMillis)
+            throws SizeOverflowException, TimeoutException {
         if (size > bufferCapacity) {
             throw new SizeOverflowException(format("Buffer capacity too small for the size of records: %d", size));
         }
+        if (sizeInBytes > maxBytes) {
+            throw new SizeOverflowException(
+                    format("Buffer capacity in bytes too small for the size of records: %d bytes", sizeInBytes));
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
         try {
             final boolean permitAcquired = capacitySemaphore.tryAcquire(size, timeoutInMillis, TimeUnit.MILLISECONDS);
             if (!permitAcquired) {
@@ -126,7 +267,12 @@ public class BlockingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
                                         "timed out waiting for slots.",
                         pipelineName, size));
             }
-            blockingQueue.addAll(records);
+            if (!reserveBytes(sizeInBytes, deadline, size)) {
+                throw new TimeoutException(
+                        format("Pipeline [%s] - Buffer does not have enough capacity left for the size of records: %d " +
+                                        "bytes, timed out waiting for space.",
+                        pipelineName, sizeInBytes));
+            }
         } catch (InterruptedException ex) {
             LOG.error("Pipeline [{}] - Buffer does not have enough capacity left for the size of records: {}, " +
                             "interrupted while waiting to write the records",
@@ -138,6 +284,50 @@ public class BlockingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
         }
     }
 
+    /**
+     * Takes sizeInBytes of the byte capacity, waiting until the deadline for it to be released by checkpoints. If the
+     * bytes are not available in time, or the wait is interrupted, the permits of the records are released again.
+     *
+     * @return true if the bytes were reserved
+     */
+    private boolean reserveBytes(final long sizeInBytes, final long deadline, final int permits)
+            throws InterruptedException {
+        if (maxBytes == Long.MAX_VALUE) {
+            return true;
+        }
+        boolean reserved = false;
+        byteCapacityLock.lock();
+        try {
+            long remainingNanos = deadline - System.nanoTime();
+            while (availableBytes < sizeInBytes && remainingNanos > 0) {
+                remainingNanos = bytesReleased.awaitNanos(remainingNanos);
+            }
+            if (availableBytes >= sizeInBytes) {
+                availableBytes -= sizeInBytes;
+                reserved = true;
+            }
+        } finally {
+            byteCapacityLock.unlock();
+            if (!reserved) {
+                capacitySemaphore.release(permits);
+            }
+        }
+        return reserved;
+    }
+
+    private void releaseBytes(final long sizeInBytes) {
+        if (maxBytes == Long.MAX_VALUE) {
+            return;
+        }
+        byteCapacityLock.lock();
+        try {
+            availableBytes += sizeInBytes;
+            bytesReleased.signalAll();
+        } finally {
+            byteCapacityLock.unlock();
+        }
+    }
+
     /**
      * Retrieves and removes the batch of records from the head of the queue. The batch size is defined/determined by
      * the configuration attribute {@link #ATTRIBUTE_BATCH_SIZE} or the @param timeoutInMillis. The timeoutInMillis
@@ -148,24 +338,140 @@ public class BlockingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
      */
     @Override
     public Map.Entry<Collection<T>, CheckpointState> doRead(int timeoutInMillis) {
+        return doRead(timeoutInMillis, batchSize);
+    }
+
+    /**
+     * Retrieves and removes the batch of up to maxBatchSize records from the head of the queue, waiting up to
+     * timeoutInMillis for the batch to fill up. This overrides the configured {@link #ATTRIBUTE_BATCH_SIZE} so that
+     * readers can adapt the batch size to the load. If {@link #ATTRIBUTE_BATCH_MAX_BYTES} is configured the batch is
+     * additionally closed once the next record would exceed it.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     * @return The earliest batch of records in the buffer which are still not read.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(int timeoutInMillis, int maxBatchSize) {
         final List<T> records = new ArrayList<>();
-        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final long batchSizeInBytes = readInto(records, timeoutInMillis, maxBatchSize);
+        final CheckpointState checkpointState = new CheckpointState(records.size(), batchSizeInBytes);
+        return new AbstractMap.SimpleEntry<>(records, checkpointState);
+    }
+
+    /**
+     * Reads the batch like {@link #doRead(int)} into the reusable batch, without allocating a collection and a
+     * checkpoint state.
+     *
+     * @param batch           empty batch to which the records and their checkpoint are added
+     * @param timeoutInMillis how long to wait before giving up
+     */
+    @Override
+    public void doRead(final ReadBatch<T> batch, final int timeoutInMillis) {
+        doRead(batch, timeoutInMillis, batchSize);
+    }
+
+    /**
+     * Reads the batch like {@link #doRead(int, int)} into the reusable batch, without allocating a collection and a
+     * checkpoint state.
+     *
+     * @param batch           empty batch to which the records and their checkpoint are added
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     */
+    @Override
+    public void doRead(final ReadBatch<T> batch, final int timeoutInMillis, final int maxBatchSize) {
+        final long batchSizeInBytes = readInto(batch.getRecords(), timeoutInMillis, maxBatchSize);
+        batch.setCheckpoint(batch.size(), batchSizeInBytes);
+    }
+
+    /**
+     * Adds up to maxBatchSize records from the head of the queue to the empty list of records. The records of a buffer
+     * which is not bounded in bytes are drained straight into the list.
+     *
+     * @return estimated size of the records read in bytes
+     */
+    private long readInto(final List<T> records, final int timeoutInMillis, final int maxBatchSize) {
+        if (boundedInBytes) {
+            return readBoundedInBytes(records, timeoutInMillis, maxBatchSize);
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
         try {
-            while (stopwatch.elapsed(TimeUnit.MILLISECONDS) < timeoutInMillis && records.size() < batchSize) {
-                final T record = blockingQueue.poll(timeoutInMillis, TimeUnit.MILLISECONDS);
+            // Takes the records which are available first, so a read without timeout still returns them, and only
+            // waits for a record while the batch is not full
+            blockingQueue.drainTo(records, maxBatchSize);
+            long remainingNanos = deadline - System.nanoTime();
+            while (records.size() < maxBatchSize && remainingNanos > 0) {
+                final T record = blockingQueue.poll(remainingNanos, TimeUnit.NANOSECONDS);
                 if (record != null) { //record can be null, avoiding adding nulls
                     records.add(record);
+                    blockingQueue.drainTo(records, maxBatchSize - records.size());
+                }
+                remainingNanos = deadline - System.nanoTime();
+            }
+        } catch (InterruptedException ex) {
+            LOG.info("Pipeline [{}] - Interrupt received while reading from buffer", pipelineName);
+            throw new RuntimeException(ex);
+        }
+        return estimateSizeInBytes(records);
+    }
+
+    /**
+     * Reads a batch of a buffer which is bounded in bytes, which is also bounded by
+     * {@link #ATTRIBUTE_BATCH_MAX_BYTES} if it is configured. The record which does not fit into the
+     * batch is carried over to the next read, so the order of the records is kept; a single record which exceeds the
+     * limit on its own is returned as a batch of one. The read lock is only held while the records which are available
+     * are taken, a reader waits for the next record without it, so it does not hold up the other readers.
+     *
+     * @return estimated size of the records read in bytes
+     */
+    private long readBoundedInBytes(final List<T> records, final int timeoutInMillis, final int maxBatchSize) {
+        long batchSizeInBytes = 0;
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        BufferedRecord<T> waitedForRecord = null;
+        try {
+            while (true) {
+                readLock.lock();
+                try {
+                    if (waitedForRecord != null) {
+                        // Queued after the records which were carried over by other readers meanwhile
+                        carriedOverRecords.addLast(waitedForRecord);
+                        waitedForRecord = null;
+                    }
+                    BufferedRecord<T> bufferedRecord;
+                    while (records.size() < maxBatchSize && batchSizeInBytes < batchMaxBytes &&
+                            (bufferedRecord = pollAvailable()) != null) {
+                        if (!records.isEmpty() && batchSizeInBytes + bufferedRecord.sizeInBytes > batchMaxBytes) {
+                            carriedOverRecords.addFirst(bufferedRecord);
+                            return batchSizeInBytes;
+                        }
+                        records.add(bufferedRecord.record);
+                        batchSizeInBytes += bufferedRecord.sizeInBytes;
+                    }
+                } finally {
+                    readLock.unlock();
                 }
-                if (records.size() < batchSize) {
-                    blockingQueue.drainTo(records, batchSize - records.size());
+                final long remainingNanos = deadline - System.nanoTime();
+                if (records.size() >= maxBatchSize || batchSizeInBytes >= batchMaxBytes || remainingNanos <= 0) {
+                    return batchSizeInBytes;
+                }
+                waitedForRecord = sizedRecordQueue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                if (waitedForRecord == null) {
+                    return batchSizeInBytes;
                 }
             }
         } catch (InterruptedException ex) {
             LOG.info("Pipeline [{}] - Interrupt received while reading from buffer", pipelineName);
             throw new RuntimeException(ex);
         }
-        final CheckpointState checkpointState = new CheckpointState(records.size());
-        return new AbstractMap.SimpleEntry<>(records, checkpointState);
+    }
+
+    /**
+     * Returns the record which was carried over first, or else the head of the queue, without waiting.
+     */
+    private BufferedRecord<T> pollAvailable() {
+        final BufferedRecord<T> carriedOverRecord = carriedOverRecords.pollFirst();
+        return carriedOverRecord != null ? carriedOverRecord : sizedRecordQueue.poll();
     }
 
     /**
@@ -183,10 +489,49 @@ public class BlockingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
     public void doCheckpoint(final CheckpointState checkpointState) {
         final int numCheckedRecords = checkpointState.getNumRecordsToBeChecked();
         capacitySemaphore.release(numCheckedRecords);
+        releaseBytes(checkpointState.getNumBytesToBeChecked());
+    }
+
+    @Override
+    public void doCheckpoint(final ReadBatch<T> batch) {
+        capacitySemaphore.release(batch.getNumRecordsToBeChecked());
+        releaseBytes(batch.getNumBytesToBeChecked());
     }
 
     @Override
     public boolean isEmpty() {
-        return blockingQueue.isEmpty() && getRecordsInFlight() == 0;
+        final boolean queueEmpty = boundedInBytes ? sizedRecordQueue.isEmpty() : blockingQueue.isEmpty();
+        return queueEmpty && carriedOverRecords.isEmpty() && getRecordsInFlight() == 0;
+    }
+
+    @Override
+    public int getCapacity() {
+        return bufferCapacity;
+    }
+
+    /**
+     * Returns the share of the capacity in records or, if {@link #ATTRIBUTE_MAX_BYTES} is configured, in bytes which is
+     * taken, whichever is higher.
+     */
+    @Override
+    protected double getFillRatio() {
+        final double recordsFillRatio = super.getFillRatio();
+        if (maxBytes == Long.MAX_VALUE) {
+            return recordsFillRatio;
+        }
+        return Math.max(recordsFillRatio, (maxBytes - availableBytes) / (double) maxBytes);
+    }
+
+    /**
+     * A queued record with the size estimated when it was written.
+     */
+    private static class BufferedRecord<T> {
+        private final T record;
+        private final long sizeInBytes;
+
+        private BufferedRecord(final T record, final long sizeInBytes) {
+            this.record = record;
+            this.sizeInBytes = sizeInBytes;
+        }
     }
 }
@@ -0,0 +1,51 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.blockingbuffer;
+
+import com.amazon.dataprepper.model.buffer.RecordSizeEstimator;
+import com.amazon.dataprepper.model.record.Record;
+import com.google.protobuf.MessageLite;
+
+import java.util.Objects;
+
+/**
+ * Estimators of the size of the data of a record, used by the {@link BlockingBuffer} to bound its size in bytes.
+ */
+public enum RecordSizeEstimatorType {
+    /**
+     * Records whose data is a {@link CharSequence}, estimated by its length.
+     */
+    STRING(record -> ((CharSequence) record.getData()).length()),
+    /**
+     * Records whose data is a protobuf message, e.g. the ExportTraceServiceRequest of the otel_trace_source,
+     * estimated by its serialized size.
+     */
+    PROTOBUF(record -> ((MessageLite) record.getData()).getSerializedSize());
+
+    private final RecordSizeEstimator<Record<?>> recordSizeEstimator;
+
+    RecordSizeEstimatorType(final RecordSizeEstimator<Record<?>> recordSizeEstimator) {
+        this.recordSizeEstimator = Objects.requireNonNull(recordSizeEstimator);
+    }
+
+    /**
+     * @param optionValue configured value, e.g. protobuf
+     * @return record size estimator type of the configured value
+     */
+    public static RecordSizeEstimatorType fromOptionValue(final String optionValue) {
+        return valueOf(optionValue.toUpperCase());
+    }
+
+    public RecordSizeEstimator<Record<?>> getRecordSizeEstimator() {
+        return recordSizeEstimator;
+    }
+}
@@ -11,19 +11,24 @@
 
 package com.amazon.dataprepper.plugins.buffer.blockingbuffer;
 
+import com.amazon.dataprepper.model.buffer.ReadBatch;
 import com.amazon.dataprepper.model.buffer.SizeOverflowException;
 import com.amazon.dataprepper.model.configuration.PluginSetting;
 import com.amazon.dataprepper.model.record.Record;
 import com.amazon.dataprepper.model.CheckpointState;
+import com.google.protobuf.StringValue;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
@@ -37,6 +42,9 @@ import static org.junit.Assert.assertTrue;
 public class BlockingBufferTests {
     private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
     private static final String ATTRIBUTE_BUFFER_SIZE = "buffer_size";
+    private static final String ATTRIBUTE_MAX_BYTES = "max_bytes";
+    private static final String ATTRIBUTE_BATCH_MAX_BYTES = "batch_max_bytes";
+    private static final String ATTRIBUTE_RECORD_SIZE_ESTIMATOR = "record_size_estimator";
     private static final String TEST_PIPELINE_NAME = "test-pipeline";
     private static final int TEST_BATCH_SIZE = 3;
     private static final int TEST_BUFFER_SIZE = 13;
@@ -204,6 +212,86 @@ public class BlockingBufferTests {
         }
     }
 
+    @Test
+    public void testBatchReadWithMaxBatchSize() throws Exception {
+        final BlockingBuffer<Record<String>> blockingBuffer = new BlockingBuffer<>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE,
+                TEST_PIPELINE_NAME);
+        final int testSize = 10;
+        blockingBuffer.writeAll(generateBatchRecords(testSize), TEST_WRITE_TIMEOUT);
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> largeReadResult =
+                blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, TEST_BATCH_SIZE * 2);
+        assertThat(largeReadResult.getKey().size(), is(TEST_BATCH_SIZE * 2));
+        assertEquals(TEST_BATCH_SIZE * 2, largeReadResult.getValue().getNumRecordsToBeChecked());
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> smallReadResult =
+                blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, 1);
+        assertThat(smallReadResult.getKey().size(), is(1));
+        assertEquals(1, smallReadResult.getValue().getNumRecordsToBeChecked());
+    }
+
+    @Test
+    public void testReadWithoutTimeoutReturnsAvailableRecords() throws Exception {
+        final BlockingBuffer<Record<String>> blockingBuffer = new BlockingBuffer<>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE,
+                TEST_PIPELINE_NAME);
+        blockingBuffer.writeAll(generateBatchRecords(2), TEST_WRITE_TIMEOUT);
+        assertThat(blockingBuffer.read(0, TEST_BATCH_SIZE).getKey().size(), is(2));
+
+        final BlockingBuffer<Record<String>> boundedBuffer = newBufferBoundedInBytes(Long.MAX_VALUE, 10);
+        boundedBuffer.writeAll(Arrays.asList(new Record<>("aaaa"), new Record<>("bbbb")), TEST_WRITE_TIMEOUT);
+        assertThat(recordData(boundedBuffer.read(0, TEST_BATCH_SIZE).getKey()), is(equalTo(Arrays.asList("aaaa", "bbbb"))));
+    }
+
+    @Test
+    public void testReadIntoBatch() throws Exception {
+        final BlockingBuffer<Record<String>> blockingBuffer = new BlockingBuffer<>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE,
+                TEST_PIPELINE_NAME);
+        blockingBuffer.writeAll(generateBatchRecords(TEST_BATCH_SIZE + 1), TEST_WRITE_TIMEOUT);
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+
+        blockingBuffer.read(batch, TEST_BATCH_READ_TIMEOUT);
+        assertThat(batch.size(), is(TEST_BATCH_SIZE));
+        assertThat(batch.getNumRecordsToBeChecked(), is(TEST_BATCH_SIZE));
+        blockingBuffer.checkpoint(batch);
+        batch.clear();
+
+        blockingBuffer.read(batch, 0, TEST_BATCH_SIZE);
+        assertThat(batch.size(), is(1));
+        blockingBuffer.checkpoint(batch);
+        assertTrue(blockingBuffer.isEmpty());
+    }
+
+    @Test
+    public void testCheckpointBatchReleasesCapacity() throws Exception {
+        final BlockingBuffer<Record<String>> blockingBuffer = newBufferBoundedInBytes(10, Long.MAX_VALUE);
+        blockingBuffer.write(new Record<>("12345678"), TEST_WRITE_TIMEOUT);
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+
+        blockingBuffer.read(batch, TEST_BATCH_READ_TIMEOUT, 1);
+        assertThat(batch.getNumBytesToBeChecked(), is(8L));
+        assertThrows(TimeoutException.class, () -> blockingBuffer.write(new Record<>("1234"), TEST_WRITE_TIMEOUT));
+
+        blockingBuffer.checkpoint(batch);
+        blockingBuffer.write(new Record<>("1234"), TEST_WRITE_TIMEOUT);
+        assertThat(blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, 1).getKey().size(), is(1));
+    }
+
+    @Test
+    public void testReadIntoBatchBoundedInBytes() throws Exception {
+        final BlockingBuffer<Record<String>> blockingBuffer = newBufferBoundedInBytes(Long.MAX_VALUE, 10);
+        blockingBuffer.writeAll(Arrays.asList(new Record<>("aaaa"), new Record<>("bbbb"), new Record<>("cccc")),
+                TEST_WRITE_TIMEOUT);
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+
+        blockingBuffer.read(batch, TEST_BATCH_READ_TIMEOUT, 10);
+        assertThat(recordData(batch.getRecords()), is(equalTo(Arrays.asList("aaaa", "bbbb"))));
+        assertThat(batch.getNumBytesToBeChecked(), is(8L));
+        batch.clear();
+
+        blockingBuffer.read(batch, 0, 10);
+        assertThat(recordData(batch.getRecords()), is(equalTo(Collections.singletonList("cccc"))));
+    }
+
     @Test
     public void testBufferIsEmpty() {
         final PluginSetting completePluginSetting = completePluginSettingForBlockingBuffer();
@@ -223,6 +311,142 @@ public class BlockingBufferTests {
         assertFalse(blockingBuffer.isEmpty());
     }
 
+    @Test
+    public void testCreationWithBytesLimitsUsingPluginSetting() throws Exception {
+        final PluginSetting pluginSetting = completePluginSettingForBlockingBuffer();
+        pluginSetting.getSettings().put(ATTRIBUTE_MAX_BYTES, 10);
+        final BlockingBuffer<Record<String>> blockingBuffer = new BlockingBuffer<>(pluginSetting);
+
+        assertThrows(SizeOverflowException.class, () -> blockingBuffer.writeAll(
+                Arrays.asList(new Record<>("123456"), new Record<>("123456")), TEST_WRITE_TIMEOUT));
+        blockingBuffer.writeAll(Arrays.asList(new Record<>("12345"), new Record<>("12345")), TEST_WRITE_TIMEOUT);
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, 2);
+        assertThat(readResult.getValue().getNumBytesToBeChecked(), is(10L));
+    }
+
+    @Test
+    public void testCreationWithBytesLimitsWithoutEstimator() {
+        assertThrows(IllegalArgumentException.class, () -> new BlockingBuffer<Record<String>>(TEST_BUFFER_SIZE,
+                TEST_BATCH_SIZE, 10, Long.MAX_VALUE, null, TEST_PIPELINE_NAME));
+        assertThrows(IllegalArgumentException.class, () -> new BlockingBuffer<Record<String>>(TEST_BUFFER_SIZE,
+                TEST_BATCH_SIZE, 0, Long.MAX_VALUE, RecordSizeEstimatorType.STRING.getRecordSizeEstimator(),
+                TEST_PIPELINE_NAME));
+    }
+
+    @Test
+    public void testReadWithoutBytesLimitsReportsBatchSize() throws Exception {
+        final PluginSetting pluginSetting = completePluginSettingForBlockingBuffer();
+        pluginSetting.getSettings().put(ATTRIBUTE_RECORD_SIZE_ESTIMATOR, "string");
+        final BlockingBuffer<Record<String>> blockingBuffer = new BlockingBuffer<>(pluginSetting);
+        blockingBuffer.writeAll(Arrays.asList(new Record<>("123"), new Record<>("4567")), TEST_WRITE_TIMEOUT);
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, 2);
+        assertThat(readResult.getKey().size(), is(2));
+        assertThat(readResult.getValue().getNumBytesToBeChecked(), is(7L));
+    }
+
+    @Test
+    public void testWriteTimeoutWhenBytesAreFull() throws TimeoutException {
+        final BlockingBuffer<Record<String>> blockingBuffer = newBufferBoundedInBytes(10, Long.MAX_VALUE);
+        blockingBuffer.write(new Record<>("12345678"), TEST_WRITE_TIMEOUT);
+
+        assertThrows(TimeoutException.class, () -> blockingBuffer.write(new Record<>("1234"), TEST_WRITE_TIMEOUT));
+        assertThrows(TimeoutException.class, () -> blockingBuffer.writeAll(
+                Collections.singletonList(new Record<>("1234")), TEST_WRITE_TIMEOUT));
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, 1);
+        assertThat(readResult.getValue().getNumBytesToBeChecked(), is(8L));
+        blockingBuffer.checkpoint(readResult.getValue());
+        blockingBuffer.write(new Record<>("1234"), TEST_WRITE_TIMEOUT);
+        assertThat(blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, 1).getKey().size(), is(1));
+    }
+
+    @Test
+    public void testWriteRecordLargerThanMaxBytes() {
+        final BlockingBuffer<Record<String>> blockingBuffer = newBufferBoundedInBytes(10, Long.MAX_VALUE);
+
+        final RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> blockingBuffer.write(new Record<>("12345678901"), TEST_WRITE_TIMEOUT));
+        assertThat(exception.getCause() instanceof SizeOverflowException, is(true));
+        assertThrows(SizeOverflowException.class, () -> blockingBuffer.writeAll(
+                Collections.singletonList(new Record<>("12345678901")), TEST_WRITE_TIMEOUT));
+        assertTrue(blockingBuffer.isEmpty());
+    }
+
+    @Test
+    public void testCheckpointReleasesTheBytesEstimatedOnWrite() throws Exception {
+        final BlockingBuffer<Record<StringBuilder>> blockingBuffer = new BlockingBuffer<>(TEST_BUFFER_SIZE,
+                TEST_BATCH_SIZE, 10, 10, record -> record.getData().length(), TEST_PIPELINE_NAME);
+        final StringBuilder data = new StringBuilder("12345");
+        blockingBuffer.write(new Record<>(data), TEST_WRITE_TIMEOUT);
+        data.append("6789");
+
+        final Map.Entry<Collection<Record<StringBuilder>>, CheckpointState> readResult =
+                blockingBuffer.read(TEST_BATCH_READ_TIMEOUT);
+        assertThat(readResult.getValue().getNumBytesToBeChecked(), is(5L));
+        blockingBuffer.checkpoint(readResult.getValue());
+
+        blockingBuffer.write(new Record<>(new StringBuilder("1234567890")), TEST_WRITE_TIMEOUT);
+    }
+
+    @Test
+    public void testWriteAllEstimatesEachRecordOnce() throws Exception {
+        final AtomicInteger estimates = new AtomicInteger();
+        final BlockingBuffer<Record<String>> blockingBuffer = new BlockingBuffer<>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE,
+                10, Long.MAX_VALUE, record -> {
+                    estimates.incrementAndGet();
+                    return record.getData().length();
+                }, TEST_PIPELINE_NAME);
+        blockingBuffer.writeAll(Arrays.asList(new Record<>("123"), new Record<>("4567")), TEST_WRITE_TIMEOUT);
+        assertThat(estimates.get(), is(2));
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, 1);
+        assertThat(readResult.getValue().getNumBytesToBeChecked(), is(3L));
+        blockingBuffer.checkpoint(readResult.getValue());
+        assertThat(blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, 1).getValue().getNumBytesToBeChecked(), is(4L));
+        assertThat(estimates.get(), is(2));
+    }
+
+    @Test
+    public void testBatchReadBoundedInBytes() throws Exception {
+        final BlockingBuffer<Record<String>> blockingBuffer = newBufferBoundedInBytes(Long.MAX_VALUE, 10);
+        blockingBuffer.writeAll(Arrays.asList(new Record<>("aaaa"), new Record<>("bbbb"), new Record<>("cccc"),
+                new Record<>("dddddddddddd"), new Record<>("e")), TEST_WRITE_TIMEOUT);
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> firstReadResult = blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, 10);
+        assertThat(recordData(firstReadResult.getKey()), is(equalTo(Arrays.asList("aaaa", "bbbb"))));
+        assertThat(firstReadResult.getValue().getNumBytesToBeChecked(), is(8L));
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> secondReadResult = blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, 10);
+        assertThat(recordData(secondReadResult.getKey()), is(equalTo(Collections.singletonList("cccc"))));
+        assertFalse(blockingBuffer.isEmpty());
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> thirdReadResult = blockingBuffer.read(TEST_BATCH_READ_TIMEOUT, 10);
+        assertThat(recordData(thirdReadResult.getKey()), is(equalTo(Collections.singletonList("dddddddddddd"))));
+        assertThat(thirdReadResult.getValue().getNumBytesToBeChecked(), is(12L));
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> lastReadResult = blockingBuffer.read(100, 10);
+        assertThat(recordData(lastReadResult.getKey()), is(equalTo(Collections.singletonList("e"))));
+    }
+
+    @Test
+    public void testProtobufRecordSizeEstimator() {
+        final StringValue message = StringValue.of("protobuf");
+
+        assertThat(RecordSizeEstimatorType.fromOptionValue("protobuf").getRecordSizeEstimator()
+                .estimateSizeInBytes(new Record<>(message)), is((long) message.getSerializedSize()));
+        assertThat(RecordSizeEstimatorType.fromOptionValue("string").getRecordSizeEstimator()
+                .estimateSizeInBytes(new Record<>("string")), is(6L));
+    }
+
+    @Test
+    public void testGetCapacity() {
+        final BlockingBuffer<Record<String>> blockingBuffer = new BlockingBuffer<>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE,
+                TEST_PIPELINE_NAME);
+
+        assertThat(blockingBuffer.getCapacity(), is(equalTo(TEST_BUFFER_SIZE)));
+    }
+
     private PluginSetting completePluginSettingForBlockingBuffer() {
         final String pluginName = "bounded_blocking";
         final Map<String, Object> settings = new HashMap<>();
@@ -233,6 +457,19 @@ public class BlockingBufferTests {
         return testSettings;
     }
 
+    private BlockingBuffer<Record<String>> newBufferBoundedInBytes(final long maxBytes, final long batchMaxBytes) {
+        return new BlockingBuffer<>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE, maxBytes, batchMaxBytes,
+                RecordSizeEstimatorType.STRING.getRecordSizeEstimator(), TEST_PIPELINE_NAME);
+    }
+
+    private List<String> recordData(final Collection<Record<String>> records) {
+        final List<String> data = new ArrayList<>();
+        for (final Record<String> record : records) {
+            data.add(record.getData());
+        }
+        return data;
+    }
+
     private Collection<Record<String>> generateBatchRecords(final int numRecords) {
         final Collection<Record<String>> results = new ArrayList<>();
         for (int i = 0; i < numRecords; i++) {
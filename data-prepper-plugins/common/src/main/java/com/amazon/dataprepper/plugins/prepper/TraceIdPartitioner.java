@@ -0,0 +1,89 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.prepper;
+
+import com.amazon.dataprepper.model.buffer.RecordPartitioner;
+import com.amazon.dataprepper.model.record.Record;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.trace.v1.InstrumentationLibrarySpans;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.proto.trace.v1.Span;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Partitions {@link ExportTraceServiceRequest}s by the trace id of their spans. A request with the spans of several
+ * partitions is split into one request per partition, keeping the resource and instrumentation library of the spans.
+ */
+public class TraceIdPartitioner implements RecordPartitioner<Record<ExportTraceServiceRequest>> {
+
+    @Override
+    public Map<Integer, Record<ExportTraceServiceRequest>> partition(
+            final Record<ExportTraceServiceRequest> record, final int numberOfPartitions) {
+        final int singlePartition = getSinglePartition(record.getData(), numberOfPartitions);
+        if (singlePartition >= 0) {
+            return Collections.singletonMap(singlePartition, record);
+        }
+
+        final Map<Integer, ExportTraceServiceRequest.Builder> requestBuilders = new TreeMap<>();
+        for (final ResourceSpans resourceSpans : record.getData().getResourceSpansList()) {
+            final Map<Integer, ResourceSpans.Builder> resourceSpansBuilders = new TreeMap<>();
+            for (final InstrumentationLibrarySpans librarySpans : resourceSpans.getInstrumentationLibrarySpansList()) {
+                final Map<Integer, InstrumentationLibrarySpans.Builder> librarySpansBuilders = new TreeMap<>();
+                for (final Span span : librarySpans.getSpansList()) {
+                    librarySpansBuilders.computeIfAbsent(getPartition(span, numberOfPartitions),
+                            partition -> librarySpans.toBuilder().clearSpans())
+                            .addSpans(span);
+                }
+                librarySpansBuilders.forEach((partition, librarySpansBuilder) ->
+                        resourceSpansBuilders.computeIfAbsent(partition,
+                                p -> resourceSpans.toBuilder().clearInstrumentationLibrarySpans())
+                                .addInstrumentationLibrarySpans(librarySpansBuilder));
+            }
+            resourceSpansBuilders.forEach((partition, resourceSpansBuilder) ->
+                    requestBuilders.computeIfAbsent(partition, p -> ExportTraceServiceRequest.newBuilder())
+                            .addResourceSpans(resourceSpansBuilder));
+        }
+
+        final Map<Integer, Record<ExportTraceServiceRequest>> partitionedRecords = new HashMap<>();
+        requestBuilders.forEach((partition, requestBuilder) ->
+                partitionedRecords.put(partition, new Record<>(requestBuilder.build(), record.getMetadata())));
+        return partitionedRecords;
+    }
+
+    /**
+     * @return the partition of all the spans of the request, 0 if the request has no spans, or -1 if the spans belong
+     * to more than one partition
+     */
+    private static int getSinglePartition(final ExportTraceServiceRequest request, final int numberOfPartitions) {
+        int singlePartition = -1;
+        for (final ResourceSpans resourceSpans : request.getResourceSpansList()) {
+            for (final InstrumentationLibrarySpans librarySpans : resourceSpans.getInstrumentationLibrarySpansList()) {
+                for (final Span span : librarySpans.getSpansList()) {
+                    final int partition = getPartition(span, numberOfPartitions);
+                    if (singlePartition >= 0 && partition != singlePartition) {
+                        return -1;
+                    }
+                    singlePartition = partition;
+                }
+            }
+        }
+        return Math.max(singlePartition, 0);
+    }
+
+    private static int getPartition(final Span span, final int numberOfPartitions) {
+        return Math.floorMod(span.getTraceId().hashCode(), numberOfPartitions);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.prepper;
+
+import com.amazon.dataprepper.model.record.Record;
+import com.google.protobuf.ByteString;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.common.v1.InstrumentationLibrary;
+import io.opentelemetry.proto.resource.v1.Resource;
+import io.opentelemetry.proto.trace.v1.InstrumentationLibrarySpans;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.proto.trace.v1.Span;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+public class TraceIdPartitionerTest {
+    private static final int NUMBER_OF_PARTITIONS = 4;
+    private static final ByteString FIRST_TRACE_ID = ByteString.copyFromUtf8("first-trace-id-1");
+    private static final ByteString SECOND_TRACE_ID = secondTraceIdInOtherPartition();
+
+    private final TraceIdPartitioner traceIdPartitioner = new TraceIdPartitioner();
+
+    @Test
+    public void testRequestOfSinglePartitionIsNotSplit() {
+        final Record<ExportTraceServiceRequest> record = new Record<>(
+                getRequest(getSpan(FIRST_TRACE_ID, "span1"), getSpan(FIRST_TRACE_ID, "span2")));
+
+        final Map<Integer, Record<ExportTraceServiceRequest>> partitionedRecords =
+                traceIdPartitioner.partition(record, NUMBER_OF_PARTITIONS);
+
+        Assert.assertEquals(1, partitionedRecords.size());
+        Assert.assertSame(record, partitionedRecords.get(getPartition(FIRST_TRACE_ID)));
+    }
+
+    @Test
+    public void testEmptyRequestIsAssignedToFirstPartition() {
+        final Record<ExportTraceServiceRequest> record = new Record<>(ExportTraceServiceRequest.getDefaultInstance());
+
+        final Map<Integer, Record<ExportTraceServiceRequest>> partitionedRecords =
+                traceIdPartitioner.partition(record, NUMBER_OF_PARTITIONS);
+
+        Assert.assertEquals(1, partitionedRecords.size());
+        Assert.assertSame(record, partitionedRecords.get(0));
+    }
+
+    @Test
+    public void testRequestOfSeveralPartitionsIsSplitByTraceId() {
+        final Span firstSpan = getSpan(FIRST_TRACE_ID, "span1");
+        final Span secondSpan = getSpan(SECOND_TRACE_ID, "span2");
+        final Span thirdSpan = getSpan(FIRST_TRACE_ID, "span3");
+        final Record<ExportTraceServiceRequest> record = new Record<>(getRequest(firstSpan, secondSpan, thirdSpan));
+
+        final Map<Integer, Record<ExportTraceServiceRequest>> partitionedRecords =
+                traceIdPartitioner.partition(record, NUMBER_OF_PARTITIONS);
+
+        Assert.assertEquals(2, partitionedRecords.size());
+        Assert.assertEquals(getRequest(firstSpan, thirdSpan), partitionedRecords.get(getPartition(FIRST_TRACE_ID)).getData());
+        Assert.assertEquals(getRequest(secondSpan), partitionedRecords.get(getPartition(SECOND_TRACE_ID)).getData());
+    }
+
+    private static ExportTraceServiceRequest getRequest(final Span... spans) {
+        return ExportTraceServiceRequest.newBuilder()
+                .addResourceSpans(ResourceSpans.newBuilder()
+                        .setResource(Resource.getDefaultInstance())
+                        .addInstrumentationLibrarySpans(InstrumentationLibrarySpans.newBuilder()
+                                .setInstrumentationLibrary(InstrumentationLibrary.newBuilder().setName("library"))
+                                .addAllSpans(Arrays.asList(spans))))
+                .build();
+    }
+
+    private static Span getSpan(final ByteString traceId, final String name) {
+        return Span.newBuilder().setTraceId(traceId).setName(name).build();
+    }
+
+    private static int getPartition(final ByteString traceId) {
+        return Math.floorMod(traceId.hashCode(), NUMBER_OF_PARTITIONS);
+    }
+
+    private static ByteString secondTraceIdInOtherPartition() {
+        for (int i = 0; ; i++) {
+            final ByteString traceId = ByteString.copyFromUtf8("other-trace-id-" + i);
+            if (getPartition(traceId) != getPartition(FIRST_TRACE_ID)) {
+                return traceId;
+            }
+        }
+    }
+}
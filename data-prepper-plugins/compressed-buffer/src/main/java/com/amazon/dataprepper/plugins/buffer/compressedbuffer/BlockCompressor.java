@@ -0,0 +1,42 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.compressedbuffer;
+
+import java.io.IOException;
+
+/**
+ * Compresses the blocks of serialized records of the {@link CompressedBuffer}. Implementations are used by the writers
+ * and readers of the buffer concurrently, outside of its lock, and must be thread-safe.
+ */
+interface BlockCompressor {
+    /**
+     * @param length number of bytes to compress
+     * @return maximum number of bytes the compressed data can take
+     */
+    int maxCompressedLength(int length);
+
+    /**
+     * @param source      uncompressed bytes
+     * @param length      number of bytes of the source to compress
+     * @param destination array of at least {@link #maxCompressedLength(int)} bytes
+     * @return number of bytes of the compressed data
+     */
+    int compress(byte[] source, int length, byte[] destination) throws IOException;
+
+    /**
+     * @param source           compressed bytes
+     * @param compressedLength number of bytes of the compressed data
+     * @param destination      array of at least originalLength bytes
+     * @param originalLength   number of bytes of the uncompressed data
+     */
+    void decompress(byte[] source, int compressedLength, byte[] destination, int originalLength) throws IOException;
+}
@@ -0,0 +1,133 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.compressedbuffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Stores the compressed blocks of the {@link CompressedBuffer} off the heap. Blocks are appended to direct chunks of
+ * chunkSize bytes, a chunk is returned to the pool once all its blocks are released. As blocks are mostly checkpointed
+ * in the order they were written the chunks hardly fragment. A block which is larger than a chunk is stored in a chunk
+ * of its own which is not pooled. Not thread-safe, the buffer uses it under its lock.
+ */
+class BlockPool {
+    private final int chunkSize;
+    private final int maxPooledChunks;
+    private final Deque<ByteBuffer> freeChunks = new ArrayDeque<>();
+    private Chunk writeChunk;
+    private long allocatedBytes;
+
+    BlockPool(final int chunkSize, final int maxPooledChunks) {
+        this.chunkSize = chunkSize;
+        this.maxPooledChunks = maxPooledChunks;
+    }
+
+    /**
+     * Copies the first length bytes of the source into the pool.
+     *
+     * @return the stored block
+     */
+    Block store(final byte[] source, final int length) {
+        final Chunk chunk;
+        if (length > chunkSize) {
+            chunk = new Chunk(ByteBuffer.allocateDirect(length));
+            allocatedBytes += length;
+        } else {
+            if (writeChunk == null || writeChunk.buffer.remaining() < length) {
+                // The blocks of the previous write chunk are released once they are checkpointed
+                writeChunk = new Chunk(takeChunk());
+            }
+            chunk = writeChunk;
+        }
+        final int offset = chunk.buffer.position();
+        chunk.buffer.put(source, 0, length);
+        chunk.blocks++;
+        return new Block(chunk, offset, length);
+    }
+
+    /**
+     * Copies the block into the destination, which must hold at least {@link Block#getLength()} bytes.
+     */
+    void read(final Block block, final byte[] destination) {
+        final ByteBuffer buffer = block.chunk.buffer.duplicate();
+        buffer.position(block.offset);
+        buffer.get(destination, 0, block.length);
+    }
+
+    /**
+     * Releases the block, its chunk is reused once all its blocks are released.
+     */
+    void release(final Block block) {
+        final Chunk chunk = block.chunk;
+        chunk.blocks--;
+        if (chunk.blocks == 0) {
+            if (chunk == writeChunk) {
+                writeChunk = null;
+            }
+            free(chunk);
+        }
+    }
+
+    /**
+     * @return number of bytes of the chunks which are in use
+     */
+    long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    private ByteBuffer takeChunk() {
+        ByteBuffer buffer = freeChunks.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(chunkSize);
+        }
+        allocatedBytes += chunkSize;
+        return buffer;
+    }
+
+    private void free(final Chunk chunk) {
+        allocatedBytes -= chunk.buffer.capacity();
+        if (chunk.buffer.capacity() == chunkSize && freeChunks.size() < maxPooledChunks) {
+            chunk.buffer.clear();
+            freeChunks.push(chunk.buffer);
+        }
+    }
+
+    private static class Chunk {
+        private final ByteBuffer buffer;
+        private int blocks;
+
+        private Chunk(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * A block stored in the pool.
+     */
+    static class Block {
+        private final Chunk chunk;
+        private final int offset;
+        private final int length;
+
+        private Block(final Chunk chunk, final int offset, final int length) {
+            this.chunk = chunk;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        int getLength() {
+            return length;
+        }
+    }
+}
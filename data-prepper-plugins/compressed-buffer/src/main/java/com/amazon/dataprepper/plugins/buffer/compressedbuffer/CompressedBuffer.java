@@ -0,0 +1,556 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.compressedbuffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.annotations.DataPrepperPlugin;
+import com.amazon.dataprepper.model.buffer.AbstractBuffer;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.plugins.buffer.diskbuffer.RecordCodec;
+import com.amazon.dataprepper.plugins.buffer.diskbuffer.RecordCodecType;
+import com.google.common.base.Preconditions;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * A CompressedBuffer is an implementation of {@link Buffer} which serializes the records and stores them compressed
+ * off the heap, so that far more records fit into the same amount of memory than in the bounded_blocking buffer.
+ * <p>
+ * Written records are appended to a block on the heap. Once the block reaches {@link #ATTRIBUTE_BLOCK_SIZE} it is
+ * compressed with the configured {@link #ATTRIBUTE_COMPRESSION} by the writer which filled it and stored in the pooled
+ * direct chunks of a {@link BlockPool}. Records are only decompressed and deserialized when they are read; a reader
+ * which catches up with the writers takes the records of a block which is not compressed yet as they are. Blocks are
+ * compressed and decompressed outside of the lock of the buffer, only appending and taking the serialized records
+ * holds it.
+ * <p>
+ * The blocks, compressed or not, take at most {@link #ATTRIBUTE_MAX_SIZE} bytes, writes wait for checkpoints to
+ * release blocks beyond that. A block is released once all its records are checkpointed, so the limit also covers the
+ * records in flight.
+ */
+@DataPrepperPlugin(name = "compressed_buffer", pluginType = Buffer.class)
+public class CompressedBuffer<T extends Record<?>> extends AbstractBuffer<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(CompressedBuffer.class);
+    static final String COMPRESSION_RATIO = "compressionRatio";
+    static final String OFF_HEAP_SIZE = "offHeapSize";
+    static final String COMPRESSION_TIME_ELAPSED = "compressionTimeElapsed";
+    static final String DECOMPRESSION_TIME_ELAPSED = "decompressionTimeElapsed";
+    private static final int FRAME_HEADER_SIZE = Integer.BYTES;
+    static final int BLOCKS_PER_CHUNK = 16;
+    private static final int DEFAULT_BATCH_SIZE = 8;
+    private static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    private static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+    private static final CompressionType DEFAULT_COMPRESSION = CompressionType.LZ4;
+    private static final RecordCodecType DEFAULT_RECORD_CODEC = RecordCodecType.STRING;
+    private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
+    private static final String ATTRIBUTE_BLOCK_SIZE = "block_size";
+    private static final String ATTRIBUTE_MAX_SIZE = "max_size";
+    private static final String ATTRIBUTE_COMPRESSION = "compression";
+    private static final String ATTRIBUTE_RECORD_CODEC = "record_codec";
+
+    private final int batchSize;
+    private final int blockSize;
+    private final long maxSize;
+    private final String pipelineName;
+    private final RecordCodec recordCodec;
+    private final BlockCompressor compressor;
+    private final BlockPool blockPool;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition recordsAvailable = lock.newCondition();
+    private final Condition spaceReleased = lock.newCondition();
+    /**
+     * Blocks which are not completely read, in the order they were written.
+     */
+    private final Deque<BufferedBlock> blocks = new ArrayDeque<>();
+    private final AtomicLong offHeapSize;
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final Timer compressionTimer;
+    private final Timer decompressionTimer;
+    /**
+     * Uncompressed block the records are written to.
+     */
+    private byte[] writeBlock;
+    private int writeBlockSize;
+    private int writeBlockRecords;
+    /**
+     * Bytes taken by the blocks which are not released and by the write block, compressed blocks count with their
+     * compressed size.
+     */
+    private long bufferedBytes;
+
+    /**
+     * Creates a CompressedBuffer.
+     *
+     * @param batchSize       the batch size for {@link #read(int)}
+     * @param blockSize       number of bytes of serialized records which are compressed together
+     * @param maxSize         maximum number of bytes of the buffered records
+     * @param compressionType how the blocks are compressed
+     * @param recordCodecType how the records are serialized
+     * @param pipelineName    the name of the associated Pipeline
+     */
+    public CompressedBuffer(final int batchSize, final int blockSize, final long maxSize,
+                            final CompressionType compressionType, final RecordCodecType recordCodecType,
+                            final String pipelineName) {
+        super("CompressedBuffer", pipelineName);
+        Preconditions.checkArgument(blockSize > FRAME_HEADER_SIZE, "blockSize is too small");
+        this.batchSize = batchSize;
+        this.blockSize = blockSize;
+        this.maxSize = maxSize;
+        this.pipelineName = pipelineName;
+        this.recordCodec = recordCodecType.create();
+        this.compressor = compressionType.create();
+        final int chunkSize = compressor.maxCompressedLength(blockSize) * BLOCKS_PER_CHUNK;
+        Preconditions.checkArgument(maxSize >= chunkSize, "maxSize must be at least %s bytes", chunkSize);
+        this.blockPool = new BlockPool(chunkSize, (int) (maxSize / chunkSize));
+        this.writeBlock = new byte[blockSize];
+        this.offHeapSize = pluginMetrics.gauge(OFF_HEAP_SIZE, new AtomicLong());
+        pluginMetrics.gauge(COMPRESSION_RATIO, this, CompressedBuffer::getCompressionRatio);
+        this.compressionTimer = pluginMetrics.timer(COMPRESSION_TIME_ELAPSED);
+        this.decompressionTimer = pluginMetrics.timer(DECOMPRESSION_TIME_ELAPSED);
+    }
+
+    /**
+     * Mandatory constructor for Data Prepper Component - This constructor is used by Data Prepper runtime engine to construct an
+     * instance of {@link CompressedBuffer} using an instance of {@link PluginSetting} which has access to
+     * pluginSetting metadata from pipeline pluginSetting file. Buffer settings like `max_size`, `compression` and
+     * `record_codec` are optional and can be passed via {@link PluginSetting}, if not present default values will
+     * be used to create the buffer.
+     *
+     * @param pluginSetting instance with metadata information from pipeline pluginSetting file.
+     */
+    public CompressedBuffer(final PluginSetting pluginSetting) {
+        this(checkNotNull(pluginSetting, "PluginSetting cannot be null")
+                        .getIntegerOrDefault(ATTRIBUTE_BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                pluginSetting.getIntegerOrDefault(ATTRIBUTE_BLOCK_SIZE, DEFAULT_BLOCK_SIZE),
+                pluginSetting.getLongOrDefault(ATTRIBUTE_MAX_SIZE, DEFAULT_MAX_SIZE),
+                CompressionType.fromOptionValue(
+                        pluginSetting.getStringOrDefault(ATTRIBUTE_COMPRESSION, DEFAULT_COMPRESSION.name())),
+                RecordCodecType.fromOptionValue(
+                        pluginSetting.getStringOrDefault(ATTRIBUTE_RECORD_CODEC, DEFAULT_RECORD_CODEC.name())),
+                pluginSetting.getPipelineName());
+    }
+
+    @Override
+    public void doWrite(final T record, final int timeoutInMillis) throws TimeoutException {
+        try {
+            doWriteAll(Collections.singletonList(record), timeoutInMillis);
+        } catch (final TimeoutException | RuntimeException ex) {
+            throw ex;
+        } catch (final Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    @Override
+    public void doWriteAll(final Collection<T> records, final int timeoutInMillis) throws Exception {
+        if (records.isEmpty()) {
+            return;
+        }
+        // Serialized outside of the lock, as are the blocks filled by this write compressed
+        final List<byte[]> payloads = new ArrayList<>(records.size());
+        long size = 0;
+        for (final T record : records) {
+            checkNotNull(record, "Record cannot be null");
+            final byte[] payload = recordCodec.encode(record.getData());
+            payloads.add(payload);
+            size += FRAME_HEADER_SIZE + payload.length;
+        }
+        if (size > maxSize) {
+            throw new SizeOverflowException(format("Buffer capacity too small for the size of records: %d",
+                    records.size()));
+        }
+        final List<Map.Entry<BufferedBlock, byte[]>> filledBlocks = new ArrayList<>(1);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        lock.lockInterruptibly();
+        try {
+            while (bufferedBytes + size > maxSize) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException(format("Pipeline [%s] - Buffer does not have enough capacity left " +
+                            "for the size of records: %d, timed out waiting for space.", pipelineName, records.size()));
+                }
+                spaceReleased.awaitNanos(remaining);
+            }
+            for (final byte[] payload : payloads) {
+                append(payload, filledBlocks);
+            }
+            bufferedBytes += size;
+            recordsAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (final Map.Entry<BufferedBlock, byte[]> filledBlock : filledBlocks) {
+            try {
+                compress(filledBlock.getKey(), filledBlock.getValue());
+            } catch (final IOException ex) {
+                // The records are written already, the block stays on the heap uncompressed
+                LOG.warn("Pipeline [{}] - Unable to compress a block of buffered records", pipelineName, ex);
+            }
+        }
+    }
+
+    /**
+     * Retrieves and removes the batch of records from the head of the buffer. The batch size is defined/determined by
+     * the configuration attribute {@link #ATTRIBUTE_BATCH_SIZE} or the @param timeoutInMillis.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @return The earliest batch of records in the buffer which are still not read.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis) {
+        return doRead(timeoutInMillis, batchSize);
+    }
+
+    /**
+     * Retrieves and removes the batch of up to maxBatchSize records from the head of the buffer, waiting up to
+     * timeoutInMillis for the batch to fill up. The blocks the records are taken from are decompressed on the way,
+     * without holding the lock, so concurrent readers decompress different blocks.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     * @return The earliest batch of records in the buffer which are still not read.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis, final int maxBatchSize) {
+        final List<byte[]> payloads = new ArrayList<>();
+        final List<BlockRead> blockReads = new ArrayList<>(1);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        lock.lock();
+        try {
+            while (true) {
+                final BufferedBlock compressedBlock = readPayloads(payloads, blockReads, maxBatchSize);
+                if (compressedBlock != null) {
+                    decompress(compressedBlock);
+                    continue;
+                }
+                final long remaining = deadline - System.nanoTime();
+                if (payloads.size() >= maxBatchSize || remaining <= 0) {
+                    break;
+                }
+                recordsAvailable.awaitNanos(remaining);
+            }
+        } catch (final IOException ex) {
+            throw new RuntimeException(format("Pipeline [%s] - Unable to decompress the buffered records",
+                    pipelineName), ex);
+        } catch (final InterruptedException ex) {
+            LOG.info("Pipeline [{}] - Interrupt received while reading from buffer", pipelineName);
+            throw new RuntimeException(ex);
+        } finally {
+            lock.unlock();
+        }
+        final Collection<T> records = decode(payloads);
+        return new AbstractMap.SimpleEntry<>(records, new CompressedCheckpointState(records.size(), blockReads));
+    }
+
+    /**
+     * Releases the blocks all of whose records are checkpointed.
+     */
+    @Override
+    public void doCheckpoint(final CheckpointState checkpointState) {
+        if (checkpointState.getNumRecordsToBeChecked() == 0) {
+            return;
+        }
+        if (!(checkpointState instanceof CompressedCheckpointState)) {
+            throw new IllegalArgumentException("CheckpointState was not read from this buffer");
+        }
+        lock.lock();
+        try {
+            for (final BlockRead blockRead : ((CompressedCheckpointState) checkpointState).getBlockReads()) {
+                final BufferedBlock block = blockRead.getBlock();
+                block.checkpointedRecords += blockRead.getRecords();
+                if (block.checkpointedRecords == block.records) {
+                    if (block.pooledBlock != null) {
+                        blockPool.release(block.pooledBlock);
+                        block.pooledBlock = null;
+                        offHeapSize.set(blockPool.getAllocatedBytes());
+                    }
+                    bufferedBytes -= block.bufferedSize;
+                    spaceReleased.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return blocks.isEmpty() && writeBlockRecords == 0 && getRecordsInFlight() == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return ratio of the uncompressed to the compressed size of the blocks compressed so far, 0 if none was
+     */
+    double getCompressionRatio() {
+        final long compressed = compressedBytes.get();
+        return compressed == 0 ? 0 : (double) uncompressedBytes.get() / compressed;
+    }
+
+    private void append(final byte[] payload, final List<Map.Entry<BufferedBlock, byte[]>> filledBlocks) {
+        final int frameSize = FRAME_HEADER_SIZE + payload.length;
+        if (writeBlockSize > 0 && writeBlockSize + frameSize > blockSize) {
+            filledBlocks.add(new AbstractMap.SimpleEntry<>(sealWriteBlock(), writeBlock));
+            writeBlock = new byte[blockSize];
+        }
+        if (writeBlockSize + frameSize > writeBlock.length) {
+            // A record larger than a block gets a block of its own
+            writeBlock = Arrays.copyOf(writeBlock, writeBlockSize + frameSize);
+        }
+        putInt(writeBlock, writeBlockSize, payload.length);
+        System.arraycopy(payload, 0, writeBlock, writeBlockSize + FRAME_HEADER_SIZE, payload.length);
+        writeBlockSize += frameSize;
+        writeBlockRecords++;
+        if (writeBlockSize >= blockSize) {
+            filledBlocks.add(new AbstractMap.SimpleEntry<>(sealWriteBlock(), writeBlock));
+            writeBlock = new byte[blockSize];
+        }
+    }
+
+    /**
+     * Queues the records of the write block as a block to read and starts a new write block, the caller must replace
+     * the array of the write block.
+     */
+    private BufferedBlock sealWriteBlock() {
+        final BufferedBlock block = new BufferedBlock(writeBlock, writeBlockSize, writeBlockRecords);
+        blocks.add(block);
+        writeBlockSize = 0;
+        writeBlockRecords = 0;
+        return block;
+    }
+
+    /**
+     * Compresses a block outside of the lock and moves it off the heap, unless a reader started to take its records
+     * meanwhile.
+     */
+    private void compress(final BufferedBlock block, final byte[] data) throws IOException {
+        final long startTime = System.nanoTime();
+        final byte[] compressedData = new byte[compressor.maxCompressedLength(block.length)];
+        final int compressedLength = compressor.compress(data, block.length, compressedData);
+        compressionTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        lock.lock();
+        try {
+            if (block.readPosition > 0 || compressedLength >= block.length) {
+                // A reader took records of the block meanwhile, or the records do not compress
+                return;
+            }
+            block.pooledBlock = blockPool.store(compressedData, compressedLength);
+            block.data = null;
+            bufferedBytes -= block.bufferedSize - compressedLength;
+            block.bufferedSize = compressedLength;
+            uncompressedBytes.addAndGet(block.length);
+            compressedBytes.addAndGet(compressedLength);
+            offHeapSize.set(blockPool.getAllocatedBytes());
+            spaceReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Decompresses a block without holding the lock, which the caller holds on entry and on exit.
+     */
+    private void decompress(final BufferedBlock block) throws IOException {
+        final long startTime = System.nanoTime();
+        final byte[] compressedData = new byte[block.pooledBlock.getLength()];
+        blockPool.read(block.pooledBlock, compressedData);
+        block.decompressing = true;
+        final byte[] data = new byte[block.length];
+        boolean decompressed = false;
+        lock.unlock();
+        try {
+            compressor.decompress(compressedData, compressedData.length, data, block.length);
+            decompressed = true;
+        } finally {
+            lock.lock();
+            if (decompressed) {
+                block.data = data;
+            }
+            block.decompressing = false;
+            // Also wakes up the readers waiting for the block
+            recordsAvailable.signalAll();
+        }
+        decompressionTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Takes payloads from the blocks in the order they were written until the batch is full, sealing the write block
+     * once the reader caught up with the writers.
+     *
+     * @return a compressed block the reader has to decompress to continue, or null if the batch is full or there are
+     * no records which can be taken right now
+     */
+    private BufferedBlock readPayloads(final List<byte[]> payloads, final List<BlockRead> blockReads,
+                                       final int maxBatchSize) {
+        while (payloads.size() < maxBatchSize) {
+            final BufferedBlock block = blocks.peek();
+            if (block == null) {
+                if (writeBlockRecords == 0) {
+                    return null;
+                }
+                // The reader caught up with the writers, so the records are taken without compressing them
+                sealWriteBlock();
+                writeBlock = new byte[blockSize];
+                continue;
+            }
+            if (block.data == null) {
+                // While another reader decompresses the first block, the next compressed block is decompressed
+                return block.decompressing ? nextCompressedBlock() : block;
+            }
+            int records = 0;
+            while (payloads.size() < maxBatchSize && block.readPosition < block.length) {
+                final int length = getInt(block.data, block.readPosition);
+                final int start = block.readPosition + FRAME_HEADER_SIZE;
+                payloads.add(Arrays.copyOfRange(block.data, start, start + length));
+                block.readPosition = start + length;
+                records++;
+            }
+            addBlockRead(blockReads, block, records);
+            if (block.readPosition >= block.length) {
+                blocks.remove();
+                block.data = null;
+            }
+        }
+        return null;
+    }
+
+    private BufferedBlock nextCompressedBlock() {
+        for (final BufferedBlock block : blocks) {
+            if (block.data == null && !block.decompressing) {
+                return block;
+            }
+        }
+        return null;
+    }
+
+    private static void addBlockRead(final List<BlockRead> blockReads, final BufferedBlock block, final int records) {
+        final BlockRead lastBlockRead = blockReads.isEmpty() ? null : blockReads.get(blockReads.size() - 1);
+        if (lastBlockRead != null && lastBlockRead.getBlock() == block) {
+            lastBlockRead.records += records;
+        } else {
+            blockReads.add(new BlockRead(block, records));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<T> decode(final List<byte[]> payloads) {
+        final List<T> records = new ArrayList<>(payloads.size());
+        try {
+            for (final byte[] payload : payloads) {
+                records.add((T) new Record<>(recordCodec.decode(payload)));
+            }
+        } catch (final IOException ex) {
+            throw new RuntimeException(format("Pipeline [%s] - Unable to deserialize a buffered record",
+                    pipelineName), ex);
+        }
+        return records;
+    }
+
+    private static void putInt(final byte[] bytes, final int offset, final int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static int getInt(final byte[] bytes, final int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+
+    /**
+     * A block of serialized records, held on the heap until it is compressed and again while it is read. All fields
+     * are guarded by the lock of the buffer.
+     */
+    private static class BufferedBlock {
+        private final int length;
+        private final int records;
+        private byte[] data;
+        private BlockPool.Block pooledBlock;
+        private boolean decompressing;
+        private int bufferedSize;
+        private int readPosition;
+        private int checkpointedRecords;
+
+        private BufferedBlock(final byte[] data, final int length, final int records) {
+            this.data = data;
+            this.length = length;
+            this.records = records;
+            this.bufferedSize = length;
+        }
+    }
+
+    /**
+     * The number of records a batch took from a block.
+     */
+    private static class BlockRead {
+        private final BufferedBlock block;
+        private int records;
+
+        private BlockRead(final BufferedBlock block, final int records) {
+            this.block = block;
+            this.records = records;
+        }
+
+        BufferedBlock getBlock() {
+            return block;
+        }
+
+        int getRecords() {
+            return records;
+        }
+    }
+
+    /**
+     * Checkpoint state of a batch which keeps the blocks its records were taken from, so the blocks are released once
+     * all their records are checkpointed.
+     */
+    private static class CompressedCheckpointState extends CheckpointState {
+        private final List<BlockRead> blockReads;
+
+        private CompressedCheckpointState(final int numRecords, final List<BlockRead> blockReads) {
+            super(numRecords);
+            this.blockReads = blockReads;
+        }
+
+        List<BlockRead> getBlockReads() {
+            return blockReads;
+        }
+    }
+}
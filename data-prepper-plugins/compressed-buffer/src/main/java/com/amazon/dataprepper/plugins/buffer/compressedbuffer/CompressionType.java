@@ -0,0 +1,44 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.compressedbuffer;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public enum CompressionType {
+    /**
+     * LZ4 block compression, fast with a moderate compression ratio.
+     */
+    LZ4(Lz4BlockCompressor::new),
+    /**
+     * zstd compression, a higher compression ratio at a higher CPU cost.
+     */
+    ZSTD(ZstdBlockCompressor::new);
+
+    private final Supplier<BlockCompressor> creationFunction;
+
+    CompressionType(final Supplier<BlockCompressor> creationFunction) {
+        this.creationFunction = Objects.requireNonNull(creationFunction);
+    }
+
+    /**
+     * @param optionValue configured value, e.g. zstd
+     * @return compression type of the configured value
+     */
+    public static CompressionType fromOptionValue(final String optionValue) {
+        return valueOf(optionValue.toUpperCase());
+    }
+
+    BlockCompressor create() {
+        return creationFunction.get();
+    }
+}
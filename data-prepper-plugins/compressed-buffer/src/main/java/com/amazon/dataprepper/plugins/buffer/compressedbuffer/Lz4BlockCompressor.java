@@ -0,0 +1,50 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.compressedbuffer;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.io.IOException;
+
+/**
+ * Compresses blocks with LZ4, which costs little CPU time for a moderate compression ratio.
+ */
+class Lz4BlockCompressor implements BlockCompressor {
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4SafeDecompressor decompressor = LZ4Factory.fastestInstance().safeDecompressor();
+
+    @Override
+    public int maxCompressedLength(final int length) {
+        return compressor.maxCompressedLength(length);
+    }
+
+    @Override
+    public int compress(final byte[] source, final int length, final byte[] destination) {
+        return compressor.compress(source, 0, length, destination, 0, destination.length);
+    }
+
+    @Override
+    public void decompress(final byte[] source, final int compressedLength, final byte[] destination,
+                           final int originalLength) throws IOException {
+        try {
+            final int length = decompressor.decompress(source, 0, compressedLength, destination, 0, originalLength);
+            if (length != originalLength) {
+                throw new IOException("Decompressed block has an unexpected length: " + length);
+            }
+        } catch (final LZ4Exception ex) {
+            throw new IOException("Unable to decompress block", ex);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.compressedbuffer;
+
+import com.github.luben.zstd.Zstd;
+
+import java.io.IOException;
+
+/**
+ * Compresses blocks with zstd, which reaches a higher compression ratio than LZ4 at a higher CPU cost.
+ */
+class ZstdBlockCompressor implements BlockCompressor {
+    private static final int COMPRESSION_LEVEL = 3;
+
+    @Override
+    public int maxCompressedLength(final int length) {
+        return (int) Zstd.compressBound(length);
+    }
+
+    @Override
+    public int compress(final byte[] source, final int length, final byte[] destination) throws IOException {
+        final long compressedLength = Zstd.compressByteArray(destination, 0, destination.length,
+                source, 0, length, COMPRESSION_LEVEL);
+        if (Zstd.isError(compressedLength)) {
+            throw new IOException("Unable to compress block: " + Zstd.getErrorName(compressedLength));
+        }
+        return (int) compressedLength;
+    }
+
+    @Override
+    public void decompress(final byte[] source, final int compressedLength, final byte[] destination,
+                           final int originalLength) throws IOException {
+        final long length = Zstd.decompressByteArray(destination, 0, originalLength, source, 0, compressedLength);
+        if (Zstd.isError(length)) {
+            throw new IOException("Unable to decompress block: " + Zstd.getErrorName(length));
+        }
+        if (length != originalLength) {
+            throw new IOException("Decompressed block has an unexpected length: " + length);
+        }
+    }
+}
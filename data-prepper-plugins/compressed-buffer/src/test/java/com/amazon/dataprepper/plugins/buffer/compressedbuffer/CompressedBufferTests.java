@@ -0,0 +1,274 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.compressedbuffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.plugins.buffer.diskbuffer.RecordCodecType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class CompressedBufferTests {
+    private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
+    private static final String ATTRIBUTE_BLOCK_SIZE = "block_size";
+    private static final String ATTRIBUTE_MAX_SIZE = "max_size";
+    private static final String ATTRIBUTE_COMPRESSION = "compression";
+    private static final String TEST_PIPELINE_NAME = "test-pipeline";
+    private static final int TEST_BATCH_SIZE = 3;
+    private static final int TEST_BLOCK_SIZE = 256;
+    private static final long TEST_MAX_SIZE = 1024 * 1024;
+    private static final int TEST_WRITE_TIMEOUT = 1_00;
+    private static final int TEST_BATCH_READ_TIMEOUT = 0;
+
+    @Test
+    public void testCreationUsingPluginSetting() {
+        final Map<String, Object> settings = new HashMap<>();
+        settings.put(ATTRIBUTE_BATCH_SIZE, TEST_BATCH_SIZE);
+        settings.put(ATTRIBUTE_BLOCK_SIZE, TEST_BLOCK_SIZE);
+        settings.put(ATTRIBUTE_MAX_SIZE, TEST_MAX_SIZE);
+        settings.put(ATTRIBUTE_COMPRESSION, "zstd");
+        final PluginSetting pluginSetting = new PluginSetting("compressed_buffer", settings);
+        pluginSetting.setPipelineName(TEST_PIPELINE_NAME);
+
+        final CompressedBuffer<Record<String>> compressedBuffer = new CompressedBuffer<>(pluginSetting);
+        assertThat(compressedBuffer, notNullValue());
+        assertTrue(compressedBuffer.isEmpty());
+    }
+
+    @Test
+    public void testCreationUsingNullPluginSetting() {
+        final NullPointerException ex = assertThrows(NullPointerException.class,
+                () -> new CompressedBuffer<Record<String>>((PluginSetting) null));
+        assertThat(ex.getMessage(), is(equalTo("PluginSetting cannot be null")));
+    }
+
+    @Test
+    public void testCreationUsingInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressedBuffer<Record<String>>(TEST_BATCH_SIZE,
+                TEST_BLOCK_SIZE, TEST_BLOCK_SIZE, CompressionType.LZ4, RecordCodecType.STRING, TEST_PIPELINE_NAME));
+        assertThrows(IllegalArgumentException.class, () -> new CompressedBuffer<Record<String>>(TEST_BATCH_SIZE,
+                0, TEST_MAX_SIZE, CompressionType.LZ4, RecordCodecType.STRING, TEST_PIPELINE_NAME));
+    }
+
+    @Test
+    public void testInsertNull() {
+        final CompressedBuffer<Record<String>> compressedBuffer = newCompressedBuffer(CompressionType.LZ4, TEST_MAX_SIZE);
+        assertThrows(NullPointerException.class, () -> compressedBuffer.write(null, TEST_WRITE_TIMEOUT));
+        assertTrue(compressedBuffer.isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(CompressionType.class)
+    public void testCompressedRecordsAreReadInOrder(final CompressionType compressionType) throws Exception {
+        final CompressedBuffer<Record<String>> compressedBuffer = newCompressedBuffer(compressionType, TEST_MAX_SIZE);
+        final List<String> data = generateData(0, 500);
+        for (final String value : data) {
+            compressedBuffer.write(new Record<>(value), TEST_WRITE_TIMEOUT);
+        }
+
+        assertThat(readAllData(compressedBuffer), is(equalTo(data)));
+        assertThat(compressedBuffer.getCompressionRatio(), greaterThan(1.0));
+        assertTrue(compressedBuffer.isEmpty());
+    }
+
+    @Test
+    public void testRecordsOfIncompleteBlockAreReadWithoutCompression() throws Exception {
+        final CompressedBuffer<Record<String>> compressedBuffer = newCompressedBuffer(CompressionType.LZ4, TEST_MAX_SIZE);
+        compressedBuffer.writeAll(generateBatchRecords(0, 2), TEST_WRITE_TIMEOUT);
+
+        assertThat(readAllData(compressedBuffer), is(equalTo(generateData(0, 2))));
+        assertThat(compressedBuffer.getCompressionRatio(), is(0.0));
+
+        compressedBuffer.write(new Record<>("2"), TEST_WRITE_TIMEOUT);
+        assertThat(readAllData(compressedBuffer), is(equalTo(generateData(2, 3))));
+    }
+
+    @Test
+    public void testRecordLargerThanBlock() throws Exception {
+        final CompressedBuffer<Record<String>> compressedBuffer = newCompressedBuffer(CompressionType.LZ4, TEST_MAX_SIZE);
+        final String largeData = String.format("%0" + (4 * TEST_BLOCK_SIZE) + "d", 1);
+        compressedBuffer.write(new Record<>("0"), TEST_WRITE_TIMEOUT);
+        compressedBuffer.write(new Record<>(largeData), TEST_WRITE_TIMEOUT);
+        compressedBuffer.write(new Record<>("2"), TEST_WRITE_TIMEOUT);
+
+        assertThat(readAllData(compressedBuffer), is(equalTo(Arrays.asList("0", largeData, "2"))));
+    }
+
+    @Test
+    public void testRecordsLargerThanMaxSize() {
+        final CompressedBuffer<Record<String>> compressedBuffer = newCompressedBuffer(CompressionType.LZ4, TEST_MAX_SIZE);
+        final String largeData = String.format("%0" + TEST_MAX_SIZE + "d", 1);
+
+        assertThrows(SizeOverflowException.class, () -> compressedBuffer.writeAll(
+                Collections.singletonList(new Record<>(largeData)), TEST_WRITE_TIMEOUT));
+        assertTrue(compressedBuffer.isEmpty());
+    }
+
+    @Test
+    public void testWriteTimesOutWhenRecordsExceedRemainingSize() throws Exception {
+        final long maxSize = chunkSize();
+        final CompressedBuffer<Record<String>> compressedBuffer = newCompressedBuffer(CompressionType.LZ4, maxSize);
+        // Random characters hardly compress, so the record takes more than half of the buffer
+        compressedBuffer.write(new Record<>(randomData(maxSize * 6 / 10)), TEST_WRITE_TIMEOUT);
+
+        assertThrows(TimeoutException.class, () -> compressedBuffer.write(
+                new Record<>(randomData(maxSize * 6 / 10)), TEST_WRITE_TIMEOUT));
+        compressedBuffer.write(new Record<>("fits"), TEST_WRITE_TIMEOUT);
+    }
+
+    @Test
+    public void testTimeoutUntilBlocksAreCheckpointed() throws Exception {
+        final long maxSize = chunkSize();
+        final CompressedBuffer<Record<String>> compressedBuffer = newCompressedBuffer(CompressionType.LZ4, maxSize);
+        final String data = randomData(maxSize * 6 / 10);
+        compressedBuffer.write(new Record<>(data), TEST_WRITE_TIMEOUT);
+
+        // Reading the block does not release it while its records are in flight
+        final Map.Entry<Collection<Record<String>>, CheckpointState> batch =
+                compressedBuffer.read(TEST_BATCH_READ_TIMEOUT);
+        assertThat(dataOf(batch.getKey()), is(equalTo(Collections.singletonList(data))));
+        assertThrows(TimeoutException.class, () -> compressedBuffer.write(new Record<>(data), TEST_WRITE_TIMEOUT));
+
+        compressedBuffer.checkpoint(batch.getValue());
+        compressedBuffer.write(new Record<>(data), TEST_WRITE_TIMEOUT);
+        assertThat(readAllData(compressedBuffer), is(equalTo(Collections.singletonList(data))));
+        assertTrue(compressedBuffer.isEmpty());
+    }
+
+    @Test
+    public void testCheckpointOfForeignStateThrows() {
+        final CompressedBuffer<Record<String>> compressedBuffer = newCompressedBuffer(CompressionType.LZ4, TEST_MAX_SIZE);
+
+        assertThrows(IllegalArgumentException.class, () -> compressedBuffer.doCheckpoint(new CheckpointState(1)));
+        compressedBuffer.doCheckpoint(new CheckpointState(0));
+    }
+
+    @ParameterizedTest
+    @EnumSource(CompressionType.class)
+    public void testConcurrentWritersAndReadersReadEveryRecordOnce(final CompressionType compressionType)
+            throws Exception {
+        final CompressedBuffer<Record<String>> compressedBuffer = newCompressedBuffer(compressionType, 64 * 1024);
+        final int writers = 4;
+        final int recordsPerWriter = 2_000;
+        final ExecutorService executorService = Executors.newFixedThreadPool(writers + 2);
+        try {
+            final List<Future<?>> writes = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                final int from = writer * recordsPerWriter;
+                writes.add(executorService.submit(() -> {
+                    for (int i = from; i < from + recordsPerWriter; i += 10) {
+                        compressedBuffer.writeAll(generateBatchRecords(i, i + 10), 10_000);
+                    }
+                    return null;
+                }));
+            }
+            final List<Future<List<String>>> reads = new ArrayList<>();
+            for (int reader = 0; reader < 2; reader++) {
+                reads.add(executorService.submit(() -> {
+                    final List<String> data = new ArrayList<>();
+                    while (data.size() < writers * recordsPerWriter && !writesDone(writes, compressedBuffer)) {
+                        data.addAll(readAllData(compressedBuffer));
+                    }
+                    return data;
+                }));
+            }
+            final List<String> data = new ArrayList<>();
+            for (final Future<List<String>> read : reads) {
+                data.addAll(read.get(30, TimeUnit.SECONDS));
+            }
+            data.addAll(readAllData(compressedBuffer));
+
+            assertThat(data.stream().sorted().collect(Collectors.toList()),
+                    is(equalTo(generateData(0, writers * recordsPerWriter).stream().sorted()
+                            .collect(Collectors.toList()))));
+            assertTrue(compressedBuffer.isEmpty());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static boolean writesDone(final List<Future<?>> writes, final CompressedBuffer<?> compressedBuffer) {
+        return writes.stream().allMatch(Future::isDone) && compressedBuffer.isEmpty();
+    }
+
+    private static long chunkSize() {
+        return (long) CompressionType.LZ4.create().maxCompressedLength(TEST_BLOCK_SIZE)
+                * CompressedBuffer.BLOCKS_PER_CHUNK;
+    }
+
+    private static String randomData(final long length) {
+        final Random random = new Random(length);
+        final StringBuilder data = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            data.append((char) (' ' + random.nextInt(95)));
+        }
+        return data.toString();
+    }
+
+    private CompressedBuffer<Record<String>> newCompressedBuffer(final CompressionType compressionType,
+                                                                 final long maxSize) {
+        return new CompressedBuffer<>(TEST_BATCH_SIZE, TEST_BLOCK_SIZE, maxSize, compressionType,
+                RecordCodecType.STRING, TEST_PIPELINE_NAME);
+    }
+
+    private static List<String> readAllData(final CompressedBuffer<Record<String>> compressedBuffer) {
+        final List<String> data = new ArrayList<>();
+        Map.Entry<Collection<Record<String>>, CheckpointState> batch;
+        while (!(batch = compressedBuffer.read(TEST_BATCH_READ_TIMEOUT)).getKey().isEmpty()) {
+            data.addAll(dataOf(batch.getKey()));
+            compressedBuffer.checkpoint(batch.getValue());
+        }
+        return data;
+    }
+
+    private static List<Record<String>> generateBatchRecords(final int from, final int to) {
+        return generateData(from, to).stream().map(Record::new).collect(Collectors.toList());
+    }
+
+    private static List<String> generateData(final int from, final int to) {
+        final List<String> data = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            data.add("service-name:" + i);
+        }
+        return data;
+    }
+
+    private static <T> List<T> dataOf(final Collection<Record<T>> records) {
+        return records.stream().map(Record::getData).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.annotations.DataPrepperPlugin;
+import com.amazon.dataprepper.model.buffer.AbstractBuffer;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.record.Record;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * A DiskBuffer is an implementation of {@link Buffer} which stores the records in memory-mapped segment files instead
+ * of the heap, so a pipeline can absorb a backlog of up to {@link #ATTRIBUTE_MAX_DISK_SIZE} bytes while its sinks are
+ * slow or unavailable, and the records which were not yet processed survive a restart.
+ * <p>
+ * Writes append the records, serialized by the {@link RecordCodecType} of {@link #ATTRIBUTE_RECORD_CODEC}, to the last
+ * segment and wait for disk space if the buffer is full. Reads return the records in the order they were written.
+ * {@link #checkpoint(CheckpointState)} advances the persisted offset up to which all batches are checkpointed, since
+ * batches may be checkpointed out of order by multiple workers, and deletes the segments before it. After a restart
+ * the records which were read but not checkpointed are read again.
+ */
+@DataPrepperPlugin(name = "disk_buffer", pluginType = Buffer.class)
+public class DiskBuffer<T extends Record<?>> extends AbstractBuffer<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(DiskBuffer.class);
+    static final String DISK_USAGE = "diskUsage";
+    static final String UNPROCESSED_BYTES = "unprocessedBytes";
+    private static final String BUFFER_NAME = "DiskBuffer";
+    private static final String INSTANCE_DIRECTORY_PREFIX = "instance-";
+    private static final String DEFAULT_PATH_PREFIX = "data/disk-buffer/";
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long DEFAULT_MAX_DISK_SIZE = 1024L * 1024 * 1024;
+    private static final int DEFAULT_BATCH_SIZE = 8;
+    private static final RecordCodecType DEFAULT_RECORD_CODEC = RecordCodecType.STRING;
+    private static final FsyncPolicy DEFAULT_FSYNC_POLICY = FsyncPolicy.INTERVAL;
+    private static final long DEFAULT_FSYNC_INTERVAL_MILLIS = 1000;
+    private static final long FSYNC_TERMINATION_TIMEOUT_MILLIS = 5000;
+    private static final String ATTRIBUTE_PATH = "path";
+    private static final String ATTRIBUTE_SEGMENT_SIZE = "segment_size";
+    private static final String ATTRIBUTE_MAX_DISK_SIZE = "max_disk_size";
+    private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
+    private static final String ATTRIBUTE_RECORD_CODEC = "record_codec";
+    private static final String ATTRIBUTE_FSYNC_POLICY = "fsync_policy";
+    private static final String ATTRIBUTE_FSYNC_INTERVAL = "fsync_interval";
+
+    private final int batchSize;
+    private final String pipelineName;
+    private final RecordCodec recordCodec;
+    private final FsyncPolicy fsyncPolicy;
+    private final SegmentLog segmentLog;
+    private final ScheduledExecutorService fsyncExecutor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition recordsWritten = lock.newCondition();
+    private final Condition spaceReleased = lock.newCondition();
+    /**
+     * Batches which were read and not yet committed, in the order they were read.
+     */
+    private final Queue<DiskCheckpointState> uncommittedBatches = new ArrayDeque<>();
+    private final AtomicLong diskUsage;
+    private final AtomicLong unprocessedBytes;
+
+    /**
+     * Creates a DiskBuffer which stores its segment files in the given directory.
+     *
+     * @param directory             directory of the segment files and the checkpoint file of the buffer
+     * @param segmentSize           size of each segment file in bytes, a record must fit into a single segment
+     * @param maxDiskSize           maximum size of all segment files in bytes
+     * @param batchSize             the batch size for {@link #read(int)}
+     * @param recordCodecType       how records are serialized
+     * @param fsyncPolicy           when records and checkpoints are flushed to the storage device
+     * @param fsyncIntervalInMillis interval of the {@link FsyncPolicy#INTERVAL} policy
+     * @param pipelineName          the name of the associated Pipeline
+     */
+    public DiskBuffer(final Path directory, final int segmentSize, final long maxDiskSize, final int batchSize,
+                      final RecordCodecType recordCodecType, final FsyncPolicy fsyncPolicy,
+                      final long fsyncIntervalInMillis, final String pipelineName) {
+        this(BUFFER_NAME, directory, segmentSize, maxDiskSize, batchSize, recordCodecType, fsyncPolicy,
+                fsyncIntervalInMillis, pipelineName);
+    }
+
+    private DiskBuffer(final String bufferName, final Path directory, final int segmentSize, final long maxDiskSize,
+                       final int batchSize, final RecordCodecType recordCodecType, final FsyncPolicy fsyncPolicy,
+                       final long fsyncIntervalInMillis, final String pipelineName) {
+        super(bufferName, pipelineName);
+        Preconditions.checkArgument(segmentSize > Segment.FRAME_HEADER_SIZE, "segmentSize is too small");
+        Preconditions.checkArgument(maxDiskSize >= 2L * segmentSize,
+                "maxDiskSize must be at least twice the segmentSize");
+        Preconditions.checkArgument(fsyncIntervalInMillis > 0, "fsyncIntervalInMillis must be greater than 0");
+        this.batchSize = batchSize;
+        this.pipelineName = pipelineName;
+        this.recordCodec = recordCodecType.create();
+        this.fsyncPolicy = fsyncPolicy;
+        try {
+            this.segmentLog = SegmentLog.open(directory, segmentSize, maxDiskSize);
+        } catch (final IOException ex) {
+            throw new RuntimeException(format("Pipeline [%s] - Unable to open the disk buffer at %s",
+                    pipelineName, directory), ex);
+        }
+        this.diskUsage = pluginMetrics.gauge(DISK_USAGE, new AtomicLong());
+        this.unprocessedBytes = pluginMetrics.gauge(UNPROCESSED_BYTES, new AtomicLong());
+        updateGauges();
+        this.fsyncExecutor = fsyncPolicy == FsyncPolicy.INTERVAL ? startFsyncTask(fsyncIntervalInMillis) : null;
+    }
+
+    /**
+     * Mandatory constructor for Data Prepper Component - This constructor is used by Data Prepper runtime engine to construct an
+     * instance of {@link DiskBuffer} using an instance of {@link PluginSetting} which has access to
+     * pluginSetting metadata from pipeline pluginSetting file. Buffer settings like `path`, `max_disk_size` and
+     * `record_codec` are optional and can be passed via {@link PluginSetting}, if not present default values will
+     * be used to create the buffer. If the pipeline creates a buffer per partition or lane, each buffer stores its
+     * segment files in a subdirectory of the path named after its index and reports its metrics separately.
+     *
+     * @param pluginSetting instance with metadata information from pipeline pluginSetting file.
+     */
+    public DiskBuffer(final PluginSetting pluginSetting) {
+        this(BUFFER_NAME + checkNotNull(pluginSetting, "PluginSetting cannot be null").getInstanceIndex()
+                        .map(index -> "-" + index).orElse(""),
+                getDirectory(pluginSetting),
+                pluginSetting.getIntegerOrDefault(ATTRIBUTE_SEGMENT_SIZE, DEFAULT_SEGMENT_SIZE),
+                pluginSetting.getLongOrDefault(ATTRIBUTE_MAX_DISK_SIZE, DEFAULT_MAX_DISK_SIZE),
+                pluginSetting.getIntegerOrDefault(ATTRIBUTE_BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                RecordCodecType.fromOptionValue(
+                        pluginSetting.getStringOrDefault(ATTRIBUTE_RECORD_CODEC, DEFAULT_RECORD_CODEC.name())),
+                FsyncPolicy.fromOptionValue(
+                        pluginSetting.getStringOrDefault(ATTRIBUTE_FSYNC_POLICY, DEFAULT_FSYNC_POLICY.name())),
+                pluginSetting.getLongOrDefault(ATTRIBUTE_FSYNC_INTERVAL, DEFAULT_FSYNC_INTERVAL_MILLIS),
+                pluginSetting.getPipelineName());
+    }
+
+    @Override
+    public void doWrite(final T record, final int timeoutInMillis) throws TimeoutException {
+        try {
+            doWriteAll(Collections.singletonList(record), timeoutInMillis);
+        } catch (final TimeoutException | RuntimeException ex) {
+            throw ex;
+        } catch (final Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    @Override
+    public void doWriteAll(final Collection<T> records, final int timeoutInMillis) throws Exception {
+        if (records.isEmpty()) {
+            return;
+        }
+        // Serialized before taking the lock, so writers only contend on the copy into the segment
+        final List<byte[]> payloads = new ArrayList<>(records.size());
+        for (final T record : records) {
+            checkNotNull(record, "Record cannot be null");
+            payloads.add(recordCodec.encode(record.getData()));
+        }
+        if (segmentLog.exceedsMaxSize(payloads)) {
+            throw new SizeOverflowException(format("Buffer capacity too small for the size of records: %d",
+                    records.size()));
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        lock.lockInterruptibly();
+        try {
+            while (!segmentLog.hasRoomFor(payloads)) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException(format("Pipeline [%s] - Buffer does not have enough disk space left " +
+                            "for the size of records: %d, timed out waiting for checkpoints.", pipelineName,
+                            records.size()));
+                }
+                spaceReleased.awaitNanos(remaining);
+            }
+            for (final byte[] payload : payloads) {
+                segmentLog.append(payload);
+            }
+            if (fsyncPolicy == FsyncPolicy.BATCH) {
+                segmentLog.forceWriteSegment();
+            }
+            updateGauges();
+            recordsWritten.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the batch of records which were written first and are still not read. The batch size is
+     * defined/determined by the configuration attribute {@link #ATTRIBUTE_BATCH_SIZE} or the @param timeoutInMillis.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @return The earliest batch of records in the buffer which are still not read.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis) {
+        return doRead(timeoutInMillis, batchSize);
+    }
+
+    /**
+     * Retrieves the batch of up to maxBatchSize records which were written first and are still not read, waiting up to
+     * timeoutInMillis for the batch to fill up.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     * @return The earliest batch of records in the buffer which are still not read.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis, final int maxBatchSize) {
+        final List<byte[]> payloads = new ArrayList<>();
+        final DiskCheckpointState checkpointState;
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        lock.lock();
+        try {
+            final long startOffset = segmentLog.getReadOffset();
+            while (payloads.size() < maxBatchSize) {
+                final byte[] payload = segmentLog.readNext();
+                if (payload != null) {
+                    payloads.add(payload);
+                    continue;
+                }
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                recordsWritten.awaitNanos(remaining);
+            }
+            checkpointState = new DiskCheckpointState(payloads.size(), startOffset, segmentLog.getReadOffset());
+            if (!payloads.isEmpty()) {
+                uncommittedBatches.add(checkpointState);
+            }
+        } catch (final IOException ex) {
+            throw new RuntimeException(format("Pipeline [%s] - Unable to read from the disk buffer", pipelineName), ex);
+        } catch (final InterruptedException ex) {
+            LOG.info("Pipeline [{}] - Interrupt received while reading from buffer", pipelineName);
+            throw new RuntimeException(ex);
+        } finally {
+            lock.unlock();
+        }
+        return new AbstractMap.SimpleEntry<>(decode(payloads), checkpointState);
+    }
+
+    @Override
+    public void doCheckpoint(final CheckpointState checkpointState) {
+        if (checkpointState.getNumRecordsToBeChecked() == 0) {
+            return;
+        }
+        if (!(checkpointState instanceof DiskCheckpointState)) {
+            throw new IllegalArgumentException("CheckpointState was not read from this buffer");
+        }
+        lock.lock();
+        try {
+            ((DiskCheckpointState) checkpointState).markCheckpointed();
+            long committedOffset = segmentLog.getCommittedOffset();
+            while (!uncommittedBatches.isEmpty() && uncommittedBatches.peek().isCheckpointed()) {
+                committedOffset = uncommittedBatches.remove().getEndOffset();
+            }
+            if (committedOffset > segmentLog.getCommittedOffset()) {
+                segmentLog.commit(committedOffset);
+                if (fsyncPolicy == FsyncPolicy.BATCH) {
+                    segmentLog.forceCheckpoint();
+                }
+                updateGauges();
+                spaceReleased.signalAll();
+            }
+        } catch (final IOException ex) {
+            throw new RuntimeException(format("Pipeline [%s] - Unable to checkpoint the disk buffer", pipelineName),
+                    ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return !segmentLog.hasUnreadPayloads() && uncommittedBatches.isEmpty();
+        } catch (final IOException ex) {
+            throw new RuntimeException(format("Pipeline [%s] - Unable to read from the disk buffer", pipelineName), ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true, as the records which were not checkpointed are read again after a restart
+     */
+    @Override
+    public boolean isPersistent() {
+        return true;
+    }
+
+    /**
+     * Stops the periodic flush, flushes the records and the checkpoint and closes the segment files. The records which
+     * were not checkpointed are read again after a restart.
+     */
+    @Override
+    public void shutdown() {
+        if (fsyncExecutor != null) {
+            fsyncExecutor.shutdown();
+            try {
+                fsyncExecutor.awaitTermination(FSYNC_TERMINATION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.lock();
+        try {
+            segmentLog.forceWriteSegment();
+            segmentLog.forceCheckpoint();
+            segmentLog.close();
+        } catch (final IOException ex) {
+            LOG.warn("Pipeline [{}] - Unable to close the disk buffer", pipelineName, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<T> decode(final List<byte[]> payloads) {
+        final List<T> records = new ArrayList<>(payloads.size());
+        try {
+            for (final byte[] payload : payloads) {
+                records.add((T) new Record<>(recordCodec.decode(payload)));
+            }
+        } catch (final IOException ex) {
+            throw new RuntimeException(format("Pipeline [%s] - Unable to deserialize a record of the disk buffer",
+                    pipelineName), ex);
+        }
+        return records;
+    }
+
+    private static Path getDirectory(final PluginSetting pluginSetting) {
+        final Path directory = Paths.get(pluginSetting.getStringOrDefault(ATTRIBUTE_PATH,
+                DEFAULT_PATH_PREFIX + pluginSetting.getPipelineName()));
+        return pluginSetting.getInstanceIndex()
+                .map(index -> directory.resolve(INSTANCE_DIRECTORY_PREFIX + index))
+                .orElse(directory);
+    }
+
+    private void updateGauges() {
+        diskUsage.set(segmentLog.getSizeInBytes());
+        unprocessedBytes.set(segmentLog.getUncommittedBytes());
+    }
+
+    /**
+     * Flushes the records and the checkpoint periodically. Only the lookup of the write segment runs under the lock, a
+     * flush of the mapped segment does not conflict with concurrent writes into it.
+     */
+    private ScheduledExecutorService startFsyncTask(final long fsyncIntervalInMillis) {
+        final ScheduledExecutorService fsyncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, format("%s-disk-buffer-fsync", pipelineName));
+            thread.setDaemon(true);
+            return thread;
+        });
+        fsyncExecutor.scheduleWithFixedDelay(() -> {
+            final Segment writeSegment;
+            lock.lock();
+            try {
+                writeSegment = segmentLog.getWriteSegment();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                writeSegment.force();
+                segmentLog.forceCheckpoint();
+            } catch (final Exception ex) {
+                LOG.warn("Pipeline [{}] - Unable to flush the disk buffer", pipelineName, ex);
+            }
+        }, fsyncIntervalInMillis, fsyncIntervalInMillis, TimeUnit.MILLISECONDS);
+        return fsyncExecutor;
+    }
+}
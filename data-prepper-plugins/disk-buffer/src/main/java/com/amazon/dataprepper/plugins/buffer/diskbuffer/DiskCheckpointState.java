@@ -0,0 +1,46 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+
+/**
+ * The {@link CheckpointState} of a batch read from the {@link DiskBuffer}, which carries the range of offsets of the
+ * batch in the {@link SegmentLog}.
+ */
+class DiskCheckpointState extends CheckpointState {
+    private final long startOffset;
+    private final long endOffset;
+    private boolean checkpointed = false;
+
+    DiskCheckpointState(final int numRecordsToBeChecked, final long startOffset, final long endOffset) {
+        super(numRecordsToBeChecked);
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    long getStartOffset() {
+        return startOffset;
+    }
+
+    long getEndOffset() {
+        return endOffset;
+    }
+
+    boolean isCheckpointed() {
+        return checkpointed;
+    }
+
+    void markCheckpointed() {
+        checkpointed = true;
+    }
+}
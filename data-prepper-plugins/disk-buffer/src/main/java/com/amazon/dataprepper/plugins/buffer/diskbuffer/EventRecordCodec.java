@@ -0,0 +1,35 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.event.SmileEventCodec;
+
+import java.io.IOException;
+
+/**
+ * Stores {@link Event} records in the binary Smile format of the {@link SmileEventCodec}, including the metadata of
+ * the events.
+ */
+class EventRecordCodec implements RecordCodec {
+    private final SmileEventCodec eventCodec = new SmileEventCodec();
+
+    @Override
+    public byte[] encode(final Object data) throws IOException {
+        return eventCodec.encode((Event) data);
+    }
+
+    @Override
+    public Object decode(final byte[] bytes) throws IOException {
+        return eventCodec.decode(bytes);
+    }
+}
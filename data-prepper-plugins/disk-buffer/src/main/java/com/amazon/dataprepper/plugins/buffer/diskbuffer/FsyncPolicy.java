@@ -0,0 +1,40 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+/**
+ * When the {@link DiskBuffer} flushes written records and checkpoints to the storage device. The files are memory
+ * mapped, so the records of a write survive a crash of the process under any policy; the policy bounds what is lost
+ * if the host itself fails.
+ */
+public enum FsyncPolicy {
+    /**
+     * Flushes after every write and checkpoint, before the call returns.
+     */
+    BATCH,
+    /**
+     * Flushes periodically from a background thread.
+     */
+    INTERVAL,
+    /**
+     * Leaves flushing to the operating system.
+     */
+    NONE;
+
+    /**
+     * @param optionValue configured value, e.g. interval
+     * @return fsync policy of the configured value
+     */
+    public static FsyncPolicy fromOptionValue(final String optionValue) {
+        return valueOf(optionValue.toUpperCase());
+    }
+}
@@ -0,0 +1,474 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.annotations.DataPrepperPlugin;
+import com.amazon.dataprepper.model.buffer.AbstractBuffer;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.record.Record;
+import com.google.common.base.Preconditions;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * A HybridBuffer is an implementation of {@link Buffer} which keeps up to {@link #ATTRIBUTE_BUFFER_CAPACITY} unchecked
+ * records in memory like the bounded_blocking buffer, and spills the records of writes which do not fit into memory
+ * to segment files on local disk instead of timing them out. Writes only time out once the spilled records also
+ * exceed {@link #ATTRIBUTE_MAX_SPILL_SIZE}.
+ * <p>
+ * Records are read in the order they were written: while there are spilled records all writes are spilled, and once
+ * the records in memory are read the spilled records are read back, as far as the capacity of the memory allows.
+ * Spilled records are removed from disk as soon as they are read back, from then on they are held in memory until
+ * they are checkpointed, so the records which were read back but not checkpointed are lost on a crash, as are the
+ * records in memory. Spilled records which were not read back are read after a restart, and on shutdown the records
+ * in memory which were not read are spilled too.
+ */
+@DataPrepperPlugin(name = "hybrid_buffer", pluginType = Buffer.class)
+public class HybridBuffer<T extends Record<?>> extends AbstractBuffer<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(HybridBuffer.class);
+    static final String SPILLED_RECORDS = "spilledRecords";
+    static final String SPILLED_BYTES = "spilledBytes";
+    static final String SPILL_SIZE = "spillSize";
+    static final String OLDEST_SPILLED_RECORD_AGE = "oldestSpilledRecordAge";
+    private static final int DEFAULT_BUFFER_CAPACITY = 512;
+    private static final int DEFAULT_BATCH_SIZE = 8;
+    private static final String BUFFER_NAME = "HybridBuffer";
+    private static final String INSTANCE_DIRECTORY_PREFIX = "instance-";
+    private static final String DEFAULT_PATH_PREFIX = "data/hybrid-buffer/";
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long DEFAULT_MAX_SPILL_SIZE = 1024L * 1024 * 1024;
+    private static final RecordCodecType DEFAULT_RECORD_CODEC = RecordCodecType.STRING;
+    private static final String ATTRIBUTE_BUFFER_CAPACITY = "buffer_size";
+    private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
+    private static final String ATTRIBUTE_PATH = "path";
+    private static final String ATTRIBUTE_SEGMENT_SIZE = "segment_size";
+    private static final String ATTRIBUTE_MAX_SPILL_SIZE = "max_spill_size";
+    private static final String ATTRIBUTE_RECORD_CODEC = "record_codec";
+
+    private final int bufferCapacity;
+    private final int batchSize;
+    private final String pipelineName;
+    private final RecordCodec recordCodec;
+    private final SegmentLog spillLog;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition recordsAvailable = lock.newCondition();
+    private final Condition spaceReleased = lock.newCondition();
+    private final Queue<T> memoryQueue = new ArrayDeque<>();
+    /**
+     * Spilled writes which are not completely read back, in the order they were written.
+     */
+    private final Queue<SpilledWrite> spilledWrites = new ArrayDeque<>();
+    private final Counter spilledRecordsCounter;
+    private final Counter spilledBytesCounter;
+    private final AtomicLong spillSize;
+    private final AtomicLong oldestSpillTime = new AtomicLong();
+    /**
+     * Number of records held in memory, i.e. queued records and records which were read but not checkpointed.
+     */
+    private int recordsInMemory;
+
+    /**
+     * Creates a HybridBuffer which spills to segment files in the given directory.
+     *
+     * @param bufferCapacity  maximum number of unchecked records which are held in memory
+     * @param batchSize       the batch size for {@link #read(int)}
+     * @param directory       directory of the spilled segment files
+     * @param segmentSize     size of each segment file in bytes, a record must fit into a single segment
+     * @param maxSpillSize    maximum size of all segment files in bytes
+     * @param recordCodecType how spilled records are serialized
+     * @param pipelineName    the name of the associated Pipeline
+     */
+    public HybridBuffer(final int bufferCapacity, final int batchSize, final Path directory, final int segmentSize,
+                        final long maxSpillSize, final RecordCodecType recordCodecType, final String pipelineName) {
+        this(BUFFER_NAME, bufferCapacity, batchSize, directory, segmentSize, maxSpillSize, recordCodecType,
+                pipelineName);
+    }
+
+    private HybridBuffer(final String bufferName, final int bufferCapacity, final int batchSize, final Path directory,
+                         final int segmentSize, final long maxSpillSize, final RecordCodecType recordCodecType,
+                         final String pipelineName) {
+        super(bufferName, pipelineName);
+        Preconditions.checkArgument(bufferCapacity > 0, "bufferCapacity must be greater than 0");
+        Preconditions.checkArgument(segmentSize > Segment.FRAME_HEADER_SIZE, "segmentSize is too small");
+        Preconditions.checkArgument(maxSpillSize >= 2L * segmentSize,
+                "maxSpillSize must be at least twice the segmentSize");
+        this.bufferCapacity = bufferCapacity;
+        this.batchSize = batchSize;
+        this.pipelineName = pipelineName;
+        this.recordCodec = recordCodecType.create();
+        try {
+            this.spillLog = SegmentLog.open(directory, segmentSize, maxSpillSize);
+            if (spillLog.hasUnreadPayloads()) {
+                // The time the records were spilled is not persisted, so their age is counted from the restart
+                final long now = System.currentTimeMillis();
+                spilledWrites.add(new SpilledWrite(spillLog.getWriteOffset(), now));
+                oldestSpillTime.set(now);
+            }
+        } catch (final IOException ex) {
+            throw new RuntimeException(format("Pipeline [%s] - Unable to open the spill files at %s",
+                    pipelineName, directory), ex);
+        }
+        this.spilledRecordsCounter = pluginMetrics.counter(SPILLED_RECORDS);
+        this.spilledBytesCounter = pluginMetrics.counter(SPILLED_BYTES);
+        this.spillSize = pluginMetrics.gauge(SPILL_SIZE, new AtomicLong());
+        pluginMetrics.gauge(OLDEST_SPILLED_RECORD_AGE, oldestSpillTime, HybridBuffer::ageInMillis);
+        updateSpillGauges();
+    }
+
+    /**
+     * Mandatory constructor for Data Prepper Component - This constructor is used by Data Prepper runtime engine to construct an
+     * instance of {@link HybridBuffer} using an instance of {@link PluginSetting} which has access to
+     * pluginSetting metadata from pipeline pluginSetting file. Buffer settings like `buffer_size`, `path` and
+     * `max_spill_size` are optional and can be passed via {@link PluginSetting}, if not present default values will
+     * be used to create the buffer. If the pipeline creates a buffer per partition or lane, each buffer spills to a
+     * subdirectory of the path named after its index and reports its metrics separately.
+     *
+     * @param pluginSetting instance with metadata information from pipeline pluginSetting file.
+     */
+    public HybridBuffer(final PluginSetting pluginSetting) {
+        this(BUFFER_NAME + checkNotNull(pluginSetting, "PluginSetting cannot be null").getInstanceIndex()
+                        .map(index -> "-" + index).orElse(""),
+                pluginSetting.getIntegerOrDefault(ATTRIBUTE_BUFFER_CAPACITY, DEFAULT_BUFFER_CAPACITY),
+                pluginSetting.getIntegerOrDefault(ATTRIBUTE_BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                getDirectory(pluginSetting),
+                pluginSetting.getIntegerOrDefault(ATTRIBUTE_SEGMENT_SIZE, DEFAULT_SEGMENT_SIZE),
+                pluginSetting.getLongOrDefault(ATTRIBUTE_MAX_SPILL_SIZE, DEFAULT_MAX_SPILL_SIZE),
+                RecordCodecType.fromOptionValue(
+                        pluginSetting.getStringOrDefault(ATTRIBUTE_RECORD_CODEC, DEFAULT_RECORD_CODEC.name())),
+                pluginSetting.getPipelineName());
+    }
+
+    @Override
+    public void doWrite(final T record, final int timeoutInMillis) throws TimeoutException {
+        try {
+            doWriteAll(Collections.singletonList(record), timeoutInMillis);
+        } catch (final TimeoutException | RuntimeException ex) {
+            throw ex;
+        } catch (final Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    @Override
+    public void doWriteAll(final Collection<T> records, final int timeoutInMillis) throws Exception {
+        if (records.isEmpty()) {
+            return;
+        }
+        for (final T record : records) {
+            checkNotNull(record, "Record cannot be null");
+        }
+        lock.lockInterruptibly();
+        try {
+            if (tryWriteToMemory(records)) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Serialized outside of the lock, the records are put into memory after all if it was freed up meanwhile
+        final List<byte[]> payloads = new ArrayList<>(records.size());
+        for (final T record : records) {
+            payloads.add(recordCodec.encode(record.getData()));
+        }
+        if (spillLog.exceedsMaxSize(payloads)) {
+            throw new SizeOverflowException(format("Buffer capacity too small for the size of records: %d",
+                    records.size()));
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        lock.lockInterruptibly();
+        try {
+            while (!tryWriteToMemory(records)) {
+                if (spillLog.hasRoomFor(payloads)) {
+                    spill(payloads);
+                    return;
+                }
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException(format("Pipeline [%s] - Buffer does not have enough capacity left " +
+                            "in memory or on disk for the size of records: %d, timed out waiting for slots.",
+                            pipelineName, records.size()));
+                }
+                spaceReleased.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves and removes the batch of records from the head of the buffer. The batch size is defined/determined by
+     * the configuration attribute {@link #ATTRIBUTE_BATCH_SIZE} or the @param timeoutInMillis.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @return The earliest batch of records in the buffer which are still not read.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis) {
+        return doRead(timeoutInMillis, batchSize);
+    }
+
+    /**
+     * Retrieves and removes the batch of up to maxBatchSize records from the head of the buffer, waiting up to
+     * timeoutInMillis for the batch to fill up.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     * @return The earliest batch of records in the buffer which are still not read.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis, final int maxBatchSize) {
+        final List<T> records = new ArrayList<>();
+        final List<byte[]> payloads = new ArrayList<>();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        lock.lock();
+        try {
+            while (true) {
+                // Records written to memory after spilled records were read are newer, so they go into the next batch
+                while (payloads.isEmpty() && records.size() < maxBatchSize && !memoryQueue.isEmpty()) {
+                    records.add(memoryQueue.remove());
+                }
+                if (memoryQueue.isEmpty()) {
+                    readSpilled(payloads, maxBatchSize - records.size() - payloads.size());
+                }
+                final long remaining = deadline - System.nanoTime();
+                if (records.size() + payloads.size() >= maxBatchSize || remaining <= 0) {
+                    break;
+                }
+                recordsAvailable.awaitNanos(remaining);
+            }
+        } catch (final IOException ex) {
+            throw new RuntimeException(format("Pipeline [%s] - Unable to read the spilled records", pipelineName), ex);
+        } catch (final InterruptedException ex) {
+            LOG.info("Pipeline [{}] - Interrupt received while reading from buffer", pipelineName);
+            throw new RuntimeException(ex);
+        } finally {
+            lock.unlock();
+        }
+        records.addAll(decode(payloads));
+        final CheckpointState checkpointState = new CheckpointState(records.size());
+        return new AbstractMap.SimpleEntry<>(records, checkpointState);
+    }
+
+    @Override
+    public void doCheckpoint(final CheckpointState checkpointState) {
+        final int numCheckedRecords = checkpointState.getNumRecordsToBeChecked();
+        if (numCheckedRecords == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            recordsInMemory -= numCheckedRecords;
+            spaceReleased.signalAll();
+            // Readers may be waiting for capacity to read back spilled records
+            recordsAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return recordsInMemory == 0 && spilledWrites.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true, as the records which were not read are spilled on shutdown and read again after a restart
+     */
+    @Override
+    public boolean isPersistent() {
+        return true;
+    }
+
+    /**
+     * Spills the records in memory which were not read, then flushes the spilled records which were not read back and
+     * closes the spill files, so they are read after a restart. The records which were read but not checkpointed are
+     * lost.
+     */
+    @Override
+    public void shutdown() {
+        lock.lock();
+        try {
+            try {
+                spillMemoryQueue();
+            } catch (final IOException ex) {
+                LOG.warn("Pipeline [{}] - Unable to spill the records in memory", pipelineName, ex);
+            }
+            spillLog.forceWriteSegment();
+            spillLog.forceCheckpoint();
+            spillLog.close();
+        } catch (final IOException ex) {
+            LOG.warn("Pipeline [{}] - Unable to close the spill files", pipelineName, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Puts the records into memory if there are no spilled records, which must be read first, and the records fit.
+     */
+    private boolean tryWriteToMemory(final Collection<T> records) {
+        if (!spilledWrites.isEmpty() || recordsInMemory + records.size() > bufferCapacity) {
+            return false;
+        }
+        memoryQueue.addAll(records);
+        recordsInMemory += records.size();
+        recordsAvailable.signalAll();
+        return true;
+    }
+
+    private void spill(final List<byte[]> payloads) throws IOException {
+        long bytes = 0;
+        for (final byte[] payload : payloads) {
+            spillLog.append(payload);
+            bytes += payload.length;
+        }
+        final long now = System.currentTimeMillis();
+        if (spilledWrites.isEmpty()) {
+            oldestSpillTime.set(now);
+        }
+        spilledWrites.add(new SpilledWrite(spillLog.getWriteOffset(), now));
+        spilledRecordsCounter.increment(payloads.size());
+        spilledBytesCounter.increment(bytes);
+        updateSpillGauges();
+        recordsAvailable.signalAll();
+    }
+
+    /**
+     * Spills the records in memory which were not read. They are read after the records which were spilled before,
+     * as the spill files can only be appended to.
+     */
+    private void spillMemoryQueue() throws IOException {
+        if (memoryQueue.isEmpty()) {
+            return;
+        }
+        final List<byte[]> payloads = new ArrayList<>(memoryQueue.size());
+        for (final T record : memoryQueue) {
+            payloads.add(recordCodec.encode(record.getData()));
+        }
+        if (!spillLog.hasRoomFor(payloads)) {
+            LOG.warn("Pipeline [{}] - Dropping {} records in memory which do not fit into the spill files",
+                    pipelineName, payloads.size());
+            return;
+        }
+        spill(payloads);
+        recordsInMemory -= memoryQueue.size();
+        memoryQueue.clear();
+    }
+
+    /**
+     * Reads back up to maxRecords spilled records, as far as the capacity of the memory allows, and removes them from
+     * the disk.
+     */
+    private void readSpilled(final List<byte[]> payloads, final int maxRecords) throws IOException {
+        final int numRecords = Math.min(maxRecords, bufferCapacity - recordsInMemory);
+        if (numRecords <= 0 || spilledWrites.isEmpty()) {
+            return;
+        }
+        int readRecords = 0;
+        byte[] payload;
+        while (readRecords < numRecords && (payload = spillLog.readNext()) != null) {
+            payloads.add(payload);
+            readRecords++;
+        }
+        recordsInMemory += readRecords;
+        final long readOffset = spillLog.getReadOffset();
+        spillLog.commit(readOffset);
+        while (!spilledWrites.isEmpty() && spilledWrites.peek().getEndOffset() <= readOffset) {
+            spilledWrites.remove();
+        }
+        oldestSpillTime.set(spilledWrites.isEmpty() ? 0 : spilledWrites.peek().getSpillTime());
+        updateSpillGauges();
+        spaceReleased.signalAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<T> decode(final List<byte[]> payloads) {
+        final List<T> records = new ArrayList<>(payloads.size());
+        try {
+            for (final byte[] payload : payloads) {
+                records.add((T) new Record<>(recordCodec.decode(payload)));
+            }
+        } catch (final IOException ex) {
+            throw new RuntimeException(format("Pipeline [%s] - Unable to deserialize a spilled record",
+                    pipelineName), ex);
+        }
+        return records;
+    }
+
+    private static Path getDirectory(final PluginSetting pluginSetting) {
+        final Path directory = Paths.get(pluginSetting.getStringOrDefault(ATTRIBUTE_PATH,
+                DEFAULT_PATH_PREFIX + pluginSetting.getPipelineName()));
+        return pluginSetting.getInstanceIndex()
+                .map(index -> directory.resolve(INSTANCE_DIRECTORY_PREFIX + index))
+                .orElse(directory);
+    }
+
+    private void updateSpillGauges() {
+        spillSize.set(spillLog.getUncommittedBytes());
+    }
+
+    private static double ageInMillis(final AtomicLong spillTime) {
+        final long time = spillTime.get();
+        return time == 0 ? 0 : System.currentTimeMillis() - time;
+    }
+
+    /**
+     * The end offset and time of a spilled write, which gives the age of the oldest spilled record.
+     */
+    private static class SpilledWrite {
+        private final long endOffset;
+        private final long spillTime;
+
+        private SpilledWrite(final long endOffset, final long spillTime) {
+            this.endOffset = endOffset;
+            this.spillTime = spillTime;
+        }
+
+        long getEndOffset() {
+            return endOffset;
+        }
+
+        long getSpillTime() {
+            return spillTime;
+        }
+    }
+}
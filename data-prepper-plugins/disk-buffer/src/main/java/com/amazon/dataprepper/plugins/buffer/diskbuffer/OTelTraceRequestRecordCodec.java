@@ -0,0 +1,31 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+
+import java.io.IOException;
+
+/**
+ * Stores the {@link ExportTraceServiceRequest} records of the otel_trace_source in their protobuf wire format.
+ */
+class OTelTraceRequestRecordCodec implements RecordCodec {
+    @Override
+    public byte[] encode(final Object data) {
+        return ((ExportTraceServiceRequest) data).toByteArray();
+    }
+
+    @Override
+    public Object decode(final byte[] bytes) throws IOException {
+        return ExportTraceServiceRequest.parseFrom(bytes);
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import java.io.IOException;
+
+/**
+ * Serializes the data of the records which are stored in the {@link DiskBuffer}, the {@link HybridBuffer} or the
+ * compressed_buffer. The metadata of a record is not stored, unless the codec stores it as part of the data, and
+ * records are read back with the default metadata. Implementations are called by concurrent writers and readers and
+ * must be thread-safe.
+ */
+public interface RecordCodec {
+    byte[] encode(Object data) throws IOException;
+
+    Object decode(byte[] bytes) throws IOException;
+}
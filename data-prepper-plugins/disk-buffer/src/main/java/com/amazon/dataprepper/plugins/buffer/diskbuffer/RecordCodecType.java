@@ -0,0 +1,55 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public enum RecordCodecType {
+    /**
+     * Records of type {@link String}, stored as UTF-8.
+     */
+    STRING(StringRecordCodec::new),
+    /**
+     * ExportTraceServiceRequest records of the otel_trace_source, stored in the protobuf wire format.
+     */
+    OTEL_TRACE_REQUEST(OTelTraceRequestRecordCodec::new),
+    /**
+     * {@link com.amazon.dataprepper.model.event.Event} records, stored with their metadata in the binary Smile format.
+     */
+    EVENT(EventRecordCodec::new),
+    /**
+     * Records of any {@link java.io.Serializable} type, stored with Java serialization.
+     */
+    JAVA_SERIALIZATION(JavaSerializationRecordCodec::new);
+
+    private final Supplier<RecordCodec> creationFunction;
+
+    RecordCodecType(final Supplier<RecordCodec> creationFunction) {
+        this.creationFunction = Objects.requireNonNull(creationFunction);
+    }
+
+    /**
+     * @param optionValue configured value, e.g. otel_trace_request
+     * @return record codec type of the configured value
+     */
+    public static RecordCodecType fromOptionValue(final String optionValue) {
+        return valueOf(optionValue.toUpperCase());
+    }
+
+    /**
+     * @return new codec of this type
+     */
+    public RecordCodec create() {
+        return creationFunction.get();
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static java.lang.String.format;
+
+/**
+ * A file of the {@link SegmentLog} which is memory-mapped as a whole. Records are appended as frames of
+ * [marker][payload length][payload crc32][payload]. The marker is written last, so a frame which was not completely
+ * written before a crash is not visible after a restart, and a frame whose crc does not match is treated as the end
+ * of the written part of the segment.
+ * <p>
+ * The mapping is released when the segment is closed, after which the segment must not be used. All calls but
+ * {@link #force()} must be guarded by the lock of the owner of the {@link SegmentLog}.
+ */
+class Segment {
+    private static final Logger LOG = LoggerFactory.getLogger(Segment.class);
+    static final int FRAME_HEADER_SIZE = Byte.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final Consumer<MappedByteBuffer> UNMAPPER = createUnmapper();
+    private static final byte UNWRITTEN = 0;
+    private static final byte RECORD = 1;
+    private static final byte END_OF_SEGMENT = 2;
+
+    private final long baseOffset;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private boolean closed;
+
+    private Segment(final long baseOffset, final Path path, final FileChannel channel, final int size)
+            throws IOException {
+        this.baseOffset = baseOffset;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    /**
+     * Creates a new segment file of the given size.
+     */
+    static Segment create(final Path path, final long baseOffset, final int size) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return new Segment(baseOffset, path, channel, size);
+    }
+
+    /**
+     * Opens an existing segment file.
+     */
+    static Segment open(final Path path, final long baseOffset) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(baseOffset, path, channel, (int) channel.size());
+    }
+
+    static int frameSize(final int payloadLength) {
+        return FRAME_HEADER_SIZE + payloadLength;
+    }
+
+    long getBaseOffset() {
+        return baseOffset;
+    }
+
+    int size() {
+        return buffer.capacity();
+    }
+
+    boolean hasRoomFor(final int position, final int payloadLength) {
+        return position + frameSize(payloadLength) <= size();
+    }
+
+    /**
+     * Writes the frame of a payload at the given position, the caller must make sure that it fits.
+     */
+    void write(final int position, final byte[] payload) {
+        checkOpen();
+        final ByteBuffer frame = buffer.duplicate();
+        frame.position(position + Byte.BYTES);
+        frame.putInt(payload.length);
+        frame.putInt(crc32(payload));
+        frame.put(payload);
+        buffer.put(position, RECORD);
+    }
+
+    /**
+     * Marks the end of the written part of a segment which is rolled over.
+     */
+    void writeEndOfSegment(final int position) {
+        checkOpen();
+        if (position < size()) {
+            buffer.put(position, END_OF_SEGMENT);
+        }
+    }
+
+    /**
+     * Clears the marker at the given position, so a frame left behind by a crash is not read once it is overwritten
+     * only partially.
+     */
+    void clear(final int position) {
+        checkOpen();
+        if (position < size()) {
+            buffer.put(position, UNWRITTEN);
+        }
+    }
+
+    /**
+     * Returns the payload of the frame at the given position, or null if there is no valid frame.
+     */
+    byte[] read(final int position) {
+        checkOpen();
+        if (position + FRAME_HEADER_SIZE > size() || buffer.get(position) != RECORD) {
+            return null;
+        }
+        final ByteBuffer frame = buffer.duplicate();
+        frame.position(position + Byte.BYTES);
+        final int length = frame.getInt();
+        final int crc = frame.getInt();
+        if (length < 0 || length > frame.remaining()) {
+            return null;
+        }
+        final byte[] payload = new byte[length];
+        frame.get(payload);
+        return crc32(payload) == crc ? payload : null;
+    }
+
+    /**
+     * Flushes the segment to the storage device. Unlike the other methods it may be called without the lock of the
+     * owner, e.g. by a periodic flush which races with the roll-over of the segment, and does nothing once the segment
+     * is closed.
+     */
+    synchronized void force() {
+        if (!closed) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Closes the file and releases the mapping right away rather than when the buffer is garbage collected, so the
+     * address space and page cache of retired segments are freed while the log keeps rolling over.
+     */
+    synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        UNMAPPER.accept(buffer);
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException(format("Segment %s is closed", path));
+        }
+    }
+
+    /**
+     * Returns the function which unmaps a buffer, using the cleaner of the buffer through {@code sun.misc.Unsafe} on
+     * Java 9 and later and through {@code sun.nio.ch.DirectBuffer} on Java 8. If neither is accessible the mappings
+     * are released when the buffers are garbage collected.
+     */
+    private static Consumer<MappedByteBuffer> createUnmapper() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            return buffer -> invoke(invokeCleaner, unsafe, buffer);
+        } catch (final NoSuchMethodException ex) {
+            // Java 8, unmapped through the cleaner of the buffer below
+        } catch (final ReflectiveOperationException | RuntimeException ex) {
+            LOG.warn("Unable to unmap the segment files of disk buffers, their mappings are released on garbage " +
+                    "collection", ex);
+            return buffer -> { };
+        }
+        try {
+            final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> invoke(clean, invoke(cleaner, buffer, null), null);
+        } catch (final ReflectiveOperationException | RuntimeException ex) {
+            LOG.warn("Unable to unmap the segment files of disk buffers, their mappings are released on garbage " +
+                    "collection", ex);
+            return buffer -> { };
+        }
+    }
+
+    private static Object invoke(final Method method, final Object target, final Object argument) {
+        try {
+            return argument == null ? method.invoke(target) : method.invoke(target, argument);
+        } catch (final ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to unmap a segment file", ex);
+        }
+    }
+
+    private static int crc32(final byte[] payload) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(payload, 0, payload.length);
+        return (int) crc32.getValue();
+    }
+}
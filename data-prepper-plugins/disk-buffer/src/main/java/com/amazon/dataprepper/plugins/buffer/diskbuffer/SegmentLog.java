@@ -0,0 +1,357 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import static java.lang.String.format;
+
+/**
+ * An append-only log of byte payloads in a directory of {@link Segment} files. Each payload has a global offset, the
+ * offset of a segment is the sum of the sizes of all the segments before it. The log keeps a read position, which is
+ * not persisted, and a committed offset, which is persisted in a checkpoint file and up to which the segments are
+ * deleted. On {@link #open(Path, int, long)} the read position starts at the committed offset again, so the payloads
+ * which were read but not committed before a restart are read again.
+ * <p>
+ * A SegmentLog is not thread-safe, its owner must guard all calls with the same lock.
+ */
+class SegmentLog {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentLog.class);
+    static final String SEGMENT_FILE_PREFIX = "segment-";
+    static final String SEGMENT_FILE_SUFFIX = ".log";
+    static final String CHECKPOINT_FILE_NAME = "checkpoint";
+    private static final int CHECKPOINT_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxSizeInBytes;
+    /**
+     * Base offsets of the segment files on disk, the last one is the write segment.
+     */
+    private final NavigableMap<Long, Path> segmentFiles;
+    private final FileChannel checkpointChannel;
+    private Segment writeSegment;
+    private int writePosition;
+    private Segment readSegment;
+    private int readPosition;
+    private long committedOffset;
+
+    private SegmentLog(final Path directory, final int segmentSize, final long maxSizeInBytes,
+                       final NavigableMap<Long, Path> segmentFiles, final FileChannel checkpointChannel,
+                       final long committedOffset) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.segmentFiles = segmentFiles;
+        this.checkpointChannel = checkpointChannel;
+        this.committedOffset = committedOffset;
+    }
+
+    /**
+     * Opens the log in the given directory, recovering the segments and the committed offset of a previous run.
+     *
+     * @param directory      directory of the segment files, created if it does not exist
+     * @param segmentSize    size of new segment files in bytes
+     * @param maxSizeInBytes maximum size of all segment files in bytes
+     * @return log positioned to read from the committed offset
+     * @throws IOException if the files cannot be read or created
+     */
+    static SegmentLog open(final Path directory, final int segmentSize, final long maxSizeInBytes)
+            throws IOException {
+        Files.createDirectories(directory);
+        final NavigableMap<Long, Path> segmentFiles = listSegmentFiles(directory);
+        final FileChannel checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final long firstOffset = segmentFiles.isEmpty() ? 0 : segmentFiles.firstKey();
+        final long committedOffset = Math.max(readCheckpoint(checkpointChannel, firstOffset), firstOffset);
+        final SegmentLog segmentLog = new SegmentLog(directory, segmentSize, maxSizeInBytes, segmentFiles,
+                checkpointChannel, committedOffset);
+        segmentLog.recover();
+        return segmentLog;
+    }
+
+    /**
+     * Returns true if all the payloads fit in the log without exceeding its maximum size. Payloads which do not fit
+     * into the current write segment are written to new segments of the configured size.
+     */
+    boolean hasRoomFor(final Collection<byte[]> payloads) {
+        long position = writePosition;
+        long currentSegmentSize = writeSegment.size();
+        long newSegmentsSize = 0;
+        for (final byte[] payload : payloads) {
+            final int frameSize = Segment.frameSize(payload.length);
+            if (position + frameSize > currentSegmentSize) {
+                position = 0;
+                currentSegmentSize = segmentSize;
+                newSegmentsSize += segmentSize;
+            }
+            position += frameSize;
+        }
+        return newSegmentsSize == 0 || getSizeInBytes() + newSegmentsSize <= maxSizeInBytes;
+    }
+
+    /**
+     * Returns true if the payloads could never fit in the log, even if all segments but the write segment are deleted.
+     */
+    boolean exceedsMaxSize(final Collection<byte[]> payloads) {
+        long totalFrameSize = 0;
+        for (final byte[] payload : payloads) {
+            if (Segment.frameSize(payload.length) > segmentSize) {
+                return true;
+            }
+            totalFrameSize += Segment.frameSize(payload.length);
+        }
+        return totalFrameSize > maxSizeInBytes - segmentSize;
+    }
+
+    /**
+     * Appends a payload, rolling over to a new segment if it does not fit into the write segment. The caller must
+     * check {@link #hasRoomFor(Collection)} first.
+     */
+    void append(final byte[] payload) throws IOException {
+        if (!writeSegment.hasRoomFor(writePosition, payload.length)) {
+            rollWriteSegment();
+        }
+        writeSegment.write(writePosition, payload);
+        writePosition += Segment.frameSize(payload.length);
+    }
+
+    /**
+     * Returns the next unread payload and advances the read position, or returns null if all payloads are read.
+     */
+    byte[] readNext() throws IOException {
+        final byte[] payload = peek();
+        if (payload != null) {
+            readPosition += Segment.frameSize(payload.length);
+        }
+        return payload;
+    }
+
+    boolean hasUnreadPayloads() throws IOException {
+        return peek() != null;
+    }
+
+    /**
+     * Returns the offset of the next payload to read.
+     */
+    long getReadOffset() {
+        return readSegment.getBaseOffset() + readPosition;
+    }
+
+    /**
+     * Returns the offset after the last written payload.
+     */
+    long getWriteOffset() {
+        return writeSegment.getBaseOffset() + writePosition;
+    }
+
+    long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    /**
+     * Persists the offset up to which all payloads are processed and deletes the segments which end at or before it.
+     * The offset is written to the checkpoint file, which is only flushed to the device on {@link #forceCheckpoint()}.
+     */
+    void commit(final long offset) throws IOException {
+        if (offset <= committedOffset) {
+            return;
+        }
+        committedOffset = offset;
+        writeCheckpoint(offset);
+        while (segmentFiles.size() > 1) {
+            final Map.Entry<Long, Path> first = segmentFiles.firstEntry();
+            final long nextBaseOffset = segmentFiles.higherKey(first.getKey());
+            if (nextBaseOffset > offset || first.getKey() == readSegment.getBaseOffset()) {
+                break;
+            }
+            Files.deleteIfExists(first.getValue());
+            segmentFiles.pollFirstEntry();
+        }
+    }
+
+    /**
+     * Returns the size of all segment files in bytes.
+     */
+    long getSizeInBytes() {
+        return writeSegment.getBaseOffset() + writeSegment.size() - segmentFiles.firstKey();
+    }
+
+    /**
+     * Returns the number of bytes of the written but not yet committed payloads.
+     */
+    long getUncommittedBytes() {
+        return getWriteOffset() - committedOffset;
+    }
+
+    /**
+     * Flushes the written payloads of the write segment to the storage device.
+     */
+    void forceWriteSegment() {
+        writeSegment.force();
+    }
+
+    Segment getWriteSegment() {
+        return writeSegment;
+    }
+
+    /**
+     * Flushes the committed offset to the storage device. Unlike the other methods it may be called without the lock of
+     * the owner.
+     */
+    void forceCheckpoint() throws IOException {
+        checkpointChannel.force(false);
+    }
+
+    void close() throws IOException {
+        if (readSegment != writeSegment) {
+            readSegment.close();
+        }
+        writeSegment.close();
+        checkpointChannel.close();
+    }
+
+    /**
+     * Moves the read position past the end of finished segments and returns the payload at the read position, or
+     * null if all payloads are read.
+     */
+    private byte[] peek() throws IOException {
+        while (true) {
+            if (readSegment == writeSegment && readPosition >= writePosition) {
+                return null;
+            }
+            final byte[] payload = readSegment.read(readPosition);
+            if (payload != null) {
+                return payload;
+            }
+            if (readSegment == writeSegment) {
+                LOG.warn("Invalid record at offset {} in {}, skipping the written records after it",
+                        getReadOffset(), directory);
+                readPosition = writePosition;
+                return null;
+            }
+            final long nextBaseOffset = readSegment.getBaseOffset() + readSegment.size();
+            readSegment.close();
+            readSegment = nextBaseOffset == writeSegment.getBaseOffset() ?
+                    writeSegment : Segment.open(segmentFiles.get(nextBaseOffset), nextBaseOffset);
+            readPosition = 0;
+        }
+    }
+
+    private void rollWriteSegment() throws IOException {
+        writeSegment.writeEndOfSegment(writePosition);
+        // Flushed here, as only the write segment is flushed by the fsync policy
+        writeSegment.force();
+        if (writeSegment != readSegment) {
+            writeSegment.close();
+        }
+        final long baseOffset = writeSegment.getBaseOffset() + writeSegment.size();
+        final Path path = segmentPath(directory, baseOffset);
+        writeSegment = Segment.create(path, baseOffset, segmentSize);
+        writePosition = 0;
+        segmentFiles.put(baseOffset, path);
+    }
+
+    /**
+     * Positions the reader at the committed offset and the writer after the last valid payload of the last segment.
+     */
+    private void recover() throws IOException {
+        while (segmentFiles.size() > 1 && segmentFiles.higherKey(segmentFiles.firstKey()) <= committedOffset) {
+            Files.deleteIfExists(segmentFiles.pollFirstEntry().getValue());
+        }
+        if (segmentFiles.isEmpty()) {
+            final Path path = segmentPath(directory, committedOffset);
+            writeSegment = Segment.create(path, committedOffset, segmentSize);
+            segmentFiles.put(committedOffset, path);
+        } else {
+            final Map.Entry<Long, Path> last = segmentFiles.lastEntry();
+            writeSegment = Segment.open(last.getValue(), last.getKey());
+        }
+        final long readBaseOffset = segmentFiles.floorKey(committedOffset);
+        readSegment = readBaseOffset == writeSegment.getBaseOffset() ?
+                writeSegment : Segment.open(segmentFiles.get(readBaseOffset), readBaseOffset);
+        readPosition = (int) (committedOffset - readBaseOffset);
+
+        writePosition = readSegment == writeSegment ? readPosition : 0;
+        byte[] payload;
+        while ((payload = writeSegment.read(writePosition)) != null) {
+            writePosition += Segment.frameSize(payload.length);
+        }
+        writeSegment.clear(writePosition);
+        LOG.info("Opened disk buffer at {} with {} bytes of unprocessed records", directory, getUncommittedBytes());
+    }
+
+    private void writeCheckpoint(final long offset) throws IOException {
+        final ByteBuffer checkpoint = ByteBuffer.allocate(CHECKPOINT_SIZE);
+        checkpoint.putLong(offset);
+        checkpoint.putInt(crc32(checkpoint.array(), Long.BYTES));
+        checkpoint.flip();
+        while (checkpoint.hasRemaining()) {
+            checkpointChannel.write(checkpoint, checkpoint.position());
+        }
+    }
+
+    /**
+     * Returns the offset of the checkpoint file, or the default offset if the file is empty or was not completely
+     * written, in which case the payloads are read again from the start of the log.
+     */
+    private static long readCheckpoint(final FileChannel checkpointChannel, final long defaultOffset)
+            throws IOException {
+        final ByteBuffer checkpoint = ByteBuffer.allocate(CHECKPOINT_SIZE);
+        while (checkpoint.hasRemaining() && checkpointChannel.read(checkpoint, checkpoint.position()) > 0) {
+            // reads until the buffer is full or the end of the file
+        }
+        if (checkpoint.hasRemaining()) {
+            return defaultOffset;
+        }
+        final long offset = checkpoint.getLong(0);
+        return checkpoint.getInt(Long.BYTES) == crc32(checkpoint.array(), Long.BYTES) ? offset : defaultOffset;
+    }
+
+    private static NavigableMap<Long, Path> listSegmentFiles(final Path directory) throws IOException {
+        final NavigableMap<Long, Path> segmentFiles = new TreeMap<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory,
+                SEGMENT_FILE_PREFIX + "*" + SEGMENT_FILE_SUFFIX)) {
+            for (final Path path : paths) {
+                final String fileName = path.getFileName().toString();
+                final String baseOffset = fileName.substring(SEGMENT_FILE_PREFIX.length(),
+                        fileName.length() - SEGMENT_FILE_SUFFIX.length());
+                segmentFiles.put(Long.parseLong(baseOffset), path);
+            }
+        }
+        return segmentFiles;
+    }
+
+    private static Path segmentPath(final Path directory, final long baseOffset) {
+        return directory.resolve(format("%s%020d%s", SEGMENT_FILE_PREFIX, baseOffset, SEGMENT_FILE_SUFFIX));
+    }
+
+    private static int crc32(final byte[] bytes, final int length) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(bytes, 0, length);
+        return (int) crc32.getValue();
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stores {@link String} records, e.g. the log lines of the http source, as UTF-8.
+ */
+class StringRecordCodec implements RecordCodec {
+    @Override
+    public byte[] encode(final Object data) {
+        return ((String) data).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Object decode(final byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.event.Event;
+import com.amazon.dataprepper.model.event.JacksonEvent;
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class DiskBufferTests {
+    private static final String ATTRIBUTE_PATH = "path";
+    private static final String ATTRIBUTE_SEGMENT_SIZE = "segment_size";
+    private static final String ATTRIBUTE_MAX_DISK_SIZE = "max_disk_size";
+    private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
+    private static final String ATTRIBUTE_RECORD_CODEC = "record_codec";
+    private static final String ATTRIBUTE_FSYNC_POLICY = "fsync_policy";
+    private static final String TEST_PIPELINE_NAME = "test-pipeline";
+    private static final int TEST_SEGMENT_SIZE = 1024;
+    private static final long TEST_MAX_DISK_SIZE = 4 * TEST_SEGMENT_SIZE;
+    private static final int TEST_BATCH_SIZE = 3;
+    private static final int TEST_WRITE_TIMEOUT = 1_00;
+    private static final int TEST_BATCH_READ_TIMEOUT = 0;
+    private static final long TEST_FSYNC_INTERVAL = 10;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCreationUsingPluginSetting() {
+        final DiskBuffer<Record<String>> diskBuffer = new DiskBuffer<>(completePluginSettingForDiskBuffer());
+        assertThat(diskBuffer, notNullValue());
+        assertTrue(diskBuffer.isEmpty());
+        assertTrue(tempDir.resolve(SegmentLog.CHECKPOINT_FILE_NAME).toFile().exists());
+    }
+
+    @Test
+    public void testInstancesCreatedFromTheSamePluginSettingUseSeparateDirectories() throws Exception {
+        final PluginSetting firstSetting = completePluginSettingForDiskBuffer();
+        firstSetting.setInstanceIndex(0);
+        final PluginSetting secondSetting = completePluginSettingForDiskBuffer();
+        secondSetting.setInstanceIndex(1);
+        final DiskBuffer<Record<String>> firstBuffer = new DiskBuffer<>(firstSetting);
+        final DiskBuffer<Record<String>> secondBuffer = new DiskBuffer<>(secondSetting);
+
+        firstBuffer.writeAll(generateBatchRecords(0, 3), TEST_WRITE_TIMEOUT);
+
+        assertFalse(firstBuffer.isEmpty());
+        assertTrue(secondBuffer.isEmpty());
+        assertTrue(tempDir.resolve("instance-0").resolve(SegmentLog.CHECKPOINT_FILE_NAME).toFile().exists());
+        assertTrue(tempDir.resolve("instance-1").resolve(SegmentLog.CHECKPOINT_FILE_NAME).toFile().exists());
+    }
+
+    @Test
+    public void testShutdownKeepsUncheckedRecordsForRestart() throws Exception {
+        final DiskBuffer<Record<String>> diskBuffer = newDiskBuffer(FsyncPolicy.INTERVAL);
+        diskBuffer.writeAll(generateBatchRecords(0, 3), TEST_WRITE_TIMEOUT);
+        assertTrue(diskBuffer.isPersistent());
+
+        diskBuffer.shutdown();
+
+        assertThrows(IllegalStateException.class, () -> diskBuffer.write(new Record<>("data"), TEST_WRITE_TIMEOUT));
+        final DiskBuffer<Record<String>> restartedDiskBuffer = newDiskBuffer(FsyncPolicy.INTERVAL);
+        assertThat(dataOf(restartedDiskBuffer.read(TEST_BATCH_READ_TIMEOUT, 10).getKey()),
+                is(equalTo(generateData(0, 3))));
+    }
+
+    @Test
+    public void testCreationUsingNullPluginSetting() {
+        final NullPointerException ex = assertThrows(NullPointerException.class,
+                () -> new DiskBuffer<Record<String>>((PluginSetting) null));
+        assertThat(ex.getMessage(), is(equalTo("PluginSetting cannot be null")));
+    }
+
+    @Test
+    public void testCreationUsingInvalidSettings() {
+        final PluginSetting invalidCodec = completePluginSettingForDiskBuffer();
+        invalidCodec.getSettings().put(ATTRIBUTE_RECORD_CODEC, "unknown");
+        assertThrows(IllegalArgumentException.class, () -> new DiskBuffer<Record<String>>(invalidCodec));
+
+        final PluginSetting invalidMaxDiskSize = completePluginSettingForDiskBuffer();
+        invalidMaxDiskSize.getSettings().put(ATTRIBUTE_MAX_DISK_SIZE, (long) TEST_SEGMENT_SIZE);
+        assertThrows(IllegalArgumentException.class, () -> new DiskBuffer<Record<String>>(invalidMaxDiskSize));
+    }
+
+    @ParameterizedTest
+    @EnumSource(FsyncPolicy.class)
+    public void testBatchRead(final FsyncPolicy fsyncPolicy) throws Exception {
+        final DiskBuffer<Record<String>> diskBuffer = newDiskBuffer(fsyncPolicy);
+        diskBuffer.writeAll(generateBatchRecords(0, 5), TEST_WRITE_TIMEOUT);
+        diskBuffer.write(new Record<>("5"), TEST_WRITE_TIMEOUT);
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> firstBatch = diskBuffer.read(TEST_BATCH_READ_TIMEOUT);
+        final Map.Entry<Collection<Record<String>>, CheckpointState> secondBatch = diskBuffer.read(TEST_BATCH_READ_TIMEOUT, 10);
+
+        assertThat(dataOf(firstBatch.getKey()), is(equalTo(generateData(0, 3))));
+        assertThat(dataOf(secondBatch.getKey()), is(equalTo(generateData(3, 6))));
+        assertFalse(diskBuffer.isEmpty());
+        diskBuffer.checkpoint(firstBatch.getValue());
+        diskBuffer.checkpoint(secondBatch.getValue());
+        assertTrue(diskBuffer.isEmpty());
+    }
+
+    @Test
+    public void testReadFromEmptyBuffer() {
+        final DiskBuffer<Record<String>> diskBuffer = newDiskBuffer(FsyncPolicy.NONE);
+        final Map.Entry<Collection<Record<String>>, CheckpointState> batch = diskBuffer.read(10);
+        assertTrue(batch.getKey().isEmpty());
+        diskBuffer.checkpoint(batch.getValue());
+        assertTrue(diskBuffer.isEmpty());
+    }
+
+    @Test
+    public void testInsertNull() {
+        final DiskBuffer<Record<String>> diskBuffer = newDiskBuffer(FsyncPolicy.NONE);
+        assertThrows(NullPointerException.class, () -> diskBuffer.write(null, TEST_WRITE_TIMEOUT));
+        assertTrue(diskBuffer.isEmpty());
+    }
+
+    @Test
+    public void testRecordLargerThanSegment() {
+        final DiskBuffer<Record<String>> diskBuffer = newDiskBuffer(FsyncPolicy.NONE);
+        final Record<String> record = new Record<>(new String(new char[TEST_SEGMENT_SIZE]));
+        assertThrows(SizeOverflowException.class,
+                () -> diskBuffer.writeAll(Collections.singletonList(record), TEST_WRITE_TIMEOUT));
+        assertThrows(RuntimeException.class, () -> diskBuffer.write(record, TEST_WRITE_TIMEOUT));
+    }
+
+    @Test
+    public void testNoDiskSpaceUntilCheckpoint() throws Exception {
+        final DiskBuffer<Record<String>> diskBuffer = newDiskBuffer(FsyncPolicy.NONE);
+        // Nine records fill a segment, so these records take three segments and the next ones two more
+        final List<Record<String>> records = generateLargeRecords(27);
+        final List<Record<String>> moreRecords = generateLargeRecords(10);
+        diskBuffer.writeAll(records, TEST_WRITE_TIMEOUT);
+        assertThat(segmentFileCount(), is(equalTo(3)));
+        assertThrows(TimeoutException.class, () -> diskBuffer.writeAll(moreRecords, TEST_WRITE_TIMEOUT));
+
+        final List<CheckpointState> checkpointStates = readAll(diskBuffer);
+        assertThrows(TimeoutException.class, () -> diskBuffer.writeAll(moreRecords, TEST_WRITE_TIMEOUT));
+        checkpointStates.forEach(diskBuffer::checkpoint);
+        assertThat(segmentFileCount(), is(equalTo(1)));
+        diskBuffer.writeAll(records, TEST_WRITE_TIMEOUT);
+        assertThat(segmentFileCount(), is(equalTo(4)));
+    }
+
+    @Test
+    public void testUncheckedRecordsAreReadAgainAfterRestart() throws Exception {
+        final DiskBuffer<Record<String>> diskBuffer = newDiskBuffer(FsyncPolicy.BATCH);
+        diskBuffer.writeAll(generateBatchRecords(0, 9), TEST_WRITE_TIMEOUT);
+        final CheckpointState firstCheckpointState = diskBuffer.read(TEST_BATCH_READ_TIMEOUT).getValue();
+        diskBuffer.read(TEST_BATCH_READ_TIMEOUT);
+        final CheckpointState thirdCheckpointState = diskBuffer.read(TEST_BATCH_READ_TIMEOUT).getValue();
+        diskBuffer.checkpoint(firstCheckpointState);
+        // Not committed until the batch read before it is checkpointed
+        diskBuffer.checkpoint(thirdCheckpointState);
+
+        final DiskBuffer<Record<String>> restartedDiskBuffer = newDiskBuffer(FsyncPolicy.BATCH);
+        assertFalse(restartedDiskBuffer.isEmpty());
+        final Map.Entry<Collection<Record<String>>, CheckpointState> batch =
+                restartedDiskBuffer.read(TEST_BATCH_READ_TIMEOUT, 10);
+        assertThat(dataOf(batch.getKey()), is(equalTo(generateData(3, 9))));
+        restartedDiskBuffer.checkpoint(batch.getValue());
+
+        assertTrue(newDiskBuffer(FsyncPolicy.BATCH).isEmpty());
+    }
+
+    @Test
+    public void testRecordsAcrossSegmentsAfterRestart() throws Exception {
+        final DiskBuffer<Record<String>> diskBuffer = newDiskBuffer(FsyncPolicy.INTERVAL);
+        diskBuffer.writeAll(generateBatchRecords(0, 100), TEST_WRITE_TIMEOUT);
+        assertThat(segmentFileCount(), is(equalTo(2)));
+
+        final DiskBuffer<Record<String>> restartedDiskBuffer = newDiskBuffer(FsyncPolicy.INTERVAL);
+        final List<String> data = new ArrayList<>();
+        Map.Entry<Collection<Record<String>>, CheckpointState> batch;
+        while (!(batch = restartedDiskBuffer.read(TEST_BATCH_READ_TIMEOUT, 30)).getKey().isEmpty()) {
+            data.addAll(dataOf(batch.getKey()));
+            restartedDiskBuffer.checkpoint(batch.getValue());
+        }
+        assertThat(data, is(equalTo(generateData(0, 100))));
+        assertThat(segmentFileCount(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testJavaSerializationCodec() throws Exception {
+        final DiskBuffer<Record<Integer>> diskBuffer = new DiskBuffer<>(tempDir, TEST_SEGMENT_SIZE,
+                TEST_MAX_DISK_SIZE, TEST_BATCH_SIZE, RecordCodecType.JAVA_SERIALIZATION, FsyncPolicy.NONE,
+                TEST_FSYNC_INTERVAL, TEST_PIPELINE_NAME);
+        diskBuffer.write(new Record<>(42), TEST_WRITE_TIMEOUT);
+        final Collection<Record<Integer>> records = diskBuffer.read(TEST_BATCH_READ_TIMEOUT).getKey();
+        assertThat(records.iterator().next().getData(), is(equalTo(42)));
+    }
+
+    @Test
+    public void testEventCodec() throws Exception {
+        final DiskBuffer<Record<Event>> diskBuffer = new DiskBuffer<>(tempDir, TEST_SEGMENT_SIZE,
+                TEST_MAX_DISK_SIZE, TEST_BATCH_SIZE, RecordCodecType.EVENT, FsyncPolicy.NONE,
+                TEST_FSYNC_INTERVAL, TEST_PIPELINE_NAME);
+        final Event event = JacksonEvent.builder()
+                .withEventType("LOG")
+                .withData(Collections.singletonMap("message", "value"))
+                .build();
+        diskBuffer.write(new Record<>(event), TEST_WRITE_TIMEOUT);
+        final Event readEvent = diskBuffer.read(TEST_BATCH_READ_TIMEOUT).getKey().iterator().next().getData();
+        assertThat(readEvent.toJsonString(), is(equalTo(event.toJsonString())));
+        assertThat(readEvent.getMetadata().getEventType(), is(equalTo("LOG")));
+        assertThat(readEvent.getMetadata().getTimeReceived(), is(equalTo(event.getMetadata().getTimeReceived())));
+    }
+
+    private DiskBuffer<Record<String>> newDiskBuffer(final FsyncPolicy fsyncPolicy) {
+        return new DiskBuffer<>(tempDir, TEST_SEGMENT_SIZE, TEST_MAX_DISK_SIZE, TEST_BATCH_SIZE,
+                RecordCodecType.STRING, fsyncPolicy, TEST_FSYNC_INTERVAL, TEST_PIPELINE_NAME);
+    }
+
+    private PluginSetting completePluginSettingForDiskBuffer() {
+        final Map<String, Object> settings = new HashMap<>();
+        settings.put(ATTRIBUTE_PATH, tempDir.toString());
+        settings.put(ATTRIBUTE_SEGMENT_SIZE, TEST_SEGMENT_SIZE);
+        settings.put(ATTRIBUTE_MAX_DISK_SIZE, TEST_MAX_DISK_SIZE);
+        settings.put(ATTRIBUTE_BATCH_SIZE, TEST_BATCH_SIZE);
+        settings.put(ATTRIBUTE_RECORD_CODEC, "string");
+        settings.put(ATTRIBUTE_FSYNC_POLICY, "batch");
+        final PluginSetting testSettings = new PluginSetting("disk_buffer", settings);
+        testSettings.setPipelineName(TEST_PIPELINE_NAME);
+        return testSettings;
+    }
+
+    private static List<CheckpointState> readAll(final DiskBuffer<Record<String>> diskBuffer) {
+        final List<CheckpointState> checkpointStates = new ArrayList<>();
+        Map.Entry<Collection<Record<String>>, CheckpointState> batch;
+        while (!(batch = diskBuffer.read(TEST_BATCH_READ_TIMEOUT, 30)).getKey().isEmpty()) {
+            checkpointStates.add(batch.getValue());
+        }
+        return checkpointStates;
+    }
+
+    private int segmentFileCount() {
+        final File[] segmentFiles = tempDir.toFile().listFiles(
+                (dir, name) -> name.startsWith(SegmentLog.SEGMENT_FILE_PREFIX));
+        return segmentFiles == null ? 0 : segmentFiles.length;
+    }
+
+    private static List<Record<String>> generateBatchRecords(final int from, final int to) {
+        return generateData(from, to).stream().map(Record::new).collect(Collectors.toList());
+    }
+
+    private static List<Record<String>> generateLargeRecords(final int numRecords) {
+        final List<Record<String>> records = new ArrayList<>();
+        for (int i = 0; i < numRecords; i++) {
+            records.add(new Record<>(String.format("%0100d", i)));
+        }
+        return records;
+    }
+
+    private static List<String> generateData(final int from, final int to) {
+        final List<String> data = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            data.add(String.valueOf(i));
+        }
+        return data;
+    }
+
+    private static <T> List<T> dataOf(final Collection<Record<T>> records) {
+        return records.stream().map(Record::getData).collect(Collectors.toList());
+    }
+}
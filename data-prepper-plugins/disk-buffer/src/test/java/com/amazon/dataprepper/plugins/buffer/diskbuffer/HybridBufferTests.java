@@ -0,0 +1,204 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.diskbuffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class HybridBufferTests {
+    private static final String ATTRIBUTE_BUFFER_SIZE = "buffer_size";
+    private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
+    private static final String ATTRIBUTE_PATH = "path";
+    private static final String ATTRIBUTE_SEGMENT_SIZE = "segment_size";
+    private static final String ATTRIBUTE_MAX_SPILL_SIZE = "max_spill_size";
+    private static final String TEST_PIPELINE_NAME = "test-pipeline";
+    private static final int TEST_BUFFER_SIZE = 4;
+    private static final int TEST_BATCH_SIZE = 3;
+    private static final int TEST_SEGMENT_SIZE = 1024;
+    private static final long TEST_MAX_SPILL_SIZE = 2 * TEST_SEGMENT_SIZE;
+    private static final int TEST_WRITE_TIMEOUT = 1_00;
+    private static final int TEST_BATCH_READ_TIMEOUT = 0;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCreationUsingPluginSetting() {
+        final Map<String, Object> settings = new HashMap<>();
+        settings.put(ATTRIBUTE_BUFFER_SIZE, TEST_BUFFER_SIZE);
+        settings.put(ATTRIBUTE_BATCH_SIZE, TEST_BATCH_SIZE);
+        settings.put(ATTRIBUTE_PATH, tempDir.toString());
+        settings.put(ATTRIBUTE_SEGMENT_SIZE, TEST_SEGMENT_SIZE);
+        settings.put(ATTRIBUTE_MAX_SPILL_SIZE, TEST_MAX_SPILL_SIZE);
+        final PluginSetting pluginSetting = new PluginSetting("hybrid_buffer", settings);
+        pluginSetting.setPipelineName(TEST_PIPELINE_NAME);
+
+        final HybridBuffer<Record<String>> hybridBuffer = new HybridBuffer<>(pluginSetting);
+        assertThat(hybridBuffer, notNullValue());
+        assertTrue(hybridBuffer.isEmpty());
+    }
+
+    @Test
+    public void testCreationUsingNullPluginSetting() {
+        final NullPointerException ex = assertThrows(NullPointerException.class,
+                () -> new HybridBuffer<Record<String>>((PluginSetting) null));
+        assertThat(ex.getMessage(), is(equalTo("PluginSetting cannot be null")));
+    }
+
+    @Test
+    public void testCreationUsingInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new HybridBuffer<Record<String>>(0, TEST_BATCH_SIZE,
+                tempDir, TEST_SEGMENT_SIZE, TEST_MAX_SPILL_SIZE, RecordCodecType.STRING, TEST_PIPELINE_NAME));
+    }
+
+    @Test
+    public void testInsertNull() {
+        final HybridBuffer<Record<String>> hybridBuffer = newHybridBuffer();
+        assertThrows(NullPointerException.class, () -> hybridBuffer.write(null, TEST_WRITE_TIMEOUT));
+        assertTrue(hybridBuffer.isEmpty());
+    }
+
+    @Test
+    public void testWritesBeyondMemoryCapacityAreSpilledAndReadInOrder() throws Exception {
+        final HybridBuffer<Record<String>> hybridBuffer = newHybridBuffer();
+        hybridBuffer.writeAll(generateBatchRecords(0, 3), TEST_WRITE_TIMEOUT);
+        // Does not fit into memory, so it is spilled instead of timing out
+        hybridBuffer.writeAll(generateBatchRecords(3, 6), TEST_WRITE_TIMEOUT);
+        // Fits into memory, but is spilled as it must be read after the spilled records
+        hybridBuffer.write(new Record<>("6"), TEST_WRITE_TIMEOUT);
+
+        assertThat(readAllData(hybridBuffer), is(equalTo(generateData(0, 7))));
+        assertTrue(hybridBuffer.isEmpty());
+
+        hybridBuffer.write(new Record<>("7"), TEST_WRITE_TIMEOUT);
+        assertThat(readAllData(hybridBuffer), is(equalTo(generateData(7, 8))));
+    }
+
+    @Test
+    public void testSpilledRecordsAreNotReadBeyondMemoryCapacity() throws Exception {
+        final HybridBuffer<Record<String>> hybridBuffer = newHybridBuffer();
+        hybridBuffer.writeAll(generateBatchRecords(0, 10), TEST_WRITE_TIMEOUT);
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> firstBatch =
+                hybridBuffer.read(TEST_BATCH_READ_TIMEOUT, 10);
+        final Map.Entry<Collection<Record<String>>, CheckpointState> secondBatch =
+                hybridBuffer.read(TEST_BATCH_READ_TIMEOUT, 10);
+        assertThat(dataOf(firstBatch.getKey()), is(equalTo(generateData(0, TEST_BUFFER_SIZE))));
+        assertTrue(secondBatch.getKey().isEmpty());
+
+        hybridBuffer.checkpoint(firstBatch.getValue());
+        final Map.Entry<Collection<Record<String>>, CheckpointState> thirdBatch =
+                hybridBuffer.read(TEST_BATCH_READ_TIMEOUT, 10);
+        assertThat(dataOf(thirdBatch.getKey()), is(equalTo(generateData(TEST_BUFFER_SIZE, 2 * TEST_BUFFER_SIZE))));
+    }
+
+    @Test
+    public void testTimeoutWhenSpillIsFull() throws Exception {
+        final HybridBuffer<Record<String>> hybridBuffer = newHybridBuffer();
+        hybridBuffer.writeAll(generateBatchRecords(0, TEST_BUFFER_SIZE), TEST_WRITE_TIMEOUT);
+        // Fills the two segments of the spill
+        hybridBuffer.writeAll(generateLargeRecords(9), TEST_WRITE_TIMEOUT);
+        hybridBuffer.writeAll(generateLargeRecords(9), TEST_WRITE_TIMEOUT);
+
+        final Record<String> timeoutRecord = generateLargeRecords(1).get(0);
+        assertThrows(TimeoutException.class, () -> hybridBuffer.write(timeoutRecord, TEST_WRITE_TIMEOUT));
+        assertFalse(hybridBuffer.isEmpty());
+    }
+
+    @Test
+    public void testSpilledRecordsAreReadAfterRestart() throws Exception {
+        final HybridBuffer<Record<String>> hybridBuffer = newHybridBuffer();
+        hybridBuffer.writeAll(generateBatchRecords(0, 3), TEST_WRITE_TIMEOUT);
+        hybridBuffer.writeAll(generateBatchRecords(3, 10), TEST_WRITE_TIMEOUT);
+
+        // Only the spilled records are kept
+        final HybridBuffer<Record<String>> restartedHybridBuffer = newHybridBuffer();
+        assertFalse(restartedHybridBuffer.isEmpty());
+        assertThat(readAllData(restartedHybridBuffer), is(equalTo(generateData(3, 10))));
+        assertTrue(restartedHybridBuffer.isEmpty());
+    }
+
+    @Test
+    public void testRecordsInMemoryAreSpilledOnShutdown() throws Exception {
+        final HybridBuffer<Record<String>> hybridBuffer = newHybridBuffer();
+        hybridBuffer.writeAll(generateBatchRecords(0, 3), TEST_WRITE_TIMEOUT);
+        hybridBuffer.writeAll(generateBatchRecords(3, 10), TEST_WRITE_TIMEOUT);
+        assertTrue(hybridBuffer.isPersistent());
+
+        hybridBuffer.shutdown();
+
+        // The records in memory are read after the records which were spilled before
+        final HybridBuffer<Record<String>> restartedHybridBuffer = newHybridBuffer();
+        final List<String> expectedData = new ArrayList<>(generateData(3, 10));
+        expectedData.addAll(generateData(0, 3));
+        assertThat(readAllData(restartedHybridBuffer), is(equalTo(expectedData)));
+    }
+
+    private HybridBuffer<Record<String>> newHybridBuffer() {
+        return new HybridBuffer<>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE, tempDir, TEST_SEGMENT_SIZE, TEST_MAX_SPILL_SIZE,
+                RecordCodecType.STRING, TEST_PIPELINE_NAME);
+    }
+
+    private static List<String> readAllData(final HybridBuffer<Record<String>> hybridBuffer) {
+        final List<String> data = new ArrayList<>();
+        Map.Entry<Collection<Record<String>>, CheckpointState> batch;
+        while (!(batch = hybridBuffer.read(TEST_BATCH_READ_TIMEOUT)).getKey().isEmpty()) {
+            data.addAll(dataOf(batch.getKey()));
+            hybridBuffer.checkpoint(batch.getValue());
+        }
+        return data;
+    }
+
+    private static List<Record<String>> generateBatchRecords(final int from, final int to) {
+        return generateData(from, to).stream().map(Record::new).collect(Collectors.toList());
+    }
+
+    private static List<Record<String>> generateLargeRecords(final int numRecords) {
+        final List<Record<String>> records = new ArrayList<>();
+        for (int i = 0; i < numRecords; i++) {
+            records.add(new Record<>(String.format("%0100d", i)));
+        }
+        return records;
+    }
+
+    private static List<String> generateData(final int from, final int to) {
+        final List<String> data = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            data.add(String.valueOf(i));
+        }
+        return data;
+    }
+
+    private static <T> List<T> dataOf(final Collection<Record<T>> records) {
+        return records.stream().map(Record::getData).collect(Collectors.toList());
+    }
+}
@@ -13,6 +13,7 @@ package com.amazon.dataprepper.plugins.prepper.grok;
 
 
 import com.amazon.dataprepper.model.annotations.DataPrepperPlugin;
+import com.amazon.dataprepper.model.annotations.Splittable;
 import com.amazon.dataprepper.model.configuration.PluginSetting;
 import com.amazon.dataprepper.model.prepper.AbstractPrepper;
 import com.amazon.dataprepper.model.prepper.Prepper;
@@ -57,6 +58,7 @@ import java.util.stream.Collectors;
 
 
 @DataPrepperPlugin(name = "grok", pluginType = Prepper.class)
+@Splittable
 public class GrokPrepper extends AbstractPrepper<Record<String>, Record<String>> {
 
     private static final Logger LOG = LoggerFactory.getLogger(GrokPrepper.class);
@@ -70,7 +72,7 @@ public class GrokPrepper extends AbstractPrepper<Record<String>, Record<String>>
     private final ExecutorService executorService;
 
     public GrokPrepper(final PluginSetting pluginSetting) {
-        this(pluginSetting, GrokCompiler.newInstance(), Executors.newSingleThreadExecutor());
+        this(pluginSetting, GrokCompiler.newInstance(), Executors.newCachedThreadPool());
     }
 
     GrokPrepper(final PluginSetting pluginSetting, final GrokCompiler grokCompiler, final ExecutorService executorService) {
@@ -252,8 +254,17 @@ public class GrokPrepper extends AbstractPrepper<Record<String>, Record<String>>
         return captures.size() > 0 && grokPrepperConfig.isBreakOnMatch();
     }
 
+    /**
+     * Runs the matching on a thread of its own, so that the parts of a batch which are split across threads do not
+     * queue up behind each other and time out while waiting.
+     */
     private void runWithTimeout(final Runnable runnable) throws TimeoutException, ExecutionException, InterruptedException {
         Future<?> task = executorService.submit(runnable);
-        task.get(grokPrepperConfig.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        try {
+            task.get(grokPrepperConfig.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            task.cancel(true);
+            throw e;
+        }
     }
 }
\ No newline at end of file
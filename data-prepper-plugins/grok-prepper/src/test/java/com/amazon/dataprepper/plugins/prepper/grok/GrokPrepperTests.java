@@ -327,6 +327,7 @@ public class GrokPrepperTests {
         assertThat(grokkedRecords.size(), equalTo(1));
         assertThat(grokkedRecords.get(0), notNullValue());
         assertThat(equalRecords(grokkedRecords.get(0), record), equalTo(true));
+        verify(task).cancel(true);
     }
 
     @Test
@@ -80,7 +80,8 @@ public class HTTPSource implements Source<Record<String>> {
             final LogThrottlingRejectHandler logThrottlingRejectHandler = new LogThrottlingRejectHandler(maxPendingRequests, pluginMetrics);
             // TODO: allow customization on URI path for log ingestion
             sb.decorator(HTTPSourceConfig.DEFAULT_LOG_INGEST_URI, ThrottlingService.newDecorator(logThrottlingStrategy, logThrottlingRejectHandler));
-            final LogHTTPService logHTTPService = new LogHTTPService(requestTimeoutInMillis, buffer, pluginMetrics);
+            final LogHTTPService logHTTPService = new LogHTTPService(requestTimeoutInMillis,
+                    sourceConfig.isLoadShedding(), sourceConfig.getLoadSheddingFillRatio(), buffer, pluginMetrics);
             sb.annotatedService(HTTPSourceConfig.DEFAULT_LOG_INGEST_URI, logHTTPService);
             // TODO: attach HealthCheckService
 
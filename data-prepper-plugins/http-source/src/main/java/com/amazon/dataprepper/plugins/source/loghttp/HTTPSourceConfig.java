@@ -24,6 +24,8 @@ public class HTTPSourceConfig {
     static final String THREAD_COUNT = "thread_count";
     static final String MAX_CONNECTION_COUNT = "max_connection_count";
     static final String MAX_PENDING_REQUESTS = "max_pending_requests";
+    static final String LOAD_SHEDDING = "load_shedding";
+    static final String LOAD_SHEDDING_FILL_RATIO = "load_shedding_fill_ratio";
     static final String DEFAULT_LOG_INGEST_URI = "/log/ingest";
     static final String SSL = "ssl";
     static final String SSL_CERTIFICATE_FILE = "ssl_certificate_file";
@@ -34,12 +36,16 @@ public class HTTPSourceConfig {
     static final int DEFAULT_THREAD_COUNT = 200;
     static final int DEFAULT_MAX_CONNECTION_COUNT = 500;
     static final int DEFAULT_MAX_PENDING_REQUESTS = 1024;
+    static final boolean DEFAULT_LOAD_SHEDDING = false;
+    static final double DEFAULT_LOAD_SHEDDING_FILL_RATIO = 0.9;
 
     private final int port;
     private final int requestTimeoutInMillis;
     private final int threadCount;
     private final int maxConnectionCount;
     private final int maxPendingRequests;
+    private final boolean loadShedding;
+    private final double loadSheddingFillRatio;
     private final boolean ssl;
     private final String sslCertificateFile;
     private final String sslKeyFile;
@@ -50,6 +56,8 @@ public class HTTPSourceConfig {
                              final int threadCount,
                              final int maxConnectionCount,
                              final int maxPendingRequests,
+                             final boolean loadShedding,
+                             final double loadSheddingFillRatio,
                              final boolean ssl,
                              final String sslCertificateFile,
                              final String sslKeyFile,
@@ -59,6 +67,8 @@ public class HTTPSourceConfig {
         Preconditions.checkArgument(threadCount > 0, "thread_count must be greater than 0.");
         Preconditions.checkArgument(maxConnectionCount > 0, "max_connection_count must be greater than 0.");
         Preconditions.checkArgument(maxPendingRequests > 0, "max_pending_requests must be greater than 0.");
+        Preconditions.checkArgument(loadSheddingFillRatio > 0 && loadSheddingFillRatio <= 1,
+                "load_shedding_fill_ratio must be greater than 0 and at most 1.");
         if (ssl) {
             validateFilePath(String.format("%s is enabled", SSL), sslCertificateFile, SSL_CERTIFICATE_FILE);
             validateFilePath(String.format("%s is enabled", SSL), sslKeyFile, SSL_KEY_FILE);
@@ -68,6 +78,8 @@ public class HTTPSourceConfig {
         this.threadCount = threadCount;
         this.maxConnectionCount = maxConnectionCount;
         this.maxPendingRequests = maxPendingRequests;
+        this.loadShedding = loadShedding;
+        this.loadSheddingFillRatio = loadSheddingFillRatio;
         this.ssl = ssl;
         this.sslCertificateFile = sslCertificateFile;
         this.sslKeyFile = sslKeyFile;
@@ -81,6 +93,8 @@ public class HTTPSourceConfig {
                 pluginSetting.getIntegerOrDefault(THREAD_COUNT, DEFAULT_THREAD_COUNT),
                 pluginSetting.getIntegerOrDefault(MAX_CONNECTION_COUNT, DEFAULT_MAX_CONNECTION_COUNT),
                 pluginSetting.getIntegerOrDefault(MAX_PENDING_REQUESTS, DEFAULT_MAX_PENDING_REQUESTS),
+                pluginSetting.getBooleanOrDefault(LOAD_SHEDDING, DEFAULT_LOAD_SHEDDING),
+                pluginSetting.getDoubleOrDefault(LOAD_SHEDDING_FILL_RATIO, DEFAULT_LOAD_SHEDDING_FILL_RATIO),
                 pluginSetting.getBooleanOrDefault(SSL, false),
                 pluginSetting.getStringOrDefault(SSL_CERTIFICATE_FILE, null),
                 pluginSetting.getStringOrDefault(SSL_KEY_FILE, null),
@@ -114,6 +128,14 @@ public class HTTPSourceConfig {
         return maxPendingRequests;
     }
 
+    public boolean isLoadShedding() {
+        return loadShedding;
+    }
+
+    public double getLoadSheddingFillRatio() {
+        return loadSheddingFillRatio;
+    }
+
     public boolean isSsl() {
         return ssl;
     }
@@ -12,13 +12,17 @@
 package com.amazon.dataprepper.plugins.source.loghttp;
 
 import com.amazon.dataprepper.metrics.PluginMetrics;
+import com.amazon.dataprepper.model.buffer.Backpressure;
 import com.amazon.dataprepper.model.buffer.Buffer;
 import com.amazon.dataprepper.model.record.Record;
 import com.amazon.dataprepper.plugins.source.loghttp.codec.JsonCodec;
 import com.linecorp.armeria.common.AggregatedHttpRequest;
 import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.server.annotation.Blocking;
 import com.linecorp.armeria.server.annotation.Post;
 import io.micrometer.core.instrument.Counter;
@@ -29,6 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /*
@@ -40,28 +45,47 @@ public class LogHTTPService {
     public static final String SUCCESS_REQUESTS = "successRequests";
     public static final String PAYLOAD_SIZE = "payloadSize";
     public static final String REQUEST_PROCESS_DURATION = "requestProcessDuration";
+    public static final String REQUESTS_SHED = "requestsShed";
 
     private static final Logger LOG = LoggerFactory.getLogger(LogHTTPService.class);
+    // Retry-After is in whole seconds
+    private static final long MIN_RETRY_DELAY_IN_MILLIS = 1000;
 
     // TODO: support other data-types as request body, e.g. json_lines, msgpack
     private final JsonCodec jsonCodec = new JsonCodec();
     private final Buffer<Record<String>> buffer;
     private final int bufferWriteTimeoutInMillis;
+    private final boolean loadShedding;
+    private final double loadSheddingFillRatio;
     private final RequestExceptionHandler requestExceptionHandler;
     private final Counter requestsReceivedCounter;
     private final Counter successRequestsCounter;
+    private final Counter requestsShedCounter;
     private final DistributionSummary payloadSizeSummary;
     private final Timer requestProcessDuration;
 
+    /**
+     * @param bufferWriteTimeoutInMillis how long to wait for capacity in the buffer
+     * @param loadShedding               whether to reject requests while the buffer is filled up to
+     *                                   loadSheddingFillRatio, telling clients when to retry with a Retry-After header
+     * @param loadSheddingFillRatio      share of the capacity of the buffer from which on requests are rejected
+     * @param buffer                     buffer to which the records of the requests are written
+     * @param pluginMetrics              metrics of the source
+     */
     public LogHTTPService(final int bufferWriteTimeoutInMillis,
+                          final boolean loadShedding,
+                          final double loadSheddingFillRatio,
                           final Buffer<Record<String>> buffer,
                           final PluginMetrics pluginMetrics) {
         this.buffer = buffer;
         this.bufferWriteTimeoutInMillis = bufferWriteTimeoutInMillis;
+        this.loadShedding = loadShedding;
+        this.loadSheddingFillRatio = loadSheddingFillRatio;
 
         requestExceptionHandler = new RequestExceptionHandler(pluginMetrics);
         requestsReceivedCounter = pluginMetrics.counter(REQUESTS_RECEIVED);
         successRequestsCounter = pluginMetrics.counter(SUCCESS_REQUESTS);
+        requestsShedCounter = pluginMetrics.counter(REQUESTS_SHED);
         payloadSizeSummary = pluginMetrics.summary(PAYLOAD_SIZE);
         requestProcessDuration = pluginMetrics.timer(REQUEST_PROCESS_DURATION);
     }
@@ -73,6 +97,12 @@ public class LogHTTPService {
 
     private HttpResponse processRequest(final AggregatedHttpRequest aggregatedHttpRequest) {
         requestsReceivedCounter.increment();
+        if (loadShedding) {
+            final Backpressure backpressure = buffer.getBackpressure();
+            if (backpressure.shouldShed(loadSheddingFillRatio)) {
+                return shedRequest(backpressure);
+            }
+        }
 
         List<String> jsonList;
         final HttpData content = aggregatedHttpRequest.content();
@@ -93,4 +123,20 @@ public class LogHTTPService {
         successRequestsCounter.increment();
         return HttpResponse.of(HttpStatus.OK);
     }
+
+    /**
+     * Rejects the request before it is parsed, telling the client to retry once the buffer is expected to have drained.
+     */
+    private HttpResponse shedRequest(final Backpressure backpressure) {
+        requestsShedCounter.increment();
+        final long retryDelayInMillis = backpressure.getRetryDelayInMillis(
+                MIN_RETRY_DELAY_IN_MILLIS, Math.max(MIN_RETRY_DELAY_IN_MILLIS, bufferWriteTimeoutInMillis));
+        final long retryAfterInSeconds = TimeUnit.MILLISECONDS.toSeconds(retryDelayInMillis + 999);
+        final ResponseHeaders responseHeaders = ResponseHeaders.builder(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.PLAIN_TEXT_UTF_8)
+                .add(HttpHeaderNames.RETRY_AFTER, Long.toString(retryAfterInSeconds))
+                .build();
+        return HttpResponse.of(responseHeaders, HttpData.ofUtf8(
+                "Buffer is full, retry after %d seconds", retryAfterInSeconds));
+    }
 }
@@ -45,6 +45,43 @@ public class HTTPSourceConfigTest {
         assertEquals(HTTPSourceConfig.DEFAULT_THREAD_COUNT, sourceConfig.getThreadCount());
         assertEquals(HTTPSourceConfig.DEFAULT_MAX_CONNECTION_COUNT, sourceConfig.getMaxConnectionCount());
         assertEquals(HTTPSourceConfig.DEFAULT_MAX_PENDING_REQUESTS, sourceConfig.getMaxPendingRequests());
+        assertFalse(sourceConfig.isLoadShedding());
+        assertEquals(HTTPSourceConfig.DEFAULT_LOAD_SHEDDING_FILL_RATIO, sourceConfig.getLoadSheddingFillRatio(), 0.0);
+    }
+
+    @Test
+    public void testLoadSheddingDisabled() {
+        // Prepare
+        final Map<String, Object> settings = new HashMap<>();
+        settings.put(HTTPSourceConfig.LOAD_SHEDDING, false);
+        final HTTPSourceConfig sourceConfig = HTTPSourceConfig.buildConfig(new PluginSetting(PLUGIN_NAME, settings));
+
+        // When/Then
+        assertFalse(sourceConfig.isLoadShedding());
+    }
+
+    @Test
+    public void testLoadSheddingEnabledWithFillRatio() {
+        // Prepare
+        final Map<String, Object> settings = new HashMap<>();
+        settings.put(HTTPSourceConfig.LOAD_SHEDDING, true);
+        settings.put(HTTPSourceConfig.LOAD_SHEDDING_FILL_RATIO, 0.75);
+        final HTTPSourceConfig sourceConfig = HTTPSourceConfig.buildConfig(new PluginSetting(PLUGIN_NAME, settings));
+
+        // When/Then
+        assertTrue(sourceConfig.isLoadShedding());
+        assertEquals(0.75, sourceConfig.getLoadSheddingFillRatio(), 0.0);
+    }
+
+    @Test
+    public void testInvalidLoadSheddingFillRatio() {
+        // Prepare
+        final Map<String, Object> settings = new HashMap<>();
+        settings.put(HTTPSourceConfig.LOAD_SHEDDING_FILL_RATIO, 1.5);
+        final PluginSetting pluginSetting = new PluginSetting(PLUGIN_NAME, settings);
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> HTTPSourceConfig.buildConfig(pluginSetting));
     }
 
     @Test
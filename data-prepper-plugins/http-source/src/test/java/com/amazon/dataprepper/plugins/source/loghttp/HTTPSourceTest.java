@@ -288,6 +288,8 @@ class HTTPSourceTest {
         settings.put(HTTPSourceConfig.REQUEST_TIMEOUT, serverTimeoutInMillis);
         settings.put(HTTPSourceConfig.MAX_PENDING_REQUESTS, testMaxPendingRequests);
         settings.put(HTTPSourceConfig.THREAD_COUNT, testThreadCount);
+        // Waits on the full buffer instead of shedding the request
+        settings.put(HTTPSourceConfig.LOAD_SHEDDING, false);
         testPluginSetting = new PluginSetting(PLUGIN_NAME, settings);
         testPluginSetting.setPipelineName(TEST_PIPELINE_NAME);
         HTTPSourceUnderTest = new HTTPSource(testPluginSetting);
@@ -341,6 +343,8 @@ class HTTPSourceTest {
         settings.put(HTTPSourceConfig.REQUEST_TIMEOUT, serverTimeoutInMillis);
         settings.put(HTTPSourceConfig.MAX_PENDING_REQUESTS, testMaxPendingRequests);
         settings.put(HTTPSourceConfig.THREAD_COUNT, testThreadCount);
+        // Waits on the full buffer instead of shedding the request
+        settings.put(HTTPSourceConfig.LOAD_SHEDDING, false);
         testPluginSetting = new PluginSetting(PLUGIN_NAME, settings);
         testPluginSetting.setPipelineName(TEST_PIPELINE_NAME);
         HTTPSourceUnderTest = new HTTPSource(testPluginSetting);
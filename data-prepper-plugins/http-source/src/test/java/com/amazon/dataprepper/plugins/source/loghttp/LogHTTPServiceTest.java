@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linecorp.armeria.common.AggregatedHttpRequest;
 import com.linecorp.armeria.common.AggregatedHttpResponse;
 import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
@@ -79,12 +80,16 @@ class LogHTTPServiceTest {
     @Mock
     private Counter internalServerErrorCounter;
 
+    @Mock
+    private Counter requestsShedCounter;
+
     @Mock
     private DistributionSummary payloadSizeSummary;
 
     @Mock
     private Timer requestProcessDuration;
 
+    private Buffer<Record<String>> blockingBuffer;
     private LogHTTPService logHTTPService;
 
     @BeforeEach
@@ -95,6 +100,7 @@ class LogHTTPServiceTest {
         when(pluginMetrics.counter(RequestExceptionHandler.BAD_REQUESTS)).thenReturn(badRequestsCounter);
         when(pluginMetrics.counter(RequestExceptionHandler.REQUESTS_TOO_LARGE)).thenReturn(requestsTooLargeCounter);
         when(pluginMetrics.counter(RequestExceptionHandler.INTERNAL_SERVER_ERROR)).thenReturn(internalServerErrorCounter);
+        when(pluginMetrics.counter(LogHTTPService.REQUESTS_SHED)).thenReturn(requestsShedCounter);
         when(pluginMetrics.summary(LogHTTPService.PAYLOAD_SIZE)).thenReturn(payloadSizeSummary);
         when(pluginMetrics.timer(LogHTTPService.REQUEST_PROCESS_DURATION)).thenReturn(requestProcessDuration);
         when(requestProcessDuration.record(ArgumentMatchers.<Supplier<HttpResponse>>any())).thenAnswer(
@@ -106,8 +112,8 @@ class LogHTTPServiceTest {
                 }
         );
 
-        Buffer<Record<String>> blockingBuffer = new BlockingBuffer<>(TEST_BUFFER_CAPACITY, 8, "test-pipeline");
-        logHTTPService = new LogHTTPService(TEST_TIMEOUT_IN_MILLIS, blockingBuffer, pluginMetrics);
+        blockingBuffer = new BlockingBuffer<>(TEST_BUFFER_CAPACITY, 8, "test-pipeline");
+        logHTTPService = new LogHTTPService(TEST_TIMEOUT_IN_MILLIS, false, 0.9, blockingBuffer, pluginMetrics);
     }
 
     @Test
@@ -197,6 +203,29 @@ class LogHTTPServiceTest {
         verify(requestProcessDuration, times(2)).record(ArgumentMatchers.<Supplier<HttpResponse>>any());
     }
 
+    @Test
+    public void testHTTPRequestShedWhenBufferIsFull() throws InterruptedException, ExecutionException, JsonProcessingException {
+        // Prepare
+        final LogHTTPService sheddingLogHTTPService = new LogHTTPService(TEST_TIMEOUT_IN_MILLIS, true, 0.9, blockingBuffer, pluginMetrics);
+        AggregatedHttpRequest populateDataRequest = generateRandomValidHTTPRequest(3);
+        AggregatedHttpResponse goodResponse = sheddingLogHTTPService.doPost(populateDataRequest).aggregate().get();
+        assertEquals(HttpStatus.OK, goodResponse.status());
+        AggregatedHttpRequest shedRequest = generateRandomValidHTTPRequest(2);
+
+        // When
+        AggregatedHttpResponse shedPostResponse = sheddingLogHTTPService.doPost(shedRequest).aggregate().get();
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shedPostResponse.status());
+        assertEquals("1", shedPostResponse.headers().get(HttpHeaderNames.RETRY_AFTER));
+        assertEquals(MediaType.PLAIN_TEXT_UTF_8, shedPostResponse.contentType());
+        verify(requestsReceivedCounter, times(2)).increment();
+        verify(requestsShedCounter, times(1)).increment();
+        verify(requestTimeoutsCounter, never()).increment();
+        verify(successRequestsCounter, times(1)).increment();
+        verify(payloadSizeSummary, times(1)).record(ArgumentMatchers.anyDouble());
+    }
+
     private AggregatedHttpRequest generateRandomValidHTTPRequest(int numJson) throws JsonProcessingException,
             ExecutionException, InterruptedException {
         RequestHeaders requestHeaders = RequestHeaders.builder()
@@ -12,14 +12,22 @@
 package com.amazon.dataprepper.plugins.prepper.oteltrace;
 
 import com.amazon.dataprepper.model.annotations.DataPrepperPlugin;
+import com.amazon.dataprepper.model.annotations.SingleThread;
+import com.amazon.dataprepper.model.buffer.RecordPartitioner;
+import com.amazon.dataprepper.model.buffer.RecordPrioritizer;
 import com.amazon.dataprepper.model.configuration.PluginSetting;
 import com.amazon.dataprepper.model.prepper.AbstractPrepper;
+import com.amazon.dataprepper.model.prepper.PartitionedPrepper;
 import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.prepper.PrioritizedPrepper;
+import com.amazon.dataprepper.model.prepper.StatefulPrepper;
 import com.amazon.dataprepper.model.record.Record;
+import com.amazon.dataprepper.plugins.prepper.TraceIdPartitioner;
 import com.amazon.dataprepper.plugins.prepper.oteltrace.model.OTelProtoHelper;
 import com.amazon.dataprepper.plugins.prepper.oteltrace.model.RawSpan;
 import com.amazon.dataprepper.plugins.prepper.oteltrace.model.RawSpanBuilder;
 import com.amazon.dataprepper.plugins.prepper.oteltrace.model.RawSpanSet;
+import com.amazon.dataprepper.plugins.prepper.oteltrace.model.RawSpanSnapshotCodec;
 import com.amazon.dataprepper.plugins.prepper.oteltrace.model.TraceGroup;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.cache.Cache;
@@ -33,6 +41,10 @@ import io.opentelemetry.proto.trace.v1.Span;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -45,8 +57,19 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 
+/**
+ * Converts spans to raw span documents and fills in their trace group. Each instance is confined to a single worker,
+ * and the pipeline routes all the spans of a trace to the same worker with the {@link TraceIdPartitioner}, so the
+ * spans waiting for their root span are not shared between workers. The requests with a root span are read ahead of the
+ * others with the {@link RootSpanPrioritizer}, so the child spans wait less for their root span. The spans waiting for
+ * their root span and the cached trace groups are kept across a restart if the pipeline writes snapshots.
+ */
+@SingleThread
 @DataPrepperPlugin(name = "otel_trace_raw_prepper", pluginType = Prepper.class)
-public class OTelTraceRawPrepper extends AbstractPrepper<Record<ExportTraceServiceRequest>, Record<String>> {
+public class OTelTraceRawPrepper extends AbstractPrepper<Record<ExportTraceServiceRequest>, Record<String>>
+        implements PartitionedPrepper<Record<ExportTraceServiceRequest>, Record<String>>,
+        PrioritizedPrepper<Record<ExportTraceServiceRequest>, Record<String>>,
+        StatefulPrepper<Record<ExportTraceServiceRequest>, Record<String>> {
     private static final long SEC_TO_MILLIS = 1_000L;
     private static final Logger LOG = LoggerFactory.getLogger(OTelTraceRawPrepper.class);
 
@@ -54,7 +77,23 @@ public class OTelTraceRawPrepper extends AbstractPrepper<Record<ExportTraceServi
     public static final String RESOURCE_SPANS_PROCESSING_ERRORS = "resourceSpansProcessingErrors";
     public static final String TOTAL_PROCESSING_ERRORS = "totalProcessingErrors";
 
+    private static final TraceIdPartitioner TRACE_ID_PARTITIONER = new TraceIdPartitioner();
+    private static final RootSpanPrioritizer ROOT_SPAN_PRIORITIZER = new RootSpanPrioritizer();
+    private static final RecordPrioritizer<Record<ExportTraceServiceRequest>> SINGLE_LANE_PRIORITIZER =
+            new RecordPrioritizer<Record<ExportTraceServiceRequest>>() {
+                @Override
+                public int getNumberOfLanes() {
+                    return 1;
+                }
+
+                @Override
+                public int getLane(final Record<ExportTraceServiceRequest> record) {
+                    return 0;
+                }
+            };
+
     private final long traceFlushInterval;
+    private final boolean rootSpanPriority;
 
     private final Counter spanErrorsCounter;
     private final Counter resourceSpanErrorsCounter;
@@ -76,6 +115,8 @@ public class OTelTraceRawPrepper extends AbstractPrepper<Record<ExportTraceServi
         super(pluginSetting);
         traceFlushInterval = SEC_TO_MILLIS * pluginSetting.getLongOrDefault(
                 OtelTraceRawPrepperConfig.TRACE_FLUSH_INTERVAL, OtelTraceRawPrepperConfig.DEFAULT_TG_FLUSH_INTERVAL_SEC);
+        rootSpanPriority = pluginSetting.getBooleanOrDefault(
+                OtelTraceRawPrepperConfig.ROOT_SPAN_PRIORITY, OtelTraceRawPrepperConfig.DEFAULT_ROOT_SPAN_PRIORITY);
         final int numProcessWorkers = pluginSetting.getNumberOfProcessWorkers();
         traceIdTraceGroupCache = CacheBuilder.newBuilder()
                 .concurrencyLevel(numProcessWorkers)
@@ -87,6 +128,23 @@ public class OTelTraceRawPrepper extends AbstractPrepper<Record<ExportTraceServi
         totalProcessingErrorsCounter = pluginMetrics.counter(TOTAL_PROCESSING_ERRORS);
     }
 
+    /**
+     * @return partitioner which routes all the spans of a trace to the same worker
+     */
+    @Override
+    public RecordPartitioner<Record<ExportTraceServiceRequest>> getRecordPartitioner() {
+        return TRACE_ID_PARTITIONER;
+    }
+
+    /**
+     * @return prioritizer which reads the requests with a root span first, or a single lane if root_span_priority is
+     * disabled
+     */
+    @Override
+    public RecordPrioritizer<Record<ExportTraceServiceRequest>> getRecordPrioritizer() {
+        return rootSpanPriority ? ROOT_SPAN_PRIORITIZER : SINGLE_LANE_PRIORITIZER;
+    }
+
     /**
      * execute the prepper logic which could potentially modify the incoming record. The level to which the record has
      * been modified depends on the implementation
@@ -299,6 +357,61 @@ public class OTelTraceRawPrepper extends AbstractPrepper<Record<ExportTraceServi
         return traceIdRawSpanSetMap.isEmpty();
     }
 
+    /**
+     * Writes the spans waiting for their root span, with the time their trace was first seen, and the cached trace
+     * groups.
+     */
+    @Override
+    public void snapshotState(final DataOutputStream outputStream) throws IOException {
+        final List<Map.Entry<String, RawSpanSet>> rawSpanSets = new ArrayList<>(traceIdRawSpanSetMap.entrySet());
+        outputStream.writeInt(rawSpanSets.size());
+        for (final Map.Entry<String, RawSpanSet> entry : rawSpanSets) {
+            final List<RawSpan> rawSpans = new ArrayList<>(entry.getValue().getRawSpans());
+            outputStream.writeUTF(entry.getKey());
+            outputStream.writeLong(entry.getValue().getTimeSeen());
+            outputStream.writeInt(rawSpans.size());
+            for (final RawSpan rawSpan : rawSpans) {
+                RawSpanSnapshotCodec.writeRawSpan(outputStream, rawSpan);
+            }
+        }
+        final List<Map.Entry<String, TraceGroup>> traceGroups = new ArrayList<>(traceIdTraceGroupCache.asMap().entrySet());
+        outputStream.writeInt(traceGroups.size());
+        for (final Map.Entry<String, TraceGroup> entry : traceGroups) {
+            outputStream.writeUTF(entry.getKey());
+            RawSpanSnapshotCodec.writeTraceGroup(outputStream, entry.getValue());
+        }
+        LOG.info("Wrote {} traces waiting for their root span and {} trace groups to the snapshot",
+                rawSpanSets.size(), traceGroups.size());
+    }
+
+    /**
+     * Restores the spans waiting for their root span and the cached trace groups. The restored trace groups expire
+     * after the trace id TTL from the time they were restored.
+     */
+    @Override
+    public void restoreState(final DataInputStream inputStream) throws IOException {
+        final int numRawSpanSets = inputStream.readInt();
+        for (int i = 0; i < numRawSpanSets; i++) {
+            final String traceId = inputStream.readUTF();
+            final RawSpanSet rawSpanSet = new RawSpanSet(inputStream.readLong());
+            final int numRawSpans = inputStream.readInt();
+            for (int j = 0; j < numRawSpans; j++) {
+                rawSpanSet.addRawSpan(RawSpanSnapshotCodec.readRawSpan(inputStream));
+            }
+            traceIdRawSpanSetMap.put(traceId, rawSpanSet);
+        }
+        final int numTraceGroups = inputStream.readInt();
+        for (int i = 0; i < numTraceGroups; i++) {
+            final String traceId = inputStream.readUTF();
+            final TraceGroup traceGroup = RawSpanSnapshotCodec.readTraceGroup(inputStream);
+            if (traceGroup != null) {
+                traceIdTraceGroupCache.put(traceId, traceGroup);
+            }
+        }
+        LOG.info("Restored {} traces waiting for their root span and {} trace groups from the snapshot",
+                numRawSpanSets, numTraceGroups);
+    }
+
     @Override
     public void shutdown() {
         traceIdTraceGroupCache.cleanUp();
@@ -14,6 +14,8 @@ package com.amazon.dataprepper.plugins.prepper.oteltrace;
 public class OtelTraceRawPrepperConfig {
     static final String TRACE_FLUSH_INTERVAL = "trace_flush_interval";
     static final long DEFAULT_TG_FLUSH_INTERVAL_SEC = 180L;
+    static final String ROOT_SPAN_PRIORITY = "root_span_priority";
+    static final boolean DEFAULT_ROOT_SPAN_PRIORITY = true;
     static final long DEFAULT_TRACE_ID_TTL_SEC = 15L;
     static final long MAX_TRACE_ID_CACHE_SIZE = 1000_000L;
 }
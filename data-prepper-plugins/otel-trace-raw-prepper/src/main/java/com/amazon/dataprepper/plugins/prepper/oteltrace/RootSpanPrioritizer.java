@@ -0,0 +1,48 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.prepper.oteltrace;
+
+import com.amazon.dataprepper.model.buffer.RecordPrioritizer;
+import com.amazon.dataprepper.model.record.Record;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.trace.v1.InstrumentationLibrarySpans;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.proto.trace.v1.Span;
+
+/**
+ * Prioritizes the {@link ExportTraceServiceRequest}s with a root span, i.e. a span without parent span id, ahead of the
+ * requests with only child spans, as the {@link OTelTraceRawPrepper} holds the child spans of a trace until its root
+ * span is processed.
+ */
+public class RootSpanPrioritizer implements RecordPrioritizer<Record<ExportTraceServiceRequest>> {
+    static final int ROOT_SPAN_LANE = 0;
+    static final int CHILD_SPAN_LANE = 1;
+
+    @Override
+    public int getNumberOfLanes() {
+        return 2;
+    }
+
+    @Override
+    public int getLane(final Record<ExportTraceServiceRequest> record) {
+        for (final ResourceSpans resourceSpans : record.getData().getResourceSpansList()) {
+            for (final InstrumentationLibrarySpans librarySpans : resourceSpans.getInstrumentationLibrarySpansList()) {
+                for (final Span span : librarySpans.getSpansList()) {
+                    if (span.getParentSpanId().isEmpty()) {
+                        return ROOT_SPAN_LANE;
+                    }
+                }
+            }
+        }
+        return CHILD_SPAN_LANE;
+    }
+}
@@ -41,7 +41,7 @@ public final class RawEvent {
         return droppedAttributesCount;
     }
 
-    private RawEvent(final String time, final String name, final Map<String, Object> attributes, int droppedAttributesCount) {
+    RawEvent(final String time, final String name, final Map<String, Object> attributes, int droppedAttributesCount) {
         this.time = time;
         this.name = name;
         this.attributes = attributes;
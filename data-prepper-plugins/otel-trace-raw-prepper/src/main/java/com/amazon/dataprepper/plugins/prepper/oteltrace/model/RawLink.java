@@ -56,7 +56,7 @@ public final class RawLink {
         return droppedAttributesCount;
     }
 
-    private RawLink(String traceId, String spanId, String traceState, Map<String, Object> attributes, int droppedAttributesCount) {
+    RawLink(String traceId, String spanId, String traceState, Map<String, Object> attributes, int droppedAttributesCount) {
         this.traceId = traceId;
         this.spanId = spanId;
         this.traceState = traceState;
@@ -21,8 +21,15 @@ public class RawSpanSet {
     private final long timeSeen;
 
     public RawSpanSet() {
+        this(System.currentTimeMillis());
+    }
+
+    /**
+     * @param timeSeen time in milliseconds when the first span of the set was seen, e.g. of a restored set
+     */
+    public RawSpanSet(final long timeSeen) {
         this.rawSpans = Sets.newConcurrentHashSet();
-        this.timeSeen = System.currentTimeMillis();
+        this.timeSeen = timeSeen;
     }
 
     public Set<RawSpan> getRawSpans() {
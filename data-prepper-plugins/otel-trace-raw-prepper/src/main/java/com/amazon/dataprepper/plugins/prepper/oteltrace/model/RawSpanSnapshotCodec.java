@@ -0,0 +1,210 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.prepper.oteltrace.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes {@link RawSpan}s and {@link TraceGroup}s to the snapshot of the state of the otel_trace_raw_prepper in a
+ * binary format, and reads them back. The attribute values are written with their type, so a restored span is
+ * converted to the same document as the original span.
+ */
+public final class RawSpanSnapshotCodec {
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte BOOLEAN_VALUE = 2;
+    private static final byte LONG_VALUE = 3;
+    private static final byte DOUBLE_VALUE = 4;
+    private static final byte INTEGER_VALUE = 5;
+
+    private RawSpanSnapshotCodec() {
+    }
+
+    public static void writeRawSpan(final DataOutput output, final RawSpan rawSpan) throws IOException {
+        writeString(output, rawSpan.getTraceId());
+        writeString(output, rawSpan.getSpanId());
+        writeString(output, rawSpan.getTraceState());
+        writeString(output, rawSpan.getParentSpanId());
+        writeString(output, rawSpan.getName());
+        writeString(output, rawSpan.getKind());
+        writeString(output, rawSpan.getStartTime());
+        writeString(output, rawSpan.getEndTime());
+        output.writeLong(rawSpan.getDurationInNanos());
+        writeString(output, rawSpan.getServiceName());
+        writeAttributes(output, rawSpan.getAttributes());
+        output.writeInt(rawSpan.getEvents().size());
+        for (final RawEvent rawEvent : rawSpan.getEvents()) {
+            writeString(output, rawEvent.getTime());
+            writeString(output, rawEvent.getName());
+            writeAttributes(output, rawEvent.getAttributes());
+            output.writeInt(rawEvent.getDroppedAttributesCount());
+        }
+        output.writeInt(rawSpan.getLinks().size());
+        for (final RawLink rawLink : rawSpan.getLinks()) {
+            writeString(output, rawLink.getTraceId());
+            writeString(output, rawLink.getSpanId());
+            writeString(output, rawLink.getTraceState());
+            writeAttributes(output, rawLink.getAttributes());
+            output.writeInt(rawLink.getDroppedAttributesCount());
+        }
+        output.writeInt(rawSpan.getDroppedAttributesCount());
+        output.writeInt(rawSpan.getDroppedEventsCount());
+        output.writeInt(rawSpan.getDroppedLinksCount());
+        writeTraceGroup(output, rawSpan.getTraceGroup());
+    }
+
+    public static RawSpan readRawSpan(final DataInput input) throws IOException {
+        final RawSpanBuilder builder = new RawSpanBuilder();
+        builder.traceId = readString(input);
+        builder.spanId = readString(input);
+        builder.traceState = readString(input);
+        builder.parentSpanId = readString(input);
+        builder.name = readString(input);
+        builder.kind = readString(input);
+        builder.startTime = readString(input);
+        builder.endTime = readString(input);
+        builder.durationInNanos = input.readLong();
+        builder.serviceName = readString(input);
+        builder.attributes = readAttributes(input);
+        final int numEvents = input.readInt();
+        builder.events = new ArrayList<>(numEvents);
+        for (int i = 0; i < numEvents; i++) {
+            builder.events.add(new RawEvent(readString(input), readString(input), readAttributes(input),
+                    input.readInt()));
+        }
+        final int numLinks = input.readInt();
+        builder.links = new ArrayList<>(numLinks);
+        for (int i = 0; i < numLinks; i++) {
+            builder.links.add(new RawLink(readString(input), readString(input), readString(input),
+                    readAttributes(input), input.readInt()));
+        }
+        builder.droppedAttributesCount = input.readInt();
+        builder.droppedEventsCount = input.readInt();
+        builder.droppedLinksCount = input.readInt();
+        builder.traceGroup = readTraceGroup(input);
+        return builder.build();
+    }
+
+    public static void writeTraceGroup(final DataOutput output, final TraceGroup traceGroup) throws IOException {
+        output.writeBoolean(traceGroup != null);
+        if (traceGroup != null) {
+            writeString(output, traceGroup.getName());
+            writeString(output, traceGroup.getEndTime());
+            writeValue(output, traceGroup.getStatusCode());
+            writeValue(output, traceGroup.getDurationInNanos());
+        }
+    }
+
+    public static TraceGroup readTraceGroup(final DataInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        return new TraceGroup.TraceGroupBuilder()
+                .setName(readString(input))
+                .setEndTime(readString(input))
+                .setStatusCode((Integer) readValue(input))
+                .setDurationInNanos((Long) readValue(input))
+                .build();
+    }
+
+    private static void writeAttributes(final DataOutput output, final Map<String, Object> attributes)
+            throws IOException {
+        output.writeInt(attributes.size());
+        for (final Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            writeString(output, attribute.getKey());
+            writeValue(output, attribute.getValue());
+        }
+    }
+
+    private static Map<String, Object> readAttributes(final DataInput input) throws IOException {
+        final int numAttributes = input.readInt();
+        final Map<String, Object> attributes = new HashMap<>();
+        for (int i = 0; i < numAttributes; i++) {
+            attributes.put(readString(input), readValue(input));
+        }
+        return attributes;
+    }
+
+    /**
+     * Writes an attribute value of one of the types produced by {@link OTelProtoHelper}, any other value is written as
+     * its string representation.
+     */
+    private static void writeValue(final DataOutput output, final Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL_VALUE);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN_VALUE);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG_VALUE);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE_VALUE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER_VALUE);
+            output.writeInt((Integer) value);
+        } else {
+            output.writeByte(STRING_VALUE);
+            writeString(output, value.toString());
+        }
+    }
+
+    private static Object readValue(final DataInput input) throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case BOOLEAN_VALUE:
+                return input.readBoolean();
+            case LONG_VALUE:
+                return input.readLong();
+            case DOUBLE_VALUE:
+                return input.readDouble();
+            case INTEGER_VALUE:
+                return input.readInt();
+            case STRING_VALUE:
+                return readString(input);
+            default:
+                throw new IOException("Unknown attribute value type " + type);
+        }
+    }
+
+    /**
+     * Writes a nullable string as UTF-8, unlike {@link DataOutput#writeUTF(String)} it is not limited to 64 KB.
+     */
+    private static void writeString(final DataOutput output, final String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
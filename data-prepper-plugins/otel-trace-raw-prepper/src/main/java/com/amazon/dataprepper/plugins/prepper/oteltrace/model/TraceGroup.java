@@ -60,22 +60,22 @@ public class TraceGroup {
         private Integer statusCode;
         private Long durationInNanos;
 
-        private TraceGroupBuilder setName(final String name) {
+        TraceGroupBuilder setName(final String name) {
             this.name = name;
             return this;
         }
 
-        private TraceGroupBuilder setEndTime(final String endTime) {
+        TraceGroupBuilder setEndTime(final String endTime) {
             this.endTime = endTime;
             return this;
         }
 
-        private TraceGroupBuilder setStatusCode(final Integer statusCode) {
+        TraceGroupBuilder setStatusCode(final Integer statusCode) {
             this.statusCode = statusCode;
             return this;
         }
 
-        private TraceGroupBuilder setDurationInNanos(final Long durationInNanos) {
+        TraceGroupBuilder setDurationInNanos(final Long durationInNanos) {
             this.durationInNanos = durationInNanos;
             return this;
         }
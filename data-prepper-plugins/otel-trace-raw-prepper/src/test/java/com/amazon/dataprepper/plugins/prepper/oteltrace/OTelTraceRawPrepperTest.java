@@ -15,6 +15,7 @@ import com.amazon.dataprepper.metrics.MetricNames;
 import com.amazon.dataprepper.model.configuration.PluginSetting;
 import com.amazon.dataprepper.model.record.Record;
 import com.amazon.dataprepper.metrics.MetricsTestUtil;
+import com.amazon.dataprepper.plugins.prepper.TraceIdPartitioner;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -34,6 +35,10 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -119,6 +124,27 @@ public class OTelTraceRawPrepperTest {
         Assert.assertEquals(1.0, totalErrorsMeasurement.get(0).getValue(), 0);
     }
 
+    @Test
+    public void testGetRecordPartitioner() {
+        assertThat(oTelTraceRawPrepper.getRecordPartitioner()).isInstanceOf(TraceIdPartitioner.class);
+    }
+
+    @Test
+    public void testGetRecordPrioritizer() {
+        assertThat(oTelTraceRawPrepper.getRecordPrioritizer()).isInstanceOf(RootSpanPrioritizer.class);
+    }
+
+    @Test
+    public void testGetRecordPrioritizerWithRootSpanPriorityDisabled() {
+        pluginSetting.getSettings().put(OtelTraceRawPrepperConfig.ROOT_SPAN_PRIORITY, false);
+        final OTelTraceRawPrepper prepper = new OTelTraceRawPrepper(pluginSetting);
+
+        assertThat(prepper.getRecordPrioritizer().getNumberOfLanes()).isEqualTo(1);
+        assertThat(prepper.getRecordPrioritizer().getLane(new Record<>(ExportTraceServiceRequest.getDefaultInstance())))
+                .isEqualTo(0);
+        prepper.shutdown();
+    }
+
     @Test
     public void testEmptyCollection() {
         assertThat(oTelTraceRawPrepper.doExecute(Collections.EMPTY_LIST)).isEmpty();
@@ -220,6 +246,65 @@ public class OTelTraceRawPrepperTest {
         assertTrue(oTelTraceRawPrepper.isReadyForShutdown());
     }
 
+    @Test
+    public void testSnapshotAndRestoreStateOfSpansWaitingForRootSpan() throws IOException {
+        final ExportTraceServiceRequest exportTraceServiceRequest = buildExportTraceServiceRequestFromJsonFile(TEST_REQUEST_TWO_TRACE_GROUP_MISSING_ROOTS_JSON_FILE);
+        oTelTraceRawPrepper.doExecute(Collections.singletonList(new Record<>(exportTraceServiceRequest)));
+
+        final OTelTraceRawPrepper restoredPrepper = new OTelTraceRawPrepper(pluginSetting);
+        try {
+            restoredPrepper.restoreState(snapshotStateOf(oTelTraceRawPrepper));
+            assertFalse(restoredPrepper.isReadyForShutdown());
+
+            oTelTraceRawPrepper.prepareForShutdown();
+            restoredPrepper.prepareForShutdown();
+            final List<Record<String>> processedRecords = (List<Record<String>>) oTelTraceRawPrepper.doExecute(Collections.emptyList());
+            final List<Record<String>> restoredRecords = (List<Record<String>>) restoredPrepper.doExecute(Collections.emptyList());
+
+            Assertions.assertThat(restoredRecords.size()).isEqualTo(4);
+            Assertions.assertThat(toSpanMaps(restoredRecords)).containsExactlyInAnyOrderElementsOf(toSpanMaps(processedRecords));
+            assertTrue(restoredPrepper.isReadyForShutdown());
+        } finally {
+            restoredPrepper.shutdown();
+        }
+    }
+
+    @Test
+    public void testSnapshotAndRestoreStateOfTraceGroups() throws IOException {
+        final ExportTraceServiceRequest exportTraceServiceRequest1 = buildExportTraceServiceRequestFromJsonFile(TEST_REQUEST_ONE_FULL_TRACE_GROUP_JSON_FILE);
+        final ExportTraceServiceRequest exportTraceServiceRequest2 = buildExportTraceServiceRequestFromJsonFile(TEST_REQUEST_TWO_TRACE_GROUP_MISSING_ROOTS_JSON_FILE);
+        oTelTraceRawPrepper.doExecute(Collections.singletonList(new Record<>(exportTraceServiceRequest1)));
+
+        final OTelTraceRawPrepper restoredPrepper = new OTelTraceRawPrepper(pluginSetting);
+        try {
+            restoredPrepper.restoreState(snapshotStateOf(oTelTraceRawPrepper));
+
+            // The child spans of the trace whose root span was processed before the snapshot get its trace group at once
+            final List<Record<String>> processedRecords = (List<Record<String>>) restoredPrepper.doExecute(
+                    Collections.singletonList(new Record<>(exportTraceServiceRequest2)));
+            Assertions.assertThat(processedRecords.size()).isEqualTo(2);
+            Assertions.assertThat(getMissingTraceGroupFieldsSpanCount(processedRecords)).isEqualTo(0);
+        } finally {
+            restoredPrepper.shutdown();
+        }
+    }
+
+    private static DataInputStream snapshotStateOf(final OTelTraceRawPrepper prepper) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream outputStream = new DataOutputStream(bytes)) {
+            prepper.snapshotState(outputStream);
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private static List<Map<String, Object>> toSpanMaps(final List<Record<String>> records) throws JsonProcessingException {
+        final List<Map<String, Object>> spanMaps = new ArrayList<>();
+        for (final Record<String> record : records) {
+            spanMaps.add(OBJECT_MAPPER.readValue(record.getData(), new TypeReference<Map<String, Object>>() {}));
+        }
+        return spanMaps;
+    }
+
     private ExportTraceServiceRequest buildExportTraceServiceRequestFromJsonFile(String requestJsonFileName) throws IOException {
         final StringBuilder jsonBuilder = new StringBuilder();
         try (final InputStream inputStream = Objects.requireNonNull(
@@ -0,0 +1,65 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.prepper.oteltrace;
+
+import com.amazon.dataprepper.model.record.Record;
+import com.google.protobuf.ByteString;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.trace.v1.InstrumentationLibrarySpans;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.proto.trace.v1.Span;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class RootSpanPrioritizerTest {
+    private static final ByteString PARENT_SPAN_ID = ByteString.copyFromUtf8("parent-1");
+
+    private final RootSpanPrioritizer rootSpanPrioritizer = new RootSpanPrioritizer();
+
+    @Test
+    public void testRequestWithRootSpanIsAssignedToRootSpanLane() {
+        final Record<ExportTraceServiceRequest> record = new Record<>(
+                getRequest(getSpan(PARENT_SPAN_ID), getSpan(ByteString.EMPTY)));
+
+        Assert.assertEquals(RootSpanPrioritizer.ROOT_SPAN_LANE, rootSpanPrioritizer.getLane(record));
+    }
+
+    @Test
+    public void testRequestWithOnlyChildSpansIsAssignedToChildSpanLane() {
+        final Record<ExportTraceServiceRequest> record = new Record<>(
+                getRequest(getSpan(PARENT_SPAN_ID), getSpan(PARENT_SPAN_ID)));
+
+        Assert.assertEquals(RootSpanPrioritizer.CHILD_SPAN_LANE, rootSpanPrioritizer.getLane(record));
+    }
+
+    @Test
+    public void testEmptyRequestIsAssignedToChildSpanLane() {
+        final Record<ExportTraceServiceRequest> record = new Record<>(ExportTraceServiceRequest.getDefaultInstance());
+
+        Assert.assertEquals(RootSpanPrioritizer.CHILD_SPAN_LANE, rootSpanPrioritizer.getLane(record));
+        Assert.assertEquals(2, rootSpanPrioritizer.getNumberOfLanes());
+    }
+
+    private static ExportTraceServiceRequest getRequest(final Span... spans) {
+        return ExportTraceServiceRequest.newBuilder()
+                .addResourceSpans(ResourceSpans.newBuilder()
+                        .addInstrumentationLibrarySpans(InstrumentationLibrarySpans.newBuilder()
+                                .addAllSpans(Arrays.asList(spans))))
+                .build();
+    }
+
+    private static Span getSpan(final ByteString parentSpanId) {
+        return Span.newBuilder().setTraceId(ByteString.copyFromUtf8("trace-id-1")).setParentSpanId(parentSpanId).build();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.prepper.oteltrace.model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import io.opentelemetry.proto.common.v1.AnyValue;
+import io.opentelemetry.proto.common.v1.InstrumentationLibrary;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.trace.v1.Span;
+import io.opentelemetry.proto.trace.v1.Status;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RawSpanSnapshotCodecTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void testRawSpanRoundTrip() throws IOException {
+        final Span span = Span.newBuilder()
+                .setTraceId(ByteString.copyFrom(TestUtils.getRandomBytes(16)))
+                .setSpanId(ByteString.copyFrom(TestUtils.getRandomBytes(8)))
+                .setTraceState("some state")
+                .setName("test-span")
+                .setKind(Span.SpanKind.SPAN_KIND_SERVER)
+                .setStartTimeUnixNano(651242400000000321L)
+                .setEndTimeUnixNano(651242400000000321L + 3000)
+                .setStatus(Status.newBuilder().setCodeValue(Status.StatusCode.STATUS_CODE_ERROR_VALUE).setMessage("error").build())
+                .addAttributes(stringAttribute("string-key", "value"))
+                .addAttributes(KeyValue.newBuilder().setKey("bool-key").setValue(AnyValue.newBuilder().setBoolValue(true)).build())
+                .addAttributes(KeyValue.newBuilder().setKey("int-key").setValue(AnyValue.newBuilder().setIntValue(42)).build())
+                .addAttributes(KeyValue.newBuilder().setKey("double-key").setValue(AnyValue.newBuilder().setDoubleValue(0.5)).build())
+                .setDroppedAttributesCount(1)
+                .addEvents(Span.Event.newBuilder().setName("event").setTimeUnixNano(651242400000001321L)
+                        .addAttributes(stringAttribute("event-key", "event-value")).setDroppedAttributesCount(2).build())
+                .addLinks(Span.Link.newBuilder().setTraceId(ByteString.copyFrom(TestUtils.getRandomBytes(16)))
+                        .setSpanId(ByteString.copyFrom(TestUtils.getRandomBytes(8)))
+                        .addAttributes(stringAttribute("link-key", "link-value")).build())
+                .setDroppedEventsCount(3)
+                .setDroppedLinksCount(4)
+                .build();
+        final RawSpan rawSpan = new RawSpanBuilder().setFromSpan(span, InstrumentationLibrary.newBuilder().setName("library").build(),
+                "some-service", Collections.singletonMap("resource.attributes.pid", 1234L)).build();
+
+        final RawSpan restoredRawSpan = roundTrip(rawSpan);
+
+        assertThat(toMap(restoredRawSpan.toJson())).isEqualTo(toMap(rawSpan.toJson()));
+        assertThat(restoredRawSpan.getTraceGroup()).isEqualTo(rawSpan.getTraceGroup());
+        assertThat(restoredRawSpan.getEvents().get(0).getDroppedAttributesCount()).isEqualTo(2);
+        assertThat(restoredRawSpan.getDroppedLinksCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void testRawSpanWithoutOptionalFieldsRoundTrip() throws IOException {
+        final RawSpan rawSpan = new RawSpanBuilder().setFromSpan(Span.newBuilder().build(),
+                InstrumentationLibrary.newBuilder().build(), null, Collections.emptyMap()).build();
+        rawSpan.setTraceGroup(null);
+
+        final RawSpan restoredRawSpan = roundTrip(rawSpan);
+
+        assertThat(toMap(restoredRawSpan.toJson())).isEqualTo(toMap(rawSpan.toJson()));
+        assertThat(restoredRawSpan.getServiceName()).isNull();
+        assertThat(restoredRawSpan.getTraceGroup()).isNull();
+    }
+
+    @Test
+    public void testTraceGroupRoundTrip() throws IOException {
+        final TraceGroup traceGroup = new TraceGroup.TraceGroupBuilder()
+                .setName("trace-group")
+                .setEndTime("2020-08-20T05:40:46.041011600Z")
+                .setStatusCode(1)
+                .setDurationInNanos(48545L)
+                .build();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream outputStream = new DataOutputStream(bytes);
+        RawSpanSnapshotCodec.writeTraceGroup(outputStream, traceGroup);
+        RawSpanSnapshotCodec.writeTraceGroup(outputStream, new TraceGroup.TraceGroupBuilder().build());
+        RawSpanSnapshotCodec.writeTraceGroup(outputStream, null);
+
+        final DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(RawSpanSnapshotCodec.readTraceGroup(inputStream)).isEqualTo(traceGroup);
+        assertThat(RawSpanSnapshotCodec.readTraceGroup(inputStream)).isEqualTo(new TraceGroup.TraceGroupBuilder().build());
+        assertThat(RawSpanSnapshotCodec.readTraceGroup(inputStream)).isNull();
+    }
+
+    private static RawSpan roundTrip(final RawSpan rawSpan) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        RawSpanSnapshotCodec.writeRawSpan(new DataOutputStream(bytes), rawSpan);
+        return RawSpanSnapshotCodec.readRawSpan(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private static KeyValue stringAttribute(final String key, final String value) {
+        return KeyValue.newBuilder().setKey(key).setValue(AnyValue.newBuilder().setStringValue(value)).build();
+    }
+
+    private static Map<String, Object> toMap(final String json) throws IOException {
+        return OBJECT_MAPPER.readValue(json, new TypeReference<Map<String, Object>>() {});
+    }
+}
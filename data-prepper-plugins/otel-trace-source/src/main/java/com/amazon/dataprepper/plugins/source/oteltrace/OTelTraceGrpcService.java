@@ -12,10 +12,16 @@
 package com.amazon.dataprepper.plugins.source.oteltrace;
 
 import com.amazon.dataprepper.metrics.PluginMetrics;
+import com.amazon.dataprepper.model.buffer.Backpressure;
 import com.amazon.dataprepper.model.buffer.Buffer;
 import com.amazon.dataprepper.model.record.Record;
+import com.google.protobuf.Any;
+import com.google.protobuf.util.Durations;
+import com.google.rpc.Code;
+import com.google.rpc.RetryInfo;
 import io.grpc.Context;
 import io.grpc.Status;
+import io.grpc.protobuf.StatusProto;
 import io.grpc.stub.StreamObserver;
 import io.micrometer.core.instrument.Counter;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
@@ -31,22 +37,41 @@ public class OTelTraceGrpcService extends TraceServiceGrpc.TraceServiceImplBase
 
     public static final String REQUEST_TIMEOUTS = "requestTimeouts";
     public static final String REQUESTS_RECEIVED = "requestsReceived";
+    public static final String REQUESTS_SHED = "requestsShed";
+    static final long MIN_RETRY_DELAY_IN_MILLIS = 100;
 
     private final int bufferWriteTimeoutInMillis;
+    private final boolean loadShedding;
+    private final double loadSheddingFillRatio;
     private final Buffer<Record<ExportTraceServiceRequest>> buffer;
 
     private final Counter requestTimeoutCounter;
     private final Counter requestsReceivedCounter;
+    private final Counter requestsShedCounter;
 
 
+    /**
+     * @param bufferWriteTimeoutInMillis how long to wait for capacity in the buffer
+     * @param loadShedding               whether to reject requests while the buffer is filled up to
+     *                                   loadSheddingFillRatio, telling clients when to retry with a RetryInfo in the
+     *                                   status details
+     * @param loadSheddingFillRatio      share of the capacity of the buffer from which on requests are rejected
+     * @param buffer                     buffer to which the requests are written
+     * @param pluginMetrics              metrics of the source
+     */
     public OTelTraceGrpcService(int bufferWriteTimeoutInMillis,
+                                final boolean loadShedding,
+                                final double loadSheddingFillRatio,
                                 Buffer<Record<ExportTraceServiceRequest>> buffer,
                                 final PluginMetrics pluginMetrics) {
         this.bufferWriteTimeoutInMillis = bufferWriteTimeoutInMillis;
+        this.loadShedding = loadShedding;
+        this.loadSheddingFillRatio = loadSheddingFillRatio;
         this.buffer = buffer;
 
         requestTimeoutCounter = pluginMetrics.counter(REQUEST_TIMEOUTS);
         requestsReceivedCounter = pluginMetrics.counter(REQUESTS_RECEIVED);
+        requestsShedCounter = pluginMetrics.counter(REQUESTS_SHED);
     }
 
 
@@ -60,6 +85,14 @@ public class OTelTraceGrpcService extends TraceServiceGrpc.TraceServiceImplBase
             return;
         }
 
+        if (loadShedding) {
+            final Backpressure backpressure = buffer.getBackpressure();
+            if (backpressure.shouldShed(loadSheddingFillRatio)) {
+                shedRequest(backpressure, responseObserver);
+                return;
+            }
+        }
+
         try {
             buffer.write(new Record<>(request), bufferWriteTimeoutInMillis);
             responseObserver.onNext(ExportTraceServiceResponse.newBuilder().build());
@@ -72,4 +105,23 @@ public class OTelTraceGrpcService extends TraceServiceGrpc.TraceServiceImplBase
                             .asException());
         }
     }
+
+    /**
+     * Rejects the request with RESOURCE_EXHAUSTED and a RetryInfo, which OTLP exporters honor as the delay before
+     * retrying, instead of their own backoff.
+     */
+    private void shedRequest(final Backpressure backpressure,
+                             final StreamObserver<ExportTraceServiceResponse> responseObserver) {
+        requestsShedCounter.increment();
+        final long retryDelayInMillis = backpressure.getRetryDelayInMillis(
+                MIN_RETRY_DELAY_IN_MILLIS, Math.max(MIN_RETRY_DELAY_IN_MILLIS, bufferWriteTimeoutInMillis));
+        final com.google.rpc.Status status = com.google.rpc.Status.newBuilder()
+                .setCode(Code.RESOURCE_EXHAUSTED.getNumber())
+                .setMessage("Buffer is full, retry later.")
+                .addDetails(Any.pack(RetryInfo.newBuilder()
+                        .setRetryDelay(Durations.fromMillis(retryDelayInMillis))
+                        .build()))
+                .build();
+        responseObserver.onError(StatusProto.toStatusRuntimeException(status));
+    }
 }
@@ -67,6 +67,8 @@ public class OTelTraceSource implements Source<Record<ExportTraceServiceRequest>
                     .builder()
                     .addService(new OTelTraceGrpcService(
                             oTelTraceSourceConfig.getRequestTimeoutInMillis(),
+                            oTelTraceSourceConfig.isLoadShedding(),
+                            oTelTraceSourceConfig.getLoadSheddingFillRatio(),
                             buffer,
                             pluginMetrics
                     ))
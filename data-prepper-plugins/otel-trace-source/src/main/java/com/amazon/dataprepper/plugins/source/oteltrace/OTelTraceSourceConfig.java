@@ -31,6 +31,8 @@ public class OTelTraceSourceConfig {
     static final String THREAD_COUNT = "thread_count";
     static final String MAX_CONNECTION_COUNT = "max_connection_count";
     static final String ENABLE_UNFRAMED_REQUESTS = "unframed_requests";
+    static final String LOAD_SHEDDING = "load_shedding";
+    static final String LOAD_SHEDDING_FILL_RATIO = "load_shedding_fill_ratio";
     static final int DEFAULT_REQUEST_TIMEOUT_MS = 10000;
     static final int DEFAULT_PORT = 21890;
     static final int DEFAULT_THREAD_COUNT = 200;
@@ -38,6 +40,8 @@ public class OTelTraceSourceConfig {
     static final boolean DEFAULT_SSL = true;
     static final boolean DEFAULT_USE_ACM_CERT_FOR_SSL = false;
     static final int DEFAULT_ACM_CERT_ISSUE_TIME_OUT_MILLIS = 120000;
+    static final boolean DEFAULT_LOAD_SHEDDING = false;
+    static final double DEFAULT_LOAD_SHEDDING_FILL_RATIO = 0.9;
     private static final String S3_PREFIX = "s3://";
     private final int requestTimeoutInMillis;
     private final int port;
@@ -55,6 +59,8 @@ public class OTelTraceSourceConfig {
     private final String awsRegion;
     private final int threadCount;
     private final int maxConnectionCount;
+    private final boolean loadShedding;
+    private final double loadSheddingFillRatio;
 
     private OTelTraceSourceConfig(final int requestTimeoutInMillis,
                                   final int port,
@@ -70,7 +76,9 @@ public class OTelTraceSourceConfig {
                                   final String acmPrivateKeyPassword,
                                   final String awsRegion,
                                   final int threadCount,
-                                  final int maxConnectionCount) {
+                                  final int maxConnectionCount,
+                                  final boolean loadShedding,
+                                  final double loadSheddingFillRatio) {
         this.requestTimeoutInMillis = requestTimeoutInMillis;
         this.port = port;
         this.healthCheck = healthCheck;
@@ -86,6 +94,12 @@ public class OTelTraceSourceConfig {
         this.awsRegion = awsRegion;
         this.threadCount = threadCount;
         this.maxConnectionCount = maxConnectionCount;
+        this.loadShedding = loadShedding;
+        if (loadSheddingFillRatio <= 0 || loadSheddingFillRatio > 1) {
+            throw new IllegalArgumentException(String.format("%s must be greater than 0 and at most 1",
+                    LOAD_SHEDDING_FILL_RATIO));
+        }
+        this.loadSheddingFillRatio = loadSheddingFillRatio;
         boolean certAndKeyFileInS3 = false;
         if (useAcmCertForSSL) {
             validateSSLArgument(String.format("%s is enabled", USE_ACM_CERT_FOR_SSL), acmCertificateArn, ACM_CERT_ARN);
@@ -131,7 +145,9 @@ public class OTelTraceSourceConfig {
                 pluginSetting.getStringOrDefault(ACM_PRIVATE_KEY_PASSWORD, null),
                 pluginSetting.getStringOrDefault(AWS_REGION, null),
                 pluginSetting.getIntegerOrDefault(THREAD_COUNT, DEFAULT_THREAD_COUNT),
-                pluginSetting.getIntegerOrDefault(MAX_CONNECTION_COUNT, DEFAULT_MAX_CONNECTION_COUNT));
+                pluginSetting.getIntegerOrDefault(MAX_CONNECTION_COUNT, DEFAULT_MAX_CONNECTION_COUNT),
+                pluginSetting.getBooleanOrDefault(LOAD_SHEDDING, DEFAULT_LOAD_SHEDDING),
+                pluginSetting.getDoubleOrDefault(LOAD_SHEDDING_FILL_RATIO, DEFAULT_LOAD_SHEDDING_FILL_RATIO));
     }
 
     public int getRequestTimeoutInMillis() {
@@ -197,4 +213,12 @@ public class OTelTraceSourceConfig {
     public int getMaxConnectionCount() {
         return maxConnectionCount;
     }
+
+    public boolean isLoadShedding() {
+        return loadShedding;
+    }
+
+    public double getLoadSheddingFillRatio() {
+        return loadSheddingFillRatio;
+    }
 }
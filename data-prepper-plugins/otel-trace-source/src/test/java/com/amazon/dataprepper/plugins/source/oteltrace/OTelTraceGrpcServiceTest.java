@@ -12,9 +12,14 @@
 package com.amazon.dataprepper.plugins.source.oteltrace;
 
 import com.amazon.dataprepper.metrics.PluginMetrics;
+import com.amazon.dataprepper.model.buffer.Backpressure;
 import com.amazon.dataprepper.model.buffer.Buffer;
 import com.amazon.dataprepper.model.configuration.PluginSetting;
 import com.amazon.dataprepper.model.record.Record;
+import com.google.protobuf.util.Durations;
+import com.google.rpc.Code;
+import com.google.rpc.RetryInfo;
+import io.grpc.protobuf.StatusProto;
 import io.grpc.stub.StreamObserver;
 import io.micrometer.core.instrument.Counter;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
@@ -38,6 +43,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -58,13 +64,18 @@ public class OTelTraceGrpcServiceTest {
     @Mock
     Counter timeoutCounter;
     @Mock
+    Counter requestsShedCounter;
+    @Mock
     StreamObserver responseObserver;
     @Mock
     Buffer buffer;
 
     @Captor
     ArgumentCaptor<Record> recordCaptor;
+    @Captor
+    ArgumentCaptor<Throwable> errorCaptor;
 
+    private PluginMetrics mockPluginMetrics;
     private OTelTraceGrpcService sut;
 
     @BeforeEach
@@ -72,12 +83,13 @@ public class OTelTraceGrpcServiceTest {
         pluginSetting = new PluginSetting("OTelTraceGrpcService", Collections.EMPTY_MAP);
         pluginSetting.setPipelineName("pipeline");
 
-        PluginMetrics mockPluginMetrics = mock(PluginMetrics.class);
+        mockPluginMetrics = mock(PluginMetrics.class);
 
         when(mockPluginMetrics.counter(OTelTraceGrpcService.REQUESTS_RECEIVED)).thenReturn(requestsReceivedCounter);
         when(mockPluginMetrics.counter(OTelTraceGrpcService.REQUEST_TIMEOUTS)).thenReturn(timeoutCounter);
+        when(mockPluginMetrics.counter(OTelTraceGrpcService.REQUESTS_SHED)).thenReturn(requestsShedCounter);
 
-        sut = new OTelTraceGrpcService(bufferWriteTimeoutInMillis, buffer, mockPluginMetrics);
+        sut = new OTelTraceGrpcService(bufferWriteTimeoutInMillis, false, 0.9, buffer, mockPluginMetrics);
     }
 
     @Test
@@ -106,4 +118,33 @@ public class OTelTraceGrpcServiceTest {
         verify(timeoutCounter, times(1)).increment();
         verify(requestsReceivedCounter, times(1)).increment();
     }
+
+    @Test
+    public void export_BufferShouldShed_responseObserverOnErrorWithRetryDelay() throws Exception {
+        when(buffer.getBackpressure()).thenReturn(new Backpressure(0.95, 2000));
+        sut = new OTelTraceGrpcService(bufferWriteTimeoutInMillis, true, 0.9, buffer, mockPluginMetrics);
+
+        sut.export(SUCCESS_REQUEST, responseObserver);
+
+        verify(buffer, never()).write(any(Record.class), anyInt());
+        verify(responseObserver).onError(errorCaptor.capture());
+        verify(responseObserver, times(0)).onCompleted();
+        verify(requestsShedCounter, times(1)).increment();
+        final com.google.rpc.Status status = StatusProto.fromThrowable(errorCaptor.getValue());
+        assertEquals(Code.RESOURCE_EXHAUSTED.getNumber(), status.getCode());
+        final RetryInfo retryInfo = status.getDetails(0).unpack(RetryInfo.class);
+        assertEquals(2000, Durations.toMillis(retryInfo.getRetryDelay()));
+    }
+
+    @Test
+    public void export_BufferShouldNotShed_responseObserverOnCompleted() throws Exception {
+        when(buffer.getBackpressure()).thenReturn(new Backpressure(0.5, 2000));
+        sut = new OTelTraceGrpcService(bufferWriteTimeoutInMillis, true, 0.9, buffer, mockPluginMetrics);
+
+        sut.export(SUCCESS_REQUEST, responseObserver);
+
+        verify(buffer, times(1)).write(any(Record.class), anyInt());
+        verify(responseObserver, times(1)).onCompleted();
+        verifyNoInteractions(requestsShedCounter);
+    }
 }
@@ -18,10 +18,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.amazon.dataprepper.plugins.source.oteltrace.OTelTraceSourceConfig.DEFAULT_LOAD_SHEDDING_FILL_RATIO;
 import static com.amazon.dataprepper.plugins.source.oteltrace.OTelTraceSourceConfig.DEFAULT_MAX_CONNECTION_COUNT;
 import static com.amazon.dataprepper.plugins.source.oteltrace.OTelTraceSourceConfig.DEFAULT_PORT;
 import static com.amazon.dataprepper.plugins.source.oteltrace.OTelTraceSourceConfig.DEFAULT_REQUEST_TIMEOUT_MS;
 import static com.amazon.dataprepper.plugins.source.oteltrace.OTelTraceSourceConfig.DEFAULT_THREAD_COUNT;
+import static com.amazon.dataprepper.plugins.source.oteltrace.OTelTraceSourceConfig.LOAD_SHEDDING;
+import static com.amazon.dataprepper.plugins.source.oteltrace.OTelTraceSourceConfig.LOAD_SHEDDING_FILL_RATIO;
 import static com.amazon.dataprepper.plugins.source.oteltrace.OTelTraceSourceConfig.SSL;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -49,6 +52,8 @@ public class OtelTraceSourceConfigTests {
         assertEquals(DEFAULT_PORT, otelTraceSourceConfig.getPort());
         assertEquals(DEFAULT_THREAD_COUNT, otelTraceSourceConfig.getThreadCount());
         assertEquals(DEFAULT_MAX_CONNECTION_COUNT, otelTraceSourceConfig.getMaxConnectionCount());
+        assertFalse(otelTraceSourceConfig.isLoadShedding());
+        assertEquals(DEFAULT_LOAD_SHEDDING_FILL_RATIO, otelTraceSourceConfig.getLoadSheddingFillRatio(), 0.0);
         assertFalse(otelTraceSourceConfig.hasHealthCheck());
         assertFalse(otelTraceSourceConfig.hasProtoReflectionService());
         assertFalse(otelTraceSourceConfig.isSsl());
@@ -56,6 +61,35 @@ public class OtelTraceSourceConfigTests {
         assertNull(otelTraceSourceConfig.getSslKeyFile());
     }
 
+    @Test
+    public void testLoadSheddingEnabledWithFillRatio() {
+        // Prepare
+        final Map<String, Object> settings = new HashMap<>();
+        settings.put(SSL, false);
+        settings.put(LOAD_SHEDDING, true);
+        settings.put(LOAD_SHEDDING_FILL_RATIO, 0.75);
+
+        // When
+        final OTelTraceSourceConfig otelTraceSourceConfig = OTelTraceSourceConfig.buildConfig(
+                new PluginSetting(PLUGIN_NAME, settings));
+
+        // Then
+        assertTrue(otelTraceSourceConfig.isLoadShedding());
+        assertEquals(0.75, otelTraceSourceConfig.getLoadSheddingFillRatio(), 0.0);
+    }
+
+    @Test
+    public void testInvalidLoadSheddingFillRatio() {
+        // Prepare
+        final Map<String, Object> settings = new HashMap<>();
+        settings.put(SSL, false);
+        settings.put(LOAD_SHEDDING_FILL_RATIO, 0.0);
+        final PluginSetting pluginSetting = new PluginSetting(PLUGIN_NAME, settings);
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> OTelTraceSourceConfig.buildConfig(pluginSetting));
+    }
+
     @Test
     public void testValidConfig() {
         // Prepare
@@ -12,6 +12,8 @@
 package com.amazon.dataprepper.plugins.prepper.peerforwarder;
 
 import com.amazon.dataprepper.model.annotations.DataPrepperPlugin;
+import com.amazon.dataprepper.model.concurrent.ExecutionMode;
+import com.amazon.dataprepper.model.concurrent.VirtualThreads;
 import com.amazon.dataprepper.model.configuration.PluginSetting;
 import com.amazon.dataprepper.model.prepper.AbstractPrepper;
 import com.amazon.dataprepper.model.prepper.Prepper;
@@ -73,7 +75,10 @@ public class PeerForwarder extends AbstractPrepper<Record<ExportTraceServiceRequ
         forwardRequestErrorCounters = new ConcurrentHashMap<>();
         forwardRequestTimers = new ConcurrentHashMap<>();
 
-        executorService = Executors.newFixedThreadPool(ASYNC_REQUEST_THREAD_COUNT);
+        // Virtual threads are cheap to block on the gRPC stub, so each forwarded request gets its own thread
+        executorService = ExecutionMode.fromPluginSetting(pluginSetting) == ExecutionMode.VIRTUAL_THREADS ?
+                VirtualThreads.newThreadPerTaskExecutor(pluginSetting.getName()) :
+                Executors.newFixedThreadPool(ASYNC_REQUEST_THREAD_COUNT);
     }
 
     public PeerForwarder(final PluginSetting pluginSetting) {
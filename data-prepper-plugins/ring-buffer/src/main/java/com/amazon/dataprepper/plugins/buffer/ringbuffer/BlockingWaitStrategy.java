@@ -0,0 +1,63 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.ringbuffer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Waits on a {@link Condition}. Signalling only takes the lock while threads are waiting, so readers and writers do not
+ * contend on it while the buffer is busy.
+ */
+class BlockingWaitStrategy implements WaitStrategy {
+    private final Lock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+
+    @Override
+    public boolean awaitUntil(final BooleanSupplier condition, final long deadlineNanos) throws InterruptedException {
+        if (condition.getAsBoolean()) {
+            return true;
+        }
+        lock.lock();
+        // Registered before checking the condition, so a signal after a change of state is not missed
+        waitingThreads.incrementAndGet();
+        try {
+            while (!condition.getAsBoolean()) {
+                final long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                stateChanged.awaitNanos(remainingNanos);
+            }
+            return true;
+        } finally {
+            waitingThreads.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void signalAll() {
+        if (waitingThreads.get() > 0) {
+            lock.lock();
+            try {
+                stateChanged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.ringbuffer;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Checks the condition in a loop without giving up the thread.
+ */
+class BusySpinWaitStrategy implements WaitStrategy {
+    @Override
+    public boolean awaitUntil(final BooleanSupplier condition, final long deadlineNanos) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            if (deadlineNanos - System.nanoTime() <= 0) {
+                return false;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void signalAll() {
+    }
+}
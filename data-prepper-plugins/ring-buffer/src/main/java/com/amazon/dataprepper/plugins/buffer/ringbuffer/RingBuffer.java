@@ -0,0 +1,309 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.ringbuffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.annotations.DataPrepperPlugin;
+import com.amazon.dataprepper.model.buffer.AbstractBuffer;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.record.Record;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * A bounded RingBuffer is an implementation of {@link Buffer} using a preallocated ring of slots which is shared by
+ * multiple writers and readers without locks. It accepts the same settings as the bounded_blocking buffer, i.e. it
+ * holds up to {@link #ATTRIBUTE_BUFFER_CAPACITY} unchecked records and {@link #read(int)} returns batches of up to
+ * {@link #ATTRIBUTE_BATCH_SIZE} records, and additionally lets {@link #ATTRIBUTE_WAIT_STRATEGY} select how readers and
+ * writers wait.
+ * <p>
+ * A writer reserves capacity for all its records at once and then claims a range of consecutive slots with a single
+ * atomic increment of the write sequence. It stores the records and then publishes the range by advancing the sequence
+ * of each slot. A reader claims the longest published range up to its batch size with a single compare-and-set of the
+ * read sequence, and frees the slots as it copies the records out. As in the bounded_blocking buffer, the capacity
+ * of records is only released on {@link #checkpoint(CheckpointState)}.
+ */
+@DataPrepperPlugin(name = "ring_buffer", pluginType = Buffer.class)
+public class RingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(RingBuffer.class);
+    private static final int DEFAULT_BUFFER_CAPACITY = 512;
+    private static final int DEFAULT_BATCH_SIZE = 8;
+    private static final WaitStrategyType DEFAULT_WAIT_STRATEGY = WaitStrategyType.BLOCKING;
+    private static final String ATTRIBUTE_BUFFER_CAPACITY = "buffer_size";
+    private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
+    private static final String ATTRIBUTE_WAIT_STRATEGY = "wait_strategy";
+
+    private final int bufferCapacity;
+    private final int batchSize;
+    private final String pipelineName;
+    private final WaitStrategy waitStrategy;
+    private final int indexMask;
+    private final AtomicReferenceArray<T> slots;
+    /**
+     * Sequence of each slot: equal to the position of the next write into the slot while it is free, one above that
+     * position once the record is published, and one ring size above it once the record is read.
+     */
+    private final AtomicLongArray slotSequences;
+    private final AtomicLong writeSequence = new PaddedAtomicLong();
+    private final AtomicLong readSequence = new PaddedAtomicLong();
+    private final AtomicInteger availableCapacity;
+
+    /**
+     * Creates a RingBuffer with the given (fixed) capacity.
+     *
+     * @param bufferCapacity   the capacity of the buffer
+     * @param batchSize        the batch size for {@link #read(int)}
+     * @param waitStrategyType how readers and writers wait
+     * @param pipelineName     the name of the associated Pipeline
+     */
+    public RingBuffer(final int bufferCapacity, final int batchSize, final WaitStrategyType waitStrategyType,
+                      final String pipelineName) {
+        super("RingBuffer", pipelineName);
+        Preconditions.checkArgument(bufferCapacity > 0, "bufferCapacity must be greater than 0");
+        Preconditions.checkArgument(bufferCapacity <= 1 << 30, "bufferCapacity must not exceed 2^30");
+        this.bufferCapacity = bufferCapacity;
+        this.batchSize = batchSize;
+        this.pipelineName = pipelineName;
+        this.waitStrategy = waitStrategyType.create();
+        final int ringSize = ringSizeFor(bufferCapacity);
+        this.indexMask = ringSize - 1;
+        this.slots = new AtomicReferenceArray<>(ringSize);
+        this.slotSequences = new AtomicLongArray(ringSize);
+        for (int i = 0; i < ringSize; i++) {
+            slotSequences.set(i, i);
+        }
+        this.availableCapacity = new AtomicInteger(bufferCapacity);
+    }
+
+    /**
+     * Mandatory constructor for Data Prepper Component - This constructor is used by Data Prepper runtime engine to construct an
+     * instance of {@link RingBuffer} using an instance of {@link PluginSetting} which has access to
+     * pluginSetting metadata from pipeline pluginSetting file. Buffer settings like `buffer_size`, `batch_size` and
+     * `wait_strategy` are optional and can be passed via {@link PluginSetting}, if not present default values will
+     * be used to create the buffer.
+     *
+     * @param pluginSetting instance with metadata information from pipeline pluginSetting file.
+     */
+    public RingBuffer(final PluginSetting pluginSetting) {
+        this(checkNotNull(pluginSetting, "PluginSetting cannot be null")
+                        .getIntegerOrDefault(ATTRIBUTE_BUFFER_CAPACITY, DEFAULT_BUFFER_CAPACITY),
+                pluginSetting.getIntegerOrDefault(ATTRIBUTE_BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                WaitStrategyType.fromOptionValue(
+                        pluginSetting.getStringOrDefault(ATTRIBUTE_WAIT_STRATEGY, DEFAULT_WAIT_STRATEGY.name())),
+                pluginSetting.getPipelineName());
+    }
+
+    @Override
+    public void doWrite(final T record, final int timeoutInMillis) throws TimeoutException {
+        checkNotNull(record, "Record cannot be null");
+        reserveCapacity(1, timeoutInMillis);
+        final long sequence = writeSequence.getAndIncrement();
+        store(sequence, record);
+        publish(sequence, sequence + 1);
+    }
+
+    @Override
+    public void doWriteAll(final Collection<T> records, final int timeoutInMillis) throws Exception {
+        final int size = records.size();
+        if (size > bufferCapacity) {
+            throw new SizeOverflowException(format("Buffer capacity too small for the size of records: %d", size));
+        }
+        if (size == 0) {
+            return;
+        }
+        // Checked up front, as the claimed slots cannot be given back once the capacity is reserved
+        for (final T record : records) {
+            checkNotNull(record, "Record cannot be null");
+        }
+        reserveCapacity(size, timeoutInMillis);
+        final long firstSequence = writeSequence.getAndAdd(size);
+        long sequence = firstSequence;
+        for (final T record : records) {
+            store(sequence++, record);
+        }
+        publish(firstSequence, sequence);
+    }
+
+    /**
+     * Retrieves and removes the batch of records from the head of the ring. The batch size is defined/determined by
+     * the configuration attribute {@link #ATTRIBUTE_BATCH_SIZE} or the @param timeoutInMillis.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @return The earliest batch of records in the buffer which are still not read.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis) {
+        return doRead(timeoutInMillis, batchSize);
+    }
+
+    /**
+     * Retrieves and removes the batch of up to maxBatchSize records from the head of the ring, waiting up to
+     * timeoutInMillis for the batch to fill up.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     * @return The earliest batch of records in the buffer which are still not read.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis, final int maxBatchSize) {
+        final List<T> records = new ArrayList<>(Math.min(maxBatchSize, bufferCapacity));
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        try {
+            while (true) {
+                drainTo(records, maxBatchSize - records.size());
+                if (records.size() >= maxBatchSize ||
+                        !waitStrategy.awaitUntil(() -> isPublished(readSequence.get()), deadline)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            LOG.info("Pipeline [{}] - Interrupt received while reading from buffer", pipelineName);
+            throw new RuntimeException(ex);
+        }
+        final CheckpointState checkpointState = new CheckpointState(records.size());
+        return new AbstractMap.SimpleEntry<>(records, checkpointState);
+    }
+
+    @Override
+    public void doCheckpoint(final CheckpointState checkpointState) {
+        availableCapacity.addAndGet(checkpointState.getNumRecordsToBeChecked());
+        waitStrategy.signalAll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return readSequence.get() == writeSequence.get() && getRecordsInFlight() == 0;
+    }
+
+    @Override
+    public int getCapacity() {
+        return bufferCapacity;
+    }
+
+    private void reserveCapacity(final int size, final int timeoutInMillis) throws TimeoutException {
+        if (tryReserveCapacity(size)) {
+            return;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        try {
+            if (waitStrategy.awaitUntil(() -> tryReserveCapacity(size), deadline)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            LOG.error("Pipeline [{}] - Buffer does not have enough capacity left for the size of records: {}, " +
+                    "interrupted while waiting to write the records", pipelineName, size, ex);
+        }
+        throw new TimeoutException(format("Pipeline [%s] - Buffer does not have enough capacity left for the size of " +
+                "records: %d, timed out waiting for slots.", pipelineName, size));
+    }
+
+    private boolean tryReserveCapacity(final int size) {
+        while (true) {
+            final int capacity = availableCapacity.get();
+            if (capacity < size) {
+                return false;
+            }
+            if (availableCapacity.compareAndSet(capacity, capacity - size)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Stores the record in the slot of a claimed sequence. The reserved capacity guarantees that the slot was claimed
+     * by a reader, which may however still be copying the previous record out of it.
+     */
+    private void store(final long sequence, final T record) {
+        final int index = index(sequence);
+        while (slotSequences.get(index) != sequence) {
+            Thread.yield();
+        }
+        slots.lazySet(index, record);
+    }
+
+    /**
+     * Publishes the stored records from firstSequence (inclusive) to endSequence (exclusive). The last sequence is
+     * published with a volatile write, so the wait strategy sees the waiting readers which did not see the records.
+     */
+    private void publish(final long firstSequence, final long endSequence) {
+        for (long sequence = firstSequence; sequence < endSequence - 1; sequence++) {
+            slotSequences.lazySet(index(sequence), sequence + 1);
+        }
+        slotSequences.set(index(endSequence - 1), endSequence);
+        waitStrategy.signalAll();
+    }
+
+    private boolean isPublished(final long sequence) {
+        return slotSequences.get(index(sequence)) == sequence + 1;
+    }
+
+    /**
+     * Claims the published records from the read sequence, up to maxRecords, and adds them to the provided list.
+     */
+    private void drainTo(final List<T> records, final int maxRecords) {
+        while (maxRecords > 0) {
+            final long firstSequence = readSequence.get();
+            int publishedRecords = 0;
+            while (publishedRecords < maxRecords && isPublished(firstSequence + publishedRecords)) {
+                publishedRecords++;
+            }
+            if (publishedRecords == 0) {
+                return;
+            }
+            final long endSequence = firstSequence + publishedRecords;
+            if (readSequence.compareAndSet(firstSequence, endSequence)) {
+                for (long sequence = firstSequence; sequence < endSequence; sequence++) {
+                    final int index = index(sequence);
+                    records.add(slots.get(index));
+                    slots.lazySet(index, null);
+                    slotSequences.lazySet(index, sequence + slots.length());
+                }
+                return;
+            }
+        }
+    }
+
+    private int index(final long sequence) {
+        return (int) sequence & indexMask;
+    }
+
+    private static int ringSizeFor(final int bufferCapacity) {
+        return bufferCapacity == 1 ? 1 : Integer.highestOneBit(bufferCapacity - 1) << 1;
+    }
+
+    /**
+     * An {@link AtomicLong} padded to a cache line of its own, so the read and write sequences do not invalidate each
+     * other's cache line.
+     */
+    @SuppressWarnings("unused")
+    private static class PaddedAtomicLong extends AtomicLong {
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.ringbuffer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Parks the thread for a short time between checks of the condition.
+ */
+class SleepingWaitStrategy implements WaitStrategy {
+    static final long PARK_TIME_IN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Override
+    public boolean awaitUntil(final BooleanSupplier condition, final long deadlineNanos) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            final long remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(Math.min(PARK_TIME_IN_NANOS, remainingNanos));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void signalAll() {
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.ringbuffer;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Determines how readers and writers of a {@link RingBuffer} wait for records to be published or for capacity to be
+ * released, trading latency against CPU usage.
+ */
+interface WaitStrategy {
+    /**
+     * Waits until the condition holds or the deadline passes. The condition may be evaluated any number of times.
+     *
+     * @param condition     condition to wait for
+     * @param deadlineNanos value of {@link System#nanoTime()} after which to give up
+     * @return true if the condition holds, false if the deadline passed
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    boolean awaitUntil(BooleanSupplier condition, long deadlineNanos) throws InterruptedException;
+
+    /**
+     * Wakes up the threads waiting on this strategy after the state of the ring buffer changed.
+     */
+    void signalAll();
+}
@@ -0,0 +1,58 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.ringbuffer;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public enum WaitStrategyType {
+    /**
+     * Waits on a condition which is signalled when records are published or capacity is released. Uses the least CPU
+     * while the buffer is idle.
+     */
+    BLOCKING(BlockingWaitStrategy::new),
+    /**
+     * Parks the thread for a short time between checks, without any signalling on the write path.
+     */
+    SLEEPING(SleepingWaitStrategy::new),
+    /**
+     * Yields the thread between checks, for lower latency at the cost of CPU while the buffer is idle.
+     */
+    YIELDING(YieldingWaitStrategy::new),
+    /**
+     * Checks continuously, for the lowest latency when a core is available for each reader and writer.
+     */
+    BUSY_SPIN(BusySpinWaitStrategy::new);
+
+    private final Supplier<WaitStrategy> creationFunction;
+
+    WaitStrategyType(final Supplier<WaitStrategy> creationFunction) {
+        this.creationFunction = Objects.requireNonNull(creationFunction);
+    }
+
+    /**
+     * @param optionValue configured value, e.g. busy_spin
+     * @return wait strategy type of the configured value
+     */
+    public static WaitStrategyType fromOptionValue(final String optionValue) {
+        return valueOf(optionValue.toUpperCase());
+    }
+
+    /**
+     * Creates a new {@link WaitStrategy} of this type, each ring buffer uses its own.
+     *
+     * @return the new {@link WaitStrategy}
+     */
+    WaitStrategy create() {
+        return creationFunction.get();
+    }
+}
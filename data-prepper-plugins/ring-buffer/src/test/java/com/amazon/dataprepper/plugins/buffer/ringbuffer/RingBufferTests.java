@@ -0,0 +1,283 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.ringbuffer;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class RingBufferTests {
+    private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
+    private static final String ATTRIBUTE_BUFFER_SIZE = "buffer_size";
+    private static final String ATTRIBUTE_WAIT_STRATEGY = "wait_strategy";
+    private static final String TEST_PIPELINE_NAME = "test-pipeline";
+    private static final int TEST_BATCH_SIZE = 3;
+    private static final int TEST_BUFFER_SIZE = 13;
+    private static final int TEST_WRITE_TIMEOUT = 1_00;
+    private static final int TEST_BATCH_READ_TIMEOUT = 5_000;
+
+    @Test
+    public void testCreationUsingPluginSetting() {
+        final PluginSetting completePluginSetting = completePluginSettingForRingBuffer();
+        final RingBuffer<Record<String>> ringBuffer = new RingBuffer<>(completePluginSetting);
+        assertThat(ringBuffer, notNullValue());
+        assertThat(ringBuffer.getCapacity(), is(equalTo(TEST_BUFFER_SIZE)));
+    }
+
+    @Test
+    public void testCreationUsingNullPluginSetting() {
+        final NullPointerException ex = assertThrows(NullPointerException.class,
+                () -> new RingBuffer<Record<String>>((PluginSetting) null));
+        assertThat(ex.getMessage(), is(equalTo("PluginSetting cannot be null")));
+    }
+
+    @Test
+    public void testCreationUsingInvalidWaitStrategy() {
+        final PluginSetting pluginSetting = completePluginSettingForRingBuffer();
+        pluginSetting.getSettings().put(ATTRIBUTE_WAIT_STRATEGY, "unknown");
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<Record<String>>(pluginSetting));
+    }
+
+    @Test
+    public void testCreationUsingInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RingBuffer<Record<String>>(0, TEST_BATCH_SIZE, WaitStrategyType.BLOCKING, TEST_PIPELINE_NAME));
+    }
+
+    @Test
+    public void testInsertNull() {
+        final RingBuffer<Record<String>> ringBuffer = newRingBuffer(TEST_BUFFER_SIZE, WaitStrategyType.BLOCKING);
+        assertThrows(NullPointerException.class, () -> ringBuffer.write(null, TEST_WRITE_TIMEOUT));
+        assertThrows(NullPointerException.class,
+                () -> ringBuffer.writeAll(Arrays.asList(new Record<>("RECORD"), null), TEST_WRITE_TIMEOUT));
+        assertTrue(ringBuffer.isEmpty());
+    }
+
+    @Test
+    public void testWriteAllSizeOverflow() {
+        final RingBuffer<Record<String>> ringBuffer = newRingBuffer(TEST_BUFFER_SIZE, WaitStrategyType.BLOCKING);
+        final Collection<Record<String>> testRecords = generateBatchRecords(TEST_BUFFER_SIZE + 1);
+        assertThrows(SizeOverflowException.class, () -> ringBuffer.writeAll(testRecords, TEST_WRITE_TIMEOUT));
+    }
+
+    @Test
+    public void testWriteAllEmpty() throws Exception {
+        final RingBuffer<Record<String>> ringBuffer = newRingBuffer(TEST_BUFFER_SIZE, WaitStrategyType.BLOCKING);
+        ringBuffer.writeAll(Collections.emptyList(), TEST_WRITE_TIMEOUT);
+        assertTrue(ringBuffer.isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategyType.class)
+    public void testNoEmptySpaceWriteOnly(final WaitStrategyType waitStrategyType) throws TimeoutException {
+        final RingBuffer<Record<String>> ringBuffer = newRingBuffer(1, waitStrategyType);
+        ringBuffer.write(new Record<>("FILL_THE_BUFFER"), TEST_WRITE_TIMEOUT);
+        assertThrows(TimeoutException.class, () -> ringBuffer.write(new Record<>("TIMEOUT"), TEST_WRITE_TIMEOUT));
+    }
+
+    @Test
+    public void testNoAvailSpaceWriteAllOnly() throws Exception {
+        final RingBuffer<Record<String>> ringBuffer = newRingBuffer(2, WaitStrategyType.BLOCKING);
+        final Collection<Record<String>> testRecords = generateBatchRecords(2);
+        ringBuffer.write(new Record<>("FILL_THE_BUFFER"), TEST_WRITE_TIMEOUT);
+        assertThrows(TimeoutException.class, () -> ringBuffer.writeAll(testRecords, TEST_WRITE_TIMEOUT));
+    }
+
+    @Test
+    public void testNoEmptySpaceAfterUncheckedRead() throws TimeoutException {
+        // Given
+        final RingBuffer<Record<String>> ringBuffer = newRingBuffer(1, WaitStrategyType.BLOCKING);
+        ringBuffer.write(new Record<>("FILL_THE_BUFFER"), TEST_WRITE_TIMEOUT);
+
+        // When
+        ringBuffer.read(TEST_BATCH_READ_TIMEOUT);
+
+        // Then
+        final Record<String> timeoutRecord = new Record<>("TIMEOUT");
+        assertThrows(TimeoutException.class, () -> ringBuffer.write(timeoutRecord, TEST_WRITE_TIMEOUT));
+        assertThrows(
+                TimeoutException.class, () -> ringBuffer.writeAll(Collections.singletonList(timeoutRecord), TEST_WRITE_TIMEOUT));
+        assertFalse(ringBuffer.isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategyType.class)
+    public void testWriteIntoEmptySpaceAfterCheckedRead(final WaitStrategyType waitStrategyType) throws Exception {
+        // Given
+        final RingBuffer<Record<String>> ringBuffer = newRingBuffer(2, waitStrategyType);
+        final Collection<Record<String>> testRecords = generateBatchRecords(2);
+        ringBuffer.writeAll(testRecords, TEST_WRITE_TIMEOUT);
+
+        // When
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = ringBuffer.read(TEST_BATCH_READ_TIMEOUT);
+        ringBuffer.checkpoint(readResult.getValue());
+
+        // Then
+        assertTrue(ringBuffer.isEmpty());
+        ringBuffer.writeAll(testRecords, TEST_WRITE_TIMEOUT);
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readCheckResult = ringBuffer.read(TEST_BATCH_READ_TIMEOUT);
+        assertEquals(2, readCheckResult.getKey().size());
+    }
+
+    @Test
+    public void testReadEmptyBuffer() {
+        final RingBuffer<Record<String>> ringBuffer = newRingBuffer(TEST_BUFFER_SIZE, WaitStrategyType.BLOCKING);
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = ringBuffer.read(TEST_WRITE_TIMEOUT);
+        assertThat(readResult.getKey().size(), is(0));
+        assertThat(readResult.getValue().getNumRecordsToBeChecked(), is(0));
+    }
+
+    @Test
+    public void testBatchRead() throws Exception {
+        final RingBuffer<Record<String>> ringBuffer = new RingBuffer<>(completePluginSettingForRingBuffer());
+        final int testSize = 5;
+        for (int i = 0; i < testSize; i++) {
+            ringBuffer.write(new Record<>("TEST" + i), TEST_WRITE_TIMEOUT);
+        }
+        final Map.Entry<Collection<Record<String>>, CheckpointState> partialReadResult = ringBuffer.read(TEST_BATCH_READ_TIMEOUT);
+        final Collection<Record<String>> partialRecords = partialReadResult.getKey();
+        assertThat(partialRecords.size(), is(TEST_BATCH_SIZE));
+        assertEquals(TEST_BATCH_SIZE, partialReadResult.getValue().getNumRecordsToBeChecked());
+        int i = 0;
+        for (Record<String> record : partialRecords) {
+            assertThat(record.getData(), equalTo("TEST" + i));
+            i++;
+        }
+        final Map.Entry<Collection<Record<String>>, CheckpointState> finalReadResult = ringBuffer.read(TEST_WRITE_TIMEOUT);
+        final Collection<Record<String>> finalBatch = finalReadResult.getKey();
+        assertThat(finalBatch.size(), is(testSize - TEST_BATCH_SIZE));
+        for (Record<String> record : finalBatch) {
+            assertThat(record.getData(), equalTo("TEST" + i));
+            i++;
+        }
+    }
+
+    @Test
+    public void testBatchReadWithMaxBatchSize() throws Exception {
+        final RingBuffer<Record<String>> ringBuffer = newRingBuffer(TEST_BUFFER_SIZE, WaitStrategyType.BLOCKING);
+        ringBuffer.writeAll(generateBatchRecords(10), TEST_WRITE_TIMEOUT);
+
+        assertThat(ringBuffer.read(TEST_BATCH_READ_TIMEOUT, TEST_BATCH_SIZE * 2).getKey().size(), is(TEST_BATCH_SIZE * 2));
+        assertThat(ringBuffer.read(TEST_BATCH_READ_TIMEOUT, 1).getKey().size(), is(1));
+    }
+
+    @Test
+    public void testReadWaitsForPublishedRecords() throws Exception {
+        final RingBuffer<Record<String>> ringBuffer = newRingBuffer(TEST_BUFFER_SIZE, WaitStrategyType.BLOCKING);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Map.Entry<Collection<Record<String>>, CheckpointState>> readResult =
+                    executorService.submit(() -> ringBuffer.read(TEST_BATCH_READ_TIMEOUT));
+            ringBuffer.writeAll(generateBatchRecords(TEST_BATCH_SIZE), TEST_WRITE_TIMEOUT);
+
+            assertThat(readResult.get(TEST_BATCH_READ_TIMEOUT, TimeUnit.MILLISECONDS).getKey().size(), is(TEST_BATCH_SIZE));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategyType.class)
+    public void testConcurrentWritersAndReaders(final WaitStrategyType waitStrategyType) throws Exception {
+        final RingBuffer<Record<String>> ringBuffer = newRingBuffer(TEST_BUFFER_SIZE, waitStrategyType);
+        final int numWriters = 3;
+        final int numReaders = 2;
+        final int recordsPerWriter = 3_000;
+        final Set<String> readRecords = ConcurrentHashMap.newKeySet();
+        final AtomicInteger numReadRecords = new AtomicInteger();
+        final ExecutorService executorService = Executors.newFixedThreadPool(numWriters + numReaders);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < numWriters; writer++) {
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < recordsPerWriter; i += TEST_BATCH_SIZE) {
+                        ringBuffer.writeAll(generateBatchRecords(TEST_BATCH_SIZE), TEST_BATCH_READ_TIMEOUT);
+                    }
+                    return null;
+                }));
+            }
+            for (int reader = 0; reader < numReaders; reader++) {
+                futures.add(executorService.submit(() -> {
+                    while (numReadRecords.get() < numWriters * recordsPerWriter) {
+                        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = ringBuffer.read(10);
+                        readResult.getKey().forEach(record -> readRecords.add(record.getData()));
+                        numReadRecords.addAndGet(readResult.getKey().size());
+                        ringBuffer.checkpoint(readResult.getValue());
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(numReadRecords.get(), is(numWriters * recordsPerWriter));
+        assertThat(readRecords.size(), is(numWriters * recordsPerWriter));
+        assertTrue(ringBuffer.isEmpty());
+    }
+
+    private RingBuffer<Record<String>> newRingBuffer(final int bufferSize, final WaitStrategyType waitStrategyType) {
+        return new RingBuffer<>(bufferSize, TEST_BATCH_SIZE, waitStrategyType, TEST_PIPELINE_NAME);
+    }
+
+    private PluginSetting completePluginSettingForRingBuffer() {
+        final String pluginName = "ring_buffer";
+        final Map<String, Object> settings = new HashMap<>();
+        settings.put(ATTRIBUTE_BUFFER_SIZE, TEST_BUFFER_SIZE);
+        settings.put(ATTRIBUTE_BATCH_SIZE, TEST_BATCH_SIZE);
+        settings.put(ATTRIBUTE_WAIT_STRATEGY, "sleeping");
+        final PluginSetting testSettings = new PluginSetting(pluginName, settings);
+        testSettings.setPipelineName(TEST_PIPELINE_NAME);
+        return testSettings;
+    }
+
+    private Collection<Record<String>> generateBatchRecords(final int numRecords) {
+        final Collection<Record<String>> results = new ArrayList<>();
+        for (int i = 0; i < numRecords; i++) {
+            results.add(new Record<>(UUID.randomUUID().toString()));
+        }
+        return results;
+    }
+}
@@ -13,9 +13,12 @@ package com.amazon.dataprepper.plugins.prepper;
 
 import com.amazon.dataprepper.model.annotations.DataPrepperPlugin;
 import com.amazon.dataprepper.model.annotations.SingleThread;
+import com.amazon.dataprepper.model.buffer.RecordPartitioner;
 import com.amazon.dataprepper.model.configuration.PluginSetting;
 import com.amazon.dataprepper.model.prepper.AbstractPrepper;
+import com.amazon.dataprepper.model.prepper.PartitionedPrepper;
 import com.amazon.dataprepper.model.prepper.Prepper;
+import com.amazon.dataprepper.model.prepper.StatefulPrepper;
 import com.amazon.dataprepper.model.record.Record;
 import com.amazon.dataprepper.plugins.prepper.state.MapDbPrepperState;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,22 +28,35 @@ import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.time.Clock;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.BrokenBarrierException;
-import java.util.concurrent.CyclicBarrier;
-import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Finds the service map relationships of the traces of a shard. Each instance is confined to a single worker, and the
+ * pipeline routes all the spans of a trace to the same worker with the {@link TraceIdPartitioner}, so every instance
+ * keeps its own windows and rotates them without coordinating with the other workers. The relationships which were
+ * already emitted are shared by the instances of a pipeline through the shared objects of their
+ * {@link PluginSetting}, so a relationship found by several workers is emitted only once. The windows and the
+ * relationships are kept across a restart if the pipeline writes snapshots, the relationships only in the snapshot of
+ * the instance which created them.
+ */
 @SingleThread
 @DataPrepperPlugin(name = "service_map_stateful", pluginType = Prepper.class)
-public class ServiceMapStatefulPrepper extends AbstractPrepper<Record<ExportTraceServiceRequest>, Record<String>> {
+public class ServiceMapStatefulPrepper extends AbstractPrepper<Record<ExportTraceServiceRequest>, Record<String>>
+        implements PartitionedPrepper<Record<ExportTraceServiceRequest>, Record<String>>,
+        StatefulPrepper<Record<ExportTraceServiceRequest>, Record<String>> {
 
     public static final String SPANS_DB_SIZE = "spansDbSize";
     public static final String TRACE_GROUP_DB_SIZE = "traceGroupDbSize";
@@ -50,59 +66,69 @@ public class ServiceMapStatefulPrepper extends AbstractPrepper<Record<ExportTrac
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private static final Collection<Record<String>> EMPTY_COLLECTION = Collections.emptySet();
     private static final Integer TO_MILLIS = 1_000;
+    private static final TraceIdPartitioner TRACE_ID_PARTITIONER = new TraceIdPartitioner();
+    private static final String RELATIONSHIP_STATE_KEY = "serviceMapRelationships";
 
-    // TODO: This should not be tracked in this class, move it up to the creator
-    private static final AtomicInteger preppersCreated = new AtomicInteger(0);
-    private static long previousTimestamp;
-    private static long windowDurationMillis;
-    private static CyclicBarrier allThreadsCyclicBarrier;
-
-    private static volatile MapDbPrepperState<ServiceMapStateData> previousWindow;
-    private static volatile MapDbPrepperState<ServiceMapStateData> currentWindow;
-    private static volatile MapDbPrepperState<String> previousTraceGroupWindow;
-    private static volatile MapDbPrepperState<String> currentTraceGroupWindow;
+    private final long windowDurationMillis;
+    private final File dbPath;
+    private final Clock clock;
     //TODO: Consider keeping this state in a db
-    private static final Set<ServiceMapRelationship> RELATIONSHIP_STATE = Sets.newConcurrentHashSet();
-    private static File dbPath;
-    private static Clock clock;
+    private final Set<ServiceMapRelationship> relationshipState;
+    /**
+     * Whether this instance created the relationships shared by the instances of the pipeline, and thus writes them
+     * to its snapshot.
+     */
+    private final boolean ownsRelationshipState;
 
-    private final int thisPrepperId;
+    private volatile long previousTimestamp;
+    private volatile MapDbPrepperState<ServiceMapStateData> previousWindow;
+    private volatile MapDbPrepperState<ServiceMapStateData> currentWindow;
+    private volatile MapDbPrepperState<String> previousTraceGroupWindow;
+    private volatile MapDbPrepperState<String> currentTraceGroupWindow;
 
     public ServiceMapStatefulPrepper(final PluginSetting pluginSetting) {
         this(pluginSetting.getIntegerOrDefault(ServiceMapPrepperConfig.WINDOW_DURATION, ServiceMapPrepperConfig.DEFAULT_WINDOW_DURATION) * TO_MILLIS,
                 new File(ServiceMapPrepperConfig.DEFAULT_DB_PATH),
                 Clock.systemUTC(),
-                pluginSetting.getNumberOfProcessWorkers(),
                 pluginSetting);
     }
 
+    @SuppressWarnings("unchecked")
     public ServiceMapStatefulPrepper(final long windowDurationMillis,
                                      final File databasePath,
                                      final Clock clock,
-                                     final int processWorkers,
                                      final PluginSetting pluginSetting) {
         super(pluginSetting);
 
-        ServiceMapStatefulPrepper.clock = clock;
-        this.thisPrepperId = preppersCreated.getAndIncrement();
+        final Set<ServiceMapRelationship> newRelationshipState = Sets.newConcurrentHashSet();
+        final Object sharedRelationshipState = pluginSetting.getSharedObjects()
+                .putIfAbsent(RELATIONSHIP_STATE_KEY, newRelationshipState);
+        this.ownsRelationshipState = sharedRelationshipState == null;
+        this.relationshipState = ownsRelationshipState ? newRelationshipState :
+                (Set<ServiceMapRelationship>) sharedRelationshipState;
 
-        if (isMasterInstance()) {
-            previousTimestamp = ServiceMapStatefulPrepper.clock.millis();
-            ServiceMapStatefulPrepper.windowDurationMillis = windowDurationMillis;
-            ServiceMapStatefulPrepper.dbPath = createPath(databasePath);
-
-            currentWindow = new MapDbPrepperState<>(dbPath, getNewDbName(), processWorkers);
-            previousWindow = new MapDbPrepperState<>(dbPath, getNewDbName() + EMPTY_SUFFIX, processWorkers);
-            currentTraceGroupWindow = new MapDbPrepperState<>(dbPath, getNewTraceDbName(), processWorkers);
-            previousTraceGroupWindow = new MapDbPrepperState<>(dbPath, getNewTraceDbName() + EMPTY_SUFFIX, processWorkers);
+        this.clock = clock;
+        this.windowDurationMillis = windowDurationMillis;
+        this.dbPath = createPath(databasePath);
+        previousTimestamp = clock.millis();
 
-            allThreadsCyclicBarrier = new CyclicBarrier(processWorkers);
-        }
+        currentWindow = new MapDbPrepperState<>(dbPath, getNewDbName(), 1);
+        previousWindow = new MapDbPrepperState<>(dbPath, getNewDbName() + EMPTY_SUFFIX, 1);
+        currentTraceGroupWindow = new MapDbPrepperState<>(dbPath, getNewTraceDbName(), 1);
+        previousTraceGroupWindow = new MapDbPrepperState<>(dbPath, getNewTraceDbName() + EMPTY_SUFFIX, 1);
 
         pluginMetrics.gauge(SPANS_DB_SIZE, this, serviceMapStateful -> serviceMapStateful.getSpansDbSize());
         pluginMetrics.gauge(TRACE_GROUP_DB_SIZE, this, serviceMapStateful -> serviceMapStateful.getTraceGroupDbSize());
     }
 
+    /**
+     * @return partitioner which routes all the spans of a trace to the same worker
+     */
+    @Override
+    public RecordPartitioner<Record<ExportTraceServiceRequest>> getRecordPartitioner() {
+        return TRACE_ID_PARTITIONER;
+    }
+
     /**
      * This function creates the directory if it doesn't exists and returns the File.
      *
@@ -177,34 +203,22 @@ public class ServiceMapStatefulPrepper extends AbstractPrepper<Record<ExportTrac
      */
     private Collection<Record<String>> evaluateEdges() {
         LOG.info("Evaluating service map edges");
-        try {
-            final Collection<Record<String>> serviceDependencyRecords = new HashSet<>();
-
-            serviceDependencyRecords.addAll(iteratePrepperState(previousWindow));
-            serviceDependencyRecords.addAll(iteratePrepperState(currentWindow));
-            LOG.info("Done evaluating service map edges");
-
-            // Wait for all workers before rotating windows
-            allThreadsCyclicBarrier.await();
+        final Collection<Record<String>> serviceDependencyRecords = new HashSet<>();
 
-            if (isMasterInstance()) {
-                rotateWindows();
-            }
+        serviceDependencyRecords.addAll(iteratePrepperState(previousWindow));
+        serviceDependencyRecords.addAll(iteratePrepperState(currentWindow));
+        LOG.info("Done evaluating service map edges");
 
-            // Wait for all workers before exiting this method
-            allThreadsCyclicBarrier.await();
+        rotateWindows();
 
-            return serviceDependencyRecords;
-        } catch (InterruptedException | BrokenBarrierException e) {
-            throw new RuntimeException(e);
-        }
+        return serviceDependencyRecords;
     }
 
     private Collection<Record<String>> iteratePrepperState(final MapDbPrepperState<ServiceMapStateData> prepperState) {
         final Collection<Record<String>> serviceDependencyRecords = new HashSet<>();
 
         if (prepperState.getAll() != null && !prepperState.getAll().isEmpty()) {
-            prepperState.getIterator(preppersCreated.get(), thisPrepperId).forEachRemaining(entry -> {
+            prepperState.getAll().entrySet().forEach(entry -> {
                 final ServiceMapStateData child = entry.getValue();
 
                 if (child.parentSpanId == null) {
@@ -229,20 +243,18 @@ public class ServiceMapStatefulPrepper extends AbstractPrepper<Record<ExportTrac
                         child.spanKind, child.serviceName, child.name, traceGroupName);
 
 
-                // check if relationshipState has it
-                if (!RELATIONSHIP_STATE.contains(destinationRelationship)) {
+                // only the worker which adds a relationship to the shared relationshipState emits it
+                if (relationshipState.add(destinationRelationship)) {
                     try {
                         serviceDependencyRecords.add(new Record<>(OBJECT_MAPPER.writeValueAsString(destinationRelationship)));
-                        RELATIONSHIP_STATE.add(destinationRelationship);
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
                 }
 
-                if (!RELATIONSHIP_STATE.contains(targetRelationship)) {
+                if (relationshipState.add(targetRelationship)) {
                     try {
                         serviceDependencyRecords.add(new Record<>(OBJECT_MAPPER.writeValueAsString(targetRelationship)));
-                        RELATIONSHIP_STATE.add(targetRelationship);
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
@@ -280,6 +292,47 @@ public class ServiceMapStatefulPrepper extends AbstractPrepper<Record<ExportTrac
         return currentWindow.size() == 0;
     }
 
+    /**
+     * Writes the time elapsed in the current window, the relationships which were already emitted and the entries of
+     * the windows. Only the instance which owns the shared relationships writes them, the other instances of the
+     * pipeline write none.
+     */
+    @Override
+    public void snapshotState(final DataOutputStream outputStream) throws IOException {
+        outputStream.writeLong(clock.millis() - previousTimestamp);
+        final List<ServiceMapRelationship> relationships = ownsRelationshipState ?
+                new ArrayList<>(relationshipState) : Collections.emptyList();
+        outputStream.writeInt(relationships.size());
+        for (final ServiceMapRelationship relationship : relationships) {
+            outputStream.writeUTF(OBJECT_MAPPER.writeValueAsString(relationship));
+        }
+        writeWindow(outputStream, previousWindow);
+        writeWindow(outputStream, currentWindow);
+        writeTraceGroupWindow(outputStream, previousTraceGroupWindow);
+        writeTraceGroupWindow(outputStream, currentTraceGroupWindow);
+        LOG.info("Wrote {} relationships and {} spans to the snapshot", relationships.size(),
+                previousWindow.size() + currentWindow.size());
+    }
+
+    /**
+     * Restores the windows and the relationships which were already emitted, the current window resumes with the time
+     * which had elapsed in it before the snapshot.
+     */
+    @Override
+    public void restoreState(final DataInputStream inputStream) throws IOException {
+        previousTimestamp = clock.millis() - inputStream.readLong();
+        final int numRelationships = inputStream.readInt();
+        for (int i = 0; i < numRelationships; i++) {
+            relationshipState.add(OBJECT_MAPPER.readValue(inputStream.readUTF(), ServiceMapRelationship.class));
+        }
+        readWindow(inputStream, previousWindow);
+        readWindow(inputStream, currentWindow);
+        readTraceGroupWindow(inputStream, previousTraceGroupWindow);
+        readTraceGroupWindow(inputStream, currentTraceGroupWindow);
+        LOG.info("Restored {} relationships and {} spans from the snapshot", numRelationships,
+                previousWindow.size() + currentWindow.size());
+    }
+
     @Override
     public void shutdown() {
         previousWindow.delete();
@@ -288,16 +341,10 @@ public class ServiceMapStatefulPrepper extends AbstractPrepper<Record<ExportTrac
         currentTraceGroupWindow.delete();
     }
 
-    // TODO: Temp code, complex instance creation logic should be moved to a separate class
-    static void resetStaticCounters() {
-        preppersCreated.set(0);
-    }
-
-
     /**
      * Rotate windows for prepper state
      */
-    private void rotateWindows() throws InterruptedException {
+    private void rotateWindows() {
         LOG.info("Rotating service map windows at " + clock.instant().toString());
 
         MapDbPrepperState tempWindow = previousWindow;
@@ -353,13 +400,69 @@ public class ServiceMapStatefulPrepper extends AbstractPrepper<Record<ExportTrac
         return false;
     }
 
-    /**
-     * Master instance is needed to do things like window rotation that should only be done once
-     *
-     * @return Boolean indicating whether this object is the master ServiceMapStatefulPrepper instance
-     */
-    private boolean isMasterInstance() {
-        return thisPrepperId == 0;
+    private static void writeWindow(final DataOutputStream outputStream,
+                                    final MapDbPrepperState<ServiceMapStateData> window) throws IOException {
+        final Map<byte[], ServiceMapStateData> entries = window.getAll();
+        outputStream.writeInt(entries.size());
+        for (final Map.Entry<byte[], ServiceMapStateData> entry : entries.entrySet()) {
+            final ServiceMapStateData stateData = entry.getValue();
+            writeBytes(outputStream, entry.getKey());
+            outputStream.writeUTF(stateData.serviceName);
+            writeBytes(outputStream, stateData.parentSpanId);
+            writeBytes(outputStream, stateData.traceId);
+            outputStream.writeUTF(stateData.spanKind);
+            outputStream.writeUTF(stateData.name);
+        }
+    }
+
+    private static void readWindow(final DataInputStream inputStream,
+                                   final MapDbPrepperState<ServiceMapStateData> window) throws IOException {
+        final int numEntries = inputStream.readInt();
+        final Map<byte[], ServiceMapStateData> entries = new TreeMap<>(SignedBytes.lexicographicalComparator());
+        for (int i = 0; i < numEntries; i++) {
+            entries.put(readBytes(inputStream), new ServiceMapStateData(inputStream.readUTF(), readBytes(inputStream),
+                    readBytes(inputStream), inputStream.readUTF(), inputStream.readUTF()));
+        }
+        window.putAll(entries);
+    }
+
+    private static void writeTraceGroupWindow(final DataOutputStream outputStream,
+                                              final MapDbPrepperState<String> window) throws IOException {
+        final Map<byte[], String> entries = window.getAll();
+        outputStream.writeInt(entries.size());
+        for (final Map.Entry<byte[], String> entry : entries.entrySet()) {
+            writeBytes(outputStream, entry.getKey());
+            outputStream.writeUTF(entry.getValue());
+        }
+    }
+
+    private static void readTraceGroupWindow(final DataInputStream inputStream,
+                                             final MapDbPrepperState<String> window) throws IOException {
+        final int numEntries = inputStream.readInt();
+        final Map<byte[], String> entries = new TreeMap<>(SignedBytes.lexicographicalComparator());
+        for (int i = 0; i < numEntries; i++) {
+            entries.put(readBytes(inputStream), inputStream.readUTF());
+        }
+        window.putAll(entries);
+    }
+
+    private static void writeBytes(final DataOutputStream outputStream, final byte[] bytes) throws IOException {
+        if (bytes == null) {
+            outputStream.writeInt(-1);
+            return;
+        }
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream inputStream) throws IOException {
+        final int length = inputStream.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        inputStream.readFully(bytes);
+        return bytes;
     }
 
     private static class ServiceMapStateData implements Serializable {
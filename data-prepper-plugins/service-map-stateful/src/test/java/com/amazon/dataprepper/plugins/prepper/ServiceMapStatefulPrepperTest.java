@@ -25,7 +25,12 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.Arrays;
@@ -56,13 +61,9 @@ public class ServiceMapStatefulPrepperTest {
     private static final String PASSWORD_DATABASE = "PASS";
     private static final String PAYMENT_SERVICE = "PAY";
     private static final String CART_SERVICE = "CART";
-    private static final PluginSetting PLUGIN_SETTING = new PluginSetting("testServiceMapPrepper", Collections.emptyMap()) {{
-        setPipelineName("testPipelineName");
-    }};
 
     @Before
     public void setup() {
-        ServiceMapStatefulPrepper.resetStaticCounters();
         MetricsTestUtil.initMetrics();
     }
 
@@ -103,8 +104,9 @@ public class ServiceMapStatefulPrepperTest {
         Mockito.when(clock.instant()).thenReturn(Instant.now());
         ExecutorService threadpool = Executors.newCachedThreadPool();
         final File path = new File(ServiceMapPrepperConfig.DEFAULT_DB_PATH);
-        final ServiceMapStatefulPrepper serviceMapStateful1 = new ServiceMapStatefulPrepper(100, path, clock, 2, PLUGIN_SETTING);
-        final ServiceMapStatefulPrepper serviceMapStateful2 = new ServiceMapStatefulPrepper(100, path, clock, 2, PLUGIN_SETTING);
+        final PluginSetting pluginSetting = newPluginSetting();
+        final ServiceMapStatefulPrepper serviceMapStateful1 = new ServiceMapStatefulPrepper(100, path, clock, pluginSetting);
+        final ServiceMapStatefulPrepper serviceMapStateful2 = new ServiceMapStatefulPrepper(100, path, clock, pluginSetting);
 
         final byte[] rootSpanId1 = ServiceMapTestUtils.getRandomBytes(8);
         final byte[] rootSpanId2 = ServiceMapTestUtils.getRandomBytes(8);
@@ -140,12 +142,13 @@ public class ServiceMapStatefulPrepperTest {
 
         final Set<ServiceMapRelationship> relationshipsFound = new HashSet<>();
 
+        //Each prepper receives the spans of its own trace, as routed by the trace id partitioner
         //First batch
         Mockito.when(clock.millis()).thenReturn(110L);
         Future<Set<ServiceMapRelationship>> r1 = ServiceMapTestUtils.startExecuteAsync(threadpool, serviceMapStateful1,
-                Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(frontendSpans1, checkoutSpansServer))));
+                Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(frontendSpans1))));
         Future<Set<ServiceMapRelationship>> r2 = ServiceMapTestUtils.startExecuteAsync(threadpool, serviceMapStateful2,
-                Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(frontendSpans2, checkoutSpansClient))));
+                Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(frontendSpans2, checkoutSpansServer, checkoutSpansClient))));
         relationshipsFound.addAll(r1.get());
         relationshipsFound.addAll(r2.get());
 
@@ -156,9 +159,9 @@ public class ServiceMapStatefulPrepperTest {
         Mockito.when(clock.millis()).thenReturn(220L);
         Future<Set<ServiceMapRelationship>> r3 = ServiceMapTestUtils.startExecuteAsync(threadpool, serviceMapStateful1,
                 Arrays.asList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(authenticationSpansServer, authenticationSpansClient)),
-                        new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(cartSpans))));
+                        new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(passwordDbSpans))));
         Future<Set<ServiceMapRelationship>> r4 = ServiceMapTestUtils.startExecuteAsync(threadpool, serviceMapStateful2,
-                Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(passwordDbSpans, paymentSpans))));
+                Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(cartSpans, paymentSpans))));
         relationshipsFound.addAll(r3.get());
         relationshipsFound.addAll(r4.get());
 
@@ -220,9 +223,9 @@ public class ServiceMapStatefulPrepperTest {
 
         when(clock.millis()).thenReturn(450L);
         Future<Set<ServiceMapRelationship>> r7 = ServiceMapTestUtils.startExecuteAsync(threadpool, serviceMapStateful1,
-                Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(frontendSpans3))));
+                Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(frontendSpans3, authenticationSpansServer2))));
         Future<Set<ServiceMapRelationship>> r8 = ServiceMapTestUtils.startExecuteAsync(threadpool, serviceMapStateful2,
-                Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(authenticationSpansServer2))));
+                Collections.emptyList());
         assertTrue(r7.get().isEmpty());
         assertTrue(r8.get().isEmpty());
 
@@ -234,10 +237,130 @@ public class ServiceMapStatefulPrepperTest {
         serviceMapStateful1.shutdown();
     }
 
+    @Test
+    public void testRelationshipFoundByTwoWorkersIsEmittedOnce() {
+        final Clock clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.millis()).thenReturn(1L);
+        Mockito.when(clock.instant()).thenReturn(Instant.now());
+        final File path = new File(ServiceMapPrepperConfig.DEFAULT_DB_PATH);
+        final PluginSetting pluginSetting = newPluginSetting();
+        final ServiceMapStatefulPrepper serviceMapStateful1 = new ServiceMapStatefulPrepper(100, path, clock, pluginSetting);
+        final ServiceMapStatefulPrepper serviceMapStateful2 = new ServiceMapStatefulPrepper(100, path, clock, pluginSetting);
+
+        final String traceGroup = "reset_password";
+        final byte[] traceId1 = ServiceMapTestUtils.getRandomBytes(16);
+        final ResourceSpans frontendSpans1 = ServiceMapTestUtils.getResourceSpans(FRONTEND_SERVICE, traceGroup, ServiceMapTestUtils.getRandomBytes(8), null, traceId1, Span.SpanKind.SPAN_KIND_CLIENT);
+        final ResourceSpans authenticationSpans1 = ServiceMapTestUtils.getResourceSpans(AUTHENTICATION_SERVICE, "reset", ServiceMapTestUtils.getRandomBytes(8), ServiceMapTestUtils.getSpanId(frontendSpans1), traceId1, Span.SpanKind.SPAN_KIND_SERVER);
+        final byte[] traceId2 = ServiceMapTestUtils.getRandomBytes(16);
+        final ResourceSpans frontendSpans2 = ServiceMapTestUtils.getResourceSpans(FRONTEND_SERVICE, traceGroup, ServiceMapTestUtils.getRandomBytes(8), null, traceId2, Span.SpanKind.SPAN_KIND_CLIENT);
+        final ResourceSpans authenticationSpans2 = ServiceMapTestUtils.getResourceSpans(AUTHENTICATION_SERVICE, "reset", ServiceMapTestUtils.getRandomBytes(8), ServiceMapTestUtils.getSpanId(frontendSpans2), traceId2, Span.SpanKind.SPAN_KIND_SERVER);
+
+        Mockito.when(clock.millis()).thenReturn(110L);
+        serviceMapStateful1.execute(Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(frontendSpans1, authenticationSpans1))));
+        serviceMapStateful2.execute(Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(frontendSpans2, authenticationSpans2))));
+
+        Mockito.when(clock.millis()).thenReturn(220L);
+        final int emittedRelationships = serviceMapStateful1.execute(Collections.emptyList()).size() +
+                serviceMapStateful2.execute(Collections.emptyList()).size();
+
+        Assert.assertEquals(2, emittedRelationships);
+        serviceMapStateful1.shutdown();
+        serviceMapStateful2.shutdown();
+    }
+
+    @Test
+    public void testSnapshotAndRestoreState() throws IOException {
+        final Clock clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.millis()).thenReturn(1L);
+        Mockito.when(clock.instant()).thenReturn(Instant.now());
+        final File path = new File(ServiceMapPrepperConfig.DEFAULT_DB_PATH);
+        final ServiceMapStatefulPrepper serviceMapStateful = new ServiceMapStatefulPrepper(100, path, clock, newPluginSetting());
+
+        final String traceGroup = "reset_password";
+        final byte[] traceId1 = ServiceMapTestUtils.getRandomBytes(16);
+        final ResourceSpans frontendSpans1 = ServiceMapTestUtils.getResourceSpans(FRONTEND_SERVICE, traceGroup, ServiceMapTestUtils.getRandomBytes(8), null, traceId1, Span.SpanKind.SPAN_KIND_CLIENT);
+        final ResourceSpans authenticationSpans1 = ServiceMapTestUtils.getResourceSpans(AUTHENTICATION_SERVICE, "reset", ServiceMapTestUtils.getRandomBytes(8), ServiceMapTestUtils.getSpanId(frontendSpans1), traceId1, Span.SpanKind.SPAN_KIND_SERVER);
+
+        Mockito.when(clock.millis()).thenReturn(110L);
+        serviceMapStateful.execute(Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(frontendSpans1, authenticationSpans1))));
+
+        // The windows are restored, so the relationships are found after the restart
+        final DataInputStream snapshot = snapshotStateOf(serviceMapStateful);
+        serviceMapStateful.shutdown();
+        final ServiceMapStatefulPrepper restoredServiceMapStateful = new ServiceMapStatefulPrepper(100, path, clock, newPluginSetting());
+        restoredServiceMapStateful.restoreState(snapshot);
+        assertFalse(restoredServiceMapStateful.isReadyForShutdown());
+
+        Mockito.when(clock.millis()).thenReturn(220L);
+        Assert.assertEquals(2, restoredServiceMapStateful.execute(Collections.emptyList()).size());
+
+        // The relationships which were emitted are restored, so they are not emitted again
+        final DataInputStream secondSnapshot = snapshotStateOf(restoredServiceMapStateful);
+        restoredServiceMapStateful.shutdown();
+        final ServiceMapStatefulPrepper restoredTwiceServiceMapStateful = new ServiceMapStatefulPrepper(100, path, clock, newPluginSetting());
+        restoredTwiceServiceMapStateful.restoreState(secondSnapshot);
+
+        final byte[] traceId2 = ServiceMapTestUtils.getRandomBytes(16);
+        final ResourceSpans frontendSpans2 = ServiceMapTestUtils.getResourceSpans(FRONTEND_SERVICE, traceGroup, ServiceMapTestUtils.getRandomBytes(8), null, traceId2, Span.SpanKind.SPAN_KIND_CLIENT);
+        final ResourceSpans authenticationSpans2 = ServiceMapTestUtils.getResourceSpans(AUTHENTICATION_SERVICE, "reset", ServiceMapTestUtils.getRandomBytes(8), ServiceMapTestUtils.getSpanId(frontendSpans2), traceId2, Span.SpanKind.SPAN_KIND_SERVER);
+        Mockito.when(clock.millis()).thenReturn(330L);
+        int emittedRelationships = restoredTwiceServiceMapStateful.execute(Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(frontendSpans2, authenticationSpans2)))).size();
+        Mockito.when(clock.millis()).thenReturn(440L);
+        emittedRelationships += restoredTwiceServiceMapStateful.execute(Collections.emptyList()).size();
+        Assert.assertEquals(0, emittedRelationships);
+        restoredTwiceServiceMapStateful.shutdown();
+    }
+
+    @Test
+    public void testSharedRelationshipsAreSnapshottedOnce() throws IOException {
+        final Clock clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.millis()).thenReturn(1L);
+        Mockito.when(clock.instant()).thenReturn(Instant.now());
+        final File path = new File(ServiceMapPrepperConfig.DEFAULT_DB_PATH);
+        final PluginSetting pluginSetting = newPluginSetting();
+        final ServiceMapStatefulPrepper serviceMapStateful1 = new ServiceMapStatefulPrepper(100, path, clock, pluginSetting);
+        final ServiceMapStatefulPrepper serviceMapStateful2 = new ServiceMapStatefulPrepper(100, path, clock, pluginSetting);
+
+        final String traceGroup = "reset_password";
+        final byte[] traceId = ServiceMapTestUtils.getRandomBytes(16);
+        final ResourceSpans frontendSpans = ServiceMapTestUtils.getResourceSpans(FRONTEND_SERVICE, traceGroup, ServiceMapTestUtils.getRandomBytes(8), null, traceId, Span.SpanKind.SPAN_KIND_CLIENT);
+        final ResourceSpans authenticationSpans = ServiceMapTestUtils.getResourceSpans(AUTHENTICATION_SERVICE, "reset", ServiceMapTestUtils.getRandomBytes(8), ServiceMapTestUtils.getSpanId(frontendSpans), traceId, Span.SpanKind.SPAN_KIND_SERVER);
+        Mockito.when(clock.millis()).thenReturn(110L);
+        serviceMapStateful2.execute(Collections.singletonList(new Record<>(ServiceMapTestUtils.getExportTraceServiceRequest(frontendSpans, authenticationSpans))));
+        Mockito.when(clock.millis()).thenReturn(220L);
+        Assert.assertEquals(2, serviceMapStateful2.execute(Collections.emptyList()).size());
+
+        // The relationships found by the second worker are written once, with the state of the first worker
+        final DataInputStream snapshot1 = snapshotStateOf(serviceMapStateful1);
+        final DataInputStream snapshot2 = snapshotStateOf(serviceMapStateful2);
+        snapshot1.readLong();
+        snapshot2.readLong();
+        Assert.assertEquals(2, snapshot1.readInt());
+        Assert.assertEquals(0, snapshot2.readInt());
+        serviceMapStateful1.shutdown();
+        serviceMapStateful2.shutdown();
+
+        // A pipeline which is built again does not share the relationships of the previous pipeline
+        final ServiceMapStatefulPrepper rebuiltServiceMapStateful = new ServiceMapStatefulPrepper(100, path, clock, newPluginSetting());
+        final DataInputStream rebuiltSnapshot = snapshotStateOf(rebuiltServiceMapStateful);
+        rebuiltSnapshot.readLong();
+        Assert.assertEquals(0, rebuiltSnapshot.readInt());
+        rebuiltServiceMapStateful.shutdown();
+    }
+
+    @Test
+    public void testGetRecordPartitioner() {
+        final ServiceMapStatefulPrepper serviceMapStateful = new ServiceMapStatefulPrepper(100,
+                new File(ServiceMapPrepperConfig.DEFAULT_DB_PATH), Clock.systemUTC(), newPluginSetting());
+
+        assertTrue(serviceMapStateful.getRecordPartitioner() instanceof TraceIdPartitioner);
+        serviceMapStateful.shutdown();
+    }
+
     @Test
     public void testPrepareForShutdown() throws Exception {
         final File path = new File(ServiceMapPrepperConfig.DEFAULT_DB_PATH);
-        final ServiceMapStatefulPrepper serviceMapStateful = new ServiceMapStatefulPrepper(100, path, Clock.systemUTC(), 1, PLUGIN_SETTING);
+        final ServiceMapStatefulPrepper serviceMapStateful = new ServiceMapStatefulPrepper(100, path, Clock.systemUTC(), newPluginSetting());
 
         final byte[] rootSpanId1 = ServiceMapTestUtils.getRandomBytes(8);
         final byte[] traceId1 = ServiceMapTestUtils.getRandomBytes(16);
@@ -258,6 +381,20 @@ public class ServiceMapStatefulPrepperTest {
         serviceMapStateful.shutdown();
     }
 
+    private static PluginSetting newPluginSetting() {
+        final PluginSetting pluginSetting = new PluginSetting("testServiceMapPrepper", Collections.emptyMap());
+        pluginSetting.setPipelineName("testPipelineName");
+        return pluginSetting;
+    }
+
+    private static DataInputStream snapshotStateOf(final ServiceMapStatefulPrepper prepper) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream outputStream = new DataOutputStream(bytes)) {
+            prepper.snapshotState(outputStream);
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
     private static class ServiceMapSourceDest {
         final String source;
         final String dest;
@@ -0,0 +1,358 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.workstealing;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.annotations.DataPrepperPlugin;
+import com.amazon.dataprepper.model.buffer.AbstractBuffer;
+import com.amazon.dataprepper.model.buffer.Buffer;
+import com.amazon.dataprepper.model.buffer.ReadBatch;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.record.Record;
+import com.google.common.base.Preconditions;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * A WorkStealingBuffer is an implementation of {@link Buffer} which spreads the records over a queue per worker, so
+ * the workers do not contend on the head of a single queue as they do on the take lock of the bounded_blocking buffer.
+ * <p>
+ * Each write is appended to the next partition in round-robin order. A worker reads a {@link ReadBatch} of its own
+ * from the partition of its reader index first and steals from the other partitions once its own is empty. Reads
+ * which do not pass a reader index, e.g. to drain the buffer, start at the next partition in round-robin order.
+ * The capacity of {@link #ATTRIBUTE_BUFFER_CAPACITY} unchecked records is shared by all partitions and released on
+ * {@link #checkpoint(CheckpointState)}, regardless of the partition the records were read from. Records are read in
+ * the order they were written within a partition, but not across partitions.
+ */
+@DataPrepperPlugin(name = "work_stealing_buffer", pluginType = Buffer.class)
+public class WorkStealingBuffer<T extends Record<?>> extends AbstractBuffer<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(WorkStealingBuffer.class);
+    static final String STOLEN_RECORDS = "stolenRecords";
+    private static final int DEFAULT_BUFFER_CAPACITY = 512;
+    private static final int DEFAULT_BATCH_SIZE = 8;
+    private static final String ATTRIBUTE_BUFFER_CAPACITY = "buffer_size";
+    private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
+    private static final String ATTRIBUTE_PARTITIONS = "partitions";
+
+    private final int bufferCapacity;
+    private final int batchSize;
+    private final String pipelineName;
+    private final List<Queue<T>> partitions;
+    private final AtomicInteger nextWritePartition = new AtomicInteger();
+    private final AtomicInteger nextHomePartition = new AtomicInteger();
+    private final AtomicInteger availableCapacity;
+    private final AtomicInteger bufferedRecords = new AtomicInteger();
+    /**
+     * Incremented after each write, so a reader which found the partitions empty waits until the next write instead of
+     * spinning while {@link #bufferedRecords} still counts records which other readers are taking.
+     */
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final Counter stolenRecordsCounter;
+    /**
+     * Readers waiting for records and writers waiting for capacity block on these conditions. The lock is only taken
+     * while threads are waiting, writes and reads which do not wait do not touch it.
+     */
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition recordsWritten = waitLock.newCondition();
+    private final Condition capacityReleased = waitLock.newCondition();
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+
+    /**
+     * Creates a WorkStealingBuffer with the given (fixed) capacity.
+     *
+     * @param bufferCapacity     the capacity of the buffer, shared by all partitions
+     * @param batchSize          the batch size for {@link #read(int)}
+     * @param numberOfPartitions the number of partitions, usually the number of workers of the pipeline
+     * @param pipelineName       the name of the associated Pipeline
+     */
+    public WorkStealingBuffer(final int bufferCapacity, final int batchSize, final int numberOfPartitions,
+                              final String pipelineName) {
+        super("WorkStealingBuffer", pipelineName);
+        Preconditions.checkArgument(bufferCapacity > 0, "bufferCapacity must be greater than 0");
+        Preconditions.checkArgument(numberOfPartitions > 0, "numberOfPartitions must be greater than 0");
+        this.bufferCapacity = bufferCapacity;
+        this.batchSize = batchSize;
+        this.pipelineName = pipelineName;
+        this.partitions = new ArrayList<>(numberOfPartitions);
+        for (int i = 0; i < numberOfPartitions; i++) {
+            partitions.add(new ConcurrentLinkedQueue<>());
+        }
+        this.availableCapacity = new AtomicInteger(bufferCapacity);
+        this.stolenRecordsCounter = pluginMetrics.counter(STOLEN_RECORDS);
+    }
+
+    /**
+     * Mandatory constructor for Data Prepper Component - This constructor is used by Data Prepper runtime engine to construct an
+     * instance of {@link WorkStealingBuffer} using an instance of {@link PluginSetting} which has access to
+     * pluginSetting metadata from pipeline pluginSetting file. Buffer settings like `buffer_size`, `batch_size` and
+     * `partitions` are optional and can be passed via {@link PluginSetting}, if not present default values will
+     * be used to create the buffer. The number of partitions defaults to the number of workers of the pipeline.
+     *
+     * @param pluginSetting instance with metadata information from pipeline pluginSetting file.
+     */
+    public WorkStealingBuffer(final PluginSetting pluginSetting) {
+        this(checkNotNull(pluginSetting, "PluginSetting cannot be null")
+                        .getIntegerOrDefault(ATTRIBUTE_BUFFER_CAPACITY, DEFAULT_BUFFER_CAPACITY),
+                pluginSetting.getIntegerOrDefault(ATTRIBUTE_BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                pluginSetting.getIntegerOrDefault(ATTRIBUTE_PARTITIONS,
+                        Math.max(1, pluginSetting.getNumberOfProcessWorkers())),
+                pluginSetting.getPipelineName());
+    }
+
+    @Override
+    public void doWrite(final T record, final int timeoutInMillis) throws TimeoutException {
+        checkNotNull(record, "Record cannot be null");
+        reserveCapacity(1, timeoutInMillis);
+        nextPartitionToWrite().add(record);
+        recordsAdded(1);
+    }
+
+    @Override
+    public void doWriteAll(final Collection<T> records, final int timeoutInMillis) throws Exception {
+        final int size = records.size();
+        if (size > bufferCapacity) {
+            throw new SizeOverflowException(format("Buffer capacity too small for the size of records: %d", size));
+        }
+        if (size == 0) {
+            return;
+        }
+        for (final T record : records) {
+            checkNotNull(record, "Record cannot be null");
+        }
+        reserveCapacity(size, timeoutInMillis);
+        nextPartitionToWrite().addAll(records);
+        recordsAdded(size);
+    }
+
+    /**
+     * Retrieves and removes the batch of records starting at the next partition in round-robin order. The batch size is
+     * defined/determined by the configuration attribute {@link #ATTRIBUTE_BATCH_SIZE} or the @param timeoutInMillis.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @return A batch of records in the buffer which are still not read.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis) {
+        return doRead(timeoutInMillis, batchSize);
+    }
+
+    /**
+     * Retrieves and removes the batch of up to maxBatchSize records starting at the next partition in round-robin
+     * order, waiting up to timeoutInMillis for the batch to fill up.
+     *
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     * @return A batch of records in the buffer which are still not read.
+     */
+    @Override
+    public Map.Entry<Collection<T>, CheckpointState> doRead(final int timeoutInMillis, final int maxBatchSize) {
+        final List<T> records = new ArrayList<>(Math.min(maxBatchSize, bufferCapacity));
+        readInto(records, maxBatchSize, nextHomePartition.getAndIncrement(), timeoutInMillis);
+        final CheckpointState checkpointState = new CheckpointState(records.size());
+        return new AbstractMap.SimpleEntry<>(records, checkpointState);
+    }
+
+    @Override
+    public void doRead(final ReadBatch<T> batch, final int timeoutInMillis) {
+        doRead(batch, timeoutInMillis, batchSize);
+    }
+
+    /**
+     * Reads up to maxBatchSize records into the batch from the partition of its reader index, or from the other
+     * partitions once it is empty, waiting up to timeoutInMillis for the batch to fill up.
+     *
+     * @param batch           empty batch to which the records and their checkpoint are added
+     * @param timeoutInMillis how long to wait before giving up
+     * @param maxBatchSize    maximum number of records of the batch
+     */
+    @Override
+    public void doRead(final ReadBatch<T> batch, final int timeoutInMillis, final int maxBatchSize) {
+        final int home = batch.getReaderIndex() == ReadBatch.UNKNOWN_READER_INDEX ?
+                nextHomePartition.getAndIncrement() : batch.getReaderIndex();
+        readInto(batch.getRecords(), maxBatchSize, home, timeoutInMillis);
+        batch.setCheckpoint(batch.size(), 0);
+    }
+
+    @Override
+    public void doCheckpoint(final CheckpointState checkpointState) {
+        releaseCapacity(checkpointState.getNumRecordsToBeChecked());
+    }
+
+    @Override
+    public void doCheckpoint(final ReadBatch<T> batch) {
+        releaseCapacity(batch.getNumRecordsToBeChecked());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bufferedRecords.get() == 0 && getRecordsInFlight() == 0;
+    }
+
+    @Override
+    public int getCapacity() {
+        return bufferCapacity;
+    }
+
+    int numberOfPartitions() {
+        return partitions.size();
+    }
+
+    private Queue<T> nextPartitionToWrite() {
+        return partitions.get(Math.floorMod(nextWritePartition.getAndIncrement(), partitions.size()));
+    }
+
+    private void recordsAdded(final int size) {
+        bufferedRecords.addAndGet(size);
+        writeSequence.incrementAndGet();
+        signalAll(recordsWritten);
+    }
+
+    private void releaseCapacity(final int size) {
+        availableCapacity.addAndGet(size);
+        signalAll(capacityReleased);
+    }
+
+    /**
+     * Drains the partitions into the records until the batch is full, waiting for writes until the deadline. A reader
+     * which found no records to fill its batch with only checks the partitions again once another write completed.
+     */
+    private void readInto(final List<T> records, final int maxBatchSize, final int homePartition,
+                          final int timeoutInMillis) {
+        final int home = Math.floorMod(homePartition, partitions.size());
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        try {
+            while (true) {
+                final long observedWriteSequence = writeSequence.get();
+                drainTo(records, maxBatchSize, home);
+                if (records.size() >= maxBatchSize ||
+                        !awaitUntil(recordsWritten, () -> writeSequence.get() != observedWriteSequence, deadline)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            LOG.info("Pipeline [{}] - Interrupt received while reading from buffer", pipelineName);
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Drains the home partition into the batch, then steals from the other partitions, starting with the next one, if
+     * the batch is not full yet.
+     */
+    private void drainTo(final List<T> records, final int maxBatchSize, final int home) {
+        drainPartition(partitions.get(home), records, maxBatchSize);
+        int stolenRecords = 0;
+        for (int i = 1; i < partitions.size() && records.size() < maxBatchSize; i++) {
+            stolenRecords += drainPartition(partitions.get((home + i) % partitions.size()), records, maxBatchSize);
+        }
+        if (stolenRecords > 0) {
+            stolenRecordsCounter.increment(stolenRecords);
+        }
+    }
+
+    private int drainPartition(final Queue<T> partition, final List<T> records, final int maxBatchSize) {
+        int drainedRecords = 0;
+        T record;
+        while (records.size() < maxBatchSize && (record = partition.poll()) != null) {
+            records.add(record);
+            drainedRecords++;
+        }
+        bufferedRecords.addAndGet(-drainedRecords);
+        return drainedRecords;
+    }
+
+    private void reserveCapacity(final int size, final int timeoutInMillis) throws TimeoutException {
+        if (tryReserveCapacity(size)) {
+            return;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        try {
+            if (awaitUntil(capacityReleased, () -> tryReserveCapacity(size), deadline)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOG.error("Pipeline [{}] - Buffer does not have enough capacity left for the size of records: {}, " +
+                    "interrupted while waiting to write the records", pipelineName, size, ex);
+        }
+        throw new TimeoutException(format("Pipeline [%s] - Buffer does not have enough capacity left for the size of " +
+                "records: %d, timed out waiting for slots.", pipelineName, size));
+    }
+
+    private boolean tryReserveCapacity(final int size) {
+        while (true) {
+            final int capacity = availableCapacity.get();
+            if (capacity < size) {
+                return false;
+            }
+            if (availableCapacity.compareAndSet(capacity, capacity - size)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Waits on the condition until the check succeeds or the deadline passes. The waiting thread is registered before
+     * the check is repeated under the lock, so it does not miss a signal of {@link #signalAll(Condition)}.
+     *
+     * @return true if the check succeeded
+     */
+    private boolean awaitUntil(final Condition condition, final BooleanSupplier check, final long deadline)
+            throws InterruptedException {
+        waitingThreads.incrementAndGet();
+        waitLock.lock();
+        try {
+            while (!check.getAsBoolean()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                condition.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            waitLock.unlock();
+            waitingThreads.decrementAndGet();
+        }
+    }
+
+    private void signalAll(final Condition condition) {
+        if (waitingThreads.get() > 0) {
+            waitLock.lock();
+            try {
+                condition.signalAll();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+}
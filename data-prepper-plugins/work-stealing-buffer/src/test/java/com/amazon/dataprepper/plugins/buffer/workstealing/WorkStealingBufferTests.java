@@ -0,0 +1,353 @@
+/*
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  The OpenSearch Contributors require contributions made to
+ *  this file be licensed under the Apache-2.0 license or a
+ *  compatible open source license.
+ *
+ *  Modifications Copyright OpenSearch Contributors. See
+ *  GitHub history for details.
+ */
+
+package com.amazon.dataprepper.plugins.buffer.workstealing;
+
+import com.amazon.dataprepper.model.CheckpointState;
+import com.amazon.dataprepper.model.buffer.ReadBatch;
+import com.amazon.dataprepper.model.buffer.SizeOverflowException;
+import com.amazon.dataprepper.model.configuration.PluginSetting;
+import com.amazon.dataprepper.model.record.Record;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class WorkStealingBufferTests {
+    private static final String ATTRIBUTE_BATCH_SIZE = "batch_size";
+    private static final String ATTRIBUTE_BUFFER_SIZE = "buffer_size";
+    private static final String ATTRIBUTE_PARTITIONS = "partitions";
+    private static final String TEST_PIPELINE_NAME = "test-pipeline";
+    private static final int TEST_BATCH_SIZE = 3;
+    private static final int TEST_BUFFER_SIZE = 13;
+    private static final int TEST_PARTITIONS = 4;
+    private static final int TEST_WORKERS = 6;
+    private static final int TEST_WRITE_TIMEOUT = 1_00;
+    private static final int TEST_BATCH_READ_TIMEOUT = 5_000;
+
+    @Test
+    public void testCreationUsingPluginSetting() {
+        final WorkStealingBuffer<Record<String>> buffer = new WorkStealingBuffer<>(completePluginSettingForBuffer());
+        assertThat(buffer, notNullValue());
+        assertThat(buffer.getCapacity(), is(equalTo(TEST_BUFFER_SIZE)));
+        assertThat(buffer.numberOfPartitions(), is(equalTo(TEST_PARTITIONS)));
+    }
+
+    @Test
+    public void testCreationUsingPluginSettingDefaultsPartitionsToWorkers() {
+        final PluginSetting pluginSetting = completePluginSettingForBuffer();
+        pluginSetting.getSettings().remove(ATTRIBUTE_PARTITIONS);
+        pluginSetting.setProcessWorkers(TEST_WORKERS);
+        final WorkStealingBuffer<Record<String>> buffer = new WorkStealingBuffer<>(pluginSetting);
+        assertThat(buffer.numberOfPartitions(), is(equalTo(TEST_WORKERS)));
+    }
+
+    @Test
+    public void testCreationUsingNullPluginSetting() {
+        final NullPointerException ex = assertThrows(NullPointerException.class,
+                () -> new WorkStealingBuffer<Record<String>>((PluginSetting) null));
+        assertThat(ex.getMessage(), is(equalTo("PluginSetting cannot be null")));
+    }
+
+    @Test
+    public void testCreationUsingInvalidCapacityOrPartitions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkStealingBuffer<Record<String>>(0, TEST_BATCH_SIZE, TEST_PARTITIONS, TEST_PIPELINE_NAME));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkStealingBuffer<Record<String>>(TEST_BUFFER_SIZE, TEST_BATCH_SIZE, 0, TEST_PIPELINE_NAME));
+    }
+
+    @Test
+    public void testInsertNull() {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(TEST_BUFFER_SIZE);
+        assertThrows(NullPointerException.class, () -> buffer.write(null, TEST_WRITE_TIMEOUT));
+        assertThrows(NullPointerException.class,
+                () -> buffer.writeAll(Arrays.asList(new Record<>("RECORD"), null), TEST_WRITE_TIMEOUT));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testWriteAllSizeOverflow() {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(TEST_BUFFER_SIZE);
+        final Collection<Record<String>> testRecords = generateBatchRecords(TEST_BUFFER_SIZE + 1);
+        assertThrows(SizeOverflowException.class, () -> buffer.writeAll(testRecords, TEST_WRITE_TIMEOUT));
+    }
+
+    @Test
+    public void testWriteAllEmpty() throws Exception {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(TEST_BUFFER_SIZE);
+        buffer.writeAll(Collections.emptyList(), TEST_WRITE_TIMEOUT);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testNoEmptySpaceWriteOnly() throws TimeoutException {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(1);
+        buffer.write(new Record<>("FILL_THE_BUFFER"), TEST_WRITE_TIMEOUT);
+        assertThrows(TimeoutException.class, () -> buffer.write(new Record<>("TIMEOUT"), TEST_WRITE_TIMEOUT));
+    }
+
+    @Test
+    public void testInterruptedWriteKeepsInterruptFlag() throws TimeoutException {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(1);
+        buffer.write(new Record<>("FILL_THE_BUFFER"), TEST_WRITE_TIMEOUT);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(TimeoutException.class, () -> buffer.write(new Record<>("TIMEOUT"), TEST_WRITE_TIMEOUT));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void testNoEmptySpaceAfterUncheckedRead() throws TimeoutException {
+        // Given
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(1);
+        buffer.write(new Record<>("FILL_THE_BUFFER"), TEST_WRITE_TIMEOUT);
+
+        // When
+        buffer.read(TEST_WRITE_TIMEOUT);
+
+        // Then
+        final Record<String> timeoutRecord = new Record<>("TIMEOUT");
+        assertThrows(TimeoutException.class, () -> buffer.write(timeoutRecord, TEST_WRITE_TIMEOUT));
+        assertThrows(
+                TimeoutException.class, () -> buffer.writeAll(Collections.singletonList(timeoutRecord), TEST_WRITE_TIMEOUT));
+        assertFalse(buffer.isEmpty());
+    }
+
+    @Test
+    public void testWriteIntoEmptySpaceAfterCheckedRead() throws Exception {
+        // Given
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(2);
+        final Collection<Record<String>> testRecords = generateBatchRecords(2);
+        buffer.writeAll(testRecords, TEST_WRITE_TIMEOUT);
+
+        // When
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = buffer.read(TEST_WRITE_TIMEOUT);
+        buffer.checkpoint(readResult.getValue());
+
+        // Then
+        assertTrue(buffer.isEmpty());
+        buffer.writeAll(testRecords, TEST_WRITE_TIMEOUT);
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readCheckResult = buffer.read(TEST_WRITE_TIMEOUT);
+        assertEquals(2, readCheckResult.getKey().size());
+    }
+
+    @Test
+    public void testReadEmptyBuffer() {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(TEST_BUFFER_SIZE);
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = buffer.read(TEST_WRITE_TIMEOUT);
+        assertThat(readResult.getKey().size(), is(0));
+        assertThat(readResult.getValue().getNumRecordsToBeChecked(), is(0));
+    }
+
+    @Test
+    public void testReadStealsFromOtherPartitions() throws Exception {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(TEST_BUFFER_SIZE);
+        for (int i = 0; i < TEST_PARTITIONS; i++) {
+            buffer.write(new Record<>("TEST" + i), TEST_WRITE_TIMEOUT);
+        }
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult =
+                buffer.read(TEST_WRITE_TIMEOUT, TEST_PARTITIONS);
+
+        assertThat(readResult.getKey().size(), is(TEST_PARTITIONS));
+        assertThat(readResult.getValue().getNumRecordsToBeChecked(), is(TEST_PARTITIONS));
+    }
+
+    @Test
+    public void testReadBatchOfWorkerReadsItsPartitionFirst() throws Exception {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(TEST_BUFFER_SIZE);
+        for (int i = 0; i < TEST_PARTITIONS; i++) {
+            buffer.write(new Record<>("TEST" + i), TEST_WRITE_TIMEOUT);
+        }
+
+        final ReadBatch<Record<String>> batch = ReadBatch.forReader(TEST_PARTITIONS + 2);
+        buffer.read(batch, TEST_WRITE_TIMEOUT, 1);
+        assertThat(batch.getRecords().get(0).getData(), is(equalTo("TEST2")));
+        assertThat(batch.getNumRecordsToBeChecked(), is(1));
+
+        // Once its own partition is empty the worker steals from the next partitions
+        batch.clear();
+        buffer.read(batch, TEST_WRITE_TIMEOUT, 1);
+        assertThat(batch.getRecords().get(0).getData(), is(equalTo("TEST3")));
+    }
+
+    @Test
+    public void testCheckpointOfReadBatchReleasesCapacity() throws Exception {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(2);
+        buffer.writeAll(generateBatchRecords(2), TEST_WRITE_TIMEOUT);
+
+        final ReadBatch<Record<String>> batch = new ReadBatch<>();
+        buffer.read(batch, TEST_WRITE_TIMEOUT);
+        assertThat(batch.size(), is(2));
+        assertThrows(TimeoutException.class, () -> buffer.write(new Record<>("TIMEOUT"), TEST_WRITE_TIMEOUT));
+
+        buffer.checkpoint(batch);
+        assertTrue(buffer.isEmpty());
+        buffer.writeAll(generateBatchRecords(2), TEST_WRITE_TIMEOUT);
+    }
+
+    @Test
+    public void testReadWaitsForNextWriteToFillBatch() throws Exception {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(TEST_BUFFER_SIZE);
+        buffer.write(new Record<>("FIRST"), TEST_WRITE_TIMEOUT);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<ReadBatch<Record<String>>> readResult = executorService.submit(() -> {
+                final ReadBatch<Record<String>> batch = ReadBatch.forReader(0);
+                buffer.read(batch, TEST_BATCH_READ_TIMEOUT, 2);
+                return batch;
+            });
+            buffer.write(new Record<>("SECOND"), TEST_WRITE_TIMEOUT);
+
+            assertThat(readResult.get(TEST_BATCH_READ_TIMEOUT, TimeUnit.MILLISECONDS).size(), is(2));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWriteAllKeepsRecordsOfBatchInOrder() throws Exception {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(TEST_BUFFER_SIZE);
+        final List<Record<String>> testRecords = new ArrayList<>(generateBatchRecords(TEST_BATCH_SIZE));
+        buffer.writeAll(testRecords, TEST_WRITE_TIMEOUT);
+
+        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = buffer.read(TEST_BATCH_READ_TIMEOUT);
+
+        assertThat(new ArrayList<>(readResult.getKey()), is(equalTo(testRecords)));
+    }
+
+    @Test
+    public void testReadWaitsForWrittenRecords() throws Exception {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(TEST_BUFFER_SIZE);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Map.Entry<Collection<Record<String>>, CheckpointState>> readResult =
+                    executorService.submit(() -> buffer.read(TEST_BATCH_READ_TIMEOUT));
+            buffer.writeAll(generateBatchRecords(TEST_BATCH_SIZE), TEST_WRITE_TIMEOUT);
+
+            assertThat(readResult.get(TEST_BATCH_READ_TIMEOUT, TimeUnit.MILLISECONDS).getKey().size(), is(TEST_BATCH_SIZE));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWriteWaitsForCheckpoint() throws Exception {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(1);
+        buffer.write(new Record<>("FILL_THE_BUFFER"), TEST_WRITE_TIMEOUT);
+        final CheckpointState checkpointState = buffer.read(TEST_WRITE_TIMEOUT).getValue();
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> writeResult = executorService.submit(() -> {
+                buffer.write(new Record<>("WAIT_FOR_CAPACITY"), TEST_BATCH_READ_TIMEOUT);
+                return null;
+            });
+            buffer.checkpoint(checkpointState);
+
+            writeResult.get(TEST_BATCH_READ_TIMEOUT, TimeUnit.MILLISECONDS);
+            assertFalse(buffer.isEmpty());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentWritersAndReaders() throws Exception {
+        final WorkStealingBuffer<Record<String>> buffer = newBuffer(TEST_BUFFER_SIZE);
+        final int numWriters = 3;
+        final int numReaders = TEST_PARTITIONS + 2;
+        final int recordsPerWriter = 3_000;
+        final Set<String> readRecords = ConcurrentHashMap.newKeySet();
+        final AtomicInteger numReadRecords = new AtomicInteger();
+        final ExecutorService executorService = Executors.newFixedThreadPool(numWriters + numReaders);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < numWriters; writer++) {
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < recordsPerWriter; i += TEST_BATCH_SIZE) {
+                        buffer.writeAll(generateBatchRecords(TEST_BATCH_SIZE), TEST_BATCH_READ_TIMEOUT);
+                    }
+                    return null;
+                }));
+            }
+            for (int reader = 0; reader < numReaders; reader++) {
+                futures.add(executorService.submit(() -> {
+                    while (numReadRecords.get() < numWriters * recordsPerWriter) {
+                        final Map.Entry<Collection<Record<String>>, CheckpointState> readResult = buffer.read(10);
+                        readResult.getKey().forEach(record -> readRecords.add(record.getData()));
+                        numReadRecords.addAndGet(readResult.getKey().size());
+                        buffer.checkpoint(readResult.getValue());
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(numReadRecords.get(), is(numWriters * recordsPerWriter));
+        assertThat(readRecords.size(), is(numWriters * recordsPerWriter));
+        assertTrue(buffer.isEmpty());
+    }
+
+    private WorkStealingBuffer<Record<String>> newBuffer(final int bufferSize) {
+        return new WorkStealingBuffer<>(bufferSize, TEST_BATCH_SIZE, TEST_PARTITIONS, TEST_PIPELINE_NAME);
+    }
+
+    private PluginSetting completePluginSettingForBuffer() {
+        final String pluginName = "work_stealing_buffer";
+        final Map<String, Object> settings = new HashMap<>();
+        settings.put(ATTRIBUTE_BUFFER_SIZE, TEST_BUFFER_SIZE);
+        settings.put(ATTRIBUTE_BATCH_SIZE, TEST_BATCH_SIZE);
+        settings.put(ATTRIBUTE_PARTITIONS, TEST_PARTITIONS);
+        final PluginSetting testSettings = new PluginSetting(pluginName, settings);
+        testSettings.setPipelineName(TEST_PIPELINE_NAME);
+        return testSettings;
+    }
+
+    private Collection<Record<String>> generateBatchRecords(final int numRecords) {
+        final Collection<Record<String>> results = new ArrayList<>();
+        for (int i = 0; i < numRecords; i++) {
+            results.add(new Record<>(UUID.randomUUID().toString()));
+        }
+        return results;
+    }
+}